@@ -457,12 +457,42 @@ public class CoreOptions implements Serializable {
                                             text("oss/s3: may cause performance issue."))
                                     .build());
 
+    public static final ConfigOption<Boolean> SNAPSHOT_TIMELINE_ENABLED =
+            key("snapshot.timeline.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to maintain a compact timeline of snapshot ids, commit times, "
+                                    + "watermarks and commit users in the snapshot directory on each commit. "
+                                    + "Time travel and watermark lookups read the timeline instead of "
+                                    + "searching snapshot files.");
+
     public static final ConfigOption<Duration> CONTINUOUS_DISCOVERY_INTERVAL =
             key("continuous.discovery-interval")
                     .durationType()
                     .defaultValue(Duration.ofSeconds(10))
                     .withDescription("The discovery interval of continuous reading.");
 
+    public static final ConfigOption<SnapshotNotifierType> CONTINUOUS_SNAPSHOT_NOTIFIER =
+            key("continuous.snapshot-notifier")
+                    .enumType(SnapshotNotifierType.class)
+                    .defaultValue(SnapshotNotifierType.NONE)
+                    .withDescription(
+                            "The notifier used by continuous reading to know about new snapshots. "
+                                    + "While the notifier knows that the next snapshot is not committed yet, "
+                                    + "continuous reading does not probe the snapshot directory. "
+                                    + "The notifier does not wake up continuous reading, new snapshots "
+                                    + "are still discovered once per 'continuous.discovery-interval'.");
+
+    public static final ConfigOption<Duration> CONTINUOUS_SNAPSHOT_NOTIFIER_REFRESH_INTERVAL =
+            key("continuous.snapshot-notifier.refresh-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(1))
+                    .withDescription(
+                            "The minimum interval for the filesystem snapshot notifier to read the "
+                                    + "LATEST hint of a table. The hint is shared by all continuous "
+                                    + "readings of the table in the same process.");
+
     public static final ConfigOption<Integer> SCAN_MAX_SPLITS_PER_TASK =
             key("scan.max-splits-per-task")
                     .intType()
@@ -514,7 +544,8 @@ public class CoreOptions implements Serializable {
                     .stringType()
                     .defaultValue("zstd")
                     .withDescription(
-                            "Compression for spill, currently zstd, lzo and zstd are supported.");
+                            "Compression for spill, currently zstd, lzo, lz4 and adaptive are supported. "
+                                    + "'adaptive' chooses lz4 or zstd for each spill file by the compression ratio of its first block.");
 
     public static final ConfigOption<Integer> SPILL_COMPRESSION_ZSTD_LEVEL =
             key("spill-compression.zstd-level")
@@ -567,6 +598,38 @@ public class CoreOptions implements Serializable {
                     .defaultValue(true)
                     .withDescription("Whether the write buffer can be spillable.");
 
+    public static final ConfigOption<Boolean> WRITE_BUFFER_OFF_HEAP =
+            key("write-buffer-off-heap")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to allocate the write buffer off-heap. This keeps the write buffer out of the "
+                                    + "JVM heap to reduce garbage collection pauses, the off-heap memory is limited by "
+                                    + "the max direct memory of the JVM.");
+
+    public static final ConfigOption<Boolean> WRITE_BUFFER_PRE_MERGE =
+            key("write-buffer-pre-merge")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to merge records of the same key in a hash map before putting them "
+                                    + "into the write buffer, so that a frequently updated key only takes one "
+                                    + "record of the buffer. It only works for aggregation and partial-update "
+                                    + "merge engines whose non-primary-key fields are all fixed-length, and "
+                                    + "not with 'input' changelog producer. The hash map uses half of the write "
+                                    + "buffer memory, records of new keys go into the sort buffer after it is full.");
+
+    public static final ConfigOption<Boolean> WRITE_BUFFER_ASYNC_FLUSH =
+            key("write-buffer-async-flush")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to flush a full write buffer of primary key table in background. The "
+                                    + "write buffer memory is split into two halves, new records are written "
+                                    + "into one half while the other half is sorted and written to a file, "
+                                    + "writing is only blocked when both halves are full. The write buffer is not "
+                                    + "spilled to disk in this mode.");
+
     public static final ConfigOption<Boolean> WRITE_BUFFER_FOR_APPEND =
             key("write-buffer-for-append")
                     .booleanType()
@@ -590,6 +653,21 @@ public class CoreOptions implements Serializable {
                                     + "If it is too small, may cause intermediate merging. But if it is too large, "
                                     + "it will cause too many files opened at the same time, consume memory and lead to random reading.");
 
+    public static final ConfigOption<LocalSortAlgorithm> LOCAL_SORT_ALGORITHM =
+            key("local-sort.algorithm")
+                    .enumType(LocalSortAlgorithm.class)
+                    .defaultValue(LocalSortAlgorithm.QUICK_SORT)
+                    .withDescription(
+                            "The algorithm to sort the in-memory write buffer of table with primary key.");
+
+    public static final ConfigOption<Integer> LOCAL_SORT_PARALLELISM =
+            key("local-sort.parallelism")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads to sort a large in-memory write buffer, only works for the "
+                                    + "'radix-sort' local sort algorithm.");
+
     public static final ConfigOption<MemorySize> PAGE_SIZE =
             key("page-size")
                     .memoryType()
@@ -667,6 +745,33 @@ public class CoreOptions implements Serializable {
                     .defaultValue(Duration.ofSeconds(10))
                     .withDescription("Max retry wait time when commit failed.");
 
+    public static final ConfigOption<Integer> COMMIT_GROUP_MAX_BATCH_SIZE =
+            key("commit.group.max-batch-size")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription(
+                            "Maximum number of committables which a group commit coordinator "
+                                    + "commits together into one snapshot.");
+
+    public static final ConfigOption<Duration> COMMIT_GROUP_MAX_DELAY =
+            key("commit.group.max-delay")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(0))
+                    .withDescription(
+                            "Maximum time a group commit coordinator waits for more committables "
+                                    + "before committing a batch. Even without waiting, the committables "
+                                    + "arriving during a running commit are committed together in the next batch.");
+
+    public static final ConfigOption<Boolean> COMMIT_INCREMENTAL_FILE_INDEX =
+            key("commit.incremental-file-index")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the committer keeps the live files of the recently changed partitions in memory. "
+                                    + "The index is maintained with the delta of new snapshots, so that conflict checks "
+                                    + "of commits into the same partitions only read the new changes instead of all the "
+                                    + "files of these partitions.");
+
     public static final ConfigOption<Integer> COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT =
             key("compaction.max-size-amplification-percent")
                     .intType()
@@ -682,6 +787,16 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "If set to true, compaction strategy will always include all level 0 files in candidates.");
 
+    public static final ConfigOption<Integer> COMPACTION_SECTION_PARALLELISM =
+            key("compaction.section-parallelism")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "Max number of key-disjoint sections of one compaction unit that are rewritten in parallel. "
+                                    + "It is additionally capped by 'write-buffer-size' / 'target-file-size', since every "
+                                    + "section being rewritten holds its own file writer. The default 1 rewrites "
+                                    + "sections sequentially.");
+
     public static final ConfigOption<Integer> COMPACTION_SIZE_RATIO =
             key("compaction.size-ratio")
                     .intType()
@@ -1153,6 +1268,16 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "The fraction of cache memory that is reserved for high-priority data like index, filter.");
 
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_OFF_HEAP_ENABLED =
+            key("lookup.cache.off-heap.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to keep the blocks of sort lookup files off-heap. Uncompressed blocks are served "
+                                    + "from memory-mapped files without copying, and compressed blocks are "
+                                    + "decompressed into direct memory which is still limited by the lookup cache size. "
+                                    + "Only takes effect when 'lookup.local-file-type' is 'sort'.");
+
     public static final ConfigOption<Boolean> LOOKUP_CACHE_BLOOM_FILTER_ENABLED =
             key("lookup.cache.bloom.filter.enabled")
                     .booleanType()
@@ -1166,12 +1291,50 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "Define the default false positive probability for lookup cache bloom filters.");
 
+    public static final ConfigOption<Boolean> LOOKUP_WRITE_FILE_ON_COMPACTION =
+            key("lookup.write-file-on-compaction")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to write the local lookup files of the compacted files while writing"
+                                    + " them in compaction, instead of reading them back from the DFS to"
+                                    + " build the lookup files on the first lookup.");
+
+    public static final ConfigOption<Boolean> LOOKUP_PREFETCH_ENABLED =
+            key("lookup.prefetch.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to build the local lookup files of new files produced by compaction"
+                                    + " or refreshed into the lookup levels in background, instead of"
+                                    + " building them on the first lookup.");
+
+    public static final ConfigOption<Integer> LOOKUP_PREFETCH_THREAD_NUM =
+            key("lookup.prefetch.thread-num")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The maximum number of threads to build lookup files in background, files of"
+                                    + " higher levels are built first.");
+
     public static final ConfigOption<Integer> READ_BATCH_SIZE =
             key("read.batch-size")
                     .intType()
                     .defaultValue(1024)
                     .withDescription("Read batch size for any file format if it supports.");
 
+    public static final ConfigOption<Boolean> READ_COLUMNAR_MERGE_ENABLED =
+            key("read.columnar-merge.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to merge the sorted runs of primary key tables on the columnar batches "
+                                    + "produced by vectorized file readers in batch reads. Rows which "
+                                    + "are kept as they are by the merge function are selected from the input batches "
+                                    + "without copying, and only rows produced by the merge function are materialized. "
+                                    + "Sections with more sorted runs than 'sort-spill-threshold' are still "
+                                    + "merged row by row, so that they can be spilled.");
+
     public static final ConfigOption<Integer> WRITE_BATCH_SIZE =
             key("write.batch-size")
                     .intType()
@@ -1268,6 +1431,16 @@ public class CoreOptions implements Serializable {
                             "Max buckets for a partition in dynamic bucket mode, It should "
                                     + "either be equal to -1 (unlimited), or it must be greater than 0 (fixed upper bound).");
 
+    public static final ConfigOption<MemorySize> DYNAMIC_BUCKET_INDEX_MEMORY =
+            key("dynamic-bucket.index-memory")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Off-heap memory size of the hash index in the assigner operator for dynamic bucket mode. "
+                                    + "If set, the index is stored in off-heap memory segments instead of heap hash maps, "
+                                    + "and the indexes of cold partitions which are not committed yet are spilled to "
+                                    + "local disk. If the memory is exhausted, indexes fall back to heap hash maps.");
+
     public static final ConfigOption<Integer> DYNAMIC_BUCKET_ASSIGNER_PARALLELISM =
             key("dynamic-bucket.assigner-parallelism")
                     .intType()
@@ -1650,6 +1823,34 @@ public class CoreOptions implements Serializable {
                     .defaultValue(MemorySize.ofMebiBytes(10))
                     .withDescription("The threshold for read file async.");
 
+    public static final ConfigOption<Integer> FILE_READER_ASYNC_MAX_BATCHES =
+            key("file-reader-async.max-batches")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of batches an async file reader reads ahead and the "
+                                    + "consumer has not released yet. If set, async readers are "
+                                    + "bounded and executed by a sized shared thread pool, "
+                                    + "otherwise batches are buffered without limit.");
+
+    public static final ConfigOption<Integer> FILE_READER_ASYNC_THREAD_NUM =
+            key("file-reader-async.thread-num")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The number of threads of the shared pool used by bounded async file "
+                                    + "readers, the number of processors by default.");
+
+    public static final ConfigOption<Integer> FILE_READER_ASYNC_PREFETCH_FILES =
+            key("file-reader-async.prefetch-files")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "The number of files opened ahead of the file being read when files "
+                                    + "of a split are read sequentially, so that async readers "
+                                    + "of the next files start reading early. Only takes effect "
+                                    + "when 'file-reader-async.max-batches' is set.");
+
     public static final ConfigOption<Boolean> COMMIT_FORCE_CREATE_SNAPSHOT =
             key("commit.force-create-snapshot")
                     .booleanType()
@@ -2186,6 +2387,30 @@ public class CoreOptions implements Serializable {
         return options.get(FILE_READER_ASYNC_THRESHOLD);
     }
 
+    @Nullable
+    public Integer fileReaderAsyncMaxBatches() {
+        return options.get(FILE_READER_ASYNC_MAX_BATCHES);
+    }
+
+    @Nullable
+    public Integer fileReaderAsyncThreadNum() {
+        return options.get(FILE_READER_ASYNC_THREAD_NUM);
+    }
+
+    public boolean readColumnarMergeEnabled() {
+        return options.get(READ_COLUMNAR_MERGE_ENABLED);
+    }
+
+    public int readBatchSize() {
+        return options.get(READ_BATCH_SIZE);
+    }
+
+    public int fileReaderAsyncPrefetchFiles() {
+        return fileReaderAsyncMaxBatches() == null
+                ? 0
+                : options.get(FILE_READER_ASYNC_PREFETCH_FILES);
+    }
+
     public int snapshotNumRetainMin() {
         return options.get(SNAPSHOT_NUM_RETAINED_MIN);
     }
@@ -2231,6 +2456,10 @@ public class CoreOptions implements Serializable {
         return options.get(SNAPSHOT_CLEAN_EMPTY_DIRECTORIES);
     }
 
+    public boolean snapshotTimelineEnabled() {
+        return options.get(SNAPSHOT_TIMELINE_ENABLED);
+    }
+
     public int deleteFileThreadNum() {
         return options.getOptional(DELETE_FILE_THREAD_NUM)
                 .orElseGet(() -> Runtime.getRuntime().availableProcessors());
@@ -2298,6 +2527,18 @@ public class CoreOptions implements Serializable {
         return options.get(WRITE_BUFFER_SPILLABLE);
     }
 
+    public boolean writeBufferOffHeap() {
+        return options.get(WRITE_BUFFER_OFF_HEAP);
+    }
+
+    public boolean writeBufferAsyncFlush() {
+        return options.get(WRITE_BUFFER_ASYNC_FLUSH);
+    }
+
+    public boolean writeBufferPreMerge() {
+        return options.get(WRITE_BUFFER_PRE_MERGE);
+    }
+
     public MemorySize writeBufferSpillDiskSize() {
         return options.get(WRITE_BUFFER_MAX_DISK_SIZE);
     }
@@ -2333,6 +2574,14 @@ public class CoreOptions implements Serializable {
         return options.get(CONTINUOUS_DISCOVERY_INTERVAL);
     }
 
+    public SnapshotNotifierType continuousSnapshotNotifier() {
+        return options.get(CONTINUOUS_SNAPSHOT_NOTIFIER);
+    }
+
+    public Duration continuousSnapshotNotifierRefreshInterval() {
+        return options.get(CONTINUOUS_SNAPSHOT_NOTIFIER_REFRESH_INTERVAL);
+    }
+
     public int scanSplitMaxPerTask() {
         return options.get(SCAN_MAX_SPLITS_PER_TASK);
     }
@@ -2341,6 +2590,14 @@ public class CoreOptions implements Serializable {
         return options.get(LOCAL_SORT_MAX_NUM_FILE_HANDLES);
     }
 
+    public LocalSortAlgorithm localSortAlgorithm() {
+        return options.get(LOCAL_SORT_ALGORITHM);
+    }
+
+    public int localSortParallelism() {
+        return options.get(LOCAL_SORT_PARALLELISM);
+    }
+
     public int pageSize() {
         return (int) options.get(PAGE_SIZE).getBytes();
     }
@@ -2361,6 +2618,22 @@ public class CoreOptions implements Serializable {
         return options.get(LOOKUP_CACHE_HIGH_PRIO_POOL_RATIO);
     }
 
+    public boolean lookupCacheOffHeapEnabled() {
+        return options.get(LOOKUP_CACHE_OFF_HEAP_ENABLED);
+    }
+
+    public boolean lookupWriteFileOnCompaction() {
+        return options.get(LOOKUP_WRITE_FILE_ON_COMPACTION);
+    }
+
+    public boolean lookupPrefetchEnabled() {
+        return options.get(LOOKUP_PREFETCH_ENABLED);
+    }
+
+    public int lookupPrefetchThreadNum() {
+        return options.get(LOOKUP_PREFETCH_THREAD_NUM);
+    }
+
     public long targetFileSize(boolean hasPrimaryKey) {
         return options.getOptional(TARGET_FILE_SIZE)
                 .orElse(hasPrimaryKey ? VALUE_128_MB : VALUE_256_MB)
@@ -2424,6 +2697,18 @@ public class CoreOptions implements Serializable {
         return options.get(COMMIT_MAX_RETRY_WAIT).toMillis();
     }
 
+    public int commitGroupMaxBatchSize() {
+        return options.get(COMMIT_GROUP_MAX_BATCH_SIZE);
+    }
+
+    public Duration commitGroupMaxDelay() {
+        return options.get(COMMIT_GROUP_MAX_DELAY);
+    }
+
+    public boolean commitIncrementalFileIndex() {
+        return options.get(COMMIT_INCREMENTAL_FILE_INDEX);
+    }
+
     public int commitMaxRetries() {
         return options.get(COMMIT_MAX_RETRIES);
     }
@@ -2614,6 +2899,11 @@ public class CoreOptions implements Serializable {
         return options.get(DYNAMIC_BUCKET_MAX_BUCKETS);
     }
 
+    @Nullable
+    public MemorySize dynamicBucketIndexMemory() {
+        return options.get(DYNAMIC_BUCKET_INDEX_MEMORY);
+    }
+
     public Integer dynamicBucketAssignerParallelism() {
         return options.get(DYNAMIC_BUCKET_ASSIGNER_PARALLELISM);
     }
@@ -2683,6 +2973,15 @@ public class CoreOptions implements Serializable {
         return options.get(DATA_FILE_EXTERNAL_PATHS_SPECIFIC_FS);
     }
 
+    /**
+     * Max number of sections of one compaction unit rewritten in parallel, capped by the number of
+     * target files which fit into the write buffer.
+     */
+    public int compactionSectionParallelism(boolean hasPrimaryKey) {
+        long cap = Math.max(1, writeBufferSize() / targetFileSize(hasPrimaryKey));
+        return (int) Math.max(1, Math.min(options.get(COMPACTION_SECTION_PARALLELISM), cap));
+    }
+
     public Boolean forceRewriteAllFiles() {
         return options.get(COMPACTION_FORCE_REWRITE_ALL_FILES);
     }
@@ -3407,7 +3706,11 @@ public class CoreOptions implements Serializable {
         MIN_HEAP("min-heap", "Use min-heap for multiway sorting."),
         LOSER_TREE(
                 "loser-tree",
-                "Use loser-tree for multiway sorting. Compared with heapsort, loser-tree has fewer comparisons and is more efficient.");
+                "Use loser-tree for multiway sorting. Compared with heapsort, loser-tree has fewer comparisons and is more efficient."),
+        NORMALIZED_LOSER_TREE(
+                "normalized-loser-tree",
+                "Use loser-tree for multiway sorting, and compare the fixed-length normalized prefixes of the keys first. "
+                        + "The full key comparison is only needed when the prefixes are equal, which is cheaper for wide primary keys.");
 
         private final String value;
         private final String description;
@@ -3428,6 +3731,34 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the algorithm to sort the in-memory write buffer. */
+    public enum LocalSortAlgorithm implements DescribedEnum {
+        QUICK_SORT(
+                "quick-sort", "Sort the records by comparing their normalized keys and records."),
+        RADIX_SORT(
+                "radix-sort",
+                "Sort the records by radix sort over the bytes of their normalized keys, "
+                        + "which avoids comparisons and is faster for large buffers.");
+
+        private final String value;
+        private final String description;
+
+        LocalSortAlgorithm(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** The mode for tag creation. */
     public enum TagCreationMode implements DescribedEnum {
         NONE("none", "No automatically created tags."),
@@ -3539,6 +3870,36 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the notifier of new snapshots for continuous reading. */
+    public enum SnapshotNotifierType implements DescribedEnum {
+        NONE("none", "Probe the snapshot directory on every discovery."),
+        FILESYSTEM(
+                "filesystem",
+                "Read the LATEST hint of the snapshot directory, which is written by file system "
+                        + "commits. Commits in the same process advance the known snapshot "
+                        + "immediately. "
+                        + "Tables committed through a catalog do not write the hint, "
+                        + "they probe the snapshot directory as with none.");
+
+        private final String value;
+        private final String description;
+
+        SnapshotNotifierType(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** Specifies range strategy. */
     public enum RangeStrategy {
         SIZE,
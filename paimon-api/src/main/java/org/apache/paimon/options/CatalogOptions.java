@@ -177,4 +177,27 @@ public class CatalogOptions {
                             "Whether to allow static cache in file io implementation. If not allowed, this means that "
                                     + "there may be a large number of FileIO instances generated, enabling caching can "
                                     + "lead to resource leakage.");
+
+    public static final ConfigOption<String> FILE_IO_BLOCK_CACHE_DIR =
+            ConfigOptions.key("file-io.block-cache.dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The local directory to cache blocks of immutable remote files, such as "
+                                    + "data files, manifests and index files. If not set, no blocks "
+                                    + "are cached.");
+
+    public static final ConfigOption<MemorySize> FILE_IO_BLOCK_CACHE_MAX_SIZE =
+            ConfigOptions.key("file-io.block-cache.max-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("10 gb"))
+                    .withDescription(
+                            "The max size of cached blocks on local disk, least recently used "
+                                    + "blocks are evicted.");
+
+    public static final ConfigOption<MemorySize> FILE_IO_BLOCK_CACHE_BLOCK_SIZE =
+            ConfigOptions.key("file-io.block-cache.block-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("1 mb"))
+                    .withDescription("The size of blocks cached on local disk.");
 }
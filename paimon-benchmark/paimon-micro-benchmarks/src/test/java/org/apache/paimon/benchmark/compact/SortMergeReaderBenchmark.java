@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.benchmark.compact;
+
+import org.apache.paimon.CoreOptions.SortEngine;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.benchmark.Benchmark;
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
+import org.apache.paimon.codegen.RecordComparator;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.mergetree.compact.DeduplicateMergeFunction;
+import org.apache.paimon.mergetree.compact.ReducerMergeFunctionWrapper;
+import org.apache.paimon.mergetree.compact.SortMergeReader;
+import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.IteratorRecordReader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Benchmark for measuring the merging throughput of the {@link SortEngine}s. */
+public class SortMergeReaderBenchmark {
+
+    private static final int READER_NUM = 10;
+    private static final int ROW_COUNT_PER_READER = 200_000;
+    private static final int KEY_RANGE = 1_000_000;
+
+    private final RowType keyType =
+            RowType.of(DataTypes.STRING(), DataTypes.TIMESTAMP(3), DataTypes.INT());
+
+    @Test
+    public void testWideKey() {
+        int[] keyFields = IntStream.range(0, keyType.getFieldCount()).toArray();
+        RecordComparator keyComparator =
+                CodeGenUtils.newRecordComparator(keyType.getFieldTypes(), keyFields, true);
+        NormalizedKeyComputer keyComputer =
+                CodeGenUtils.newNormalizedKeyComputer(keyType.getFieldTypes(), keyFields);
+        List<List<KeyValue>> data = prepareData(keyComparator);
+
+        Benchmark benchmark =
+                new Benchmark("sort-merge-reader", READER_NUM * ROW_COUNT_PER_READER)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        for (SortEngine sortEngine : SortEngine.values()) {
+            benchmark.addCase(
+                    sortEngine.toString(),
+                    5,
+                    () -> merge(data, keyComparator, keyComputer, sortEngine));
+        }
+        benchmark.run();
+    }
+
+    private void merge(
+            List<List<KeyValue>> data,
+            RecordComparator keyComparator,
+            NormalizedKeyComputer keyComputer,
+            SortEngine sortEngine) {
+        List<RecordReader<KeyValue>> readers = new ArrayList<>();
+        for (List<KeyValue> kvs : data) {
+            readers.add(new IteratorRecordReader<>(kvs.iterator()));
+        }
+        try (RecordReader<KeyValue> reader =
+                SortMergeReader.createSortMergeReader(
+                        readers,
+                        keyComparator,
+                        null,
+                        new ReducerMergeFunctionWrapper(
+                                DeduplicateMergeFunction.factory().create()),
+                        sortEngine,
+                        keyComputer)) {
+            long count = 0;
+            RecordReader.RecordIterator<KeyValue> batch;
+            while ((batch = reader.readBatch()) != null) {
+                while (batch.next() != null) {
+                    count++;
+                }
+                batch.releaseBatch();
+            }
+            assertThat(count).isGreaterThan(0);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Every reader contains sorted and distinct keys. The string field looks like a UUID followed
+     * by a tenant name, and all keys share the same timestamp.
+     */
+    private List<List<KeyValue>> prepareData(RecordComparator keyComparator) {
+        InternalRowSerializer serializer = new InternalRowSerializer(keyType);
+        Timestamp timestamp = Timestamp.fromEpochMillis(System.currentTimeMillis());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<List<KeyValue>> data = new ArrayList<>();
+        long sequence = 0;
+        for (int i = 0; i < READER_NUM; i++) {
+            TreeSet<BinaryRow> keys = new TreeSet<>(keyComparator);
+            while (keys.size() < ROW_COUNT_PER_READER) {
+                int id = random.nextInt(KEY_RANGE);
+                GenericRow key =
+                        GenericRow.of(
+                                BinaryString.fromString(String.format("%07d-tenant-0001", id / 10)),
+                                timestamp,
+                                id % 10);
+                keys.add(serializer.toBinaryRow(key).copy());
+            }
+
+            List<KeyValue> kvs = new ArrayList<>(keys.size());
+            for (BinaryRow key : keys) {
+                kvs.add(new KeyValue().replace(key, sequence++, RowKind.INSERT, GenericRow.of()));
+            }
+            data.add(kvs);
+        }
+        return data;
+    }
+}
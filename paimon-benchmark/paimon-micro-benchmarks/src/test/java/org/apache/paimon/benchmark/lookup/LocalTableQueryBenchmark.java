@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.benchmark.lookup;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.benchmark.Benchmark;
+import org.apache.paimon.benchmark.TableBenchmark;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.table.FileStoreTable;
+import org.apache.paimon.table.query.LocalTableQuery;
+import org.apache.paimon.table.sink.CommitMessage;
+import org.apache.paimon.table.sink.RowKeyExtractor;
+import org.apache.paimon.table.sink.StreamTableCommit;
+import org.apache.paimon.table.sink.StreamTableWrite;
+import org.apache.paimon.table.sink.StreamWriteBuilder;
+import org.apache.paimon.table.source.DataSplit;
+import org.apache.paimon.table.source.Split;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Benchmark for measuring the throughput of {@link LocalTableQuery} with multiple threads. */
+public class LocalTableQueryBenchmark extends TableBenchmark {
+
+    private static final int[] THREAD_NUMS = {1, 8, 32};
+    private static final int BUCKET_NUM = 32;
+    private static final int ROW_COUNT = 100000;
+    private static final int LOOKUP_COUNT = 320000;
+
+    @TempDir Path ioTempDir;
+
+    @Test
+    public void testConcurrentLookup() throws Exception {
+        Options options = new Options();
+        options.set(CoreOptions.BUCKET, BUCKET_NUM);
+        FileStoreTable table = (FileStoreTable) createTable(options, "T");
+        prepareData(table);
+
+        int[] buckets = new int[ROW_COUNT];
+        BinaryRow[] keys = new BinaryRow[ROW_COUNT];
+        RowKeyExtractor extractor = table.createRowKeyExtractor();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            GenericRow row = (GenericRow) newRandomRow();
+            row.setField(0, i);
+            extractor.setRecord(row);
+            buckets[i] = extractor.bucket();
+            keys[i] = extractor.trimmedPrimaryKey().copy();
+        }
+
+        IOManager ioManager = IOManager.create(ioTempDir.toString());
+        LocalTableQuery query = table.newLocalTableQuery().withIOManager(ioManager);
+        for (Split split : table.newReadBuilder().newScan().plan().splits()) {
+            DataSplit dataSplit = (DataSplit) split;
+            query.refreshFiles(
+                    dataSplit.partition(),
+                    dataSplit.bucket(),
+                    Collections.emptyList(),
+                    dataSplit.dataFiles());
+        }
+
+        Benchmark benchmark =
+                new Benchmark("lookup", LOOKUP_COUNT)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        for (int threadNum : THREAD_NUMS) {
+            benchmark.addCase(
+                    String.format("lookup-%d-threads", threadNum),
+                    5,
+                    () -> lookup(query, threadNum, buckets, keys));
+        }
+        benchmark.run();
+
+        query.close();
+        ioManager.close();
+    }
+
+    private void lookup(LocalTableQuery query, int threadNum, int[] buckets, BinaryRow[] keys) {
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threadNum; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                                    for (int i = 0; i < LOOKUP_COUNT / threadNum; i++) {
+                                        int k = random.nextInt(ROW_COUNT);
+                                        assertThat(
+                                                        query.lookup(
+                                                                BinaryRow.EMPTY_ROW,
+                                                                buckets[k],
+                                                                keys[k]))
+                                                .isNotNull();
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void prepareData(FileStoreTable table) throws Exception {
+        StreamWriteBuilder writeBuilder = table.newStreamWriteBuilder();
+        StreamTableWrite write = writeBuilder.newWrite();
+        StreamTableCommit commit = writeBuilder.newCommit();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            GenericRow row = (GenericRow) newRandomRow();
+            row.setField(0, i);
+            write.write(row);
+        }
+        List<CommitMessage> commitMessages = write.prepareCommit(true, 1);
+        commit.commit(1, commitMessages);
+        write.close();
+        commit.close();
+    }
+}
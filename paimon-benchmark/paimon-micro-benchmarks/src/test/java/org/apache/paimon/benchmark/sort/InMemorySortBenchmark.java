@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.benchmark.sort;
+
+import org.apache.paimon.benchmark.Benchmark;
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.sort.BinaryInMemorySortBuffer;
+import org.apache.paimon.sort.IndexedSorter;
+import org.apache.paimon.sort.QuickSort;
+import org.apache.paimon.sort.RadixSort;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.utils.MutableObjectIterator;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Benchmark for measuring the sorting throughput of {@link BinaryInMemorySortBuffer}. */
+public class InMemorySortBenchmark {
+
+    private static final int ROW_COUNT = 1_000_000;
+    private static final long MEMORY_SIZE = 256 * 1024 * 1024;
+
+    @Test
+    public void testIntKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        innerTest("int", Arrays.asList(DataTypes.INT()), () -> GenericRow.of(random.nextInt()));
+    }
+
+    @Test
+    public void testLongKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        innerTest(
+                "long", Arrays.asList(DataTypes.BIGINT()), () -> GenericRow.of(random.nextLong()));
+    }
+
+    @Test
+    public void testStringKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        innerTest(
+                "string",
+                Arrays.asList(DataTypes.STRING()),
+                () -> GenericRow.of(BinaryString.fromString("key-" + random.nextInt())));
+    }
+
+    @Test
+    public void testCompositeKey() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        innerTest(
+                "composite",
+                Arrays.asList(DataTypes.INT(), DataTypes.BIGINT(), DataTypes.STRING()),
+                () ->
+                        GenericRow.of(
+                                random.nextInt(100),
+                                random.nextLong(),
+                                BinaryString.fromString(String.valueOf(random.nextInt()))));
+    }
+
+    private void innerTest(String name, List<DataType> types, Supplier<InternalRow> generator) {
+        InternalRow[] rows = new InternalRow[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = generator.get();
+        }
+
+        Benchmark benchmark =
+                new Benchmark(name + "-key-sort", ROW_COUNT)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        benchmark.addCase("quick-sort", 5, () -> sort(types, rows, new QuickSort()));
+        benchmark.addCase("radix-sort", 5, () -> sort(types, rows, new RadixSort()));
+        benchmark.addCase("radix-sort-4-threads", 5, () -> sort(types, rows, new RadixSort(4)));
+        benchmark.run();
+    }
+
+    private void sort(List<DataType> types, InternalRow[] rows, IndexedSorter sorter) {
+        int[] keys = IntStream.range(0, types.size()).toArray();
+        MemorySegmentPool pool =
+                new HeapMemorySegmentPool(MEMORY_SIZE, MemorySegmentPool.DEFAULT_PAGE_SIZE);
+        BinaryInMemorySortBuffer buffer =
+                BinaryInMemorySortBuffer.createBuffer(
+                        CodeGenUtils.newNormalizedKeyComputer(types, keys),
+                        new InternalRowSerializer(types.toArray(new DataType[0])),
+                        CodeGenUtils.newRecordComparator(types, keys, true),
+                        pool,
+                        sorter);
+        try {
+            for (InternalRow row : rows) {
+                assertThat(buffer.write(row)).isTrue();
+            }
+
+            MutableObjectIterator<BinaryRow> iterator = buffer.sortedIterator();
+            BinaryRow reuse = new BinaryRow(types.size());
+            long count = 0;
+            while (iterator.next(reuse) != null) {
+                count++;
+            }
+            assertThat(count).isEqualTo(ROW_COUNT);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.compression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link BlockCompressionFactory} which chooses between LZ4 and ZSTD by the measured compression
+ * ratio. Every compressor samples its first block with both codecs and keeps the chosen one for all
+ * following blocks, so each spill file gets its own codec. Every block is prefixed with the
+ * persistent id of its codec, the decompressor does not need to know the choice in advance.
+ */
+public class AdaptiveBlockCompressionFactory implements BlockCompressionFactory {
+
+    /**
+     * ZSTD is only chosen if its output is at most this fraction of the LZ4 output, otherwise the
+     * saved IO does not pay off the slower compression.
+     */
+    static final double ZSTD_MAX_SIZE_RATIO = 0.8;
+
+    private final int zstdLevel;
+
+    public AdaptiveBlockCompressionFactory(int zstdLevel) {
+        this.zstdLevel = zstdLevel;
+    }
+
+    @Override
+    public BlockCompressionType getCompressionType() {
+        return BlockCompressionType.ADAPTIVE;
+    }
+
+    @Override
+    public BlockCompressor getCompressor() {
+        return new AdaptiveBlockCompressor(zstdLevel);
+    }
+
+    @Override
+    public BlockDecompressor getDecompressor() {
+        return new AdaptiveBlockDecompressor();
+    }
+
+    /** A {@link BlockCompressor} which samples the first block to choose its codec. */
+    static class AdaptiveBlockCompressor implements BlockCompressor {
+
+        private final Lz4BlockCompressor lz4;
+        private final ZstdBlockCompressor zstd;
+
+        private BlockCompressor chosen;
+        private BlockCompressionType chosenType;
+
+        AdaptiveBlockCompressor(int zstdLevel) {
+            this.lz4 = new Lz4BlockCompressor();
+            this.zstd = new ZstdBlockCompressor(zstdLevel);
+        }
+
+        BlockCompressionType chosenType() {
+            return chosenType;
+        }
+
+        @Override
+        public int getMaxCompressedSize(int srcSize) {
+            return 1
+                    + Math.max(
+                            lz4.getMaxCompressedSize(srcSize), zstd.getMaxCompressedSize(srcSize));
+        }
+
+        @Override
+        public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+                throws BufferCompressionException {
+            if (dstOff >= dst.length) {
+                throw new BufferCompressionException("Dst is too small to compress the block.");
+            }
+
+            if (chosen == null) {
+                return sampleAndCompress(src, srcOff, srcLen, dst, dstOff);
+            }
+
+            dst[dstOff] = (byte) chosenType.persistentId();
+            return 1 + chosen.compress(src, srcOff, srcLen, dst, dstOff + 1);
+        }
+
+        private int sampleAndCompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+                throws BufferCompressionException {
+            byte[] lz4Out = new byte[lz4.getMaxCompressedSize(srcLen)];
+            int lz4Len = lz4.compress(src, srcOff, srcLen, lz4Out, 0);
+            byte[] zstdOut = new byte[zstd.getMaxCompressedSize(srcLen)];
+            int zstdLen = zstd.compress(src, srcOff, srcLen, zstdOut, 0);
+
+            byte[] out;
+            int len;
+            if (zstdLen <= lz4Len * ZSTD_MAX_SIZE_RATIO) {
+                chosen = zstd;
+                chosenType = BlockCompressionType.ZSTD;
+                out = zstdOut;
+                len = zstdLen;
+            } else {
+                chosen = lz4;
+                chosenType = BlockCompressionType.LZ4;
+                out = lz4Out;
+                len = lz4Len;
+            }
+
+            if (dst.length - dstOff - 1 < len) {
+                throw new BufferCompressionException("Dst is too small to compress the block.");
+            }
+            dst[dstOff] = (byte) chosenType.persistentId();
+            System.arraycopy(out, 0, dst, dstOff + 1, len);
+            return 1 + len;
+        }
+    }
+
+    /** A {@link BlockDecompressor} which decompresses blocks by their codec prefix. */
+    static class AdaptiveBlockDecompressor implements BlockDecompressor {
+
+        private final Lz4BlockDecompressor lz4 = new Lz4BlockDecompressor();
+        private final ZstdBlockDecompressor zstd = new ZstdBlockDecompressor();
+
+        @Override
+        public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+                throws BufferDecompressionException {
+            if (srcLen < 1) {
+                throw new BufferDecompressionException("Source data is not a compressed block.");
+            }
+
+            BlockDecompressor decompressor;
+            if (src[srcOff] == BlockCompressionType.LZ4.persistentId()) {
+                decompressor = lz4;
+            } else if (src[srcOff] == BlockCompressionType.ZSTD.persistentId()) {
+                decompressor = zstd;
+            } else {
+                throw new BufferDecompressionException(
+                        "Unknown compression type of block: " + src[srcOff]);
+            }
+            return decompressor.decompress(src, srcOff + 1, srcLen - 1, dst, dstOff);
+        }
+
+        @Override
+        public int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+                throws BufferDecompressionException {
+            if (srcLen < 1) {
+                throw new BufferDecompressionException("Source data is not a compressed block.");
+            }
+
+            byte type = src.get(srcOff);
+            BlockDecompressor decompressor;
+            if (type == BlockCompressionType.LZ4.persistentId()) {
+                decompressor = lz4;
+            } else if (type == BlockCompressionType.ZSTD.persistentId()) {
+                decompressor = zstd;
+            } else {
+                throw new BufferDecompressionException(
+                        "Unknown compression type of block: " + type);
+            }
+            return decompressor.decompress(src, srcOff + 1, srcLen - 1, dst, dstOff);
+        }
+    }
+}
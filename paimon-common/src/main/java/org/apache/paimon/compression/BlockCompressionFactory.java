@@ -48,6 +48,8 @@ public interface BlockCompressionFactory {
             case "LZO":
                 return new AirCompressorFactory(
                         BlockCompressionType.LZO, new LzoCompressor(), new LzoDecompressor());
+            case "ADAPTIVE":
+                return new AdaptiveBlockCompressionFactory(compression.zstdLevel());
             default:
                 throw new IllegalStateException("Unknown CompressionMethod " + compression);
         }
@@ -66,6 +68,8 @@ public interface BlockCompressionFactory {
             case LZO:
                 return new AirCompressorFactory(
                         BlockCompressionType.LZO, new LzoCompressor(), new LzoDecompressor());
+            case ADAPTIVE:
+                return new AdaptiveBlockCompressionFactory(1);
             default:
                 throw new IllegalStateException("Unknown CompressionMethod " + compression);
         }
@@ -23,7 +23,8 @@ public enum BlockCompressionType {
     NONE(0),
     ZSTD(1),
     LZ4(2),
-    LZO(3);
+    LZO(3),
+    ADAPTIVE(4);
 
     private final int persistentId;
 
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.compression;
 
+import java.nio.ByteBuffer;
+
 /** A decompressor which decompresses a block each time. */
 public interface BlockDecompressor {
 
@@ -34,4 +36,32 @@ public interface BlockDecompressor {
      */
     int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
             throws BufferDecompressionException;
+
+    /**
+     * Decompress source data read from src and write the decompressed data to dst. Offsets are
+     * absolute and the positions and limits of both buffers are left untouched, so direct buffers
+     * can be decompressed without copying them to heap.
+     *
+     * <p>The default implementation copies through heap arrays, decompressors which can work on
+     * direct buffers should override it.
+     *
+     * @return Length of decompressed data
+     * @throws BufferDecompressionException if exception thrown when decompressing
+     */
+    default int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+            throws BufferDecompressionException {
+        byte[] srcBytes = new byte[srcLen];
+        ByteBuffer source = src.duplicate();
+        source.clear();
+        source.position(srcOff);
+        source.get(srcBytes);
+
+        byte[] dstBytes = new byte[dst.capacity() - dstOff];
+        int decompressedLen = decompress(srcBytes, 0, srcLen, dstBytes, 0);
+        ByteBuffer target = dst.duplicate();
+        target.clear();
+        target.position(dstOff);
+        target.put(dstBytes, 0, decompressedLen);
+        return decompressedLen;
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.compression;
 
+import java.nio.ByteBuffer;
+
 /** Utils for {@link BlockCompressor}. */
 public class CompressorUtils {
     /**
@@ -40,6 +42,13 @@ public class CompressorUtils {
                 | ((buf[i + 3] & 0xFF) << 24);
     }
 
+    public static int readIntLE(ByteBuffer buf, int i) {
+        return (buf.get(i) & 0xFF)
+                | ((buf.get(i + 1) & 0xFF) << 8)
+                | ((buf.get(i + 2) & 0xFF) << 16)
+                | ((buf.get(i + 3) & 0xFF) << 24);
+    }
+
     public static void validateLength(int compressedLen, int originalLen)
             throws BufferDecompressionException {
         if (originalLen < 0
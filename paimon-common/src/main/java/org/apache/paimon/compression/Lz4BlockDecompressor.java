@@ -22,6 +22,8 @@ import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 
+import java.nio.ByteBuffer;
+
 import static org.apache.paimon.compression.CompressorUtils.HEADER_LENGTH;
 import static org.apache.paimon.compression.CompressorUtils.readIntLE;
 import static org.apache.paimon.compression.CompressorUtils.validateLength;
@@ -68,4 +70,33 @@ public class Lz4BlockDecompressor implements BlockDecompressor {
 
         return originalLen;
     }
+
+    @Override
+    public int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+            throws BufferDecompressionException {
+        final int compressedLen = readIntLE(src, srcOff);
+        final int originalLen = readIntLE(src, srcOff + 4);
+        validateLength(compressedLen, originalLen);
+
+        if (dst.capacity() - dstOff < originalLen) {
+            throw new BufferDecompressionException("Buffer length too small");
+        }
+
+        if (srcLen - HEADER_LENGTH < compressedLen) {
+            throw new BufferDecompressionException(
+                    "Source data is not integral for decompression.");
+        }
+
+        try {
+            final int compressedLen2 =
+                    decompressor.decompress(src, srcOff + HEADER_LENGTH, dst, dstOff, originalLen);
+            if (compressedLen != compressedLen2) {
+                throw new BufferDecompressionException("Input is corrupted");
+            }
+        } catch (LZ4Exception e) {
+            throw new BufferDecompressionException("Input is corrupted", e);
+        }
+
+        return originalLen;
+    }
 }
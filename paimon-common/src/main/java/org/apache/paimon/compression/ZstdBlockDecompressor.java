@@ -19,10 +19,13 @@
 package org.apache.paimon.compression;
 
 import com.github.luben.zstd.RecyclingBufferPool;
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdException;
 import com.github.luben.zstd.ZstdInputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /** A {@link BlockDecompressor} for zstd. */
 public class ZstdBlockDecompressor implements BlockDecompressor {
@@ -51,4 +54,20 @@ public class ZstdBlockDecompressor implements BlockDecompressor {
             throw new BufferDecompressionException(e);
         }
     }
+
+    @Override
+    public int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+            throws BufferDecompressionException {
+        if (!src.isDirect() || !dst.isDirect()) {
+            return BlockDecompressor.super.decompress(src, srcOff, srcLen, dst, dstOff);
+        }
+
+        try {
+            return (int)
+                    Zstd.decompressDirectByteBuffer(
+                            dst, dstOff, dst.capacity() - dstOff, src, srcOff, srcLen);
+        } catch (ZstdException e) {
+            throw new BufferDecompressionException(e);
+        }
+    }
 }
@@ -41,4 +41,9 @@ public class Segments {
     public int limitInLastSegment() {
         return limitInLastSegment;
     }
+
+    /** Estimated memory size of these segments, used to weigh them in caches. */
+    public long weight(int pageSize) {
+        return (long) segments.size() * pageSize;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.data.columnar;
+
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.InternalArray;
+import org.apache.paimon.data.InternalMap;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.Timestamp;
+
+/**
+ * A {@link ColumnVector} which gathers its rows from other vectors of the same type without copying
+ * them, row {@code i} is row {@code rowIds[i]} of {@code sources[sourceIds[i]]}.
+ *
+ * <p>Nested rows are gathered with the same indices. Arrays and maps can only be read value by
+ * value, their child vectors cannot be gathered.
+ */
+public class GatheredColumnVector
+        implements BooleanColumnVector,
+                ByteColumnVector,
+                ShortColumnVector,
+                IntColumnVector,
+                LongColumnVector,
+                FloatColumnVector,
+                DoubleColumnVector,
+                BytesColumnVector,
+                DecimalColumnVector,
+                TimestampColumnVector,
+                ArrayColumnVector,
+                MapColumnVector,
+                RowColumnVector {
+
+    private final ColumnVector[] sources;
+    private final int[] sourceIds;
+    private final int[] rowIds;
+
+    private VectorizedColumnBatch batch;
+
+    public GatheredColumnVector(ColumnVector[] sources, int[] sourceIds, int[] rowIds) {
+        this.sources = sources;
+        this.sourceIds = sourceIds;
+        this.rowIds = rowIds;
+    }
+
+    private ColumnVector source(int i) {
+        return sources[sourceIds[i]];
+    }
+
+    @Override
+    public boolean isNullAt(int i) {
+        return source(i).isNullAt(rowIds[i]);
+    }
+
+    @Override
+    public int getCapacity() {
+        return rowIds.length;
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return ((BooleanColumnVector) source(i)).getBoolean(rowIds[i]);
+    }
+
+    @Override
+    public byte getByte(int i) {
+        return ((ByteColumnVector) source(i)).getByte(rowIds[i]);
+    }
+
+    @Override
+    public short getShort(int i) {
+        return ((ShortColumnVector) source(i)).getShort(rowIds[i]);
+    }
+
+    @Override
+    public int getInt(int i) {
+        return ((IntColumnVector) source(i)).getInt(rowIds[i]);
+    }
+
+    @Override
+    public long getLong(int i) {
+        return ((LongColumnVector) source(i)).getLong(rowIds[i]);
+    }
+
+    @Override
+    public float getFloat(int i) {
+        return ((FloatColumnVector) source(i)).getFloat(rowIds[i]);
+    }
+
+    @Override
+    public double getDouble(int i) {
+        return ((DoubleColumnVector) source(i)).getDouble(rowIds[i]);
+    }
+
+    @Override
+    public Bytes getBytes(int i) {
+        return ((BytesColumnVector) source(i)).getBytes(rowIds[i]);
+    }
+
+    @Override
+    public Decimal getDecimal(int i, int precision, int scale) {
+        return ((DecimalColumnVector) source(i)).getDecimal(rowIds[i], precision, scale);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int i, int precision) {
+        return ((TimestampColumnVector) source(i)).getTimestamp(rowIds[i], precision);
+    }
+
+    @Override
+    public InternalArray getArray(int i) {
+        return ((ArrayColumnVector) source(i)).getArray(rowIds[i]);
+    }
+
+    @Override
+    public ColumnVector getColumnVector() {
+        throw new UnsupportedOperationException(
+                "The child vector of a gathered array vector is not supported.");
+    }
+
+    @Override
+    public InternalMap getMap(int i) {
+        return ((MapColumnVector) source(i)).getMap(rowIds[i]);
+    }
+
+    @Override
+    public InternalRow getRow(int i) {
+        return ((RowColumnVector) source(i)).getRow(rowIds[i]);
+    }
+
+    @Override
+    public VectorizedColumnBatch getBatch() {
+        if (batch == null) {
+            VectorizedColumnBatch[] sourceBatches = new VectorizedColumnBatch[sources.length];
+            for (int i = 0; i < sources.length; i++) {
+                sourceBatches[i] = ((RowColumnVector) sources[i]).getBatch();
+            }
+            ColumnVector[] children = new ColumnVector[sourceBatches[0].getArity()];
+            for (int j = 0; j < children.length; j++) {
+                ColumnVector[] childSources = new ColumnVector[sources.length];
+                for (int i = 0; i < sources.length; i++) {
+                    childSources[i] = sourceBatches[i].columns[j];
+                }
+                children[j] = new GatheredColumnVector(childSources, sourceIds, rowIds);
+            }
+            batch = new VectorizedColumnBatch(children);
+            batch.setNumRows(rowIds.length);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.data.columnar;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.InternalArray;
+import org.apache.paimon.data.InternalMap;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.data.variant.Variant;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.DataTypeRoot;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ColumnVector} over a field of a list of rows, so that rows which are not read from
+ * column vectors can be returned in a {@link VectorizedColumnBatch} as well. Rows in the list may
+ * be null, all their fields are null then.
+ *
+ * <p>Arrays and maps can only be read value by value, they have no child vectors.
+ */
+public class RowBackedColumnVector
+        implements BooleanColumnVector,
+                ByteColumnVector,
+                ShortColumnVector,
+                IntColumnVector,
+                LongColumnVector,
+                FloatColumnVector,
+                DoubleColumnVector,
+                BytesColumnVector,
+                DecimalColumnVector,
+                TimestampColumnVector,
+                ArrayColumnVector,
+                MapColumnVector,
+                RowColumnVector {
+
+    private final List<InternalRow> rows;
+    private final int pos;
+    private final DataType type;
+
+    private VectorizedColumnBatch batch;
+
+    public RowBackedColumnVector(List<InternalRow> rows, int pos, DataType type) {
+        this.rows = rows;
+        this.pos = pos;
+        this.type = type;
+    }
+
+    /** Creates the vectors of all fields of the rows. */
+    public static ColumnVector[] create(List<InternalRow> rows, RowType rowType) {
+        ColumnVector[] vectors = new ColumnVector[rowType.getFieldCount()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = new RowBackedColumnVector(rows, i, rowType.getTypeAt(i));
+        }
+        return vectors;
+    }
+
+    @Override
+    public boolean isNullAt(int i) {
+        InternalRow row = rows.get(i);
+        return row == null || row.isNullAt(pos);
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        return rows.get(i).getBoolean(pos);
+    }
+
+    @Override
+    public byte getByte(int i) {
+        return rows.get(i).getByte(pos);
+    }
+
+    @Override
+    public short getShort(int i) {
+        return rows.get(i).getShort(pos);
+    }
+
+    @Override
+    public int getInt(int i) {
+        return rows.get(i).getInt(pos);
+    }
+
+    @Override
+    public long getLong(int i) {
+        return rows.get(i).getLong(pos);
+    }
+
+    @Override
+    public float getFloat(int i) {
+        return rows.get(i).getFloat(pos);
+    }
+
+    @Override
+    public double getDouble(int i) {
+        return rows.get(i).getDouble(pos);
+    }
+
+    @Override
+    public Bytes getBytes(int i) {
+        byte[] bytes;
+        if (type.getTypeRoot() == DataTypeRoot.CHAR || type.getTypeRoot() == DataTypeRoot.VARCHAR) {
+            BinaryString string = rows.get(i).getString(pos);
+            bytes = string.toBytes();
+        } else {
+            bytes = rows.get(i).getBinary(pos);
+        }
+        return new Bytes(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Decimal getDecimal(int i, int precision, int scale) {
+        return rows.get(i).getDecimal(pos, precision, scale);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int i, int precision) {
+        return rows.get(i).getTimestamp(pos, precision);
+    }
+
+    @Override
+    public InternalArray getArray(int i) {
+        return rows.get(i).getArray(pos);
+    }
+
+    @Override
+    public ColumnVector getColumnVector() {
+        throw new UnsupportedOperationException(
+                "The child vector of a row backed array vector is not supported.");
+    }
+
+    @Override
+    public InternalMap getMap(int i) {
+        return rows.get(i).getMap(pos);
+    }
+
+    @Override
+    public InternalRow getRow(int i) {
+        if (type.getTypeRoot() == DataTypeRoot.VARIANT) {
+            // variants are read from column vectors as rows of value and metadata
+            Variant variant = rows.get(i).getVariant(pos);
+            return GenericRow.of(variant.value(), variant.metadata());
+        }
+        return rows.get(i).getRow(pos, ((RowType) type).getFieldCount());
+    }
+
+    @Override
+    public VectorizedColumnBatch getBatch() {
+        if (batch == null) {
+            List<InternalRow> nested = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                nested.add(isNullAt(i) ? null : getRow(i));
+            }
+            RowType rowType =
+                    type.getTypeRoot() == DataTypeRoot.VARIANT
+                            ? RowType.of(DataTypes.BYTES(), DataTypes.BYTES())
+                            : (RowType) type;
+            batch = new VectorizedColumnBatch(create(nested, rowType));
+            batch.setNumRows(rows.size());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.utils.FileIOUtils;
+import org.apache.paimon.utils.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded LRU cache of fixed-size blocks of immutable files on local disk, keyed by file
+ * path and block index. Concurrent misses of the same block are loaded only once.
+ *
+ * <p>Caches are shared per local directory and block size, a block is only valid for the block size
+ * it was loaded with.
+ */
+public class BlockCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BlockCache.class);
+
+    private static final Map<String, BlockCache> CACHES = new ConcurrentHashMap<>();
+
+    private final File directory;
+    private final long maxSize;
+    private final int blockSize;
+
+    // guarded by blocks, in access order
+    private final LinkedHashMap<BlockKey, Integer> blocks;
+    // guarded by blocks, the cached block indices of each file
+    private final Map<String, Set<Long>> fileBlocks;
+    private final Map<BlockKey, CompletableFuture<byte[]>> loadingBlocks;
+
+    private long usedBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    @VisibleForTesting
+    BlockCache(File parentDirectory, long maxSize, int blockSize) {
+        // use a directory per cache, files of previous processes are never read
+        this.directory = new File(parentDirectory, "paimon-block-cache-" + UUID.randomUUID());
+        if (!directory.mkdirs()) {
+            throw new UncheckedIOException(
+                    new IOException("Failed to create block cache directory " + directory));
+        }
+        this.maxSize = maxSize;
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<>(16, 0.75f, true);
+        this.fileBlocks = new HashMap<>();
+        this.loadingBlocks = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the cache shared by all file ios using the same local directory and block size. File
+     * ios sharing a cache must also agree on its max size.
+     */
+    public static BlockCache getOrCreate(String directory, long maxSize, int blockSize) {
+        BlockCache cache =
+                CACHES.computeIfAbsent(
+                        directory + "#" + blockSize, key -> create(directory, maxSize, blockSize));
+        Preconditions.checkArgument(
+                cache.maxSize == maxSize,
+                "Block cache in directory %s with block size %s is configured with max size %s, "
+                        + "it can not be shared with a different max size %s.",
+                directory,
+                blockSize,
+                cache.maxSize,
+                maxSize);
+        return cache;
+    }
+
+    private static BlockCache create(String directory, long maxSize, int blockSize) {
+        BlockCache cache = new BlockCache(new File(directory), maxSize, blockSize);
+        Runtime.getRuntime()
+                .addShutdownHook(
+                        new Thread(() -> FileIOUtils.deleteDirectoryQuietly(cache.directory)));
+        return cache;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the block of the file, loading it by the given loader on a miss. A block shorter than
+     * {@link #blockSize()} is the last block of the file.
+     */
+    public byte[] getBlock(Path path, long blockIndex, BlockLoader loader) throws IOException {
+        BlockKey key = new BlockKey(path.toString(), blockIndex);
+        byte[] bytes = readCached(key);
+        if (bytes != null) {
+            hitCount.incrementAndGet();
+            return bytes;
+        }
+
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> loading = loadingBlocks.putIfAbsent(key, future);
+        if (loading != null) {
+            // another reader is loading the same block, wait for it
+            hitCount.incrementAndGet();
+            return await(loading);
+        }
+
+        try {
+            // the block may have been put by a loader which finished just now
+            bytes = readCached(key);
+            if (bytes == null) {
+                missCount.incrementAndGet();
+                bytes = loader.load(blockIndex * blockSize, blockSize);
+                put(key, bytes);
+            }
+            future.complete(bytes);
+            return bytes;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            loadingBlocks.remove(key, future);
+        }
+    }
+
+    /** Invalidates all cached blocks of the file. */
+    public void invalidate(Path path) {
+        String file = path.toString();
+        List<BlockKey> removed = new ArrayList<>();
+        synchronized (blocks) {
+            Set<Long> indices = fileBlocks.remove(file);
+            if (indices == null) {
+                return;
+            }
+            for (long blockIndex : indices) {
+                BlockKey key = new BlockKey(file, blockIndex);
+                Integer size = blocks.remove(key);
+                if (size != null) {
+                    usedBytes -= size;
+                    removed.add(key);
+                }
+            }
+        }
+        removed.forEach(this::deleteQuietly);
+    }
+
+    @Nullable
+    private byte[] readCached(BlockKey key) throws IOException {
+        synchronized (blocks) {
+            if (blocks.get(key) == null) {
+                return null;
+            }
+        }
+
+        try {
+            return Files.readAllBytes(localFile(key).toPath());
+        } catch (NoSuchFileException e) {
+            // evicted concurrently
+            return null;
+        }
+    }
+
+    private void put(BlockKey key, byte[] bytes) throws IOException {
+        if (bytes.length == 0 || bytes.length > maxSize) {
+            return;
+        }
+
+        File file = localFile(key);
+        File tmpFile = new File(directory, file.getName() + ".tmp");
+        Files.write(tmpFile.toPath(), bytes);
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        List<BlockKey> evicted = new ArrayList<>();
+        synchronized (blocks) {
+            Integer previous = blocks.put(key, bytes.length);
+            if (previous != null) {
+                usedBytes -= previous;
+            }
+            usedBytes += bytes.length;
+            fileBlocks.computeIfAbsent(key.path, k -> new HashSet<>()).add(key.blockIndex);
+
+            Iterator<Map.Entry<BlockKey, Integer>> iterator = blocks.entrySet().iterator();
+            while (usedBytes > maxSize && iterator.hasNext()) {
+                Map.Entry<BlockKey, Integer> eldest = iterator.next();
+                iterator.remove();
+                usedBytes -= eldest.getValue();
+                removeFileBlock(eldest.getKey());
+                evicted.add(eldest.getKey());
+            }
+        }
+        // delete outside the lock, a concurrent read of an evicted block just misses
+        evicted.forEach(this::deleteQuietly);
+    }
+
+    private void removeFileBlock(BlockKey key) {
+        Set<Long> indices = fileBlocks.get(key.path);
+        if (indices != null && indices.remove(key.blockIndex) && indices.isEmpty()) {
+            fileBlocks.remove(key.path);
+        }
+    }
+
+    private File localFile(BlockKey key) {
+        String name =
+                UUID.nameUUIDFromBytes(key.path.getBytes(StandardCharsets.UTF_8))
+                        + "-"
+                        + key.blockIndex;
+        return new File(directory, name);
+    }
+
+    private void deleteQuietly(BlockKey key) {
+        File file = localFile(key);
+        if (!file.delete() && file.exists()) {
+            LOG.warn("Failed to delete cached block {}.", file);
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    public long hitCount() {
+        return hitCount.get();
+    }
+
+    public long missCount() {
+        return missCount.get();
+    }
+
+    @VisibleForTesting
+    long usedBytes() {
+        synchronized (blocks) {
+            return usedBytes;
+        }
+    }
+
+    /** Loader to read a block from the remote file. */
+    @FunctionalInterface
+    public interface BlockLoader {
+
+        /** Reads up to {@code length} bytes from the offset, fewer bytes only at end of file. */
+        byte[] load(long offset, int length) throws IOException;
+    }
+
+    private static class BlockKey {
+
+        private final String path;
+        private final long blockIndex;
+
+        private BlockKey(String path, long blockIndex) {
+            this.path = path;
+            this.blockIndex = blockIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BlockKey blockKey = (BlockKey) o;
+            return blockIndex == blockKey.blockIndex && Objects.equals(path, blockKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, blockIndex);
+        }
+    }
+}
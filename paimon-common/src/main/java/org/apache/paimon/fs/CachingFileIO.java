@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.catalog.CatalogContext;
+import org.apache.paimon.options.Options;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.apache.paimon.options.CatalogOptions.FILE_IO_BLOCK_CACHE_BLOCK_SIZE;
+import static org.apache.paimon.options.CatalogOptions.FILE_IO_BLOCK_CACHE_DIR;
+import static org.apache.paimon.options.CatalogOptions.FILE_IO_BLOCK_CACHE_MAX_SIZE;
+
+/**
+ * A {@link FileIO} which caches blocks of immutable files on local disk, see {@link BlockCache}.
+ * Data files, manifests, index files and statistics are never modified after creation, so their
+ * blocks can be cached safely. Other files are read from the underlying {@link FileIO} directly.
+ */
+public class CachingFileIO implements FileIO {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FileIO fileIO;
+    private final String cacheDirectory;
+    private final long cacheMaxSize;
+    private final int blockSize;
+
+    private transient volatile BlockCache lazyCache;
+
+    public CachingFileIO(FileIO fileIO, String cacheDirectory, long cacheMaxSize, int blockSize) {
+        this.fileIO = fileIO;
+        this.cacheDirectory = cacheDirectory;
+        this.cacheMaxSize = cacheMaxSize;
+        this.blockSize = blockSize;
+    }
+
+    /** Wraps the {@link FileIO} if the block cache is configured. */
+    public static FileIO wrapIfEnabled(FileIO fileIO, Options options) {
+        String directory = options.get(FILE_IO_BLOCK_CACHE_DIR);
+        if (directory == null) {
+            return fileIO;
+        }
+        return new CachingFileIO(
+                fileIO,
+                directory,
+                options.get(FILE_IO_BLOCK_CACHE_MAX_SIZE).getBytes(),
+                (int) options.get(FILE_IO_BLOCK_CACHE_BLOCK_SIZE).getBytes());
+    }
+
+    public FileIO fileIO() {
+        return fileIO;
+    }
+
+    @VisibleForTesting
+    BlockCache cache() {
+        if (lazyCache == null) {
+            lazyCache = BlockCache.getOrCreate(cacheDirectory, cacheMaxSize, blockSize);
+        }
+        return lazyCache;
+    }
+
+    @Override
+    public boolean isObjectStore() {
+        return fileIO.isObjectStore();
+    }
+
+    @Override
+    public void configure(CatalogContext context) {
+        fileIO.configure(context);
+    }
+
+    @Override
+    public void setRuntimeContext(Map<String, String> options) {
+        fileIO.setRuntimeContext(options);
+    }
+
+    @Override
+    public SeekableInputStream newInputStream(Path path) throws IOException {
+        if (!isImmutable(path)) {
+            return fileIO.newInputStream(path);
+        }
+        return new CachingSeekableInputStream(path);
+    }
+
+    @Override
+    public PositionOutputStream newOutputStream(Path path, boolean overwrite) throws IOException {
+        return fileIO.newOutputStream(path, overwrite);
+    }
+
+    @Override
+    public FileStatus getFileStatus(Path path) throws IOException {
+        return fileIO.getFileStatus(path);
+    }
+
+    @Override
+    public FileStatus[] listStatus(Path path) throws IOException {
+        return fileIO.listStatus(path);
+    }
+
+    @Override
+    public RemoteIterator<FileStatus> listFilesIterative(Path path, boolean recursive)
+            throws IOException {
+        return fileIO.listFilesIterative(path, recursive);
+    }
+
+    @Override
+    public boolean exists(Path path) throws IOException {
+        return fileIO.exists(path);
+    }
+
+    @Override
+    public boolean delete(Path path, boolean recursive) throws IOException {
+        if (isImmutable(path)) {
+            cache().invalidate(path);
+        }
+        return fileIO.delete(path, recursive);
+    }
+
+    @Override
+    public boolean mkdirs(Path path) throws IOException {
+        return fileIO.mkdirs(path);
+    }
+
+    @Override
+    public boolean rename(Path src, Path dst) throws IOException {
+        return fileIO.rename(src, dst);
+    }
+
+    @Override
+    public void overwriteFileUtf8(Path path, String content) throws IOException {
+        fileIO.overwriteFileUtf8(path, content);
+    }
+
+    @Override
+    public void copyFile(Path sourcePath, Path targetPath, boolean overwrite) throws IOException {
+        fileIO.copyFile(sourcePath, targetPath, overwrite);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileIO.close();
+    }
+
+    /**
+     * Files in bucket, manifest, index and statistics directories are created with unique names and
+     * never modified, unlike hint files or consumer files.
+     */
+    @VisibleForTesting
+    static boolean isImmutable(Path path) {
+        Path parent = path.getParent();
+        if (parent == null) {
+            return false;
+        }
+        String name = parent.getName();
+        return name.startsWith("bucket-")
+                || name.equals("manifest")
+                || name.equals("index")
+                || name.equals("statistics");
+    }
+
+    /**
+     * A {@link SeekableInputStream} reading blocks from the {@link BlockCache}. Positioned reads
+     * are served from the cache too, so vectored readers keep working on top of the cache.
+     */
+    private class CachingSeekableInputStream extends SeekableInputStream
+            implements VectoredReadable {
+
+        private final Path path;
+        private final BlockCache cache;
+        private final int blockSize;
+
+        @Nullable private SeekableInputStream in;
+
+        private long pos;
+        private long currentBlockIndex = -1;
+        private byte[] currentBlock;
+
+        private CachingSeekableInputStream(Path path) {
+            this.path = path;
+            this.cache = cache();
+            this.blockSize = cache.blockSize();
+        }
+
+        @Override
+        public void seek(long desired) {
+            this.pos = desired;
+        }
+
+        @Override
+        public long getPos() {
+            return pos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] bytes = new byte[1];
+            int n = read(bytes, 0, 1);
+            return n <= 0 ? -1 : bytes[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            long blockIndex = pos / blockSize;
+            if (blockIndex != currentBlockIndex) {
+                currentBlock = cache.getBlock(path, blockIndex, this::loadBlock);
+                currentBlockIndex = blockIndex;
+            }
+
+            int offsetInBlock = (int) (pos % blockSize);
+            if (offsetInBlock >= currentBlock.length) {
+                return -1;
+            }
+
+            int n = Math.min(len, currentBlock.length - offsetInBlock);
+            System.arraycopy(currentBlock, offsetInBlock, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int pread(long position, byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            byte[] block = cache.getBlock(path, position / blockSize, this::loadBlock);
+            int offsetInBlock = (int) (position % blockSize);
+            if (offsetInBlock >= block.length) {
+                return -1;
+            }
+
+            int n = Math.min(length, block.length - offsetInBlock);
+            System.arraycopy(block, offsetInBlock, buffer, offset, n);
+            return n;
+        }
+
+        private byte[] loadBlock(long offset, int length) throws IOException {
+            SeekableInputStream in = remoteStream();
+            byte[] bytes = new byte[length];
+            int read = 0;
+            if (in instanceof VectoredReadable) {
+                VectoredReadable readable = (VectoredReadable) in;
+                while (read < length) {
+                    int n = readable.pread(offset + read, bytes, read, length - read);
+                    if (n < 0) {
+                        break;
+                    }
+                    read += n;
+                }
+            } else {
+                // positioned reads of vectored readers may load blocks concurrently
+                synchronized (in) {
+                    in.seek(offset);
+                    while (read < length) {
+                        int n = in.read(bytes, read, length - read);
+                        if (n < 0) {
+                            break;
+                        }
+                        read += n;
+                    }
+                }
+            }
+            return read == length ? bytes : Arrays.copyOf(bytes, read);
+        }
+
+        private synchronized SeekableInputStream remoteStream() throws IOException {
+            if (in == null) {
+                in = fileIO.newInputStream(path);
+            }
+            return in;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (in != null) {
+                in.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.utils.IOUtils;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link SeekableInputStreamWrapper} which supports {@link VectoredReadable} for file systems
+ * without native positioned reads, such as object stores. Positioned reads are served by separate
+ * range streams, so that the ranges of a vectored read are fetched in parallel. Range streams are
+ * opened lazily, at most one per concurrent read, and reused by the following reads of this stream.
+ */
+public class VectoredReadableInputStream extends SeekableInputStreamWrapper
+        implements VectoredReadable {
+
+    private final RangeStreamFactory rangeStreamFactory;
+    private final int minSeekForVectorReads;
+    private final int parallelismForVectorReads;
+
+    private final Deque<SeekableInputStream> idleRangeStreams = new ArrayDeque<>();
+    private boolean closed;
+
+    public VectoredReadableInputStream(
+            SeekableInputStream in,
+            RangeStreamFactory rangeStreamFactory,
+            int minSeekForVectorReads,
+            int parallelismForVectorReads) {
+        super(in);
+        this.rangeStreamFactory = rangeStreamFactory;
+        this.minSeekForVectorReads = minSeekForVectorReads;
+        this.parallelismForVectorReads = parallelismForVectorReads;
+    }
+
+    @Override
+    public int pread(long position, byte[] buffer, int offset, int length) throws IOException {
+        SeekableInputStream rangeStream = borrowRangeStream();
+        boolean success = false;
+        try {
+            rangeStream.seek(position);
+            int read = rangeStream.read(buffer, offset, length);
+            success = true;
+            return read;
+        } finally {
+            returnRangeStream(rangeStream, success);
+        }
+    }
+
+    @Override
+    public int minSeekForVectorReads() {
+        return minSeekForVectorReads;
+    }
+
+    @Override
+    public int parallelismForVectorReads() {
+        return parallelismForVectorReads;
+    }
+
+    private SeekableInputStream borrowRangeStream() throws IOException {
+        synchronized (idleRangeStreams) {
+            if (closed) {
+                throw new IOException("Stream is closed.");
+            }
+            SeekableInputStream rangeStream = idleRangeStreams.poll();
+            if (rangeStream != null) {
+                return rangeStream;
+            }
+        }
+        return rangeStreamFactory.open();
+    }
+
+    private void returnRangeStream(SeekableInputStream rangeStream, boolean reusable) {
+        synchronized (idleRangeStreams) {
+            // a failed stream may be in an inconsistent state, do not reuse it
+            if (reusable && !closed) {
+                idleRangeStreams.push(rangeStream);
+                return;
+            }
+        }
+        IOUtils.closeQuietly(rangeStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (idleRangeStreams) {
+            closed = true;
+            idleRangeStreams.forEach(IOUtils::closeQuietly);
+            idleRangeStreams.clear();
+        }
+        super.close();
+    }
+
+    /** Factory to open a new stream of the same file to serve positioned reads. */
+    @FunctionalInterface
+    public interface RangeStreamFactory {
+
+        SeekableInputStream open() throws IOException;
+    }
+}
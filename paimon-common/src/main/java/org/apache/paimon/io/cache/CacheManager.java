@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.paimon.utils.Preconditions.checkNotNull;
 
@@ -44,7 +45,7 @@ public class CacheManager {
     private final Cache dataCache;
     private final Cache indexCache;
 
-    private int fileReadCount;
+    private final AtomicInteger fileReadCount;
 
     @VisibleForTesting
     public CacheManager(MemorySize maxMemorySize) {
@@ -71,7 +72,7 @@ public class CacheManager {
             this.indexCache =
                     CacheBuilder.newBuilder(cacheType).maximumWeight(indexCacheSize).build();
         }
-        this.fileReadCount = 0;
+        this.fileReadCount = new AtomicInteger(0);
         LOG.info(
                 "Initialize cache manager with data cache of {} and index cache of {}.",
                 dataCacheSize,
@@ -89,15 +90,23 @@ public class CacheManager {
     }
 
     public MemorySegment getPage(CacheKey key, CacheReader reader, CacheCallback callback) {
+        return getSegment(key, k -> MemorySegment.wrap(reader.read(k)), callback);
+    }
+
+    /**
+     * Like {@link #getPage}, but the reader creates the segment itself, so the cached page can live
+     * off-heap. The segment is weighed by its size no matter where its memory is.
+     */
+    public MemorySegment getSegment(
+            CacheKey key, CacheSegmentReader reader, CacheCallback callback) {
         Cache cache = key.isIndex() ? indexCache : dataCache;
         Cache.CacheValue value =
                 cache.get(
                         key,
                         k -> {
-                            this.fileReadCount++;
+                            this.fileReadCount.incrementAndGet();
                             try {
-                                return new Cache.CacheValue(
-                                        MemorySegment.wrap(reader.read(key)), callback);
+                                return new Cache.CacheValue(reader.read(key), callback);
                             } catch (IOException e) {
                                 throw new RuntimeException(e);
                             }
@@ -114,7 +123,7 @@ public class CacheManager {
     }
 
     public int fileReadCount() {
-        return fileReadCount;
+        return fileReadCount.get();
     }
 
     /** The container for the segment. */
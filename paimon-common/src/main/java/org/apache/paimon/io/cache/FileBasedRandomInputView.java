@@ -31,9 +31,9 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.paimon.io.cache.CacheManager.REFRESH_COUNT;
 
@@ -55,7 +55,7 @@ public class FileBasedRandomInputView extends AbstractPagedInputView
     public FileBasedRandomInputView(PageFileInput input, CacheManager cacheManager) {
         this.input = input;
         this.cacheManager = cacheManager;
-        this.segments = new HashMap<>();
+        this.segments = new ConcurrentHashMap<>();
         int segmentSize = input.pageSize();
         this.segmentSizeBits = MathUtils.log2strict(segmentSize);
         this.segmentSizeMask = segmentSize - 1;
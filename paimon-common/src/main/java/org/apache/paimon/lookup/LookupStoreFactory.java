@@ -71,7 +71,11 @@ public interface LookupStoreFactory {
         switch (options.lookupLocalFileType()) {
             case SORT:
                 return new SortLookupStoreFactory(
-                        keyComparator, cacheManager, options.cachePageSize(), compression);
+                        keyComparator,
+                        cacheManager,
+                        options.cachePageSize(),
+                        compression,
+                        options.lookupCacheOffHeapEnabled());
             case HASH:
                 return new HashLookupStoreFactory(
                         cacheManager,
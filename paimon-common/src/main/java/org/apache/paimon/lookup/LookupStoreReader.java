@@ -29,4 +29,16 @@ public interface LookupStoreReader extends Closeable {
     /** Lookup value by key. */
     @Nullable
     byte[] lookup(byte[] key) throws IOException;
+
+    /**
+     * Lookup values by a batch of keys, the returned values are aligned with the keys and a value
+     * is null if its key does not exist.
+     */
+    default byte[][] lookupBatch(byte[][] keys) throws IOException {
+        byte[][] values = new byte[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = lookup(keys[i]);
+        }
+        return values;
+    }
 }
@@ -35,8 +35,11 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /* This file is based on source code of StorageReader from the PalDB Project (https://github.com/linkedin/PalDB), licensed by the Apache
@@ -124,6 +127,43 @@ public class HashLookupStoreReader
             return null;
         }
 
+        return lookup(key, hashcode);
+    }
+
+    /**
+     * Probe the keys in the order of their first slot positions, so that the index pages are
+     * visited sequentially and keys in the same page share one cached page.
+     */
+    @Override
+    public byte[][] lookupBatch(byte[][] keys) throws IOException {
+        byte[][] values = new byte[keys.length][];
+        int[] hashcodes = new int[keys.length];
+        long[] positions = new long[keys.length];
+        List<Integer> order = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            int keyLength = keys[i].length;
+            if (keyLength >= slots.length || keyCounts[keyLength] == 0) {
+                continue;
+            }
+            hashcodes[i] = MurmurHashUtils.hashBytes(keys[i]);
+            if (bloomFilter != null && !bloomFilter.testHash(hashcodes[i])) {
+                continue;
+            }
+            long slot = (hashcodes[i] & 0x7fffffff) % slots[keyLength];
+            positions[i] = indexOffsets[keyLength] + slot * slotSizes[keyLength];
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong(i -> positions[i]));
+
+        for (int i : order) {
+            values[i] = lookup(keys[i], hashcodes[i]);
+        }
+        return values;
+    }
+
+    @Nullable
+    private byte[] lookup(byte[] key, int hashcode) throws IOException {
+        int keyLength = key.length;
         long hashPositive = hashcode & 0x7fffffff;
         int numSlots = slots[keyLength];
         int slotSize = slotSizes[keyLength];
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.lookup.sort;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of direct buffers for off-heap decompressed blocks. Buffers are pooled by power-of-two
+ * capacities, so blocks of similar sizes can reuse each other's buffers, and at most {@code
+ * maxPooledBytes} are kept idle, the rest are left to the garbage collector.
+ */
+public class BlockBufferPool {
+
+    private final long maxPooledBytes;
+    private final AtomicLong pooledBytes;
+
+    @SuppressWarnings("unchecked")
+    private final Queue<ByteBuffer>[] buffers = new Queue[Integer.SIZE];
+
+    public BlockBufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+        this.pooledBytes = new AtomicLong();
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /** Returns a direct buffer with at least {@code size} bytes of capacity. */
+    public ByteBuffer allocate(int size) {
+        int sizeClass = sizeClass(size);
+        ByteBuffer buffer = buffers[sizeClass].poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(sizeClass == Integer.SIZE - 1 ? size : 1 << sizeClass);
+        }
+        pooledBytes.addAndGet(-buffer.capacity());
+        buffer.clear();
+        return buffer;
+    }
+
+    /** Returns a buffer obtained by {@link #allocate} to the pool, it must not be used anymore. */
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        if (pooledBytes.addAndGet(capacity) > maxPooledBytes) {
+            pooledBytes.addAndGet(-capacity);
+            return;
+        }
+        buffers[sizeClass(capacity)].offer(buffer);
+    }
+
+    public long pooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private static int sizeClass(int size) {
+        return size <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
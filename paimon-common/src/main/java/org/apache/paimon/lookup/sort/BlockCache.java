@@ -20,64 +20,180 @@ package org.apache.paimon.lookup.sort;
 
 import org.apache.paimon.io.cache.CacheKey;
 import org.apache.paimon.io.cache.CacheManager;
-import org.apache.paimon.io.cache.CacheManager.SegmentContainer;
 import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemoryUtils;
+
+import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 
-/** Cache for block reading. */
+/**
+ * Cache for block reading.
+ *
+ * <p>In off-heap mode the file is memory-mapped and blocks are read as zero-copy views of the
+ * mapping. Decompressed data blocks are written into direct buffers of a shared {@link
+ * BlockBufferPool}. A buffer evicted from the {@link CacheManager} may still be read by the owning
+ * reader, so it is only queued here and returned to the pool by {@link #recycleEvicted()}, which
+ * the reader calls before each lookup when no block of this file is in use. Index blocks stay
+ * referenced by the reader for its whole life and are allocated outside the pool.
+ *
+ * <p>Evictions may run on other threads sharing the {@link CacheManager}. A loaded block is
+ * registered inside the cache loader, before it can be evicted, and an eviction only removes and
+ * queues the buffer of its own block, so a queued buffer is never referenced by {@link #blocks}.
+ */
 public class BlockCache implements Closeable {
 
     private final RandomAccessFile file;
     private final FileChannel channel;
     private final CacheManager cacheManager;
-    private final Map<CacheKey, SegmentContainer> blocks;
+    private final Map<CacheKey, Block> blocks;
+    @Nullable private final BlockBufferPool bufferPool;
+    private final Queue<ByteBuffer> evicted;
 
-    public BlockCache(RandomAccessFile file, CacheManager cacheManager) {
+    // null if not off-heap or the file is too large to be mapped as a whole
+    @Nullable private MappedByteBuffer mapped;
+
+    public BlockCache(RandomAccessFile file, CacheManager cacheManager) throws IOException {
+        this(file, cacheManager, null);
+    }
+
+    public BlockCache(
+            RandomAccessFile file, CacheManager cacheManager, @Nullable BlockBufferPool bufferPool)
+            throws IOException {
         this.file = file;
         this.channel = this.file.getChannel();
         this.cacheManager = cacheManager;
-        this.blocks = new HashMap<>();
+        this.blocks = new ConcurrentHashMap<>();
+        this.bufferPool = bufferPool;
+        this.evicted = new ConcurrentLinkedQueue<>();
+        long fileSize = channel.size();
+        this.mapped =
+                bufferPool != null && fileSize <= Integer.MAX_VALUE
+                        ? channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize)
+                        : null;
+    }
+
+    public boolean isOffHeap() {
+        return bufferPool != null;
     }
 
-    private byte[] readFrom(long offset, int length) throws IOException {
-        byte[] buffer = new byte[length];
-        int read = channel.read(ByteBuffer.wrap(buffer), offset);
+    private MemorySegment readFrom(long offset, int length) throws IOException {
+        if (mapped != null) {
+            ByteBuffer view = mapped.duplicate();
+            view.position((int) offset);
+            view.limit((int) offset + length);
+            return MemorySegment.wrapOffHeapMemory(view.slice());
+        }
+
+        ByteBuffer buffer =
+                isOffHeap() ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+        int read = channel.read(buffer, offset);
 
         if (read != length) {
             throw new IOException("Could not read all the data");
         }
-        return buffer;
+        return isOffHeap()
+                ? MemorySegment.wrapOffHeapMemory(buffer)
+                : MemorySegment.wrap(buffer.array());
     }
 
     public MemorySegment getBlock(
-            long position, int length, Function<byte[], byte[]> decompressFunc, boolean isIndex) {
+            long position, int length, BlockDecoder decoder, boolean isIndex) {
 
         CacheKey cacheKey = CacheKey.forPosition(file, position, length, isIndex);
 
-        SegmentContainer container = blocks.get(cacheKey);
-        if (container == null || container.getAccessCount() == CacheManager.REFRESH_COUNT) {
+        Block block = blocks.get(cacheKey);
+        if (block == null || block.accessCount == CacheManager.REFRESH_COUNT) {
+            // the block is bound to the loaded value through the callback, so an eviction
+            // releases exactly the buffer of the evicted value
+            AtomicReference<Block> loaded = new AtomicReference<>();
             MemorySegment segment =
-                    cacheManager.getPage(
+                    cacheManager.getSegment(
                             cacheKey,
                             key -> {
-                                byte[] bytes = readFrom(position, length);
-                                return decompressFunc.apply(bytes);
+                                Block newBlock = load(position, length, decoder, isIndex);
+                                loaded.set(newBlock);
+                                blocks.put(key, newBlock);
+                                return newBlock.segment;
                             },
-                            blocks::remove);
-            container = new SegmentContainer(segment);
-            blocks.put(cacheKey, container);
+                            key -> {
+                                Block evictedBlock = loaded.get();
+                                if (evictedBlock != null && blocks.remove(key, evictedBlock)) {
+                                    ByteBuffer buffer = evictedBlock.pooled;
+                                    if (buffer != null) {
+                                        evicted.add(buffer);
+                                    }
+                                }
+                            });
+
+            block = blocks.get(cacheKey);
+            if (block == null || block.segment != segment) {
+                // evicted concurrently, its buffer is not recycled before the next lookup
+                return segment;
+            }
+            if (loaded.get() == null) {
+                // the cached block is refreshed in the cache
+                block.accessCount = 0;
+            }
+        }
+        block.accessCount++;
+        return block.segment;
+    }
+
+    private Block load(long position, int length, BlockDecoder decoder, boolean isIndex)
+            throws IOException {
+        AtomicReference<ByteBuffer> pooled = new AtomicReference<>();
+        IntFunction<MemorySegment> allocator;
+        if (bufferPool == null) {
+            allocator = MemorySegment::allocateHeapMemory;
+        } else if (isIndex) {
+            allocator = MemorySegment::allocateOffHeapMemory;
+        } else {
+            allocator =
+                    size -> {
+                        ByteBuffer buffer = bufferPool.allocate(size);
+                        pooled.set(buffer);
+                        buffer.limit(size);
+                        return MemorySegment.wrapOffHeapMemory(buffer.slice());
+                    };
+        }
+
+        try {
+            return new Block(decoder.decode(readFrom(position, length), allocator), pooled.get());
+        } catch (Throwable t) {
+            ByteBuffer buffer = pooled.getAndSet(null);
+            if (buffer != null) {
+                bufferPool.release(buffer);
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * Returns the buffers of evicted blocks to the pool. Must only be called when no block read
+     * from this cache is in use anymore.
+     */
+    public void recycleEvicted() {
+        if (bufferPool == null) {
+            return;
+        }
+        ByteBuffer buffer;
+        while ((buffer = evicted.poll()) != null) {
+            bufferPool.release(buffer);
         }
-        return container.access();
     }
 
     @Override
@@ -86,5 +202,34 @@ public class BlockCache implements Closeable {
         for (CacheKey key : sets) {
             cacheManager.invalidPage(key);
         }
+        recycleEvicted();
+        if (mapped != null) {
+            // release the mapping eagerly instead of waiting for the garbage collector
+            MemoryUtils.freeDirectBuffer(mapped);
+            mapped = null;
+        }
+    }
+
+    /** A cached block and the pooled buffer backing it, null if not from the pool. */
+    private static class Block {
+
+        private final MemorySegment segment;
+        @Nullable private final ByteBuffer pooled;
+
+        // only accessed by the owning reader
+        private int accessCount;
+
+        private Block(MemorySegment segment, @Nullable ByteBuffer pooled) {
+            this.segment = segment;
+            this.pooled = pooled;
+        }
+    }
+
+    /** Decompresses a block read from the file into a segment obtained from the allocator. */
+    @FunctionalInterface
+    public interface BlockDecoder {
+
+        MemorySegment decode(MemorySegment block, IntFunction<MemorySegment> allocator)
+                throws IOException;
     }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.paimon.lookup.sort;
 
+import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.compression.BlockCompressionFactory;
 import org.apache.paimon.compression.CompressOptions;
 import org.apache.paimon.io.cache.CacheManager;
@@ -34,26 +35,52 @@ import java.util.Comparator;
 /** A {@link LookupStoreFactory} which uses hash to lookup records on disk. */
 public class SortLookupStoreFactory implements LookupStoreFactory {
 
+    private static final int MAX_POOLED_BLOCKS = 256;
+
     private final Comparator<MemorySlice> comparator;
     private final CacheManager cacheManager;
     private final int blockSize;
     @Nullable private final BlockCompressionFactory compressionFactory;
+    @Nullable private final BlockBufferPool offHeapBufferPool;
 
     public SortLookupStoreFactory(
             Comparator<MemorySlice> comparator,
             CacheManager cacheManager,
             int blockSize,
             CompressOptions compression) {
+        this(comparator, cacheManager, blockSize, compression, false);
+    }
+
+    public SortLookupStoreFactory(
+            Comparator<MemorySlice> comparator,
+            CacheManager cacheManager,
+            int blockSize,
+            CompressOptions compression,
+            boolean offHeap) {
         this.comparator = comparator;
         this.cacheManager = cacheManager;
         this.blockSize = blockSize;
         this.compressionFactory = BlockCompressionFactory.create(compression);
+        // keep idle buffers of a few hundred blocks to be reused by the following reads
+        this.offHeapBufferPool =
+                offHeap ? new BlockBufferPool(MAX_POOLED_BLOCKS * blockSize * 2L) : null;
     }
 
     @Override
     public SortLookupStoreReader createReader(File file, Context context) throws IOException {
         return new SortLookupStoreReader(
-                comparator, file, blockSize, (SortContext) context, cacheManager);
+                comparator,
+                file,
+                blockSize,
+                (SortContext) context,
+                cacheManager,
+                offHeapBufferPool);
+    }
+
+    @VisibleForTesting
+    @Nullable
+    BlockBufferPool offHeapBufferPool() {
+        return offHeapBufferPool;
     }
 
     @Override
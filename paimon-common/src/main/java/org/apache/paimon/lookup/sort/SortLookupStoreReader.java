@@ -33,7 +33,10 @@ import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntFunction;
 
 import static org.apache.paimon.lookup.sort.SortLookupStoreUtils.crc32c;
 import static org.apache.paimon.utils.Preconditions.checkArgument;
@@ -57,12 +60,23 @@ public class SortLookupStoreReader implements LookupStoreReader {
             SortContext context,
             CacheManager cacheManager)
             throws IOException {
+        this(comparator, file, blockSize, context, cacheManager, null);
+    }
+
+    public SortLookupStoreReader(
+            Comparator<MemorySlice> comparator,
+            File file,
+            int blockSize,
+            SortContext context,
+            CacheManager cacheManager,
+            @Nullable BlockBufferPool offHeapBufferPool)
+            throws IOException {
         this.comparator = comparator;
         this.filePath = file.getAbsolutePath();
         this.fileSize = context.fileSize();
 
         this.fileInput = PageFileInput.create(file, blockSize, null, fileSize, null);
-        this.blockCache = new BlockCache(fileInput.file(), cacheManager);
+        this.blockCache = new BlockCache(fileInput.file(), cacheManager, offHeapBufferPool);
         Footer footer = readFooter();
         this.indexBlockIterator = readBlock(footer.getIndexBlockHandle(), true).iterator();
         BloomFilterHandle handle = footer.getBloomFilterHandle();
@@ -80,7 +94,10 @@ public class SortLookupStoreReader implements LookupStoreReader {
     private Footer readFooter() throws IOException {
         MemorySegment footerData =
                 blockCache.getBlock(
-                        fileSize - Footer.ENCODED_LENGTH, Footer.ENCODED_LENGTH, b -> b, true);
+                        fileSize - Footer.ENCODED_LENGTH,
+                        Footer.ENCODED_LENGTH,
+                        (b, allocator) -> b,
+                        true);
         return Footer.readFooter(MemorySlice.wrap(footerData).toInput());
     }
 
@@ -91,6 +108,7 @@ public class SortLookupStoreReader implements LookupStoreReader {
             return null;
         }
 
+        blockCache.recycleEvicted();
         MemorySlice keySlice = MemorySlice.wrap(key);
         // seek the index to the block containing the key
         indexBlockIterator.seekTo(keySlice);
@@ -106,6 +124,50 @@ public class SortLookupStoreReader implements LookupStoreReader {
         return null;
     }
 
+    /**
+     * Sort the keys and seek them in order, keys located in the same data block share one block
+     * read and only seek the index block once.
+     */
+    @Override
+    public byte[][] lookupBatch(byte[][] keys) throws IOException {
+        byte[][] values = new byte[keys.length][];
+        List<Integer> order = new ArrayList<>(keys.length);
+        MemorySlice[] keySlices = new MemorySlice[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (bloomFilter == null || bloomFilter.testHash(MurmurHashUtils.hashBytes(keys[i]))) {
+                keySlices[i] = MemorySlice.wrap(keys[i]);
+                order.add(i);
+            }
+        }
+        order.sort((i1, i2) -> comparator.compare(keySlices[i1], keySlices[i2]));
+        blockCache.recycleEvicted();
+
+        BlockIterator current = null;
+        MemorySlice currentLastKey = null;
+        for (int i : order) {
+            MemorySlice keySlice = keySlices[i];
+            if (current == null || comparator.compare(keySlice, currentLastKey) > 0) {
+                indexBlockIterator.seekTo(keySlice);
+                if (!indexBlockIterator.hasNext()) {
+                    // the remaining keys are larger than all keys in this file
+                    break;
+                }
+                BlockEntry indexEntry = indexBlockIterator.next();
+                currentLastKey = indexEntry.getKey();
+                current =
+                        readBlock(
+                                        BlockHandle.readBlockHandle(
+                                                indexEntry.getValue().toInput()),
+                                        false)
+                                .iterator();
+            }
+            if (current.seekTo(keySlice)) {
+                values[i] = current.next().getValue().copyBytes();
+            }
+        }
+        return values;
+    }
+
     private BlockIterator getNextBlock() {
         // index block handle, point to the key, value position.
         MemorySlice blockHandle = indexBlockIterator.next().getValue();
@@ -125,7 +187,7 @@ public class SortLookupStoreReader implements LookupStoreReader {
                 blockCache.getBlock(
                         blockHandle.offset() + blockHandle.size(),
                         BlockTrailer.ENCODED_LENGTH,
-                        b -> b,
+                        (b, allocator) -> b,
                         true);
         BlockTrailer blockTrailer =
                 BlockTrailer.readBlockTrailer(MemorySlice.wrap(trailerData).toInput());
@@ -134,13 +196,15 @@ public class SortLookupStoreReader implements LookupStoreReader {
                 blockCache.getBlock(
                         blockHandle.offset(),
                         blockHandle.size(),
-                        bytes -> decompressBlock(bytes, blockTrailer),
+                        (segment, allocator) -> decompressBlock(segment, blockTrailer, allocator),
                         index);
         return new BlockReader(MemorySlice.wrap(unCompressedBlock), comparator);
     }
 
-    private byte[] decompressBlock(byte[] compressedBytes, BlockTrailer blockTrailer) {
-        MemorySegment compressed = MemorySegment.wrap(compressedBytes);
+    private MemorySegment decompressBlock(
+            MemorySegment compressed,
+            BlockTrailer blockTrailer,
+            IntFunction<MemorySegment> allocator) {
         int crc32cCode = crc32c(compressed, blockTrailer.getCompressionType());
         checkArgument(
                 blockTrailer.getCrc32c() == crc32cCode,
@@ -152,19 +216,31 @@ public class SortLookupStoreReader implements LookupStoreReader {
         BlockCompressionFactory compressionFactory =
                 BlockCompressionFactory.create(blockTrailer.getCompressionType());
         if (compressionFactory == null) {
-            return compressedBytes;
+            return compressed;
         } else {
             MemorySliceInput compressedInput = MemorySlice.wrap(compressed).toInput();
-            byte[] uncompressed = new byte[compressedInput.readVarLenInt()];
+            MemorySegment uncompressed = allocator.apply(compressedInput.readVarLenInt());
             BlockDecompressor decompressor = compressionFactory.getDecompressor();
-            int uncompressedLength =
-                    decompressor.decompress(
-                            compressed.getHeapMemory(),
-                            compressedInput.position(),
-                            compressedInput.available(),
-                            uncompressed,
-                            0);
-            checkArgument(uncompressedLength == uncompressed.length);
+            int uncompressedLength;
+            if (compressed.isOffHeap() || uncompressed.isOffHeap()) {
+                // decompress mapped blocks directly into the off-heap target
+                uncompressedLength =
+                        decompressor.decompress(
+                                compressed.wrap(0, compressed.size()),
+                                compressedInput.position(),
+                                compressedInput.available(),
+                                uncompressed.wrap(0, uncompressed.size()),
+                                0);
+            } else {
+                uncompressedLength =
+                        decompressor.decompress(
+                                compressed.getHeapMemory(),
+                                compressedInput.position(),
+                                compressedInput.available(),
+                                uncompressed.getHeapMemory(),
+                                0);
+            }
+            checkArgument(uncompressedLength == uncompressed.size());
             return uncompressed;
         }
     }
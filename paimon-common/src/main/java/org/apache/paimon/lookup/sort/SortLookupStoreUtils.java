@@ -35,7 +35,11 @@ public class SortLookupStoreUtils {
 
     public static int crc32c(MemorySegment data, BlockCompressionType type) {
         CRC32 crc = new CRC32();
-        crc.update(data.getHeapMemory(), 0, data.size());
+        if (data.isOffHeap()) {
+            crc.update(data.wrap(0, data.size()));
+        } else {
+            crc.update(data.getHeapMemory(), 0, data.size());
+        }
         crc.update(type.persistentId() & 0xFF);
         return (int) crc.getValue();
     }
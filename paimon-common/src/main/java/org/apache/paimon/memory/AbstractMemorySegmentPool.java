@@ -18,11 +18,12 @@
 
 package org.apache.paimon.memory;
 
+import java.io.Closeable;
 import java.util.LinkedList;
 import java.util.List;
 
 /** Abstract memory segment pool. */
-public abstract class AbstractMemorySegmentPool implements MemorySegmentPool {
+public abstract class AbstractMemorySegmentPool implements MemorySegmentPool, Closeable {
     private final LinkedList<MemorySegment> segments;
     private final int maxPages;
     protected final int pageSize;
@@ -64,4 +65,22 @@ public abstract class AbstractMemorySegmentPool implements MemorySegmentPool {
     public int freePages() {
         return segments.size() + maxPages - numPage;
     }
+
+    /** @return Number of pages allocated by this pool, including the pages cached in it. */
+    public int allocatedPages() {
+        return numPage;
+    }
+
+    /**
+     * Frees the pages cached in this pool. Pages which are still in use should be returned before,
+     * pages which are not returned are left to the garbage collector.
+     */
+    @Override
+    public void close() {
+        numPage -= segments.size();
+        for (MemorySegment segment : segments) {
+            segment.free();
+        }
+        segments.clear();
+    }
 }
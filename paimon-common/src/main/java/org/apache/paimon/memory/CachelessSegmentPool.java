@@ -35,7 +35,7 @@ public class CachelessSegmentPool implements MemorySegmentPool {
     }
 
     @Override
-    public MemorySegment nextSegment() {
+    public synchronized MemorySegment nextSegment() {
         if (numPage < maxPages) {
             numPage++;
             return MemorySegment.allocateHeapMemory(pageSize);
@@ -50,12 +50,12 @@ public class CachelessSegmentPool implements MemorySegmentPool {
     }
 
     @Override
-    public void returnAll(List<MemorySegment> memory) {
+    public synchronized void returnAll(List<MemorySegment> memory) {
         numPage -= memory.size();
     }
 
     @Override
-    public int freePages() {
+    public synchronized int freePages() {
         return maxPages - numPage;
     }
 }
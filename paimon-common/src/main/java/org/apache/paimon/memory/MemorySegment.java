@@ -96,6 +96,17 @@ public final class MemorySegment {
         return heapMemory == null;
     }
 
+    /**
+     * Frees the off-heap memory of this segment eagerly, the segment must own its memory (see
+     * {@link #allocateOffHeapMemory}) and must not be used anymore. Heap memory is left to the
+     * garbage collector.
+     */
+    public void free() {
+        if (offHeapBuffer != null) {
+            MemoryUtils.freeDirectBuffer(offHeapBuffer);
+        }
+    }
+
     public byte[] getArray() {
         if (heapMemory != null) {
             return heapMemory;
@@ -21,6 +21,7 @@ package org.apache.paimon.memory;
 import org.apache.paimon.utils.Preconditions;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -123,6 +124,33 @@ public class MemoryUtils {
         return offHeapAddress;
     }
 
+    /**
+     * Releases the native memory of a direct {@link ByteBuffer} (including a mapped one) eagerly
+     * instead of waiting for the garbage collector. The buffer must own its memory, that is it is
+     * not a slice or duplicate, and neither it nor any view of it may be accessed anymore.
+     */
+    public static void freeDirectBuffer(ByteBuffer buffer) {
+        Preconditions.checkArgument(buffer.isDirect(), "Can't free a non-direct ByteBuffer.");
+        try {
+            try {
+                // java 9+
+                Method invokeCleaner =
+                        UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+                invokeCleaner.invoke(UNSAFE, buffer);
+            } catch (NoSuchMethodException e) {
+                // java 8
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to free the direct buffer.", e);
+        }
+    }
+
     /** Should not be instantiated. */
     private MemoryUtils() {}
 }
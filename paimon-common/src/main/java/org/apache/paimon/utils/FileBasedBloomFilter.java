@@ -59,19 +59,22 @@ public class FileBasedBloomFilter implements Closeable {
     }
 
     public boolean testHash(int hash) {
-        accessCount++;
-        // we should refresh cache in LRU, but we cannot refresh everytime, it is costly.
-        // so we introduce a refresh count to reduce refresh
-        if (accessCount == REFRESH_COUNT || filter.getMemorySegment() == null) {
-            MemorySegment segment =
-                    cacheManager.getPage(
-                            cacheKey,
-                            key -> input.readPosition(readOffset, readLength),
-                            new BloomFilterCallBack(filter));
-            filter.setMemorySegment(segment, 0);
-            accessCount = 0;
+        // the segment can be unset by an eviction triggered from another thread
+        synchronized (filter) {
+            accessCount++;
+            // we should refresh cache in LRU, but we cannot refresh everytime, it is costly.
+            // so we introduce a refresh count to reduce refresh
+            if (accessCount == REFRESH_COUNT || filter.getMemorySegment() == null) {
+                MemorySegment segment =
+                        cacheManager.getPage(
+                                cacheKey,
+                                key -> input.readPosition(readOffset, readLength),
+                                new BloomFilterCallBack(filter));
+                filter.setMemorySegment(segment, 0);
+                accessCount = 0;
+            }
+            return filter.testHash(hash);
         }
-        return filter.testHash(hash);
     }
 
     @VisibleForTesting
@@ -95,7 +98,9 @@ public class FileBasedBloomFilter implements Closeable {
 
         @Override
         public void onRemoval(CacheKey key) {
-            this.bloomFilter.unsetMemorySegment();
+            synchronized (bloomFilter) {
+                this.bloomFilter.unsetMemorySegment();
+            }
         }
     }
 }
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentPool;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * Int to short open addressing hash map, the slots are stored in {@link MemorySegment}s allocated
+ * from a {@link MemorySegmentPool}. With an off-heap pool, entries are not visible to GC at all.
+ *
+ * <p>Every slot takes 8 bytes: the key (4 bytes), the value (2 bytes) and a used flag (1 byte).
+ * Slots never span segments because the page size is a power of two. The map takes at least one
+ * page of the pool.
+ *
+ * <p>Use {@link #tryCreate} and {@link #tryPut} to handle an exhausted pool, the other methods fail
+ * in that case.
+ */
+public class SegmentInt2ShortHashMap implements Int2ShortMap {
+
+    private static final int SLOT_SIZE = 8;
+    private static final int VALUE_OFFSET = 4;
+    private static final int USED_OFFSET = 6;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final MemorySegmentPool pool;
+    private final int pageSize;
+    private final int slotsPerSegmentBits;
+    private final int slotsPerSegmentMask;
+
+    private List<MemorySegment> segments;
+    private int capacity;
+    private int mask;
+    private int size;
+    private int growThreshold;
+
+    public SegmentInt2ShortHashMap(MemorySegmentPool pool) {
+        this(pool, 0);
+    }
+
+    public SegmentInt2ShortHashMap(MemorySegmentPool pool, int expectedSize) {
+        this(pool, expectedSize, true);
+    }
+
+    private SegmentInt2ShortHashMap(
+            MemorySegmentPool pool, int expectedSize, boolean failIfExhausted) {
+        this.pool = pool;
+        this.pageSize = pool.pageSize();
+        checkArgument(
+                pageSize >= SLOT_SIZE && Integer.bitCount(pageSize) == 1,
+                "Page size %s should be a power of two.",
+                pageSize);
+        int slotsPerSegment = pageSize / SLOT_SIZE;
+        this.slotsPerSegmentBits = Integer.numberOfTrailingZeros(slotsPerSegment);
+        this.slotsPerSegmentMask = slotsPerSegment - 1;
+
+        int capacity = slotsPerSegment;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            if (capacity >= 1 << 30) {
+                throw new RuntimeException(
+                        "capacity of SegmentInt2ShortHashMap is too large, advise raise your parallelism in your Flink/Spark job");
+            }
+            capacity <<= 1;
+        }
+        this.segments = allocate(capacity);
+        if (segments == null && failIfExhausted) {
+            throw exhausted(capacity);
+        }
+        this.size = 0;
+        setCapacity(capacity);
+    }
+
+    /**
+     * Creates a map with capacity for the expected size, returns null if the pool has not enough
+     * free pages.
+     */
+    @Nullable
+    public static SegmentInt2ShortHashMap tryCreate(MemorySegmentPool pool, int expectedSize) {
+        SegmentInt2ShortHashMap map = new SegmentInt2ShortHashMap(pool, expectedSize, false);
+        return map.segments == null ? null : map;
+    }
+
+    @Override
+    public void put(int key, short value) {
+        if (!tryPut(key, value)) {
+            throw exhausted(capacity << 1);
+        }
+    }
+
+    /**
+     * Puts the entry, returns false without changing this map if it has to grow but the pool has
+     * not enough free pages.
+     */
+    public boolean tryPut(int key, short value) {
+        if (size >= growThreshold && !grow()) {
+            return false;
+        }
+        int slot = findSlot(key);
+        MemorySegment segment = segment(slot);
+        int offset = offset(slot);
+        if (segment.get(offset + USED_OFFSET) == 0) {
+            segment.putInt(offset, key);
+            segment.put(offset + USED_OFFSET, (byte) 1);
+            size++;
+        }
+        segment.putShort(offset + VALUE_OFFSET, value);
+        return true;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        int slot = findSlot(key);
+        return segment(slot).get(offset(slot) + USED_OFFSET) != 0;
+    }
+
+    @Override
+    public short get(int key) {
+        int slot = findSlot(key);
+        MemorySegment segment = segment(slot);
+        int offset = offset(slot);
+        return segment.get(offset + USED_OFFSET) == 0 ? 0 : segment.getShort(offset + VALUE_OFFSET);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Memory size of the segments held by this map. */
+    public long memorySize() {
+        return segments == null ? 0 : (long) segments.size() * pageSize;
+    }
+
+    /** Calls the consumer for every entry of this map. */
+    public void forEach(EntryConsumer consumer) throws IOException {
+        for (int slot = 0; slot < capacity; slot++) {
+            MemorySegment segment = segment(slot);
+            int offset = offset(slot);
+            if (segment.get(offset + USED_OFFSET) != 0) {
+                consumer.accept(segment.getInt(offset), segment.getShort(offset + VALUE_OFFSET));
+            }
+        }
+    }
+
+    /** Returns all segments to the pool, this map can not be used after freeing. */
+    public void free() {
+        if (segments != null) {
+            pool.returnAll(segments);
+            segments = null;
+        }
+    }
+
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            MemorySegment segment = segment(slot);
+            int offset = offset(slot);
+            if (segment.get(offset + USED_OFFSET) == 0 || segment.getInt(offset) == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean grow() {
+        if (capacity >= 1 << 30) {
+            throw new RuntimeException(
+                    "capacity of SegmentInt2ShortHashMap is too large, advise raise your parallelism in your Flink/Spark job");
+        }
+
+        List<MemorySegment> newSegments = allocate(capacity << 1);
+        if (newSegments == null) {
+            return false;
+        }
+
+        List<MemorySegment> oldSegments = segments;
+        int oldCapacity = capacity;
+        segments = newSegments;
+        setCapacity(oldCapacity << 1);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            MemorySegment oldSegment = oldSegments.get(slot >>> slotsPerSegmentBits);
+            int oldOffset = offset(slot);
+            if (oldSegment.get(oldOffset + USED_OFFSET) != 0) {
+                int key = oldSegment.getInt(oldOffset);
+                int newSlot = findSlot(key);
+                MemorySegment segment = segment(newSlot);
+                int offset = offset(newSlot);
+                segment.putInt(offset, key);
+                segment.putShort(
+                        offset + VALUE_OFFSET, oldSegment.getShort(oldOffset + VALUE_OFFSET));
+                segment.put(offset + USED_OFFSET, (byte) 1);
+            }
+        }
+        pool.returnAll(oldSegments);
+        return true;
+    }
+
+    /** Returns null if the pool is exhausted. */
+    @Nullable
+    private List<MemorySegment> allocate(int capacity) {
+        int numSegments = Math.max(1, capacity >>> slotsPerSegmentBits);
+        List<MemorySegment> result = new ArrayList<>(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            MemorySegment segment = pool.nextSegment();
+            if (segment == null) {
+                pool.returnAll(result);
+                return null;
+            }
+            // pooled segments may contain old data
+            for (int offset = 0; offset < pageSize; offset += SLOT_SIZE) {
+                segment.putLong(offset, 0L);
+            }
+            result.add(segment);
+        }
+        return result;
+    }
+
+    private IllegalStateException exhausted(int capacity) {
+        return new IllegalStateException(
+                String.format(
+                        "Can not allocate %s pages of %s bytes for SegmentInt2ShortHashMap with "
+                                + "capacity %s, the memory pool has only %s free pages. "
+                                + "Please increase the memory size of the pool.",
+                        Math.max(1, capacity >>> slotsPerSegmentBits),
+                        pageSize,
+                        capacity,
+                        pool.freePages()));
+    }
+
+    private void setCapacity(int capacity) {
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.growThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private MemorySegment segment(int slot) {
+        return segments.get(slot >>> slotsPerSegmentBits);
+    }
+
+    private int offset(int slot) {
+        return (slot & slotsPerSegmentMask) * SLOT_SIZE;
+    }
+
+    private static int mix(int x) {
+        int h = x * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Consumer of the entries of {@link SegmentInt2ShortHashMap}. */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, short value) throws IOException;
+    }
+}
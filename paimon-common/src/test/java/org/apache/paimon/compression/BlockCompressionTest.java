@@ -18,9 +18,12 @@
 
 package org.apache.paimon.compression;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.apache.paimon.compression.CompressorUtils.HEADER_LENGTH;
@@ -30,7 +33,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class BlockCompressionTest {
 
     private static Stream<String> compressCodecGenerator() {
-        return Stream.of("LZ4", "LZO", "ZSTD");
+        return Stream.of("LZ4", "LZO", "ZSTD", "ADAPTIVE");
     }
 
     @ParameterizedTest
@@ -42,6 +45,40 @@ class BlockCompressionTest {
         runTest(factory, 16);
     }
 
+    @Test
+    void testAdaptiveCompressionChoice() {
+        AdaptiveBlockCompressionFactory factory = new AdaptiveBlockCompressionFactory(1);
+        byte[] random = new byte[32768];
+        new Random(42).nextBytes(random);
+        byte[] text = new byte[32768];
+        byte[] words = "paimon spill file ".getBytes();
+        for (int i = 0; i < text.length; i++) {
+            text[i] = words[i % words.length];
+        }
+
+        // incompressible data is not worth the slower zstd
+        AdaptiveBlockCompressionFactory.AdaptiveBlockCompressor compressor =
+                (AdaptiveBlockCompressionFactory.AdaptiveBlockCompressor) factory.getCompressor();
+        byte[] compressed = new byte[compressor.getMaxCompressedSize(random.length)];
+        int len = compressor.compress(random, 0, random.length, compressed, 0);
+        assertThat(compressor.chosenType()).isEqualTo(BlockCompressionType.LZ4);
+
+        // the codec is kept for the following blocks
+        byte[] compressed2 = new byte[compressor.getMaxCompressedSize(text.length)];
+        int len2 = compressor.compress(text, 0, text.length, compressed2, 0);
+        assertThat(compressor.chosenType()).isEqualTo(BlockCompressionType.LZ4);
+        assertThat(compressed2[0]).isEqualTo((byte) BlockCompressionType.LZ4.persistentId());
+
+        BlockDecompressor decompressor = factory.getDecompressor();
+        byte[] decompressed = new byte[32768];
+        assertThat(decompressor.decompress(compressed, 0, len, decompressed, 0))
+                .isEqualTo(random.length);
+        assertThat(decompressed).isEqualTo(random);
+        assertThat(decompressor.decompress(compressed2, 0, len2, decompressed, 0))
+                .isEqualTo(text.length);
+        assertThat(decompressed).isEqualTo(text);
+    }
+
     private void runTest(BlockCompressionFactory factory, int originalLen) {
         BlockCompressor compressor = factory.getCompressor();
         BlockDecompressor decompressor = factory.getDecompressor();
@@ -100,5 +137,34 @@ class BlockCompressionTest {
         for (int i = 0; i < originalLen; i++) {
             assertThat(decompressedData[decompressedOff + i]).isEqualTo(data[originalOff + i]);
         }
+
+        // 5. test decompress between direct buffers
+        ByteBuffer compressedBuffer = ByteBuffer.allocateDirect(compressedData.length);
+        compressedBuffer.put(compressedData);
+        ByteBuffer decompressedBuffer = ByteBuffer.allocateDirect(decompressedOff + originalLen);
+        assertThat(
+                        decompressor.decompress(
+                                compressedBuffer,
+                                compressedOff,
+                                compressedLen,
+                                decompressedBuffer,
+                                decompressedOff))
+                .isEqualTo(originalLen);
+        for (int i = 0; i < originalLen; i++) {
+            assertThat(decompressedBuffer.get(decompressedOff + i))
+                    .isEqualTo(data[originalOff + i]);
+        }
+
+        ByteBuffer insufficientBuffer =
+                ByteBuffer.allocateDirect(decompressedOff + originalLen - 1);
+        assertThatThrownBy(
+                        () ->
+                                decompressor.decompress(
+                                        compressedBuffer,
+                                        compressedOff,
+                                        compressedLen,
+                                        insufficientBuffer,
+                                        decompressedOff))
+                .isInstanceOf(BufferDecompressionException.class);
     }
 }
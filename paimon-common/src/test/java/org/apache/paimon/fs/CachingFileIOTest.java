@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link CachingFileIO} and {@link BlockCache}. */
+public class CachingFileIOTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testRead() throws IOException {
+        byte[] content = new byte[1000];
+        new Random().nextBytes(content);
+        Path path = new Path(tempDir.toString(), "bucket-0/data-1.orc");
+        try (PositionOutputStream out = LocalFileIO.create().newOutputStream(path, true)) {
+            out.write(content);
+        }
+
+        CachingFileIO fileIO =
+                new CachingFileIO(
+                        LocalFileIO.create(),
+                        new File(tempDir.toFile(), "cache").toString(),
+                        10_000,
+                        64);
+        Random random = new Random();
+        for (int i = 0; i < 2; i++) {
+            try (SeekableInputStream in = fileIO.newInputStream(path)) {
+                for (int j = 0; j < 100; j++) {
+                    int pos = random.nextInt(content.length);
+                    int len = random.nextInt(200);
+                    in.seek(pos);
+                    byte[] bytes = new byte[len];
+                    int read = 0;
+                    while (read < len) {
+                        int n = in.read(bytes, read, len - read);
+                        if (n < 0) {
+                            break;
+                        }
+                        read += n;
+                    }
+                    assertThat(read).isEqualTo(Math.min(len, content.length - pos));
+                    for (int k = 0; k < read; k++) {
+                        assertThat(bytes[k]).isEqualTo(content[pos + k]);
+                    }
+                }
+                in.seek(content.length);
+                assertThat(in.read()).isEqualTo(-1);
+            }
+        }
+
+        // 16 blocks, each loaded once
+        assertThat(fileIO.cache().missCount()).isEqualTo(16);
+        assertThat(fileIO.cache().usedBytes()).isEqualTo(content.length);
+
+        fileIO.delete(path, false);
+        assertThat(fileIO.cache().usedBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testVectoredRead() throws Exception {
+        byte[] content = new byte[1000];
+        new Random().nextBytes(content);
+        Path path = new Path(tempDir.toString(), "bucket-0/data-1.orc");
+        try (PositionOutputStream out = LocalFileIO.create().newOutputStream(path, true)) {
+            out.write(content);
+        }
+
+        CachingFileIO fileIO =
+                new CachingFileIO(
+                        LocalFileIO.create(),
+                        new File(tempDir.toFile(), "cache").toString(),
+                        10_000,
+                        64);
+        try (SeekableInputStream in = fileIO.newInputStream(path)) {
+            assertThat(in).isInstanceOf(VectoredReadable.class);
+            List<FileRange> ranges = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                ranges.add(FileRange.createFileRange(i * 100L, 70));
+            }
+            ((VectoredReadable) in).readVectored(ranges);
+            for (FileRange range : ranges) {
+                byte[] expected = new byte[range.getLength()];
+                System.arraycopy(content, (int) range.getOffset(), expected, 0, expected.length);
+                assertThat(range.getData().get()).isEqualTo(expected);
+            }
+        }
+        assertThat(fileIO.cache().usedBytes()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testSharedCache() {
+        String directory = new File(tempDir.toFile(), "cache").toString();
+        BlockCache cache = BlockCache.getOrCreate(directory, 1000, 10);
+        assertThat(BlockCache.getOrCreate(directory, 1000, 10)).isSameAs(cache);
+
+        // blocks of different sizes are never shared
+        BlockCache otherCache = BlockCache.getOrCreate(directory, 1000, 20);
+        assertThat(otherCache).isNotSameAs(cache);
+        assertThat(otherCache.blockSize()).isEqualTo(20);
+
+        assertThatThrownBy(() -> BlockCache.getOrCreate(directory, 2000, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max size");
+    }
+
+    @Test
+    public void testInvalidate() throws IOException {
+        BlockCache cache = new BlockCache(tempDir.toFile(), 1000, 10);
+        Path path1 = new Path("/bucket-0/data-1.orc");
+        Path path2 = new Path("/bucket-0/data-2.orc");
+        for (int i = 0; i < 5; i++) {
+            cache.getBlock(path1, i, (offset, length) -> new byte[length]);
+            cache.getBlock(path2, i, (offset, length) -> new byte[length]);
+        }
+        assertThat(cache.usedBytes()).isEqualTo(100);
+
+        cache.invalidate(path1);
+        assertThat(cache.usedBytes()).isEqualTo(50);
+        cache.invalidate(path1);
+        assertThat(cache.usedBytes()).isEqualTo(50);
+
+        cache.getBlock(path2, 0, (offset, length) -> new byte[length]);
+        cache.getBlock(path1, 0, (offset, length) -> new byte[length]);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(11);
+    }
+
+    @Test
+    public void testEviction() throws IOException {
+        BlockCache cache = new BlockCache(tempDir.toFile(), 100, 10);
+        Path path = new Path("/bucket-0/data-1.orc");
+        for (int i = 0; i < 20; i++) {
+            cache.getBlock(path, i, (offset, length) -> new byte[length]);
+        }
+        assertThat(cache.usedBytes()).isEqualTo(100);
+
+        // the most recently used blocks are kept
+        cache.getBlock(path, 19, (offset, length) -> new byte[length]);
+        cache.getBlock(path, 0, (offset, length) -> new byte[length]);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(21);
+    }
+
+    @Test
+    public void testSingleflight() throws Exception {
+        BlockCache cache = new BlockCache(tempDir.toFile(), 1000, 10);
+        Path path = new Path("/bucket-0/data-1.orc");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        cache.getBlock(
+                                                path,
+                                                0,
+                                                (offset, length) -> {
+                                                    loads.incrementAndGet();
+                                                    try {
+                                                        latch.await();
+                                                    } catch (InterruptedException e) {
+                                                        throw new IOException(e);
+                                                    }
+                                                    return new byte[] {1, 2, 3};
+                                                })));
+            }
+            Thread.sleep(100);
+            latch.countDown();
+            for (Future<byte[]> future : futures) {
+                assertThat(future.get()).containsExactly(1, 2, 3);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testImmutable() {
+        assertThat(CachingFileIO.isImmutable(new Path("/t/dt=1/bucket-0/data-1.orc"))).isTrue();
+        assertThat(CachingFileIO.isImmutable(new Path("/t/manifest/manifest-1"))).isTrue();
+        assertThat(CachingFileIO.isImmutable(new Path("/t/index/index-1"))).isTrue();
+        assertThat(CachingFileIO.isImmutable(new Path("/t/snapshot/LATEST"))).isFalse();
+        assertThat(CachingFileIO.isImmutable(new Path("/t/consumer/consumer-1"))).isFalse();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link VectoredReadableInputStream}. */
+public class VectoredReadableInputStreamTest {
+
+    private final byte[] bytes = new byte[1024 * 1024];
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    public VectoredReadableInputStreamTest() {
+        ThreadLocalRandom.current().nextBytes(bytes);
+    }
+
+    @Test
+    public void testReuseRangeStreams() throws Exception {
+        VectoredReadableInputStream in = newStream(1);
+        for (int i = 0; i < 10; i++) {
+            byte[] buffer = new byte[100];
+            in.preadFully(i * 1000, buffer, 0, 100);
+            assertThat(buffer).isEqualTo(copyOf(i * 1000, 100));
+        }
+
+        // sequential positioned reads are served by one range stream
+        assertThat(opened.get()).isEqualTo(1);
+        assertThat(closed.get()).isEqualTo(0);
+
+        in.close();
+        assertThat(closed.get()).isEqualTo(1);
+        assertThatThrownBy(() -> in.pread(0, new byte[1], 0, 1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testVectoredRead() throws Exception {
+        int parallelism = 4;
+        VectoredReadableInputStream in = newStream(parallelism);
+        List<FileRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ranges.add(FileRange.createFileRange(i * 50_000L, 1000));
+        }
+        in.readVectored(ranges);
+        for (FileRange range : ranges) {
+            assertThat(range.getData().get())
+                    .isEqualTo(copyOf((int) range.getOffset(), range.getLength()));
+        }
+
+        assertThat(opened.get()).isBetween(1, parallelism);
+        in.close();
+        assertThat(closed.get()).isEqualTo(opened.get());
+    }
+
+    private VectoredReadableInputStream newStream(int parallelism) {
+        return new VectoredReadableInputStream(
+                new ByteArraySeekableStream(bytes),
+                () -> {
+                    opened.incrementAndGet();
+                    return new ByteArraySeekableStream(bytes) {
+                        @Override
+                        public void close() {
+                            closed.incrementAndGet();
+                        }
+                    };
+                },
+                100,
+                parallelism);
+    }
+
+    private byte[] copyOf(int offset, int length) {
+        byte[] expected = new byte[length];
+        System.arraycopy(bytes, offset, expected, 0, length);
+        return expected;
+    }
+}
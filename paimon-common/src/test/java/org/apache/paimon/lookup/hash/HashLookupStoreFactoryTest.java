@@ -321,6 +321,29 @@ public class HashLookupStoreFactoryTest {
         }
     }
 
+    @TestTemplate
+    public void testLookupBatch() throws IOException {
+        Integer[] keys = generateIntKeys(1000);
+        String[] values = generateStringData(keys.length, 12);
+        Context context = writeStore(file, keys, values);
+
+        HashLookupStoreReader reader = factory.createReader(file, context);
+        byte[][] batchKeys = new byte[keys.length + 2][];
+        for (int i = 0; i < keys.length; i++) {
+            batchKeys[i] = toBytes(keys[keys.length - 1 - i]);
+        }
+        batchKeys[keys.length] = toBytes(keys.length);
+        batchKeys[keys.length + 1] = toBytes("not-exist");
+
+        byte[][] batchValues = reader.lookupBatch(batchKeys);
+        for (int i = 0; i < keys.length; i++) {
+            assertThat(batchValues[i]).isEqualTo(toBytes(values[keys.length - 1 - i]));
+        }
+        assertThat(batchValues[keys.length]).isNull();
+        assertThat(batchValues[keys.length + 1]).isNull();
+        reader.close();
+    }
+
     @TestTemplate
     public void testIterate() throws IOException {
         Integer[] keys = generateIntKeys(100);
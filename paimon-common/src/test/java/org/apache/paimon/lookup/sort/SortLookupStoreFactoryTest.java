@@ -39,10 +39,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -114,6 +118,44 @@ public class SortLookupStoreFactoryTest {
         assertThat(cacheManager.indexCache().asMap()).isEmpty();
     }
 
+    @TestTemplate
+    public void testLookupBatch() throws IOException {
+        CacheManager cacheManager = new CacheManager(MemorySize.ofMebiBytes(1));
+        SortLookupStoreFactory factory =
+                new SortLookupStoreFactory(Comparator.naturalOrder(), cacheManager, 1024, compress);
+
+        int valueCount = 100_000;
+        SortLookupStoreWriter writer =
+                factory.createWriter(file, createBloomFiler(bloomFilterEnabled));
+        for (int i = 0; i < valueCount; i++) {
+            byte[] bytes = toBytes(i);
+            writer.put(bytes, bytes);
+        }
+        Context context = writer.close();
+
+        SortLookupStoreReader reader = factory.createReader(file, context);
+        int[] queries = new int[QUERY_COUNT];
+        byte[][] keys = new byte[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            // some of the keys do not exist
+            queries[i] = rnd.nextInt(valueCount + valueCount / 10);
+            keys[i] = toBytes(queries[i]);
+        }
+
+        byte[][] values = reader.lookupBatch(keys);
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            if (queries[i] < valueCount) {
+                assertThat(fromBytes(values[i])).isEqualTo(queries[i]);
+            } else {
+                assertThat(values[i]).isNull();
+            }
+        }
+
+        reader.close();
+        assertThat(cacheManager.dataCache().asMap()).isEmpty();
+        assertThat(cacheManager.indexCache().asMap()).isEmpty();
+    }
+
     @TestTemplate
     public void testEmpty() throws IOException {
         CacheManager cacheManager = new CacheManager(MemorySize.ofMebiBytes(1));
@@ -168,6 +210,133 @@ public class SortLookupStoreFactoryTest {
         reader.close();
     }
 
+    @TestTemplate
+    public void testOffHeap() throws IOException {
+        RowCompactedSerializer keySerializer =
+                new RowCompactedSerializer(RowType.of(new IntType()));
+        GenericRow row = new GenericRow(1);
+        CacheManager cacheManager = new CacheManager(MemorySize.ofMebiBytes(1));
+        SortLookupStoreFactory factory =
+                new SortLookupStoreFactory(
+                        keySerializer.createSliceComparator(), cacheManager, 1024, compress, true);
+
+        int valueCount = 100_000;
+        SortLookupStoreWriter writer =
+                factory.createWriter(file, createBloomFiler(bloomFilterEnabled));
+        for (int i = 0; i < valueCount; i++) {
+            writer.put(toBytes(keySerializer, row, i), toBytes(i));
+        }
+        Context context = writer.close();
+
+        SortLookupStoreReader reader = factory.createReader(file, context);
+        int[] queries = new int[QUERY_COUNT];
+        byte[][] keys = new byte[QUERY_COUNT][];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = rnd.nextInt(valueCount + valueCount / 10);
+            keys[i] = toBytes(keySerializer, row, queries[i]);
+            byte[] value = reader.lookup(keys[i]);
+            if (queries[i] < valueCount) {
+                assertThat(fromBytes(value)).isEqualTo(queries[i]);
+            } else {
+                assertThat(value).isNull();
+            }
+        }
+
+        byte[][] values = reader.lookupBatch(keys);
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            if (queries[i] < valueCount) {
+                assertThat(fromBytes(values[i])).isEqualTo(queries[i]);
+            } else {
+                assertThat(values[i]).isNull();
+            }
+        }
+
+        reader.close();
+        assertThat(cacheManager.dataCache().asMap()).isEmpty();
+        assertThat(cacheManager.indexCache().asMap()).isEmpty();
+
+        // decompressed data blocks are returned to the pool for the following readers
+        BlockBufferPool pool = factory.offHeapBufferPool();
+        long pooledBytes = pool.pooledBytes();
+        if (compress.compress().equals("none")) {
+            assertThat(pooledBytes).isEqualTo(0);
+        } else {
+            assertThat(pooledBytes).isGreaterThan(0);
+            reader = factory.createReader(file, context);
+            assertThat(fromBytes(reader.lookup(toBytes(keySerializer, row, 10)))).isEqualTo(10);
+            assertThat(pool.pooledBytes()).isLessThan(pooledBytes);
+            reader.close();
+            assertThat(pool.pooledBytes()).isEqualTo(pooledBytes);
+        }
+    }
+
+    @TestTemplate
+    public void testConcurrentOffHeapLookup() throws Exception {
+        RowCompactedSerializer keySerializer =
+                new RowCompactedSerializer(RowType.of(new IntType()));
+        // a tiny cache, so blocks of one reader are evicted by the lookups of the others
+        CacheManager cacheManager = new CacheManager(MemorySize.ofKibiBytes(16));
+
+        int numReaders = 4;
+        int valueCount = 20_000;
+        SortLookupStoreReader[] readers = new SortLookupStoreReader[numReaders];
+        for (int r = 0; r < numReaders; r++) {
+            File readerFile = new File(tempDir.toFile(), UUID.randomUUID().toString());
+            GenericRow row = new GenericRow(1);
+            // the slice comparator is not thread safe, every bucket owns its factory
+            SortLookupStoreFactory factory =
+                    new SortLookupStoreFactory(
+                            keySerializer.createSliceComparator(),
+                            cacheManager,
+                            1024,
+                            compress,
+                            true);
+            SortLookupStoreWriter writer =
+                    factory.createWriter(readerFile, createBloomFiler(bloomFilterEnabled));
+            for (int i = 0; i < valueCount; i++) {
+                writer.put(toBytes(keySerializer, row, i), toBytes(r * valueCount + i));
+            }
+            readers[r] = factory.createReader(readerFile, writer.close());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numReaders);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int r = 0; r < numReaders; r++) {
+                int readerIndex = r;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    // the serializer reuses its buffer, one per thread
+                                    RowCompactedSerializer serializer =
+                                            new RowCompactedSerializer(RowType.of(new IntType()));
+                                    GenericRow row = new GenericRow(1);
+                                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                                    for (int i = 0; i < QUERY_COUNT; i++) {
+                                        int query = random.nextInt(valueCount);
+                                        byte[] value =
+                                                readers[readerIndex].lookup(
+                                                        toBytes(serializer, row, query));
+                                        assertThat(fromBytes(value))
+                                                .isEqualTo(readerIndex * valueCount + query);
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (SortLookupStoreReader reader : readers) {
+            reader.close();
+        }
+        assertThat(cacheManager.dataCache().asMap()).isEmpty();
+        assertThat(cacheManager.indexCache().asMap()).isEmpty();
+    }
+
     private BloomFilter.Builder createBloomFiler(boolean enabled) {
         if (!enabled) {
             return null;
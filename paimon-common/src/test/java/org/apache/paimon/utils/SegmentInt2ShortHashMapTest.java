@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.memory.OffHeapMemorySegmentPool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link SegmentInt2ShortHashMap}. */
+public class SegmentInt2ShortHashMapTest {
+
+    @Test
+    public void testRandom() throws Exception {
+        Map<Integer, Short> values = new HashMap<>();
+        Random rnd = new Random();
+        int num = rnd.nextInt(10000);
+        for (int i = 0; i < num; i++) {
+            values.put(rnd.nextInt(), (short) rnd.nextInt());
+        }
+        if (rnd.nextBoolean()) {
+            values.put(0, (short) 0);
+            values.put(-1, (short) -1);
+            values.put(1, (short) 1);
+        }
+
+        MemorySegmentPool pool =
+                rnd.nextBoolean()
+                        ? new HeapMemorySegmentPool(1024 * 1024, 1024)
+                        : new OffHeapMemorySegmentPool(1024 * 1024, 1024);
+        int freePages = pool.freePages();
+        SegmentInt2ShortHashMap map = new SegmentInt2ShortHashMap(pool);
+        values.forEach(map::put);
+
+        assertThat(map.size()).isEqualTo(values.size());
+        values.forEach(
+                (k, v) -> {
+                    assertThat(map.containsKey(k)).isTrue();
+                    assertThat(map.get(k)).isEqualTo(v);
+                });
+
+        Map<Integer, Short> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertThat(iterated).isEqualTo(values);
+
+        // overwrite
+        values.keySet().forEach(k -> map.put(k, (short) 5));
+        assertThat(map.size()).isEqualTo(values.size());
+        values.keySet().forEach(k -> assertThat(map.get(k)).isEqualTo((short) 5));
+
+        assertThat(map.memorySize()).isEqualTo((long) (freePages - pool.freePages()) * 1024);
+        map.free();
+        assertThat(pool.freePages()).isEqualTo(freePages);
+
+        // reuse dirty pages
+        SegmentInt2ShortHashMap newMap = new SegmentInt2ShortHashMap(pool);
+        assertThat(newMap.size()).isEqualTo(0);
+        values.keySet().forEach(k -> assertThat(newMap.containsKey(k)).isFalse());
+    }
+
+    @Test
+    public void testMemoryExhausted() {
+        MemorySegmentPool pool = new HeapMemorySegmentPool(4 * 1024, 1024);
+        SegmentInt2ShortHashMap map = new SegmentInt2ShortHashMap(pool);
+        assertThatThrownBy(
+                        () -> {
+                            for (int i = 0; i < 1024; i++) {
+                                map.put(i, (short) i);
+                            }
+                        })
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Please increase the memory size of the pool");
+        map.free();
+        assertThat(pool.freePages()).isEqualTo(4);
+
+        // try methods leave the map unchanged
+        SegmentInt2ShortHashMap tryMap = SegmentInt2ShortHashMap.tryCreate(pool, 0);
+        assertThat(tryMap).isNotNull();
+        int size = 0;
+        while (tryMap.tryPut(size, (short) size)) {
+            size++;
+        }
+        assertThat(tryMap.size()).isEqualTo(size);
+        for (int i = 0; i < size; i++) {
+            assertThat(tryMap.get(i)).isEqualTo((short) i);
+        }
+        assertThat(SegmentInt2ShortHashMap.tryCreate(pool, 1024)).isNull();
+        tryMap.free();
+        assertThat(pool.freePages()).isEqualTo(4);
+    }
+}
@@ -179,7 +179,8 @@ abstract class AbstractFileStore<T> implements FileStore<T> {
                 options.path(),
                 options.branch(),
                 catalogEnvironment.snapshotLoader(),
-                snapshotCache);
+                snapshotCache,
+                options.snapshotTimelineEnabled());
     }
 
     @Override
@@ -23,6 +23,7 @@ import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.SeekableInputStream;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.table.source.DeletionFile;
+import org.apache.paimon.utils.RoaringBitmap32;
 
 import javax.annotation.Nullable;
 
@@ -79,6 +80,24 @@ public interface DeletionVector extends DeletionVectorJudger {
      */
     boolean isEmpty();
 
+    /**
+     * Returns the positions of the rows which are not deleted in a file of {@code rowCount} rows,
+     * which can be passed to format readers as selection to skip pages and row groups whose rows
+     * are all deleted. Returns null if no row is deleted or the positions do not fit into a 32-bit
+     * bitmap.
+     */
+    @Nullable
+    static RoaringBitmap32 remainingRows(@Nullable DeletionVector deletionVector, long rowCount) {
+        if (!(deletionVector instanceof BitmapDeletionVector)
+                || deletionVector.isEmpty()
+                || rowCount > RoaringBitmap32.MAX_VALUE) {
+            return null;
+        }
+        RoaringBitmap32 selection = RoaringBitmap32.bitmapOfRange(0, rowCount);
+        selection.andNot(((BitmapDeletionVector) deletionVector).get());
+        return selection;
+    }
+
     /** @return the number of distinct integers added to the DeletionVector. */
     long getCardinality();
 
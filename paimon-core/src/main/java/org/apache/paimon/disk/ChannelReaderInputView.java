@@ -28,10 +28,15 @@ import org.apache.paimon.memory.Buffer;
 import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.utils.MutableObjectIterator;
 
+import javax.annotation.Nullable;
+
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * A {@link DataInputView} that is backed by a {@link BufferFileReader}, making it effectively a
@@ -45,7 +50,13 @@ public class ChannelReaderInputView extends AbstractPagedInputView {
     private final BufferFileReader reader;
     private final MemorySegment uncompressedBuffer;
 
-    private final MemorySegment compressedBuffer;
+    private final MemorySegment[] compressedBuffers;
+
+    /** Reads the next block while the current one is consumed, null if read-ahead is disabled. */
+    @Nullable private final ExecutorService readAheadExecutor;
+
+    @Nullable private Future<Buffer> readAheadFuture;
+    private int currentBufferIndex;
 
     private int numBlocksRemaining;
     private int currentSegmentLimit;
@@ -57,16 +68,28 @@ public class ChannelReaderInputView extends AbstractPagedInputView {
             int compressionBlockSize,
             int numBlocks)
             throws IOException {
+        this(id, ioManager, compressionCodecFactory, compressionBlockSize, numBlocks, null);
+    }
+
+    public ChannelReaderInputView(
+            FileIOChannel.ID id,
+            IOManager ioManager,
+            BlockCompressionFactory compressionCodecFactory,
+            int compressionBlockSize,
+            int numBlocks,
+            @Nullable ExecutorService readAheadExecutor)
+            throws IOException {
         this.numBlocksRemaining = numBlocks;
         this.reader = ioManager.createBufferFileReader(id);
+        this.readAheadExecutor = readAheadExecutor;
         uncompressedBuffer = MemorySegment.wrap(new byte[compressionBlockSize]);
         decompressor = compressionCodecFactory.getDecompressor();
-        compressedBuffer =
-                MemorySegment.wrap(
-                        new byte
-                                [compressionCodecFactory
-                                        .getCompressor()
-                                        .getMaxCompressedSize(compressionBlockSize)]);
+        int maxCompressedSize =
+                compressionCodecFactory.getCompressor().getMaxCompressedSize(compressionBlockSize);
+        compressedBuffers = new MemorySegment[readAheadExecutor == null ? 1 : 2];
+        for (int i = 0; i < compressedBuffers.length; i++) {
+            compressedBuffers[i] = MemorySegment.wrap(new byte[maxCompressedSize]);
+        }
     }
 
     @Override
@@ -77,8 +100,21 @@ public class ChannelReaderInputView extends AbstractPagedInputView {
             throw new EOFException();
         }
 
-        Buffer buffer = Buffer.create(compressedBuffer);
-        reader.readInto(buffer);
+        Buffer buffer;
+        if (readAheadFuture != null) {
+            buffer = waitReadAhead();
+        } else {
+            buffer = readBlock(compressedBuffers[currentBufferIndex]);
+        }
+        this.numBlocksRemaining--;
+
+        // read the next block into the other buffer while this one is decompressed and consumed
+        if (readAheadExecutor != null && numBlocksRemaining > 0) {
+            currentBufferIndex = 1 - currentBufferIndex;
+            MemorySegment target = compressedBuffers[currentBufferIndex];
+            readAheadFuture = readAheadExecutor.submit(() -> readBlock(target));
+        }
+
         this.currentSegmentLimit =
                 decompressor.decompress(
                         buffer.getMemorySegment().getArray(),
@@ -86,16 +122,44 @@ public class ChannelReaderInputView extends AbstractPagedInputView {
                         buffer.getSize(),
                         uncompressedBuffer.getArray(),
                         0);
-        this.numBlocksRemaining--;
         return uncompressedBuffer;
     }
 
+    private Buffer readBlock(MemorySegment target) throws IOException {
+        Buffer buffer = Buffer.create(target);
+        reader.readInto(buffer);
+        return buffer;
+    }
+
+    private Buffer waitReadAhead() throws IOException {
+        Future<Buffer> future = readAheadFuture;
+        readAheadFuture = null;
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
     @Override
     protected int getLimitForSegment(MemorySegment segment) {
         return currentSegmentLimit;
     }
 
     public List<MemorySegment> close() throws IOException {
+        if (readAheadFuture != null) {
+            // the reader must not be closed under a running read
+            try {
+                waitReadAhead();
+            } catch (IOException ignored) {
+            }
+        }
         reader.close();
         return Collections.emptyList();
     }
@@ -22,10 +22,21 @@ import org.apache.paimon.compression.BlockCompressionFactory;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.paimon.utils.ThreadPoolUtils.createCachedThreadPool;
 
 /** File channel util for runtime. */
 public class FileChannelUtil {
 
+    private static final String READ_AHEAD_THREAD_NAME = "SPILL-READ-AHEAD";
+
+    private static ExecutorService readAheadExecutor;
+
+    /**
+     * Creates a view reading the spilled channel, its next block is read ahead in background so
+     * that merging many channels keeps all the local disks busy.
+     */
     public static ChannelReaderInputView createInputView(
             IOManager ioManager,
             ChannelWithMeta channel,
@@ -39,7 +50,8 @@ public class FileChannelUtil {
                         ioManager,
                         compressionCodecFactory,
                         compressionBlockSize,
-                        channel.getBlockCount());
+                        channel.getBlockCount(),
+                        readAheadExecutor());
         channels.add(in.getChannel());
         return in;
     }
@@ -54,4 +66,13 @@ public class FileChannelUtil {
         return new ChannelWriterOutputView(
                 bufferWriter, compressionCodecFactory, compressionBlockSize);
     }
+
+    private static synchronized ExecutorService readAheadExecutor() {
+        if (readAheadExecutor == null) {
+            readAheadExecutor =
+                    createCachedThreadPool(
+                            Runtime.getRuntime().availableProcessors(), READ_AHEAD_THREAD_NAME);
+        }
+        return readAheadExecutor;
+    }
 }
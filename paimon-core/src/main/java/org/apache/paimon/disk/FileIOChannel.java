@@ -144,7 +144,12 @@ public interface FileIOChannel {
         }
     }
 
-    /** An enumerator for channels that logically belong together. */
+    /**
+     * An enumerator for channels that logically belong together. The channels are striped over all
+     * the paths one by one, starting from a different path for each enumerator, so that the
+     * channels of one enumerator are spread evenly over all the disks even if other enumerators
+     * create channels concurrently.
+     */
     final class Enumerator {
 
         private static final AtomicInteger GLOBAL_NUMBER = new AtomicInteger();
@@ -153,16 +158,19 @@ public interface FileIOChannel {
 
         private final String namePrefix;
 
+        private final int startPath;
+
         private int localCounter;
 
         public Enumerator(File[] basePaths, Random random) {
             this.paths = basePaths;
             this.namePrefix = FileIOChannel.ID.randomString(random);
+            this.startPath = (GLOBAL_NUMBER.getAndIncrement() & Integer.MAX_VALUE) % paths.length;
             this.localCounter = 0;
         }
 
         public FileIOChannel.ID next() {
-            int bucketNum = GLOBAL_NUMBER.getAndIncrement() % paths.length;
+            int bucketNum = (startPath + localCounter) % paths.length;
             String filename = String.format("%s.%06d.channel", namePrefix, (localCounter++));
             return new FileIOChannel.ID(new File(paths[bucketNum], filename), bucketNum);
         }
@@ -102,8 +102,7 @@ public class BytesHashMap<K> extends BytesMap<K, BinaryRow> {
             this.reusedValue = this.valueSerializer.createInstance();
         }
 
-        final int initBucketSegmentNum =
-                MathUtils.roundDownToPowerOf2((int) (INIT_BUCKET_MEMORY_IN_BYTES / segmentSize));
+        final int initBucketSegmentNum = initBucketSegmentNum(segmentSize);
 
         // allocate and initialize MemorySegments for bucket area
         initBucketSegments(initBucketSegmentNum);
@@ -115,6 +114,11 @@ public class BytesHashMap<K> extends BytesMap<K, BinaryRow> {
                 initBucketSegmentNum);
     }
 
+    /** Returns the number of pages allocated for the bucket area when creating the map. */
+    public static int initBucketSegmentNum(int pageSize) {
+        return MathUtils.roundDownToPowerOf2((int) (INIT_BUCKET_MEMORY_IN_BYTES / pageSize));
+    }
+
     // ----------------------- Abstract Interface -----------------------
 
     @Override
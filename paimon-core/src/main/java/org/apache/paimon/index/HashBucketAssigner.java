@@ -21,11 +21,20 @@ package org.apache.paimon.index;
 import org.apache.paimon.Snapshot;
 import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.memory.MemoryOwner;
+import org.apache.paimon.memory.MemoryPoolFactory;
 import org.apache.paimon.utils.SnapshotManager;
 
+import org.apache.paimon.shade.guava30.com.google.common.collect.Iterators;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -50,6 +59,9 @@ public class HashBucketAssigner implements BucketAssigner {
 
     private final Map<BinaryRow, PartitionIndex> partitionIndex;
 
+    @Nullable private final MemoryPoolFactory memoryPoolFactory;
+    @Nullable private final IOManager ioManager;
+
     public HashBucketAssigner(
             SnapshotManager snapshotManager,
             String commitUser,
@@ -59,6 +71,37 @@ public class HashBucketAssigner implements BucketAssigner {
             int assignId,
             long targetBucketRowNumber,
             int maxBucketsNum) {
+        this(
+                snapshotManager,
+                commitUser,
+                indexFileHandler,
+                numChannels,
+                numAssigners,
+                assignId,
+                targetBucketRowNumber,
+                maxBucketsNum,
+                null,
+                null);
+    }
+
+    /**
+     * If the memory pool factory is not null, partition indexes are stored in memory segments of
+     * its pool. When the pool is exhausted, or a partition is not accessed in a commit while its
+     * latest modification is not committed yet, its index is spilled to the io manager and restored
+     * on the next access. Indexes of cold partitions whose modifications are committed are removed
+     * as without a memory pool.
+     */
+    public HashBucketAssigner(
+            SnapshotManager snapshotManager,
+            String commitUser,
+            IndexFileHandler indexFileHandler,
+            int numChannels,
+            int numAssigners,
+            int assignId,
+            long targetBucketRowNumber,
+            int maxBucketsNum,
+            @Nullable MemoryPoolFactory memoryPoolFactory,
+            @Nullable IOManager ioManager) {
         this.snapshotManager = snapshotManager;
         this.commitUser = commitUser;
         this.indexFileHandler = indexFileHandler;
@@ -68,6 +111,13 @@ public class HashBucketAssigner implements BucketAssigner {
         this.targetBucketRowNumber = targetBucketRowNumber;
         this.partitionIndex = new HashMap<>();
         this.maxBucketsNum = maxBucketsNum;
+        this.memoryPoolFactory =
+                memoryPoolFactory == null ? null : memoryPoolFactory.addOwners(this::memoryOwners);
+        this.ioManager = ioManager;
+    }
+
+    private Iterator<MemoryOwner> memoryOwners() {
+        return Iterators.transform(partitionIndex.values().iterator(), index -> index);
     }
 
     /** Assign a bucket for key hash of a record. */
@@ -149,6 +199,16 @@ public class HashBucketAssigner implements BucketAssigner {
                                 commitIdentifier);
                     }
                     iterator.remove();
+                    index.close();
+                } else if (ioManager != null && memoryPoolFactory != null && !index.isSpilled()) {
+                    // The index is not accessed in this commit, but its latest modification is
+                    // not committed yet, so it can not be reloaded from index files. Spill it to
+                    // local disk to release its memory.
+                    try {
+                        index.spill();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
                 }
             }
             index.accessed = false;
@@ -160,6 +220,11 @@ public class HashBucketAssigner implements BucketAssigner {
         return partitionIndex.keySet();
     }
 
+    @VisibleForTesting
+    long numSpilledPartitions() {
+        return partitionIndex.values().stream().filter(PartitionIndex::isSpilled).count();
+    }
+
     private int computeAssignId(int partitionHash, int keyHash) {
         return BucketAssigner.computeAssigner(partitionHash, keyHash, numChannels, numAssigners);
     }
@@ -174,6 +239,15 @@ public class HashBucketAssigner implements BucketAssigner {
                 partition,
                 targetBucketRowNumber,
                 (hash) -> computeAssignId(partitionHash, hash) == assignId,
-                this::isMyBucket);
+                this::isMyBucket,
+                memoryPoolFactory,
+                ioManager);
+    }
+
+    /** Releases the memory and spilled files of all partition indexes. */
+    @Override
+    public void close() {
+        partitionIndex.values().forEach(PartitionIndex::close);
+        partitionIndex.clear();
     }
 }
@@ -19,14 +19,33 @@
 package org.apache.paimon.index;
 
 import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.disk.FileIOChannel;
+import org.apache.paimon.disk.IOManager;
 import org.apache.paimon.manifest.IndexManifestEntry;
+import org.apache.paimon.memory.MemoryOwner;
+import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.utils.Int2ShortHashMap;
+import org.apache.paimon.utils.Int2ShortMap;
 import org.apache.paimon.utils.IntIterator;
 import org.apache.paimon.utils.ListUtils;
+import org.apache.paimon.utils.SegmentInt2ShortHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -37,11 +56,21 @@ import java.util.Set;
 import java.util.function.IntPredicate;
 
 import static org.apache.paimon.index.HashIndexFile.HASH_INDEX;
+import static org.apache.paimon.utils.Preconditions.checkNotNull;
+
+/**
+ * Bucket Index Per Partition.
+ *
+ * <p>If a {@link MemoryPoolFactory} is given, the hash index is stored in memory segments of its
+ * pool, and it can be spilled to local disk by {@link #flushMemory()} and restored lazily on the
+ * next access. If the pool is exhausted even after spilling other indexes, the index falls back to
+ * a heap hash map.
+ */
+public class PartitionIndex implements MemoryOwner {
 
-/** Bucket Index Per Partition. */
-public class PartitionIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionIndex.class);
 
-    public final Int2ShortHashMap hash2Bucket;
+    @Nullable private Int2ShortMap hash2Bucket;
 
     public final Map<Integer, Long> nonFullBucketInformation;
 
@@ -54,21 +83,34 @@ public class PartitionIndex {
 
     public long lastAccessedCommitIdentifier;
 
+    @Nullable private final IOManager ioManager;
+    @Nullable private MemorySegmentPool memoryPool;
+    @Nullable private FileIOChannel.ID spilledChannel;
+
     public PartitionIndex(
-            Int2ShortHashMap hash2Bucket,
+            Int2ShortMap hash2Bucket,
             Map<Integer, Long> bucketInformation,
             long targetBucketRowNumber) {
+        this(bucketInformation, targetBucketRowNumber, null);
         this.hash2Bucket = hash2Bucket;
+    }
+
+    private PartitionIndex(
+            Map<Integer, Long> bucketInformation,
+            long targetBucketRowNumber,
+            @Nullable IOManager ioManager) {
         this.nonFullBucketInformation = bucketInformation;
         this.totalBucketSet = new LinkedHashSet<>(bucketInformation.keySet());
         this.totalBucketArray = new ArrayList<>(totalBucketSet);
         this.targetBucketRowNumber = targetBucketRowNumber;
         this.lastAccessedCommitIdentifier = Long.MIN_VALUE;
         this.accessed = true;
+        this.ioManager = ioManager;
     }
 
     public int assign(int hash, IntPredicate bucketFilter, int maxBucketsNum, int maxBucketId) {
         accessed = true;
+        Int2ShortMap hash2Bucket = hash2Bucket();
 
         // 1. is it a key that has appeared before
         if (hash2Bucket.containsKey(hash)) {
@@ -84,7 +126,7 @@ public class PartitionIndex {
             Long number = entry.getValue();
             if (number < targetBucketRowNumber) {
                 entry.setValue(number + 1);
-                hash2Bucket.put(hash, (short) bucket.intValue());
+                put(hash, bucket);
                 return bucket;
             } else {
                 iterator.remove();
@@ -99,7 +141,7 @@ public class PartitionIndex {
                     nonFullBucketInformation.put(i, 1L);
                     totalBucketSet.add(i);
                     totalBucketArray.add(i);
-                    hash2Bucket.put(hash, (short) i);
+                    put(hash, i);
                     return i;
                 }
             }
@@ -113,26 +155,184 @@ public class PartitionIndex {
 
         // 4. exceed buckets upper bound
         int bucket = ListUtils.pickRandomly(totalBucketArray);
-        hash2Bucket.put(hash, (short) bucket);
+        put(hash, bucket);
         return bucket;
     }
 
+    private void put(int hash, int bucket) {
+        Int2ShortMap map = checkNotNull(hash2Bucket);
+        if (map instanceof SegmentInt2ShortHashMap) {
+            if (((SegmentInt2ShortHashMap) map).tryPut(hash, (short) bucket)) {
+                return;
+            }
+            map = moveToHeap((SegmentInt2ShortHashMap) map);
+            hash2Bucket = map;
+        }
+        map.put(hash, (short) bucket);
+    }
+
+    private static Int2ShortMap moveToHeap(SegmentInt2ShortHashMap map) {
+        LOG.warn(
+                "The memory pool of the hash index is exhausted, moving an index of {} entries to "
+                        + "heap. Please increase 'dynamic-bucket.index-memory'.",
+                map.size());
+        Int2ShortHashMap.Builder builder = Int2ShortHashMap.builder();
+        try {
+            map.forEach(builder::put);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        map.free();
+        return builder.build();
+    }
+
+    public boolean isSpilled() {
+        return spilledChannel != null;
+    }
+
+    private Int2ShortMap hash2Bucket() {
+        if (spilledChannel != null) {
+            try {
+                restore();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return checkNotNull(hash2Bucket);
+    }
+
+    @Override
+    public void setMemoryPool(MemorySegmentPool memoryPool) {
+        this.memoryPool = memoryPool;
+    }
+
+    @Override
+    public long memoryOccupancy() {
+        return hash2Bucket instanceof SegmentInt2ShortHashMap
+                ? ((SegmentInt2ShortHashMap) hash2Bucket).memorySize()
+                : 0;
+    }
+
+    @Override
+    public void flushMemory() throws IOException {
+        spill();
+    }
+
+    /** Spills the hash index to local disk and releases its memory. */
+    public void spill() throws IOException {
+        if (!(hash2Bucket instanceof SegmentInt2ShortHashMap) || ioManager == null) {
+            return;
+        }
+
+        SegmentInt2ShortHashMap map = (SegmentInt2ShortHashMap) hash2Bucket;
+        FileIOChannel.ID channel = ioManager.createChannel();
+        try (DataOutputStream out =
+                new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(channel.getPathFile())))) {
+            out.writeInt(map.size());
+            map.forEach(
+                    (key, value) -> {
+                        out.writeInt(key);
+                        out.writeShort(value);
+                    });
+        } catch (IOException e) {
+            deleteQuietly(channel);
+            throw e;
+        }
+        map.free();
+        hash2Bucket = null;
+        spilledChannel = channel;
+    }
+
+    private void restore() throws IOException {
+        FileIOChannel.ID channel = checkNotNull(spilledChannel);
+        try (DataInputStream in =
+                new DataInputStream(
+                        new BufferedInputStream(new FileInputStream(channel.getPathFile())))) {
+            int size = in.readInt();
+            hash2Bucket = SegmentInt2ShortHashMap.tryCreate(checkNotNull(memoryPool), size);
+            if (hash2Bucket == null) {
+                hash2Bucket = new Int2ShortHashMap(size);
+            }
+            for (int i = 0; i < size; i++) {
+                put(in.readInt(), in.readShort());
+            }
+        }
+        spilledChannel = null;
+        deleteQuietly(channel);
+    }
+
+    /** Releases the memory and the spilled file of this index. */
+    public void close() {
+        if (hash2Bucket instanceof SegmentInt2ShortHashMap) {
+            ((SegmentInt2ShortHashMap) hash2Bucket).free();
+        }
+        hash2Bucket = null;
+        if (spilledChannel != null) {
+            deleteQuietly(spilledChannel);
+            spilledChannel = null;
+        }
+    }
+
+    private static void deleteQuietly(FileIOChannel.ID channel) {
+        try {
+            Files.deleteIfExists(channel.getPathFile().toPath());
+        } catch (IOException ignored) {
+        }
+    }
+
     public static PartitionIndex loadIndex(
             IndexFileHandler indexFileHandler,
             BinaryRow partition,
             long targetBucketRowNumber,
             IntPredicate loadFilter,
             IntPredicate bucketFilter) {
+        return loadIndex(
+                indexFileHandler,
+                partition,
+                targetBucketRowNumber,
+                loadFilter,
+                bucketFilter,
+                null,
+                null);
+    }
+
+    /**
+     * Loads the index of a partition from hash index files. If the memory pool factory is not null,
+     * the index is stored in memory segments of its pool and can be spilled to the io manager.
+     */
+    public static PartitionIndex loadIndex(
+            IndexFileHandler indexFileHandler,
+            BinaryRow partition,
+            long targetBucketRowNumber,
+            IntPredicate loadFilter,
+            IntPredicate bucketFilter,
+            @Nullable MemoryPoolFactory memoryPoolFactory,
+            @Nullable IOManager ioManager) {
         List<IndexManifestEntry> files = indexFileHandler.scanEntries(HASH_INDEX, partition);
-        Int2ShortHashMap.Builder mapBuilder = Int2ShortHashMap.builder();
+        Int2ShortHashMap.Builder mapBuilder =
+                memoryPoolFactory == null ? Int2ShortHashMap.builder() : null;
         Map<Integer, Long> buckets = new HashMap<>();
+        PartitionIndex index = new PartitionIndex(buckets, targetBucketRowNumber, ioManager);
+        if (memoryPoolFactory != null) {
+            memoryPoolFactory.notifyNewOwner(index);
+            index.hash2Bucket =
+                    SegmentInt2ShortHashMap.tryCreate(checkNotNull(index.memoryPool), 0);
+            if (index.hash2Bucket == null) {
+                index.hash2Bucket = new Int2ShortHashMap();
+            }
+        }
         for (IndexManifestEntry file : files) {
             try (IntIterator iterator = indexFileHandler.readHashIndex(file.indexFile())) {
                 while (true) {
                     try {
                         int hash = iterator.next();
                         if (loadFilter.test(hash)) {
-                            mapBuilder.put(hash, (short) file.bucket());
+                            if (mapBuilder != null) {
+                                mapBuilder.put(hash, (short) file.bucket());
+                            } else {
+                                index.put(hash, file.bucket());
+                            }
                         }
                         if (bucketFilter.test(file.bucket())) {
                             buckets.compute(
@@ -144,9 +344,15 @@ public class PartitionIndex {
                     }
                 }
             } catch (IOException e) {
+                index.close();
                 throw new UncheckedIOException(e);
             }
         }
-        return new PartitionIndex(mapBuilder.build(), buckets, targetBucketRowNumber);
+        index.totalBucketSet.addAll(buckets.keySet());
+        index.totalBucketArray.addAll(index.totalBucketSet);
+        if (mapBuilder != null) {
+            index.hash2Bucket = mapBuilder.build();
+        }
+        return index;
     }
 }
@@ -42,15 +42,15 @@ import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.AsyncRecordReader;
 import org.apache.paimon.utils.FileStorePathFactory;
 import org.apache.paimon.utils.FormatReaderMapping;
+import org.apache.paimon.utils.RoaringBitmap32;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -66,6 +66,8 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
     private final FormatReaderMapping.Builder formatReaderMappingBuilder;
     private final DataFilePathFactory pathFactory;
     private final long asyncThreshold;
+    @Nullable private final Integer asyncMaxBatches;
+    @Nullable private final Integer asyncThreadNum;
 
     private final Map<FormatKey, FormatReaderMapping> formatReaderMappings;
     private final BinaryRow partition;
@@ -80,6 +82,8 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
             FormatReaderMapping.Builder formatReaderMappingBuilder,
             DataFilePathFactory pathFactory,
             long asyncThreshold,
+            @Nullable Integer asyncMaxBatches,
+            @Nullable Integer asyncThreadNum,
             BinaryRow partition,
             DeletionVector.Factory dvFactory) {
         this.fileIO = fileIO;
@@ -90,22 +94,69 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
         this.formatReaderMappingBuilder = formatReaderMappingBuilder;
         this.pathFactory = pathFactory;
         this.asyncThreshold = asyncThreshold;
+        this.asyncMaxBatches = asyncMaxBatches;
+        this.asyncThreadNum = asyncThreadNum;
         this.partition = partition;
-        this.formatReaderMappings = new HashMap<>();
+        // lookup files may be built concurrently in background threads
+        this.formatReaderMappings = new ConcurrentHashMap<>();
         this.dvFactory = dvFactory;
     }
 
     @Override
     public RecordReader<KeyValue> createRecordReader(DataFileMeta file) throws IOException {
         if (file.fileSize() >= asyncThreshold && file.fileName().endsWith(".orc")) {
-            return new AsyncRecordReader<>(() -> createRecordReader(file, false, 2));
+            if (asyncMaxBatches == null) {
+                return new AsyncRecordReader<>(() -> createRecordReader(file, false, 2));
+            }
+            // the orc pool holds exactly the batches allowed to be outstanding, so the producer
+            // never blocks on it
+            return new AsyncRecordReader<>(
+                    () -> createRecordReader(file, false, asyncMaxBatches),
+                    asyncMaxBatches,
+                    asyncThreadNum);
         }
         return createRecordReader(file, true, null);
     }
 
+    /**
+     * Creates a reader which returns the rows of the data file as they are stored, that is key
+     * fields, sequence number, value kind and value fields. Batches of vectorized formats are kept
+     * as {@link org.apache.paimon.data.columnar.ColumnarRow}s.
+     */
+    public RecordReader<InternalRow> createRawRecordReader(DataFileMeta file) throws IOException {
+        if (file.fileSize() >= asyncThreshold && file.fileName().endsWith(".orc")) {
+            if (asyncMaxBatches == null) {
+                return new AsyncRecordReader<>(() -> createRawRecordReader(file, false, 2));
+            }
+            return new AsyncRecordReader<>(
+                    () -> createRawRecordReader(file, false, asyncMaxBatches),
+                    asyncMaxBatches,
+                    asyncThreadNum);
+        }
+        return createRawRecordReader(file, true, null);
+    }
+
+    public RowType keyType() {
+        return keyType;
+    }
+
+    public RowType valueType() {
+        return valueType;
+    }
+
     private FileRecordReader<KeyValue> createRecordReader(
             DataFileMeta file, boolean reuseFormat, @Nullable Integer orcPoolSize)
             throws IOException {
+        return new KeyValueDataFileRecordReader(
+                createRawRecordReader(file, reuseFormat, orcPoolSize),
+                keyType,
+                valueType,
+                file.level());
+    }
+
+    private FileRecordReader<InternalRow> createRawRecordReader(
+            DataFileMeta file, boolean reuseFormat, @Nullable Integer orcPoolSize)
+            throws IOException {
         String formatIdentifier = DataFilePathFactory.formatIdentifier(file.fileName());
         long schemaId = file.schemaId();
 
@@ -125,14 +176,16 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
         Path filePath = pathFactory.toPath(file);
 
         long fileSize = file.fileSize();
+        DeletionVector deletionVector = dvFactory.create(file.fileName()).orElse(null);
+        RoaringBitmap32 selection = DeletionVector.remainingRows(deletionVector, file.rowCount());
         FileRecordReader<InternalRow> fileRecordReader =
                 new DataFileRecordReader(
                         schema.logicalRowType(),
                         formatReaderMapping.getReaderFactory(),
                         orcPoolSize == null
-                                ? new FormatReaderContext(fileIO, filePath, fileSize)
+                                ? new FormatReaderContext(fileIO, filePath, fileSize, selection)
                                 : new OrcFormatReaderContext(
-                                        fileIO, filePath, fileSize, orcPoolSize),
+                                        fileIO, filePath, fileSize, selection, orcPoolSize),
                         formatReaderMapping.getIndexMapping(),
                         formatReaderMapping.getCastMapping(),
                         PartitionUtils.create(formatReaderMapping.getPartitionPair(), partition),
@@ -141,13 +194,11 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
                         -1,
                         Collections.emptyMap());
 
-        Optional<DeletionVector> deletionVector = dvFactory.create(file.fileName());
-        if (deletionVector.isPresent() && !deletionVector.get().isEmpty()) {
-            fileRecordReader =
-                    new ApplyDeletionVectorReader(fileRecordReader, deletionVector.get());
+        if (deletionVector != null && !deletionVector.isEmpty()) {
+            fileRecordReader = new ApplyDeletionVectorReader(fileRecordReader, deletionVector);
         }
 
-        return new KeyValueDataFileRecordReader(fileRecordReader, keyType, valueType, file.level());
+        return fileRecordReader;
     }
 
     public static Builder builder(
@@ -275,6 +326,8 @@ public class KeyValueFileReaderFactory implements FileReaderFactory<KeyValue> {
                             formatDiscover, readTableFields, fieldsExtractor, filters, null, null),
                     pathFactory.createDataFilePathFactory(partition, bucket),
                     options.fileReaderAsyncThreshold().getBytes(),
+                    options.fileReaderAsyncMaxBatches(),
+                    options.fileReaderAsyncThreadNum(),
                     partition,
                     dvFactory);
         }
@@ -45,11 +45,11 @@ import javax.annotation.Nullable;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -302,11 +302,12 @@ public class KeyValueFileWriterFactory {
                         return statsModePerLevel.getOrDefault(key.level, statsMode);
                     };
 
-            this.formatStats2Extractor = new HashMap<>();
-            this.statsMode2AvroStats = new HashMap<>();
-            this.format2PathFactory = new HashMap<>();
-            this.format2WriterFactory = new HashMap<>();
-            this.formatFactory = new HashMap<>();
+            // sections of one compaction may be rewritten concurrently with this factory
+            this.formatStats2Extractor = new ConcurrentHashMap<>();
+            this.statsMode2AvroStats = new ConcurrentHashMap<>();
+            this.format2PathFactory = new ConcurrentHashMap<>();
+            this.format2WriterFactory = new ConcurrentHashMap<>();
+            this.formatFactory = new ConcurrentHashMap<>();
         }
 
         private boolean supportsThinMode(RowType keyType, RowType valueType) {
@@ -141,6 +141,11 @@ public class RollingFileWriter<T, R> implements FileWriter<T, List<R>> {
         return recordCount;
     }
 
+    /** Returns the number of files which have been rolled over and closed. */
+    public int closedFileCount() {
+        return results.size();
+    }
+
     @Override
     public void abort() {
         if (currentWriter != null) {
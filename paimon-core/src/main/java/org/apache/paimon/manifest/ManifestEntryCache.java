@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.manifest;
+
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.RandomAccessInputView;
+import org.apache.paimon.data.Segments;
+import org.apache.paimon.data.SimpleCollectingOutputView;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentSource;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.BiFunctionWithIOE;
+import org.apache.paimon.utils.CloseableIterator;
+import org.apache.paimon.utils.Filter;
+import org.apache.paimon.utils.FunctionWithIOException;
+import org.apache.paimon.utils.ObjectSerializer;
+import org.apache.paimon.utils.ObjectsCache;
+import org.apache.paimon.utils.SegmentsCache;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link ObjectsCache} for {@link ManifestEntry}s, caches entries as {@link
+ * ManifestEntrySegments}, so a {@link ManifestEntryRowFilter} can be evaluated on the cached
+ * partition, bucket, level and file name columns and only the selected entries are deserialized.
+ */
+@ThreadSafe
+public class ManifestEntryCache extends ObjectsCache<Path, ManifestEntry> {
+
+    public ManifestEntryCache(
+            SegmentsCache<Path> cache,
+            ObjectSerializer<ManifestEntry> projectedSerializer,
+            RowType formatSchema,
+            FunctionWithIOException<Path, Long> fileSizeFunction,
+            BiFunctionWithIOE<Path, Long, CloseableIterator<InternalRow>> reader) {
+        super(cache, projectedSerializer, formatSchema, fileSizeFunction, reader);
+    }
+
+    @Override
+    protected List<ManifestEntry> readFromSegments(
+            Segments segments, Filter<InternalRow> readFilter, Filter<ManifestEntry> readVFilter)
+            throws IOException {
+        if (!(segments instanceof ManifestEntrySegments)
+                || !(readFilter instanceof ManifestEntryRowFilter)) {
+            return super.readFromSegments(segments, readFilter, readVFilter);
+        }
+
+        ManifestEntrySegments entrySegments = (ManifestEntrySegments) segments;
+        ManifestEntryRowFilter filter = (ManifestEntryRowFilter) readFilter;
+        int[] rows = entrySegments.select(filter);
+        List<ManifestEntry> entries = new ArrayList<>(rows.length);
+        if (rows.length == 0) {
+            return entries;
+        }
+
+        InternalRowSerializer formatSerializer = this.formatSerializer.get();
+        RandomAccessInputView view =
+                new RandomAccessInputView(
+                        segments.segments(), cache.pageSize(), segments.limitInLastSegment());
+        BinaryRow binaryRow = new BinaryRow(formatSerializer.getArity());
+        for (int row : rows) {
+            view.setReadPosition(entrySegments.offset(row));
+            formatSerializer.mapFromPages(binaryRow, view);
+            if (filter.testAdditional(binaryRow)) {
+                ManifestEntry entry = projectedSerializer.fromRow(binaryRow);
+                if (readVFilter.test(entry)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    protected Segments readSegments(Path key, @Nullable Long fileSize) {
+        InternalRowSerializer formatSerializer = this.formatSerializer.get();
+        try (CloseableIterator<InternalRow> iterator = reader.apply(key, fileSize)) {
+            ArrayList<MemorySegment> segments = new ArrayList<>();
+            MemorySegmentSource segmentSource =
+                    () -> MemorySegment.allocateHeapMemory(cache.pageSize());
+            SimpleCollectingOutputView output =
+                    new SimpleCollectingOutputView(segments, segmentSource, cache.pageSize());
+            ManifestEntrySegments.Builder builder = new ManifestEntrySegments.Builder();
+            while (iterator.hasNext()) {
+                InternalRow row = iterator.next();
+                builder.add(output.getCurrentOffset(), row);
+                formatSerializer.serializeToPages(row, output);
+            }
+            return builder.build(segments, output.getCurrentPositionInSegment());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
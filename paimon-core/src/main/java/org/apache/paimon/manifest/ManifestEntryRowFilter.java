@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.manifest;
+
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.partition.PartitionPredicate;
+import org.apache.paimon.utils.BiFilter;
+import org.apache.paimon.utils.Filter;
+
+import javax.annotation.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * A {@link Filter} on serialized {@link ManifestEntry} rows, composed of column level conditions on
+ * partition, bucket, level and file name. The column conditions can be evaluated separately, so
+ * that {@link ManifestEntryCache} can prune cached entries without deserializing them.
+ */
+public class ManifestEntryRowFilter implements Filter<InternalRow> {
+
+    private static final Function<InternalRow, BinaryRow> PARTITION_GETTER =
+            ManifestEntrySerializer.partitionGetter();
+    private static final Function<InternalRow, Integer> BUCKET_GETTER =
+            ManifestEntrySerializer.bucketGetter();
+    private static final Function<InternalRow, Integer> TOTAL_BUCKET_GETTER =
+            ManifestEntrySerializer.totalBucketGetter();
+    private static final Function<InternalRow, Integer> LEVEL_GETTER =
+            ManifestEntrySerializer.levelGetter();
+    private static final Function<InternalRow, String> FILE_NAME_GETTER =
+            ManifestEntrySerializer.fileNameGetter();
+
+    @Nullable private final PartitionPredicate partitionFilter;
+    @Nullable private final Filter<Integer> bucketFilter;
+    @Nullable private final BiFilter<Integer, Integer> totalAwareBucketFilter;
+    @Nullable private final Filter<Integer> levelFilter;
+    @Nullable private final Filter<String> fileNameFilter;
+    @Nullable private final Filter<InternalRow> additionalFilter;
+
+    public ManifestEntryRowFilter(
+            @Nullable PartitionPredicate partitionFilter,
+            @Nullable Filter<Integer> bucketFilter,
+            @Nullable BiFilter<Integer, Integer> totalAwareBucketFilter,
+            @Nullable Filter<Integer> levelFilter,
+            @Nullable Filter<String> fileNameFilter,
+            @Nullable Filter<InternalRow> additionalFilter) {
+        this.partitionFilter = partitionFilter;
+        this.bucketFilter = bucketFilter;
+        this.totalAwareBucketFilter = totalAwareBucketFilter;
+        this.levelFilter = levelFilter;
+        this.fileNameFilter = fileNameFilter;
+        this.additionalFilter = additionalFilter;
+    }
+
+    public boolean hasPartitionFilter() {
+        return partitionFilter != null;
+    }
+
+    public boolean testPartition(BinaryRow partition) {
+        return partitionFilter == null || partitionFilter.test(partition);
+    }
+
+    public boolean testBucket(int bucket, int totalBucket) {
+        return (bucketFilter == null || bucketFilter.test(bucket))
+                && (totalAwareBucketFilter == null
+                        || totalAwareBucketFilter.test(bucket, totalBucket));
+    }
+
+    public boolean testLevel(int level) {
+        return levelFilter == null || levelFilter.test(level);
+    }
+
+    public boolean testFileName(String fileName) {
+        return fileNameFilter == null || fileNameFilter.test(fileName);
+    }
+
+    /** Tests the conditions which are not on the indexed columns. */
+    public boolean testAdditional(InternalRow row) {
+        return additionalFilter == null || additionalFilter.test(row);
+    }
+
+    @Override
+    public boolean test(InternalRow row) {
+        if (partitionFilter != null && !partitionFilter.test(PARTITION_GETTER.apply(row))) {
+            return false;
+        }
+
+        int bucket = BUCKET_GETTER.apply(row);
+        if (bucketFilter != null && !bucketFilter.test(bucket)) {
+            return false;
+        }
+
+        if (totalAwareBucketFilter != null
+                && !totalAwareBucketFilter.test(bucket, TOTAL_BUCKET_GETTER.apply(row))) {
+            return false;
+        }
+
+        if (levelFilter != null && !levelFilter.test(LEVEL_GETTER.apply(row))) {
+            return false;
+        }
+
+        if (fileNameFilter != null && !fileNameFilter.test(FILE_NAME_GETTER.apply(row))) {
+            return false;
+        }
+
+        return testAdditional(row);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.manifest;
+
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.Segments;
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.utils.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link Segments} of serialized {@link ManifestEntry}s, additionally holding the partition,
+ * bucket, level and file name of every entry in separate columns. Entries are grouped by partition,
+ * so a partition filter is only evaluated once per distinct partition.
+ */
+public class ManifestEntrySegments extends Segments {
+
+    private static final int ROW_INDEX_MEMORY_SIZE = 8 + 4 + 4 + 4 + 4 + 8;
+    private static final int STRING_MEMORY_SIZE = 56;
+
+    private final BinaryRow[] partitions;
+    // row indexes (ascending) of every partition
+    private final int[][] partitionRows;
+    private final long[] offsets;
+    private final int[] buckets;
+    private final int[] totalBuckets;
+    private final int[] levels;
+    private final String[] fileNames;
+    private final long indexMemorySize;
+
+    private ManifestEntrySegments(
+            ArrayList<MemorySegment> segments,
+            int limitInLastSegment,
+            BinaryRow[] partitions,
+            int[][] partitionRows,
+            long[] offsets,
+            int[] buckets,
+            int[] totalBuckets,
+            int[] levels,
+            String[] fileNames) {
+        super(segments, limitInLastSegment);
+        this.partitions = partitions;
+        this.partitionRows = partitionRows;
+        this.offsets = offsets;
+        this.buckets = buckets;
+        this.totalBuckets = totalBuckets;
+        this.levels = levels;
+        this.fileNames = fileNames;
+
+        long size = (long) offsets.length * ROW_INDEX_MEMORY_SIZE;
+        for (String fileName : fileNames) {
+            size += STRING_MEMORY_SIZE + fileName.length();
+        }
+        for (BinaryRow partition : partitions) {
+            size += STRING_MEMORY_SIZE + partition.getSizeInBytes();
+        }
+        this.indexMemorySize = size;
+    }
+
+    /** Includes the estimated heap memory size of the index columns. */
+    @Override
+    public long weight(int pageSize) {
+        return super.weight(pageSize) + indexMemorySize;
+    }
+
+    public int rowCount() {
+        return offsets.length;
+    }
+
+    /** Position of the row in the segments. */
+    public long offset(int row) {
+        return offsets[row];
+    }
+
+    /**
+     * Selects the rows satisfying the column conditions of the filter.
+     *
+     * @return row indexes in ascending order, which is the order of the entries in the file.
+     */
+    public int[] select(ManifestEntryRowFilter filter) {
+        IntArrayList result = new IntArrayList(offsets.length);
+        int selectedPartitions = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            if (!filter.testPartition(partitions[i])) {
+                continue;
+            }
+
+            selectedPartitions++;
+            for (int row : partitionRows[i]) {
+                if (filter.testBucket(buckets[row], totalBuckets[row])
+                        && filter.testLevel(levels[row])
+                        && filter.testFileName(fileNames[row])) {
+                    result.add(row);
+                }
+            }
+        }
+
+        int[] rows = result.toArray();
+        if (selectedPartitions > 1) {
+            Arrays.sort(rows);
+        }
+        return rows;
+    }
+
+    /** Builder for {@link ManifestEntrySegments}. */
+    public static class Builder {
+
+        private static final Function<InternalRow, BinaryRow> PARTITION_GETTER =
+                ManifestEntrySerializer.partitionGetter();
+        private static final Function<InternalRow, Integer> BUCKET_GETTER =
+                ManifestEntrySerializer.bucketGetter();
+        private static final Function<InternalRow, Integer> TOTAL_BUCKET_GETTER =
+                ManifestEntrySerializer.totalBucketGetter();
+        private static final Function<InternalRow, Integer> LEVEL_GETTER =
+                ManifestEntrySerializer.levelGetter();
+        private static final Function<InternalRow, String> FILE_NAME_GETTER =
+                ManifestEntrySerializer.fileNameGetter();
+
+        private final Map<BinaryRow, Integer> partitionIds = new HashMap<>();
+        private final List<BinaryRow> partitions = new ArrayList<>();
+        private final List<IntArrayList> partitionRows = new ArrayList<>();
+        private final List<Long> offsets = new ArrayList<>();
+        private final IntArrayList buckets = new IntArrayList(64);
+        private final IntArrayList totalBuckets = new IntArrayList(64);
+        private final IntArrayList levels = new IntArrayList(64);
+        private final List<String> fileNames = new ArrayList<>();
+
+        /** Adds a row which is serialized at the given offset of the segments. */
+        public void add(long offset, InternalRow row) {
+            int rowIndex = offsets.size();
+            BinaryRow partition = PARTITION_GETTER.apply(row);
+            Integer partitionId = partitionIds.get(partition);
+            if (partitionId == null) {
+                partitionId = partitions.size();
+                partition = partition.copy();
+                partitionIds.put(partition, partitionId);
+                partitions.add(partition);
+                partitionRows.add(new IntArrayList(16));
+            }
+            partitionRows.get(partitionId).add(rowIndex);
+
+            offsets.add(offset);
+            buckets.add(BUCKET_GETTER.apply(row));
+            totalBuckets.add(TOTAL_BUCKET_GETTER.apply(row));
+            levels.add(LEVEL_GETTER.apply(row));
+            fileNames.add(FILE_NAME_GETTER.apply(row));
+        }
+
+        public ManifestEntrySegments build(
+                ArrayList<MemorySegment> segments, int limitInLastSegment) {
+            int[][] rows = new int[partitionRows.size()][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = partitionRows.get(i).toArray();
+            }
+            return new ManifestEntrySegments(
+                    segments,
+                    limitInLastSegment,
+                    partitions.toArray(new BinaryRow[0]),
+                    rows,
+                    offsets.stream().mapToLong(Long::longValue).toArray(),
+                    buckets.toArray(),
+                    totalBuckets.toArray(),
+                    levels.toArray(),
+                    fileNames.toArray(new String[0]));
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.paimon.manifest;
 
 import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.format.FileFormat;
 import org.apache.paimon.format.FormatReaderFactory;
 import org.apache.paimon.format.FormatWriterFactory;
@@ -30,7 +31,11 @@ import org.apache.paimon.io.SingleFileWriter;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.stats.SimpleStatsConverter;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.BiFunctionWithIOE;
+import org.apache.paimon.utils.CloseableIterator;
 import org.apache.paimon.utils.FileStorePathFactory;
+import org.apache.paimon.utils.FunctionWithIOException;
+import org.apache.paimon.utils.ObjectsCache;
 import org.apache.paimon.utils.ObjectsFile;
 import org.apache.paimon.utils.PathFactory;
 import org.apache.paimon.utils.SegmentsCache;
@@ -80,6 +85,15 @@ public class ManifestFile extends ObjectsFile<ManifestEntry> {
         this.suggestedFileSize = suggestedFileSize;
     }
 
+    @Override
+    protected ObjectsCache<Path, ManifestEntry> createCache(
+            SegmentsCache<Path> cache,
+            RowType formatType,
+            FunctionWithIOException<Path, Long> fileSizeFunction,
+            BiFunctionWithIOE<Path, Long, CloseableIterator<InternalRow>> reader) {
+        return new ManifestEntryCache(cache, serializer, formatType, fileSizeFunction, reader);
+    }
+
     @VisibleForTesting
     public long suggestedFileSize() {
         return suggestedFileSize;
@@ -19,9 +19,11 @@
 package org.apache.paimon.memory;
 
 import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.utils.IOUtils;
 
 import org.apache.paimon.shade.guava30.com.google.common.collect.Iterators;
 
+import java.io.Closeable;
 import java.util.List;
 
 import static org.apache.paimon.utils.Preconditions.checkNotNull;
@@ -110,6 +112,30 @@ public class MemoryPoolFactory {
         return totalBufferSize;
     }
 
+    /** Size of the pages currently taken from the inner pool by the owners. */
+    public long allocatedBufferSize() {
+        return (long) (totalPages - innerPool.freePages()) * innerPool.pageSize();
+    }
+
+    /** Size of the off-heap memory currently held by the inner pool. */
+    public long offHeapBufferSize() {
+        if (innerPool instanceof OffHeapMemorySegmentPool) {
+            return (long) ((OffHeapMemorySegmentPool) innerPool).allocatedPages()
+                    * innerPool.pageSize();
+        }
+        return 0L;
+    }
+
+    /**
+     * Releases the memory cached by the inner pool. Should only be called by the creator of the
+     * inner pool after all owners are closed.
+     */
+    public void close() {
+        if (innerPool instanceof Closeable) {
+            IOUtils.closeQuietly((Closeable) innerPool);
+        }
+    }
+
     private class OwnerMemoryPool implements MemorySegmentPool {
 
         private final MemoryOwner owner;
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.InternalRow.FieldSetter;
+import org.apache.paimon.data.JoinedRow;
+import org.apache.paimon.data.serializer.BinaryRowSerializer;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.hash.BytesHashMap;
+import org.apache.paimon.hash.BytesMap;
+import org.apache.paimon.hash.BytesMap.LookupInfo;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.types.DataField;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.FieldsComparator;
+import org.apache.paimon.utils.KeyValueIterator;
+import org.apache.paimon.utils.ProjectedRow;
+
+import javax.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.paimon.data.InternalRow.createFieldSetter;
+import static org.apache.paimon.table.SpecialFields.KEY_FIELD_PREFIX;
+
+/**
+ * A {@link WriteBuffer} which merges records of the same key eagerly in a {@link BytesHashMap}
+ * before they reach the {@link SortBufferWriteBuffer}, so a hot key only holds one slot of the
+ * buffer. The merged value is updated in place, so all non-key value fields must be fixed-length.
+ *
+ * <p>When the hash map is full, records of the keys in the hash map are still merged into it, and
+ * records of other keys go into the sort buffer, so each key is either in the hash map or in the
+ * sort buffer. The sorted entries of the hash map are merged with the output of the sort buffer
+ * when iterating.
+ */
+public class HashPreMergeWriteBuffer implements WriteBuffer {
+
+    /** The hash map allocates its buckets up front, leave the same memory for records. */
+    private static final long MIN_HASH_MAP_MEMORY = 2 * BytesMap.INIT_BUCKET_MEMORY_IN_BYTES;
+
+    private final int keyArity;
+    private final int valueArity;
+    private final InternalRowSerializer keySerializer;
+    private final InternalRowSerializer storeSerializer;
+    private final MergeFunction<KeyValue> mergeFunction;
+    @Nullable private final FieldsComparator userDefinedSeqComparator;
+    private final List<FieldSetter> nonKeySetters;
+    private final WriteBufferMemoryPool hashMapPool;
+    private final WriteBufferMemoryPool sortBufferPool;
+    private final SortBufferWriteBuffer sortBuffer;
+
+    // reused objects, the stored value is the value row with the sequence number appended
+    private final JoinedRow storeRow;
+    private final GenericRow sequenceRow;
+    private final ProjectedRow storedValue;
+    private final KeyValue previousKv;
+    private final KeyValue newKv;
+
+    @Nullable private BytesHashMap<BinaryRow> hashMap;
+    private boolean hashMapFull;
+
+    public HashPreMergeWriteBuffer(
+            RowType keyType,
+            RowType valueType,
+            MergeFunction<KeyValue> mergeFunction,
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            MemorySegmentPool memoryPool,
+            Function<MemorySegmentPool, SortBufferWriteBuffer> sortBufferFactory) {
+        this.keyArity = keyType.getFieldCount();
+        this.valueArity = valueType.getFieldCount();
+        this.keySerializer = new InternalRowSerializer(keyType);
+        List<DataType> storeTypes = new ArrayList<>(valueType.getFieldTypes());
+        storeTypes.add(DataTypes.BIGINT());
+        this.storeSerializer = new InternalRowSerializer(storeTypes.toArray(new DataType[0]));
+        this.mergeFunction = mergeFunction;
+        this.userDefinedSeqComparator = userDefinedSeqComparator;
+        this.nonKeySetters = new ArrayList<>();
+        Set<String> keyNames = keyNames(keyType);
+        for (int i = 0; i < valueArity; i++) {
+            DataField field = valueType.getFields().get(i);
+            if (!keyNames.contains(field.name())) {
+                nonKeySetters.add(createFieldSetter(field.type(), i));
+            }
+        }
+        int hashMapPages = memoryPool.freePages() / 2;
+        this.hashMapPool = new WriteBufferMemoryPool(memoryPool, hashMapPages);
+        this.sortBufferPool =
+                new WriteBufferMemoryPool(memoryPool, memoryPool.freePages() - hashMapPages);
+        this.sortBuffer = sortBufferFactory.apply(sortBufferPool);
+
+        this.storeRow = new JoinedRow();
+        this.sequenceRow = new GenericRow(1);
+        this.storedValue = ProjectedRow.from(IntStream.range(0, valueArity).toArray());
+        this.previousKv = new KeyValue();
+        this.newKv = new KeyValue();
+    }
+
+    /**
+     * Whether records can be merged in a hash map, the non-key value fields must be fixed-length
+     * and half of the memory must be enough for the hash map.
+     */
+    public static boolean canPreMerge(
+            RowType keyType, RowType valueType, MemorySegmentPool memoryPool) {
+        Set<String> keyNames = keyNames(keyType);
+        for (DataField field : valueType.getFields()) {
+            if (!keyNames.contains(field.name()) && !BinaryRow.isInFixedLengthPart(field.type())) {
+                return false;
+            }
+        }
+        return (long) (memoryPool.freePages() / 2) * memoryPool.pageSize() >= MIN_HASH_MAP_MEMORY;
+    }
+
+    private static Set<String> keyNames(RowType keyType) {
+        return keyType.getFieldNames().stream()
+                .map(
+                        name ->
+                                name.startsWith(KEY_FIELD_PREFIX)
+                                        ? name.substring(KEY_FIELD_PREFIX.length())
+                                        : name)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean put(long sequenceNumber, RowKind valueKind, InternalRow key, InternalRow value)
+            throws IOException {
+        if (hashMap == null && !hashMapFull) {
+            // the pages of buckets must be available, the hash map fails if it can not get them
+            if (hashMapPool.reserve(BytesHashMap.initBucketSegmentNum(hashMapPool.pageSize()))) {
+                hashMap =
+                        new BytesHashMap<>(
+                                hashMapPool, new BinaryRowSerializer(keyArity), valueArity + 1);
+            } else {
+                hashMapFull = true;
+            }
+        }
+        if (hashMap == null) {
+            return sortBuffer.put(sequenceNumber, valueKind, key, value);
+        }
+
+        BinaryRow binaryKey =
+                key instanceof BinaryRow ? (BinaryRow) key : keySerializer.toBinaryRow(key);
+        LookupInfo<BinaryRow, BinaryRow> lookup = hashMap.lookup(binaryKey);
+        if (lookup.isFound()) {
+            merge(lookup.getValue(), sequenceNumber, valueKind, key, value);
+            return true;
+        }
+
+        if (!hashMapFull) {
+            sequenceRow.setField(0, sequenceNumber);
+            BinaryRow stored = storeSerializer.toBinaryRow(storeRow.replace(value, sequenceRow));
+            stored.setRowKind(valueKind);
+            try {
+                hashMap.append(lookup, stored);
+                return true;
+            } catch (EOFException e) {
+                // new keys go into the sort buffer from now on
+                hashMapFull = true;
+            }
+        }
+        return sortBuffer.put(sequenceNumber, valueKind, key, value);
+    }
+
+    private void merge(
+            BinaryRow stored,
+            long sequenceNumber,
+            RowKind valueKind,
+            InternalRow key,
+            InternalRow value) {
+        previousKv.replace(
+                key,
+                stored.getLong(valueArity),
+                stored.getRowKind(),
+                storedValue.replaceRow(stored));
+        newKv.replace(key, sequenceNumber, valueKind, value);
+
+        mergeFunction.reset();
+        if (userDefinedSeqComparator != null
+                && userDefinedSeqComparator.compare(stored, value) > 0) {
+            mergeFunction.add(newKv);
+            mergeFunction.add(previousKv);
+        } else {
+            mergeFunction.add(previousKv);
+            mergeFunction.add(newKv);
+        }
+
+        KeyValue result = mergeFunction.getResult();
+        stored.setRowKind(result.valueKind());
+        for (FieldSetter setter : nonKeySetters) {
+            setter.setFieldFrom(result.value(), stored);
+        }
+        stored.setLong(valueArity, result.sequenceNumber());
+    }
+
+    @Override
+    public int size() {
+        return (hashMap == null ? 0 : hashMap.getNumElements()) + sortBuffer.size();
+    }
+
+    @Override
+    public long memoryOccupancy() {
+        return (hashMap == null ? 0 : hashMap.getUsedMemoryInBytes())
+                + sortBuffer.memoryOccupancy();
+    }
+
+    @Override
+    public boolean flushMemory() throws IOException {
+        // the hash map can not be spilled
+        if (hashMap != null && hashMap.getNumElements() > 0) {
+            return false;
+        }
+        boolean success = sortBuffer.flushMemory();
+        sortBufferPool.release();
+        return success;
+    }
+
+    @Override
+    public void forEach(
+            Comparator<InternalRow> keyComparator,
+            MergeFunction<KeyValue> mergeFunction,
+            @Nullable KvConsumer rawConsumer,
+            KvConsumer mergedConsumer)
+            throws IOException {
+        SortedEntries entries = new SortedEntries(keyComparator);
+        // keys in the hash map are not in the sort buffer
+        sortBuffer.forEach(
+                keyComparator,
+                mergeFunction,
+                rawConsumer,
+                kv -> {
+                    entries.forEachBefore(kv.key(), mergedConsumer);
+                    mergedConsumer.accept(kv);
+                });
+        entries.forEachBefore(null, mergedConsumer);
+    }
+
+    @Override
+    public void clear() {
+        if (hashMap != null) {
+            hashMap.free();
+            hashMap = null;
+        }
+        hashMapFull = false;
+        sortBuffer.clear();
+        hashMapPool.release();
+        sortBufferPool.release();
+    }
+
+    /** The entries of the hash map sorted by key, they point to the memory of the hash map. */
+    private class SortedEntries {
+
+        private final Comparator<InternalRow> keyComparator;
+        private final List<BinaryRow[]> entries;
+        private final KeyValue reusedKv;
+        private final ProjectedRow reusedValue;
+
+        private int next;
+
+        private SortedEntries(Comparator<InternalRow> keyComparator) throws IOException {
+            this.keyComparator = keyComparator;
+            this.entries = new ArrayList<>();
+            this.reusedKv = new KeyValue();
+            this.reusedValue = ProjectedRow.from(IntStream.range(0, valueArity).toArray());
+
+            if (hashMap != null && hashMap.getNumElements() > 0) {
+                KeyValueIterator<BinaryRow, BinaryRow> iterator = hashMap.getEntryIterator(false);
+                while (iterator.advanceNext()) {
+                    entries.add(
+                            new BinaryRow[] {
+                                pointTo(iterator.getKey(), keyArity),
+                                pointTo(iterator.getValue(), valueArity + 1)
+                            });
+                }
+                entries.sort((e1, e2) -> keyComparator.compare(e1[0], e2[0]));
+            }
+        }
+
+        private BinaryRow pointTo(BinaryRow reused, int arity) {
+            BinaryRow row = new BinaryRow(arity);
+            row.pointTo(reused.getSegments(), reused.getOffset(), reused.getSizeInBytes());
+            return row;
+        }
+
+        /** Consumes the entries with a smaller key, or all remaining entries if key is null. */
+        private void forEachBefore(@Nullable InternalRow key, KvConsumer consumer)
+                throws IOException {
+            while (next < entries.size()
+                    && (key == null || keyComparator.compare(entries.get(next)[0], key) < 0)) {
+                BinaryRow[] entry = entries.get(next++);
+                BinaryRow value = entry[1];
+                consumer.accept(
+                        reusedKv.replace(
+                                entry[0],
+                                value.getLong(valueArity),
+                                value.getRowKind(),
+                                reusedValue.replaceRow(value)));
+            }
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class Levels {
 
     private final List<DropFileCallback> dropFileCallbacks = new ArrayList<>();
 
+    private final List<NewFileCallback> newFileCallbacks = new ArrayList<>();
+
     public Levels(
             Comparator<InternalRow> keyComparator, List<DataFileMeta> inputFiles, int numLevels) {
         this.keyComparator = keyComparator;
@@ -94,6 +96,10 @@ public class Levels {
         dropFileCallbacks.add(callback);
     }
 
+    public void addNewFileCallback(NewFileCallback callback) {
+        newFileCallbacks.add(callback);
+    }
+
     public void addLevel0File(DataFileMeta file) {
         checkArgument(file.level() == 0);
         level0.add(file);
@@ -178,6 +184,20 @@ public class Levels {
                 droppedFiles.forEach(callback::notifyDropFile);
             }
         }
+
+        if (newFileCallbacks.size() > 0) {
+            Set<String> beforeFiles =
+                    before.stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+            // exclude upgrade files, notify files of higher level first
+            List<DataFileMeta> newFiles =
+                    after.stream()
+                            .filter(file -> !beforeFiles.contains(file.fileName()))
+                            .sorted(Comparator.comparingInt(DataFileMeta::level).reversed())
+                            .collect(Collectors.toList());
+            for (NewFileCallback callback : newFileCallbacks) {
+                newFiles.forEach(callback::notifyNewFile);
+            }
+        }
     }
 
     private void updateLevel(int level, List<DataFileMeta> before, List<DataFileMeta> after) {
@@ -206,4 +226,10 @@ public class Levels {
 
         void notifyDropFile(String file);
     }
+
+    /** A callback to notify new files added by {@link #update}. */
+    public interface NewFileCallback {
+
+        void notifyNewFile(DataFileMeta file);
+    }
 }
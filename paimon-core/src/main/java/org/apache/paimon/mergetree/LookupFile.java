@@ -43,7 +43,12 @@ import static org.apache.paimon.mergetree.LookupUtils.fileKibiBytes;
 import static org.apache.paimon.utils.InternalRowPartitionComputer.partToSimpleString;
 import static org.apache.paimon.utils.Preconditions.checkArgument;
 
-/** Lookup file for cache remote file to local. */
+/**
+ * Lookup file for cache remote file to local.
+ *
+ * <p>Reading and closing are synchronized, because the file can be evicted from the shared cache by
+ * a thread which is looking up another bucket.
+ */
 public class LookupFile {
 
     private static final Logger LOG = LoggerFactory.getLogger(LookupFile.class);
@@ -66,7 +71,7 @@ public class LookupFile {
     }
 
     @Nullable
-    public byte[] get(byte[] key) throws IOException {
+    public synchronized byte[] get(byte[] key) throws IOException {
         checkArgument(!isClosed);
         requestCount++;
         byte[] res = reader.lookup(key);
@@ -76,15 +81,27 @@ public class LookupFile {
         return res;
     }
 
+    public synchronized byte[][] getBatch(byte[][] keys) throws IOException {
+        checkArgument(!isClosed);
+        requestCount += keys.length;
+        byte[][] res = reader.lookupBatch(keys);
+        for (byte[] value : res) {
+            if (value != null) {
+                hitCount++;
+            }
+        }
+        return res;
+    }
+
     public DataFileMeta remoteFile() {
         return remoteFile;
     }
 
-    public boolean isClosed() {
+    public synchronized boolean isClosed() {
         return isClosed;
     }
 
-    public void close(RemovalCause cause) throws IOException {
+    public synchronized void close(RemovalCause cause) throws IOException {
         reader.close();
         isClosed = true;
         callback.run();
@@ -23,7 +23,9 @@ import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.data.serializer.RowCompactedSerializer;
 import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.lookup.LookupStoreReader;
 import org.apache.paimon.lookup.LookupStoreWriter;
 import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.reader.FileRecordIterator;
@@ -31,21 +33,39 @@ import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.BloomFilter;
+import org.apache.paimon.utils.ExecutorThreadFactory;
 import org.apache.paimon.utils.FileIOUtils;
 import org.apache.paimon.utils.IOFunction;
+import org.apache.paimon.utils.IOUtils;
+import org.apache.paimon.utils.Preconditions;
 
 import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cache;
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.RemovalCause;
 
 import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import static org.apache.paimon.utils.VarLengthIntUtils.MAX_VAR_LONG_SIZE;
@@ -53,10 +73,13 @@ import static org.apache.paimon.utils.VarLengthIntUtils.decodeLong;
 import static org.apache.paimon.utils.VarLengthIntUtils.encodeLong;
 
 /** Provide lookup by key. */
-public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
+public class LookupLevels<T> implements Levels.DropFileCallback, Levels.NewFileCallback, Closeable {
+
+    private static final String COMPACT_LOOKUP_FILE_PREFIX = "compact";
 
     private final Levels levels;
     private final Comparator<InternalRow> keyComparator;
+    private final RowType keyType;
     private final RowCompactedSerializer keySerializer;
     private final ValueProcessor<T> valueProcessor;
     private final IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory;
@@ -66,6 +89,9 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
 
     private final Cache<String, LookupFile> lookupFileCache;
     private final Set<String> ownCachedFiles;
+    private final Map<String, PrefetchTask> prefetchTasks;
+
+    @Nullable private ExecutorService prefetchExecutor;
 
     public LookupLevels(
             Levels levels,
@@ -79,6 +105,7 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
             Cache<String, LookupFile> lookupFileCache) {
         this.levels = levels;
         this.keyComparator = keyComparator;
+        this.keyType = keyType;
         this.keySerializer = new RowCompactedSerializer(keyType);
         this.valueProcessor = valueProcessor;
         this.fileReaderFactory = fileReaderFactory;
@@ -86,10 +113,24 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
         this.lookupStoreFactory = lookupStoreFactory;
         this.bfGenerator = bfGenerator;
         this.lookupFileCache = lookupFileCache;
-        this.ownCachedFiles = new HashSet<>();
+        this.ownCachedFiles = ConcurrentHashMap.newKeySet();
+        this.prefetchTasks = new ConcurrentHashMap<>();
         levels.addDropFileCallback(this);
     }
 
+    /**
+     * Pre-build lookup files of the new files added to the {@link Levels} (compaction results or
+     * refreshed files) in the given executor, which should be created by {@link
+     * #createPrefetchExecutor}.
+     */
+    public LookupLevels<T> withPrefetchExecutor(@Nullable ExecutorService prefetchExecutor) {
+        if (this.prefetchExecutor == null && prefetchExecutor != null) {
+            levels.addNewFileCallback(this);
+        }
+        this.prefetchExecutor = prefetchExecutor;
+        return this;
+    }
+
     public Levels getLevels() {
         return levels;
     }
@@ -104,16 +145,199 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
         return ownCachedFiles;
     }
 
+    @VisibleForTesting
+    Map<String, PrefetchTask> prefetchTasks() {
+        return prefetchTasks;
+    }
+
     @Override
     public void notifyDropFile(String file) {
+        PrefetchTask task = prefetchTasks.remove(file);
+        if (task != null) {
+            task.drop();
+        }
         lookupFileCache.invalidate(file);
     }
 
+    @Override
+    public void notifyNewFile(DataFileMeta file) {
+        if (prefetchExecutor == null || lookupFileCache.getIfPresent(file.fileName()) != null) {
+            return;
+        }
+
+        PrefetchTask task = new PrefetchTask(file, this::prefetch);
+        if (prefetchTasks.putIfAbsent(file.fileName(), task) == null) {
+            prefetchExecutor.execute(task);
+        }
+    }
+
+    private void prefetch(PrefetchTask task) throws IOException {
+        DataFileMeta file = task.file;
+        try {
+            if (lookupFileCache.getIfPresent(file.fileName()) != null) {
+                return;
+            }
+
+            // the serializers are not thread safe, use new ones for building in background
+            LookupFile lookupFile =
+                    createLookupFile(
+                            file, new RowCompactedSerializer(keyType), valueProcessor.duplicate());
+            if (!task.putIfNotDropped(() -> lookupFileCache.put(file.fileName(), lookupFile))) {
+                // file has been dropped while building
+                lookupFile.close(RemovalCause.EXPLICIT);
+            }
+        } finally {
+            prefetchTasks.remove(file.fileName(), task);
+        }
+    }
+
+    /**
+     * Returns the lookup file built by the prefetch task of the file. If the task has not been
+     * started yet, it is taken over by the caller and null is returned.
+     */
+    @Nullable
+    private LookupFile waitForPrefetch(DataFileMeta file) throws IOException {
+        PrefetchTask task = prefetchTasks.get(file.fileName());
+        if (task == null) {
+            // the prefetch may have been finished after the cache was checked
+            return lookupFileCache.getIfPresent(file.fileName());
+        }
+
+        if (task.cancel()) {
+            prefetchTasks.remove(file.fileName(), task);
+            return null;
+        }
+
+        try {
+            task.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for prefetching.");
+        } catch (ExecutionException | CancellationException e) {
+            // prefetch failed, build it in place
+            return null;
+        }
+        return lookupFileCache.getIfPresent(file.fileName());
+    }
+
     @Nullable
     public T lookup(InternalRow key, int startLevel) throws IOException {
         return LookupUtils.lookup(levels, key, startLevel, this::lookup, this::lookupLevel0);
     }
 
+    /**
+     * Lookup a batch of keys, the results are aligned with the keys. The keys are sorted once, so
+     * that every sorted run is visited in a single merge pass, and keys falling into the same file
+     * are looked up from its {@link LookupFile} together.
+     */
+    public List<T> lookupBatch(InternalRow[] keys, int startLevel) throws IOException {
+        List<T> results = new ArrayList<>(Collections.nCopies(keys.length, null));
+        byte[][] keyBytes = new byte[keys.length][];
+        List<Integer> remaining = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            keyBytes[i] = keySerializer.serializeToBytes(keys[i]);
+            remaining.add(i);
+        }
+        remaining.sort((i1, i2) -> keyComparator.compare(keys[i1], keys[i2]));
+
+        for (int i = startLevel; i < levels.numberOfLevels() && !remaining.isEmpty(); i++) {
+            if (i == 0) {
+                for (DataFileMeta file : levels.level0()) {
+                    List<Integer> fileKeys = new ArrayList<>();
+                    for (int k : remaining) {
+                        if (keyComparator.compare(file.maxKey(), keys[k]) >= 0
+                                && keyComparator.compare(file.minKey(), keys[k]) <= 0) {
+                            fileKeys.add(k);
+                        }
+                    }
+                    lookupBatch(keys, keyBytes, fileKeys, file, results);
+                    remaining.removeIf(k -> results.get(k) != null);
+                }
+            } else {
+                lookupBatch(keys, keyBytes, remaining, levels.runOfLevel(i), results);
+                remaining.removeIf(k -> results.get(k) != null);
+            }
+        }
+        return results;
+    }
+
+    private void lookupBatch(
+            InternalRow[] keys,
+            byte[][] keyBytes,
+            List<Integer> sortedKeys,
+            SortedRun level,
+            List<T> results)
+            throws IOException {
+        List<DataFileMeta> files = level.files();
+        int fileIndex = 0;
+        List<Integer> fileKeys = new ArrayList<>();
+        for (int k : sortedKeys) {
+            while (fileIndex < files.size()
+                    && keyComparator.compare(files.get(fileIndex).maxKey(), keys[k]) < 0) {
+                lookupBatch(keys, keyBytes, fileKeys, files.get(fileIndex), results);
+                fileKeys = new ArrayList<>();
+                fileIndex++;
+            }
+            if (fileIndex == files.size()) {
+                // the remaining keys are larger than all keys in this level
+                return;
+            }
+            if (keyComparator.compare(files.get(fileIndex).minKey(), keys[k]) <= 0) {
+                fileKeys.add(k);
+            }
+        }
+        if (fileIndex < files.size()) {
+            lookupBatch(keys, keyBytes, fileKeys, files.get(fileIndex), results);
+        }
+    }
+
+    private void lookupBatch(
+            InternalRow[] keys,
+            byte[][] keyBytes,
+            List<Integer> fileKeys,
+            DataFileMeta file,
+            List<T> results)
+            throws IOException {
+        if (fileKeys.isEmpty()) {
+            return;
+        }
+
+        LookupFile lookupFile = lookupFileCache.getIfPresent(file.fileName());
+        if (lookupFile == null) {
+            lookupFile = waitForPrefetch(file);
+        }
+
+        boolean newCreatedLookupFile = false;
+        if (lookupFile == null) {
+            lookupFile = createLookupFile(file, keySerializer, valueProcessor);
+            newCreatedLookupFile = true;
+        }
+
+        byte[][] valueBytes;
+        try {
+            byte[][] batchKeyBytes = new byte[fileKeys.size()][];
+            for (int i = 0; i < fileKeys.size(); i++) {
+                batchKeyBytes[i] = keyBytes[fileKeys.get(i)];
+            }
+            valueBytes = lookupFile.getBatch(batchKeyBytes);
+        } finally {
+            if (newCreatedLookupFile) {
+                lookupFileCache.put(file.fileName(), lookupFile);
+            }
+        }
+
+        int level = lookupFile.remoteFile().level();
+        for (int i = 0; i < fileKeys.size(); i++) {
+            if (valueBytes[i] != null) {
+                int k = fileKeys.get(i);
+                results.set(
+                        k,
+                        valueProcessor.readFromDisk(
+                                keys[k], level, valueBytes[i], file.fileName()));
+            }
+        }
+    }
+
     @Nullable
     private T lookupLevel0(InternalRow key, TreeSet<DataFileMeta> level0) throws IOException {
         return LookupUtils.lookupLevel0(keyComparator, key, level0, this::lookup);
@@ -127,10 +351,13 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
     @Nullable
     private T lookup(InternalRow key, DataFileMeta file) throws IOException {
         LookupFile lookupFile = lookupFileCache.getIfPresent(file.fileName());
+        if (lookupFile == null) {
+            lookupFile = waitForPrefetch(file);
+        }
 
         boolean newCreatedLookupFile = false;
         if (lookupFile == null) {
-            lookupFile = createLookupFile(file);
+            lookupFile = createLookupFile(file, keySerializer, valueProcessor);
             newCreatedLookupFile = true;
         }
 
@@ -151,7 +378,11 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
                 key, lookupFile.remoteFile().level(), valueBytes, file.fileName());
     }
 
-    private LookupFile createLookupFile(DataFileMeta file) throws IOException {
+    private LookupFile createLookupFile(
+            DataFileMeta file,
+            RowCompactedSerializer keySerializer,
+            ValueProcessor<T> valueProcessor)
+            throws IOException {
         File localFile = localFileFactory.apply(file.fileName());
         if (!localFile.createNewFile()) {
             throw new IOException("Can not create new file: " + localFile);
@@ -198,8 +429,21 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
                 () -> ownCachedFiles.remove(file.fileName()));
     }
 
+    /**
+     * Creates a {@link LookupFileWriter} to build the lookup files of the data files written by the
+     * given writer, so that they don't need to be read back to be built on the first lookup.
+     *
+     * @param maxRowCount the max number of rows to be written, used to create bloom filters.
+     */
+    public LookupFileWriter createLookupFileWriter(
+            RollingFileWriter<KeyValue, DataFileMeta> dataFileWriter, long maxRowCount) {
+        return new LookupFileWriter(dataFileWriter, maxRowCount);
+    }
+
     @Override
     public void close() throws IOException {
+        prefetchTasks.values().forEach(PrefetchTask::drop);
+        prefetchTasks.clear();
         Set<String> toClean = new HashSet<>(ownCachedFiles);
         for (String cachedFile : toClean) {
             lookupFileCache.invalidate(cachedFile);
@@ -218,14 +462,19 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
         }
 
         T readFromDisk(InternalRow key, int level, byte[] valueBytes, String fileName);
+
+        /** Returns a processor which can be used concurrently with this one. */
+        ValueProcessor<T> duplicate();
     }
 
     /** A {@link ValueProcessor} to return {@link KeyValue}. */
     public static class KeyValueProcessor implements ValueProcessor<KeyValue> {
 
+        private final RowType valueType;
         private final RowCompactedSerializer valueSerializer;
 
         public KeyValueProcessor(RowType valueType) {
+            this.valueType = valueType;
             this.valueSerializer = new RowCompactedSerializer(valueType);
         }
 
@@ -252,6 +501,11 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
             RowKind rowKind = RowKind.fromByteValue(bytes[bytes.length - 1]);
             return new KeyValue().replace(key, sequenceNumber, rowKind, value).setLevel(level);
         }
+
+        @Override
+        public KeyValueProcessor duplicate() {
+            return new KeyValueProcessor(valueType);
+        }
     }
 
     /** A {@link ValueProcessor} to return {@link Boolean} only. */
@@ -273,14 +527,21 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
         public Boolean readFromDisk(InternalRow key, int level, byte[] bytes, String fileName) {
             return Boolean.TRUE;
         }
+
+        @Override
+        public ContainsValueProcessor duplicate() {
+            return this;
+        }
     }
 
     /** A {@link ValueProcessor} to return {@link PositionedKeyValue}. */
     public static class PositionedKeyValueProcessor implements ValueProcessor<PositionedKeyValue> {
+        private final RowType valueType;
         private final boolean persistValue;
         private final RowCompactedSerializer valueSerializer;
 
         public PositionedKeyValueProcessor(RowType valueType, boolean persistValue) {
+            this.valueType = valueType;
             this.persistValue = persistValue;
             this.valueSerializer = persistValue ? new RowCompactedSerializer(valueType) : null;
         }
@@ -331,6 +592,11 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
                 return new PositionedKeyValue(null, fileName, rowPosition);
             }
         }
+
+        @Override
+        public PositionedKeyValueProcessor duplicate() {
+            return new PositionedKeyValueProcessor(valueType, persistValue);
+        }
     }
 
     /** {@link KeyValue} with file name and row position for DeletionVector. */
@@ -358,4 +624,206 @@ public class LookupLevels<T> implements Levels.DropFileCallback, Closeable {
             return keyValue;
         }
     }
+
+    /**
+     * A writer which builds the lookup files of the data files at the same time as they are written
+     * by a {@link RollingFileWriter}. Every record must be written to it right after it has been
+     * written to the data file writer.
+     */
+    public class LookupFileWriter {
+
+        private final RollingFileWriter<KeyValue, DataFileMeta> dataFileWriter;
+        private final long maxRowCount;
+        private final RowCompactedSerializer keySerializer;
+        private final ValueProcessor<T> valueProcessor;
+        private final List<File> localFiles;
+        private final List<LookupStoreFactory.Context> contexts;
+
+        @Nullable private LookupStoreWriter currentWriter;
+        private long rowPosition;
+
+        private LookupFileWriter(
+                RollingFileWriter<KeyValue, DataFileMeta> dataFileWriter, long maxRowCount) {
+            this.dataFileWriter = dataFileWriter;
+            this.maxRowCount = maxRowCount;
+            this.keySerializer = new RowCompactedSerializer(keyType);
+            this.valueProcessor = LookupLevels.this.valueProcessor.duplicate();
+            this.localFiles = new ArrayList<>();
+            this.contexts = new ArrayList<>();
+        }
+
+        public void write(KeyValue kv) throws IOException {
+            if (currentWriter == null) {
+                File localFile = localFileFactory.apply(COMPACT_LOOKUP_FILE_PREFIX);
+                if (!localFile.createNewFile()) {
+                    throw new IOException("Can not create new file: " + localFile);
+                }
+                localFiles.add(localFile);
+                currentWriter =
+                        lookupStoreFactory.createWriter(localFile, bfGenerator.apply(maxRowCount));
+                rowPosition = 0;
+            }
+
+            byte[] keyBytes = keySerializer.serializeToBytes(kv.key());
+            byte[] valueBytes =
+                    valueProcessor.withPosition()
+                            ? valueProcessor.persistToDisk(kv, rowPosition)
+                            : valueProcessor.persistToDisk(kv);
+            currentWriter.put(keyBytes, valueBytes);
+            rowPosition++;
+
+            if (dataFileWriter.closedFileCount() > contexts.size()) {
+                // the data file has been rolled over
+                closeCurrentWriter();
+            }
+        }
+
+        private void closeCurrentWriter() throws IOException {
+            if (currentWriter != null) {
+                contexts.add(currentWriter.close());
+                currentWriter = null;
+            }
+        }
+
+        /**
+         * Registers the lookup files of the closed data files into the lookup file cache. Either
+         * all of them or none of them are registered, the local files should be cleaned by {@link
+         * #abort} if it fails.
+         */
+        public void commit(List<DataFileMeta> dataFiles) throws IOException {
+            closeCurrentWriter();
+            Preconditions.checkState(
+                    dataFiles.size() == contexts.size(),
+                    "Number of lookup files %s does not equal to the number of data files %s.",
+                    contexts.size(),
+                    dataFiles.size());
+
+            List<LookupStoreReader> readers = new ArrayList<>(dataFiles.size());
+            try {
+                for (int i = 0; i < dataFiles.size(); i++) {
+                    readers.add(
+                            lookupStoreFactory.createReader(localFiles.get(i), contexts.get(i)));
+                }
+            } catch (IOException | RuntimeException e) {
+                readers.forEach(IOUtils::closeQuietly);
+                throw e;
+            }
+
+            for (int i = 0; i < dataFiles.size(); i++) {
+                DataFileMeta file = dataFiles.get(i);
+                ownCachedFiles.add(file.fileName());
+                lookupFileCache.put(
+                        file.fileName(),
+                        new LookupFile(
+                                localFiles.get(i),
+                                file,
+                                readers.get(i),
+                                () -> ownCachedFiles.remove(file.fileName())));
+            }
+        }
+
+        public void abort() {
+            try {
+                closeCurrentWriter();
+                for (File localFile : localFiles) {
+                    FileIOUtils.deleteFileOrDirectory(localFile);
+                }
+            } catch (IOException ignored) {
+                // the local files are temporary files of the io manager
+            }
+        }
+    }
+
+    /**
+     * Create a bounded executor for prefetching lookup files, the files of higher levels are
+     * prefetched first as they are larger and more expensive to build on first lookup.
+     */
+    public static ExecutorService createPrefetchExecutor(int threadNum) {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        threadNum,
+                        threadNum,
+                        1,
+                        TimeUnit.MINUTES,
+                        new PriorityBlockingQueue<>(),
+                        new ExecutorThreadFactory("paimon-lookup-prefetch"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /** A task to build the lookup file of a data file, which can be taken over by lookups. */
+    @VisibleForTesting
+    static class PrefetchTask implements Runnable, Comparable<PrefetchTask> {
+
+        private final DataFileMeta file;
+        private final PrefetchFunction function;
+        private final AtomicBoolean started;
+        private final CompletableFuture<Void> future;
+
+        // guarded by this
+        private boolean dropped;
+
+        private PrefetchTask(DataFileMeta file, PrefetchFunction function) {
+            this.file = file;
+            this.function = function;
+            this.started = new AtomicBoolean(false);
+            this.future = new CompletableFuture<>();
+        }
+
+        /** Cancel this task, returns false if it has already been started. */
+        private boolean cancel() {
+            if (started.compareAndSet(false, true)) {
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Cancel this task, and prevent a running task from adding its lookup file to the cache.
+         */
+        private void drop() {
+            cancel();
+            synchronized (this) {
+                dropped = true;
+            }
+        }
+
+        /** Runs the put if this task is not dropped, returns false if it is dropped. */
+        private synchronized boolean putIfNotDropped(Runnable put) {
+            if (dropped) {
+                return false;
+            }
+            put.run();
+            return true;
+        }
+
+        @VisibleForTesting
+        CompletableFuture<Void> future() {
+            return future;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                function.prefetch(this);
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public int compareTo(PrefetchTask other) {
+            return Integer.compare(other.file.level(), file.level());
+        }
+    }
+
+    private interface PrefetchFunction {
+        void prefetch(PrefetchTask task) throws IOException;
+    }
 }
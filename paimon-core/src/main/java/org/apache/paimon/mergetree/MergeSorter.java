@@ -21,6 +21,8 @@ package org.apache.paimon.mergetree;
 import org.apache.paimon.CoreOptions;
 import org.apache.paimon.CoreOptions.SortEngine;
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
 import org.apache.paimon.compression.BlockCompressionFactory;
 import org.apache.paimon.compression.CompressOptions;
 import org.apache.paimon.data.BinaryRow;
@@ -53,6 +55,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.apache.paimon.utils.Preconditions.checkArgument;
 
@@ -70,6 +73,8 @@ public class MergeSorter {
 
     @Nullable private IOManager ioManager;
 
+    @Nullable private NormalizedKeyComputer normalizedKeyComputer;
+
     public MergeSorter(
             CoreOptions options,
             RowType keyType,
@@ -101,13 +106,18 @@ public class MergeSorter {
         this.valueType = projectedType;
     }
 
+    /** Whether merging the given number of sorted runs spills some of them to disk. */
+    public boolean spills(int numRuns) {
+        return ioManager != null && numRuns > spillThreshold;
+    }
+
     public <T> RecordReader<T> mergeSort(
             List<SizedReaderSupplier<KeyValue>> lazyReaders,
             Comparator<InternalRow> keyComparator,
             @Nullable FieldsComparator userDefinedSeqComparator,
             MergeFunctionWrapper<T> mergeFunction)
             throws IOException {
-        if (ioManager != null && lazyReaders.size() > spillThreshold) {
+        if (spills(lazyReaders.size())) {
             return spillMergeSort(
                     lazyReaders, keyComparator, userDefinedSeqComparator, mergeFunction);
         }
@@ -134,7 +144,24 @@ public class MergeSorter {
         }
 
         return SortMergeReader.createSortMergeReader(
-                readers, keyComparator, userDefinedSeqComparator, mergeFunction, sortEngine);
+                readers,
+                keyComparator,
+                userDefinedSeqComparator,
+                mergeFunction,
+                sortEngine,
+                sortEngine == SortEngine.NORMALIZED_LOSER_TREE ? normalizedKeyComputer() : null);
+    }
+
+    @Nullable
+    private synchronized NormalizedKeyComputer normalizedKeyComputer() {
+        // the key comparator sorts all key fields in ascending order, so do the normalized keys
+        if (normalizedKeyComputer == null && keyType != null) {
+            normalizedKeyComputer =
+                    CodeGenUtils.newNormalizedKeyComputer(
+                            keyType.getFieldTypes(),
+                            IntStream.range(0, keyType.getFieldCount()).toArray());
+        }
+        return normalizedKeyComputer;
     }
 
     private <T> RecordReader<T> spillMergeSort(
@@ -22,6 +22,8 @@ import org.apache.paimon.KeyValue;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.FileReaderFactory;
+import org.apache.paimon.io.KeyValueFileReaderFactory;
+import org.apache.paimon.mergetree.compact.ColumnarSortMergeReader;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader;
 import org.apache.paimon.mergetree.compact.MergeFunctionWrapper;
 import org.apache.paimon.reader.ReaderSupplier;
@@ -91,6 +93,38 @@ public class MergeTreeReaders {
                 readers, userKeyComparator, userDefinedSeqComparator, mergeFunctionWrapper);
     }
 
+    /**
+     * Creates a reader which merges the section on columnar batches, see {@link
+     * ColumnarSortMergeReader}. Deleted records are dropped.
+     */
+    public static RecordReader<InternalRow> columnarReaderForSection(
+            List<SortedRun> section,
+            KeyValueFileReaderFactory readerFactory,
+            int[] valueProjection,
+            Comparator<InternalRow> userKeyComparator,
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            MergeFunctionWrapper<KeyValue> mergeFunctionWrapper,
+            int materializedBatchSize)
+            throws IOException {
+        List<RecordReader<InternalRow>> readers = new ArrayList<>();
+        for (SortedRun run : section) {
+            List<ReaderSupplier<InternalRow>> files = new ArrayList<>();
+            for (DataFileMeta file : run.files()) {
+                files.add(() -> readerFactory.createRawRecordReader(file));
+            }
+            readers.add(ConcatRecordReader.create(files));
+        }
+        return new ColumnarSortMergeReader(
+                readers,
+                readerFactory.keyType(),
+                readerFactory.valueType(),
+                valueProjection,
+                userKeyComparator,
+                userDefinedSeqComparator,
+                mergeFunctionWrapper,
+                materializedBatchSize);
+    }
+
     private static RecordReader<KeyValue> readerForRun(
             SortedRun run, FileReaderFactory<KeyValue> readerFactory) throws IOException {
         List<ReaderSupplier<KeyValue>> readers = new ArrayList<>();
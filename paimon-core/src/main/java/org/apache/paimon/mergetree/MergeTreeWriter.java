@@ -36,7 +36,9 @@ import org.apache.paimon.manifest.FileSource;
 import org.apache.paimon.memory.MemoryOwner;
 import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.mergetree.compact.MergeFunctionFactory;
 import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.sort.IndexedSorter;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.CommitIncrement;
 import org.apache.paimon.utils.FieldsComparator;
@@ -52,6 +54,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /** A {@link RecordWriter} to write records and generate {@link CompactIncrement}. */
@@ -60,6 +66,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private final boolean writeBufferSpillable;
     private final MemorySize maxDiskSize;
     private final int sortMaxFan;
+    private final IndexedSorter sorter;
     private final CompressOptions sortCompression;
     private final IOManager ioManager;
 
@@ -68,10 +75,12 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private final CompactManager compactManager;
     private final Comparator<InternalRow> keyComparator;
     private final MergeFunction<KeyValue> mergeFunction;
+    @Nullable private final MergeFunctionFactory<KeyValue> preMergeFunctionFactory;
     private final KeyValueFileWriterFactory writerFactory;
     private final boolean commitForceCompact;
     private final ChangelogProducer changelogProducer;
     @Nullable private final FieldsComparator userDefinedSeqComparator;
+    @Nullable private final ExecutorService flushExecutor;
 
     private final LinkedHashSet<DataFileMeta> newFiles;
     private final LinkedHashSet<DataFileMeta> deletedFiles;
@@ -85,24 +94,36 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private long newSequenceNumber;
     private WriteBuffer writeBuffer;
 
+    // only used when the write buffer is flushed in background, the full buffer is flushed as
+    // standby buffer while new records are written into the other one
+    @Nullable private WriteBufferMemoryPool writeBufferPool;
+    @Nullable private WriteBuffer standbyBuffer;
+    @Nullable private WriteBufferMemoryPool standbyBufferPool;
+    @Nullable private BufferFlusher flushing;
+    @Nullable private Future<?> flushingFuture;
+
     public MergeTreeWriter(
             boolean writeBufferSpillable,
             MemorySize maxDiskSize,
             int sortMaxFan,
+            IndexedSorter sorter,
             CompressOptions sortCompression,
             IOManager ioManager,
             CompactManager compactManager,
             long maxSequenceNumber,
             Comparator<InternalRow> keyComparator,
             MergeFunction<KeyValue> mergeFunction,
+            @Nullable MergeFunctionFactory<KeyValue> preMergeFunctionFactory,
             KeyValueFileWriterFactory writerFactory,
             boolean commitForceCompact,
             ChangelogProducer changelogProducer,
             @Nullable CommitIncrement increment,
-            @Nullable FieldsComparator userDefinedSeqComparator) {
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            @Nullable ExecutorService flushExecutor) {
         this.writeBufferSpillable = writeBufferSpillable;
         this.maxDiskSize = maxDiskSize;
         this.sortMaxFan = sortMaxFan;
+        this.sorter = sorter;
         this.sortCompression = sortCompression;
         this.ioManager = ioManager;
         this.keyType = writerFactory.keyType();
@@ -111,10 +132,12 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         this.newSequenceNumber = maxSequenceNumber + 1;
         this.keyComparator = keyComparator;
         this.mergeFunction = mergeFunction;
+        this.preMergeFunctionFactory = preMergeFunctionFactory;
         this.writerFactory = writerFactory;
         this.commitForceCompact = commitForceCompact;
         this.changelogProducer = changelogProducer;
         this.userDefinedSeqComparator = userDefinedSeqComparator;
+        this.flushExecutor = flushExecutor;
 
         this.newFiles = new LinkedHashSet<>();
         this.deletedFiles = new LinkedHashSet<>();
@@ -147,25 +170,64 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void setMemoryPool(MemorySegmentPool memoryPool) {
-        this.writeBuffer =
-                new SortBufferWriteBuffer(
-                        keyType,
-                        valueType,
-                        userDefinedSeqComparator,
-                        memoryPool,
-                        writeBufferSpillable,
-                        maxDiskSize,
-                        sortMaxFan,
-                        sortCompression,
-                        ioManager);
+        if (flushExecutor == null) {
+            this.writeBuffer = createWriteBuffer(memoryPool, writeBufferSpillable);
+        } else {
+            // each buffer can take half of the memory, so that writing can go on while the other
+            // buffer is flushing, a full buffer is flushed instead of being spilled to disk
+            int maxPages = memoryPool.freePages() / 2;
+            this.writeBufferPool = new WriteBufferMemoryPool(memoryPool, maxPages);
+            this.standbyBufferPool = new WriteBufferMemoryPool(memoryPool, maxPages);
+            this.writeBuffer = createWriteBuffer(writeBufferPool, false);
+            this.standbyBuffer = createWriteBuffer(standbyBufferPool, false);
+        }
+    }
+
+    private WriteBuffer createWriteBuffer(MemorySegmentPool memoryPool, boolean spillable) {
+        if (preMergeFunctionFactory != null
+                && HashPreMergeWriteBuffer.canPreMerge(keyType, valueType, memoryPool)) {
+            // each buffer needs its own merge function, they may be used by different threads
+            return new HashPreMergeWriteBuffer(
+                    keyType,
+                    valueType,
+                    preMergeFunctionFactory.create(),
+                    userDefinedSeqComparator,
+                    memoryPool,
+                    pool -> createSortBuffer(pool, spillable));
+        }
+        return createSortBuffer(memoryPool, spillable);
+    }
+
+    private SortBufferWriteBuffer createSortBuffer(
+            MemorySegmentPool memoryPool, boolean spillable) {
+        return new SortBufferWriteBuffer(
+                keyType,
+                valueType,
+                userDefinedSeqComparator,
+                memoryPool,
+                spillable,
+                maxDiskSize,
+                sortMaxFan,
+                sorter,
+                sortCompression,
+                ioManager);
     }
 
     @Override
     public void write(KeyValue kv) throws Exception {
+        if (flushingFuture != null && flushingFuture.isDone()) {
+            finishFlushing();
+            compactManager.triggerCompaction(false);
+        }
+
         long sequenceNumber = newSequenceNumber();
         boolean success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
         if (!success) {
-            flushWriteBuffer(false, false);
+            if (flushExecutor == null) {
+                flushWriteBuffer(false, false);
+            } else {
+                flushWriteBufferInBackground();
+            }
             success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
             if (!success) {
                 throw new RuntimeException("Mem table is too small to hold a single element.");
@@ -185,6 +247,11 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public Collection<DataFileMeta> dataFiles() {
+        try {
+            finishFlushing();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
         return compactManager.allFiles();
     }
 
@@ -195,59 +262,106 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public long memoryOccupancy() {
-        return writeBuffer.memoryOccupancy();
+        long occupancy = writeBuffer.memoryOccupancy();
+        if (standbyBuffer != null) {
+            occupancy += standbyBuffer.memoryOccupancy();
+        }
+        return occupancy;
     }
 
     @Override
     public void flushMemory() throws Exception {
+        finishFlushing();
         boolean success = writeBuffer.flushMemory();
         if (!success) {
             flushWriteBuffer(false, false);
         }
+        if (writeBufferPool != null) {
+            writeBufferPool.release();
+        }
     }
 
     private void flushWriteBuffer(boolean waitForLatestCompaction, boolean forcedFullCompaction)
             throws Exception {
+        finishFlushing();
         if (writeBuffer.size() > 0) {
             if (compactManager.shouldWaitForLatestCompaction()) {
                 waitForLatestCompaction = true;
             }
 
-            final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter =
-                    changelogProducer == ChangelogProducer.INPUT
-                            ? writerFactory.createRollingChangelogFileWriter(0)
-                            : null;
-            final RollingFileWriter<KeyValue, DataFileMeta> dataWriter =
-                    writerFactory.createRollingMergeTreeFileWriter(0, FileSource.APPEND);
-
+            BufferFlusher flusher = new BufferFlusher(writeBuffer);
             try {
-                writeBuffer.forEach(
-                        keyComparator,
-                        mergeFunction,
-                        changelogWriter == null ? null : changelogWriter::write,
-                        dataWriter::write);
+                flusher.call();
             } finally {
                 writeBuffer.clear();
-                if (changelogWriter != null) {
-                    changelogWriter.close();
+                if (writeBufferPool != null) {
+                    writeBufferPool.release();
                 }
-                dataWriter.close();
-            }
-
-            if (changelogWriter != null) {
-                newFilesChangelog.addAll(changelogWriter.result());
-            }
-
-            for (DataFileMeta fileMeta : dataWriter.result()) {
-                newFiles.add(fileMeta);
-                compactManager.addNewFile(fileMeta);
             }
+            addFlushedFiles(flusher);
         }
 
         trySyncLatestCompaction(waitForLatestCompaction);
         compactManager.triggerCompaction(forcedFullCompaction);
     }
 
+    /**
+     * Hands the full write buffer over to the flush executor and continues writing into the standby
+     * buffer. Blocks only if the standby buffer is still being flushed.
+     */
+    private void flushWriteBufferInBackground() throws Exception {
+        finishFlushing();
+        if (writeBuffer.size() > 0) {
+            BufferFlusher flusher = new BufferFlusher(writeBuffer);
+            flushingFuture = flushExecutor.submit(flusher);
+            flushing = flusher;
+
+            WriteBuffer buffer = writeBuffer;
+            writeBuffer = standbyBuffer;
+            standbyBuffer = buffer;
+            WriteBufferMemoryPool pool = writeBufferPool;
+            writeBufferPool = standbyBufferPool;
+            standbyBufferPool = pool;
+        }
+
+        trySyncLatestCompaction(compactManager.shouldWaitForLatestCompaction());
+        compactManager.triggerCompaction(false);
+    }
+
+    /**
+     * Waits for the background flush of the standby buffer and takes its files. The buffer is
+     * cleared in the writer thread, as the memory pool is not thread safe.
+     */
+    private void finishFlushing() throws Exception {
+        if (flushingFuture == null) {
+            return;
+        }
+
+        BufferFlusher flusher = flushing;
+        try {
+            flushingFuture.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to flush write buffer.", e.getCause());
+        } finally {
+            flushing = null;
+            flushingFuture = null;
+            standbyBuffer.clear();
+            standbyBufferPool.release();
+        }
+        addFlushedFiles(flusher);
+    }
+
+    private void addFlushedFiles(BufferFlusher flusher) {
+        if (flusher.changelogWriter != null) {
+            newFilesChangelog.addAll(flusher.changelogWriter.result());
+        }
+
+        for (DataFileMeta fileMeta : flusher.dataWriter.result()) {
+            newFiles.add(fileMeta);
+            compactManager.addNewFile(fileMeta);
+        }
+    }
+
     @Override
     public CommitIncrement prepareCommit(boolean waitCompaction) throws Exception {
         flushWriteBuffer(waitCompaction, false);
@@ -274,6 +388,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void sync() throws Exception {
+        finishFlushing();
         trySyncLatestCompaction(true);
     }
 
@@ -343,6 +458,11 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     public void close() throws Exception {
         // cancel compaction so that it does not block job cancelling
         compactManager.cancelCompaction();
+        try {
+            // files of a flush finished here are deleted below, a failed flush aborts its files
+            finishFlushing();
+        } catch (Exception ignored) {
+        }
         sync();
         compactManager.close();
 
@@ -379,4 +499,38 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
             compactDeletionFile.clean();
         }
     }
+
+    /** Sorts and merges a write buffer into level 0 files. */
+    private class BufferFlusher implements Callable<Void> {
+
+        private final WriteBuffer buffer;
+        @Nullable private final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter;
+        private final RollingFileWriter<KeyValue, DataFileMeta> dataWriter;
+
+        private BufferFlusher(WriteBuffer buffer) {
+            this.buffer = buffer;
+            this.changelogWriter =
+                    changelogProducer == ChangelogProducer.INPUT
+                            ? writerFactory.createRollingChangelogFileWriter(0)
+                            : null;
+            this.dataWriter = writerFactory.createRollingMergeTreeFileWriter(0, FileSource.APPEND);
+        }
+
+        @Override
+        public Void call() throws Exception {
+            try {
+                buffer.forEach(
+                        keyComparator,
+                        mergeFunction,
+                        changelogWriter == null ? null : changelogWriter::write,
+                        dataWriter::write);
+            } finally {
+                if (changelogWriter != null) {
+                    changelogWriter.close();
+                }
+                dataWriter.close();
+            }
+            return null;
+        }
+    }
 }
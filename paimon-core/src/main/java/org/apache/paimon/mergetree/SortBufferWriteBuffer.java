@@ -37,6 +37,7 @@ import org.apache.paimon.mergetree.compact.ReducerMergeFunctionWrapper;
 import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.sort.BinaryExternalSortBuffer;
 import org.apache.paimon.sort.BinaryInMemorySortBuffer;
+import org.apache.paimon.sort.IndexedSorter;
 import org.apache.paimon.sort.SortBuffer;
 import org.apache.paimon.types.BigIntType;
 import org.apache.paimon.types.DataType;
@@ -70,6 +71,7 @@ public class SortBufferWriteBuffer implements WriteBuffer {
             boolean spillable,
             MemorySize maxDiskSize,
             int sortMaxFan,
+            IndexedSorter sorter,
             CompressOptions compression,
             IOManager ioManager) {
         this.keyType = keyType;
@@ -111,7 +113,7 @@ public class SortBufferWriteBuffer implements WriteBuffer {
                 InternalSerializers.create(KeyValue.schema(keyType, valueType));
         BinaryInMemorySortBuffer inMemorySortBuffer =
                 BinaryInMemorySortBuffer.createBuffer(
-                        normalizedKeyComputer, serializer, keyComparator, memoryPool);
+                        normalizedKeyComputer, serializer, keyComparator, memoryPool, sorter);
         this.buffer =
                 ioManager != null && spillable
                         ? new BinaryExternalSortBuffer(
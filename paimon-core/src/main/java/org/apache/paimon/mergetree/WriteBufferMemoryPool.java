@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentPool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MemorySegmentPool} for a part of the write buffer of a {@link MergeTreeWriter}, such as
+ * one of the two buffers when flushing in background. It takes at most {@code maxPages} pages from
+ * the writer's pool, pages returned to it are cached until {@link #release()}, so that a buffer
+ * which is flushed by the background thread never touches the writer's pool, the pool is not thread
+ * safe.
+ */
+class WriteBufferMemoryPool implements MemorySegmentPool {
+
+    private final MemorySegmentPool parent;
+    private final int maxPages;
+    private final List<MemorySegment> cached;
+
+    private int allocatedPages;
+
+    WriteBufferMemoryPool(MemorySegmentPool parent, int maxPages) {
+        this.parent = parent;
+        this.maxPages = maxPages;
+        this.cached = new ArrayList<>();
+    }
+
+    @Override
+    public int pageSize() {
+        return parent.pageSize();
+    }
+
+    @Override
+    public void returnAll(List<MemorySegment> memory) {
+        cached.addAll(memory);
+    }
+
+    @Override
+    public int freePages() {
+        return maxPages - allocatedPages + cached.size();
+    }
+
+    @Override
+    public MemorySegment nextSegment() {
+        if (!cached.isEmpty()) {
+            return cached.remove(cached.size() - 1);
+        }
+        if (allocatedPages >= maxPages) {
+            return null;
+        }
+        MemorySegment segment = parent.nextSegment();
+        if (segment != null) {
+            allocatedPages++;
+        }
+        return segment;
+    }
+
+    /**
+     * Takes pages from the writer's pool ahead until {@code pages} pages are cached, returns false
+     * if the writer's pool can not provide them.
+     */
+    boolean reserve(int pages) {
+        while (cached.size() < pages) {
+            if (allocatedPages >= maxPages) {
+                return false;
+            }
+            MemorySegment segment = parent.nextSegment();
+            if (segment == null) {
+                return false;
+            }
+            allocatedPages++;
+            cached.add(segment);
+        }
+        return true;
+    }
+
+    /** Gives the cached pages back to the writer's pool. */
+    void release() {
+        if (!cached.isEmpty()) {
+            allocatedPages -= cached.size();
+            parent.returnAll(new ArrayList<>(cached));
+            cached.clear();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.paimon.io.FileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
 import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.manifest.FileSource;
+import org.apache.paimon.mergetree.LookupLevels;
 import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.SortedRun;
 import org.apache.paimon.utils.CloseableIterator;
@@ -99,6 +100,12 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
         return false;
     }
 
+    @Override
+    public boolean supportsConcurrentRewrite() {
+        // lookup levels and deletion vectors maintainer are not thread safe
+        return false;
+    }
+
     @Override
     public CompactResult rewrite(
             int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) throws Exception {
@@ -125,6 +132,7 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
         CloseableIterator<ChangelogResult> iterator = null;
         RollingFileWriter<KeyValue, DataFileMeta> compactFileWriter = null;
         RollingFileWriter<KeyValue, DataFileMeta> changelogFileWriter = null;
+        LookupLevels<?>.LookupFileWriter lookupFileWriter = null;
         Exception collectedExceptions = null;
 
         try {
@@ -135,6 +143,7 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
                 compactFileWriter =
                         writerFactory.createRollingMergeTreeFileWriter(
                                 outputLevel, FileSource.COMPACT);
+                lookupFileWriter = createLookupFileWriter(outputLevel, sections, compactFileWriter);
             }
             if (produceChangelog) {
                 changelogFileWriter = writerFactory.createRollingChangelogFileWriter(outputLevel);
@@ -147,6 +156,9 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
                         && keyValue != null
                         && (!dropDelete || keyValue.isAdd())) {
                     compactFileWriter.write(keyValue);
+                    if (lookupFileWriter != null) {
+                        lookupFileWriter.write(keyValue);
+                    }
                 }
                 if (produceChangelog) {
                     for (KeyValue kv : result.changelogs()) {
@@ -164,6 +176,14 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
             }
         }
 
+        if (null == collectedExceptions && lookupFileWriter != null) {
+            try {
+                lookupFileWriter.commit(compactFileWriter.result());
+            } catch (Exception e) {
+                collectedExceptions = e;
+            }
+        }
+
         if (null != collectedExceptions) {
             if (compactFileWriter != null) {
                 compactFileWriter.abort();
@@ -171,6 +191,9 @@ public abstract class ChangelogMergeTreeRewriter extends MergeTreeCompactRewrite
             if (changelogFileWriter != null) {
                 changelogFileWriter.abort();
             }
+            if (lookupFileWriter != null) {
+                lookupFileWriter.abort();
+            }
             throw collectedExceptions;
         }
 
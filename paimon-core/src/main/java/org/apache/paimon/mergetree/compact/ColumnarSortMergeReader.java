@@ -0,0 +1,520 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree.compact;
+
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.KeyValueSerializer;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.columnar.ColumnVector;
+import org.apache.paimon.data.columnar.ColumnarRow;
+import org.apache.paimon.data.columnar.GatheredColumnVector;
+import org.apache.paimon.data.columnar.RowBackedColumnVector;
+import org.apache.paimon.data.columnar.VectorizedColumnBatch;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.reader.VectorizedRecordIterator;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.FieldsComparator;
+import org.apache.paimon.utils.ProjectedRow;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link RecordReader} which merges sorted runs of raw data file rows (key fields, sequence
+ * number, value kind and value fields) by key, and returns the merged values in columnar batches.
+ *
+ * <p>Instead of materializing every record, the winner of each key is recorded as gather indices
+ * into the input batches: if the {@link MergeFunctionWrapper} returns one of the input records as
+ * it is and the input row comes from a vectorized batch, only its batch and row id are recorded.
+ * Other results, for example rows computed by aggregation or rows with a row kind other than {@link
+ * RowKind#INSERT}, are copied. Each output batch gathers up to {@code batchSize} winners with
+ * {@link GatheredColumnVector}s, or returns the input vectors as they are if the winners are the
+ * leading rows of a single input batch, so the output is still sorted by key.
+ *
+ * <p>Output batches are returned as {@link VectorizedRecordIterator}s, unless a gathered batch has
+ * array, map or multiset fields, whose child vectors cannot be gathered. An output batch is also
+ * finished early when an input has to read its next batch while the output still refers to the
+ * current one, because readers may reuse the memory of released batches.
+ *
+ * <p>The sorted runs are merged in memory, callers should only create this reader for sections
+ * which do not need to be spilled. Deleted records are always dropped.
+ */
+public class ColumnarSortMergeReader implements RecordReader<InternalRow> {
+
+    private final List<Input> inputs;
+    private final PriorityQueue<Input> heap;
+    private final Comparator<InternalRow> keyComparator;
+    @Nullable private final FieldsComparator userDefinedSeqComparator;
+    private final MergeFunctionWrapper<KeyValue> mergeFunctionWrapper;
+    private final int[] valueColumns;
+    private final ProjectedRow projectedValue;
+    private final RowType outputType;
+    private final InternalRowSerializer outputSerializer;
+    private final boolean gatheredVectorized;
+    private final int batchSize;
+
+    private final List<Input> toAdvance;
+    private final List<Input> group;
+
+    private boolean initialized;
+    @Nullable private OutputBatch output;
+
+    /**
+     * @param readers readers of the sorted runs, returning raw data file rows
+     * @param keyType the key type of the data files
+     * @param valueType the (projected) value type of the data files
+     * @param valueProjection projection of the value fields to return
+     * @param batchSize the maximum number of rows of an output batch
+     */
+    public ColumnarSortMergeReader(
+            List<RecordReader<InternalRow>> readers,
+            RowType keyType,
+            RowType valueType,
+            int[] valueProjection,
+            Comparator<InternalRow> keyComparator,
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            MergeFunctionWrapper<KeyValue> mergeFunctionWrapper,
+            int batchSize) {
+        this.inputs = new ArrayList<>(readers.size());
+        for (RecordReader<InternalRow> reader : readers) {
+            inputs.add(new Input(reader, new KeyValueSerializer(keyType, valueType)));
+        }
+        this.heap =
+                new PriorityQueue<>(
+                        Math.max(1, readers.size()),
+                        (i1, i2) -> keyComparator.compare(i1.kv.key(), i2.kv.key()));
+        this.keyComparator = keyComparator;
+        this.userDefinedSeqComparator = userDefinedSeqComparator;
+        this.mergeFunctionWrapper = mergeFunctionWrapper;
+
+        int valueOffset = keyType.getFieldCount() + 2;
+        this.valueColumns = new int[valueProjection.length];
+        for (int i = 0; i < valueProjection.length; i++) {
+            valueColumns[i] = valueOffset + valueProjection[i];
+        }
+        this.projectedValue = ProjectedRow.from(valueProjection);
+        this.outputType = valueType.project(valueProjection);
+        this.outputSerializer = new InternalRowSerializer(outputType);
+        this.gatheredVectorized =
+                outputType.getFieldTypes().stream()
+                        .noneMatch(ColumnarSortMergeReader::containsCollection);
+        this.batchSize = batchSize;
+
+        this.toAdvance = new ArrayList<>(inputs.size());
+        this.group = new ArrayList<>(inputs.size());
+    }
+
+    private static boolean containsCollection(DataType type) {
+        switch (type.getTypeRoot()) {
+            case ARRAY:
+            case MAP:
+            case MULTISET:
+                return true;
+            case ROW:
+                return ((RowType) type)
+                        .getFieldTypes().stream()
+                                .anyMatch(ColumnarSortMergeReader::containsCollection);
+            default:
+                return false;
+        }
+    }
+
+    @Nullable
+    @Override
+    public RecordIterator<InternalRow> readBatch() throws IOException {
+        if (!initialized) {
+            toAdvance.addAll(inputs);
+            initialized = true;
+        }
+
+        while (true) {
+            // bring the inputs of the last merged key to their next records, an input batch can
+            // only be replaced after the output batch referring to it has been returned
+            while (!toAdvance.isEmpty()) {
+                Input input = toAdvance.get(toAdvance.size() - 1);
+                if (!input.nextInBatch()) {
+                    if (output != null && output.refersTo(input.batch)) {
+                        return finishOutput();
+                    }
+                    if (!input.nextBatch()) {
+                        toAdvance.remove(toAdvance.size() - 1);
+                        continue;
+                    }
+                }
+                heap.add(input);
+                toAdvance.remove(toAdvance.size() - 1);
+            }
+
+            if (heap.isEmpty()) {
+                return finishOutput();
+            }
+
+            mergeNextKey();
+            if (output != null && output.size == batchSize) {
+                return finishOutput();
+            }
+        }
+    }
+
+    /** Merges the records of the smallest key among the inputs into the output batch. */
+    private void mergeNextKey() {
+        group.clear();
+        group.add(heap.poll());
+        while (!heap.isEmpty()
+                && keyComparator.compare(heap.peek().kv.key(), group.get(0).kv.key()) == 0) {
+            group.add(heap.poll());
+        }
+        if (group.size() > 1) {
+            group.sort(this::compareInGroup);
+        }
+
+        mergeFunctionWrapper.reset();
+        for (Input input : group) {
+            mergeFunctionWrapper.add(input.kv);
+        }
+        KeyValue result = mergeFunctionWrapper.getResult();
+        toAdvance.addAll(group);
+
+        if (result == null || !result.isAdd()) {
+            return;
+        }
+
+        Input winner = null;
+        for (Input input : group) {
+            if (input.kv == result) {
+                winner = input;
+                break;
+            }
+        }
+
+        if (output == null) {
+            output = new OutputBatch();
+        }
+        if (winner != null && winner.rowId >= 0 && result.valueKind() == RowKind.INSERT) {
+            output.addSelected(winner.batch, winner.rowId);
+        } else {
+            InternalRow copied = outputSerializer.copy(projectedValue.replaceRow(result.value()));
+            copied.setRowKind(result.valueKind());
+            output.addMaterialized(copied);
+        }
+    }
+
+    private int compareInGroup(Input i1, Input i2) {
+        if (userDefinedSeqComparator != null) {
+            int result = userDefinedSeqComparator.compare(i1.kv.value(), i2.kv.value());
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Long.compare(i1.kv.sequenceNumber(), i2.kv.sequenceNumber());
+    }
+
+    @Nullable
+    private RecordIterator<InternalRow> finishOutput() {
+        if (output == null) {
+            return null;
+        }
+        OutputBatch finished = output;
+        output = null;
+        return finished.toIterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (output != null) {
+            output.release();
+            output = null;
+        }
+
+        IOException exception = null;
+        for (Input input : inputs) {
+            input.releaseBatch();
+            try {
+                input.reader.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /** A sorted run and its current record. */
+    private static class Input {
+
+        private final RecordReader<InternalRow> reader;
+        private final KeyValueSerializer serializer;
+
+        @Nullable private InputBatch batch;
+        private KeyValue kv;
+
+        /** Row id of the current record in its vectorized batch, or -1 if not vectorized. */
+        private int rowId;
+
+        private Input(RecordReader<InternalRow> reader, KeyValueSerializer serializer) {
+            this.reader = reader;
+            this.serializer = serializer;
+        }
+
+        private boolean nextInBatch() throws IOException {
+            if (batch == null || batch.exhausted) {
+                return false;
+            }
+            InternalRow row = batch.iterator.next();
+            if (row == null) {
+                batch.exhausted = true;
+                return false;
+            }
+
+            kv = serializer.fromRow(row);
+            rowId = -1;
+            if (row instanceof ColumnarRow) {
+                ColumnarRow columnarRow = (ColumnarRow) row;
+                if (batch.vectors == null) {
+                    batch.vectors = columnarRow.batch();
+                }
+                if (batch.vectors == columnarRow.batch()) {
+                    rowId = columnarRow.getRowId();
+                }
+            }
+            return true;
+        }
+
+        private boolean nextBatch() throws IOException {
+            while (true) {
+                releaseBatch();
+                RecordIterator<InternalRow> iterator = reader.readBatch();
+                if (iterator == null) {
+                    return false;
+                }
+                batch = new InputBatch(iterator);
+                if (nextInBatch()) {
+                    return true;
+                }
+            }
+        }
+
+        private void releaseBatch() {
+            if (batch != null) {
+                batch.release();
+                batch = null;
+            }
+        }
+    }
+
+    /**
+     * An input batch, which is released once both the merging and all output batches referring to
+     * it are done.
+     */
+    private static class InputBatch {
+
+        private final RecordIterator<InternalRow> iterator;
+        @Nullable private VectorizedColumnBatch vectors;
+        private boolean exhausted;
+        private int references = 1;
+
+        private InputBatch(RecordIterator<InternalRow> iterator) {
+            this.iterator = iterator;
+        }
+
+        private void retain() {
+            references++;
+        }
+
+        private void release() {
+            if (--references == 0) {
+                iterator.releaseBatch();
+            }
+        }
+    }
+
+    /** Gather indices of the merged rows of an output batch. */
+    private class OutputBatch {
+
+        // the input batches referred to, null for the materialized rows
+        private final List<InputBatch> sources = new ArrayList<>();
+        private final List<ColumnVector[]> sourceColumns = new ArrayList<>();
+        private final int[] sourceIds = new int[batchSize];
+        private final int[] rowIds = new int[batchSize];
+
+        @Nullable private List<InternalRow> materialized;
+        private int materializedSource = -1;
+        @Nullable private RowKind[] rowKinds;
+        private int lastSource = -1;
+        private int size;
+
+        private boolean refersTo(@Nullable InputBatch batch) {
+            return batch != null && sources.contains(batch);
+        }
+
+        private void addSelected(InputBatch batch, int rowId) {
+            int sourceId = lastSource;
+            if (sourceId < 0 || sources.get(sourceId) != batch) {
+                sourceId = sources.indexOf(batch);
+                if (sourceId < 0) {
+                    sourceId = sources.size();
+                    batch.retain();
+                    sources.add(batch);
+                    ColumnVector[] columns = new ColumnVector[valueColumns.length];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = batch.vectors.columns[valueColumns[i]];
+                    }
+                    sourceColumns.add(columns);
+                }
+                lastSource = sourceId;
+            }
+            add(sourceId, rowId, RowKind.INSERT);
+        }
+
+        private void addMaterialized(InternalRow row) {
+            if (materialized == null) {
+                materialized = new ArrayList<>();
+                materializedSource = sources.size();
+                sources.add(null);
+                sourceColumns.add(RowBackedColumnVector.create(materialized, outputType));
+            }
+            add(materializedSource, materialized.size(), row.getRowKind());
+            materialized.add(row);
+        }
+
+        private void add(int sourceId, int rowId, RowKind rowKind) {
+            if (rowKind != RowKind.INSERT && rowKinds == null) {
+                rowKinds = new RowKind[batchSize];
+                Arrays.fill(rowKinds, RowKind.INSERT);
+            }
+            if (rowKinds != null) {
+                rowKinds[size] = rowKind;
+            }
+            sourceIds[size] = sourceId;
+            rowIds[size] = rowId;
+            size++;
+        }
+
+        private OutputIterator toIterator() {
+            VectorizedColumnBatch batch;
+            boolean vectorized;
+            if (sources.size() == 1 && materialized == null && isLeadingRows()) {
+                // the leading rows of one input batch, return its vectors as they are
+                batch = new VectorizedColumnBatch(sourceColumns.get(0));
+                vectorized = true;
+            } else {
+                ColumnVector[][] sourcesOfColumns = new ColumnVector[valueColumns.length][];
+                int[] gatherSources = Arrays.copyOf(sourceIds, size);
+                int[] gatherRows = Arrays.copyOf(rowIds, size);
+                ColumnVector[] columns = new ColumnVector[valueColumns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    sourcesOfColumns[i] = new ColumnVector[sourceColumns.size()];
+                    for (int j = 0; j < sourceColumns.size(); j++) {
+                        sourcesOfColumns[i][j] = sourceColumns.get(j)[i];
+                    }
+                    columns[i] =
+                            new GatheredColumnVector(
+                                    sourcesOfColumns[i], gatherSources, gatherRows);
+                }
+                batch = new VectorizedColumnBatch(columns);
+                vectorized = gatheredVectorized;
+            }
+            batch.setNumRows(size);
+            return vectorized
+                    ? new VectorizedOutputIterator(batch, rowKinds, this)
+                    : new OutputIterator(batch, rowKinds, this);
+        }
+
+        private boolean isLeadingRows() {
+            for (int i = 0; i < size; i++) {
+                if (rowIds[i] != i) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void release() {
+            for (InputBatch source : sources) {
+                if (source != null) {
+                    source.release();
+                }
+            }
+        }
+    }
+
+    /** A {@link RecordIterator} returning the rows of an output batch. */
+    private static class OutputIterator implements RecordIterator<InternalRow> {
+
+        private final VectorizedColumnBatch batch;
+        @Nullable private final RowKind[] rowKinds;
+        private final OutputBatch output;
+        private final ColumnarRow row;
+
+        private int index;
+
+        private OutputIterator(
+                VectorizedColumnBatch batch, @Nullable RowKind[] rowKinds, OutputBatch output) {
+            this.batch = batch;
+            this.rowKinds = rowKinds;
+            this.output = output;
+            this.row = new ColumnarRow(batch);
+        }
+
+        @Nullable
+        @Override
+        public InternalRow next() {
+            if (index >= batch.getNumRows()) {
+                return null;
+            }
+            row.setRowKind(rowKinds == null ? RowKind.INSERT : rowKinds[index]);
+            row.setRowId(index++);
+            return row;
+        }
+
+        @Override
+        public void releaseBatch() {
+            output.release();
+        }
+    }
+
+    /** An {@link OutputIterator} which also exposes its batch. */
+    private static class VectorizedOutputIterator extends OutputIterator
+            implements VectorizedRecordIterator {
+
+        private VectorizedOutputIterator(
+                VectorizedColumnBatch batch, @Nullable RowKind[] rowKinds, OutputBatch output) {
+            super(batch, rowKinds, output);
+        }
+
+        @Override
+        public VectorizedColumnBatch batch() {
+            return super.batch;
+        }
+    }
+}
@@ -53,4 +53,18 @@ public interface CompactRewriter extends Closeable {
      * @throws Exception exception
      */
     CompactResult upgrade(int outputLevel, DataFileMeta file) throws Exception;
+
+    /**
+     * Deletes the files written for a result which will not be committed, for example because
+     * another section of the same compaction failed.
+     */
+    default void abort(CompactResult result) {}
+
+    /**
+     * Whether {@link #rewrite} and {@link #upgrade} can be called concurrently for disjoint
+     * sections of one compaction unit.
+     */
+    default boolean supportsConcurrentRewrite() {
+        return false;
+    }
 }
@@ -20,6 +20,7 @@ package org.apache.paimon.mergetree.compact;
 
 import org.apache.paimon.reader.ReaderSupplier;
 import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.utils.IOUtils;
 import org.apache.paimon.utils.Preconditions;
 
 import javax.annotation.Nullable;
@@ -38,19 +39,39 @@ import java.util.Queue;
 public class ConcatRecordReader<T> implements RecordReader<T> {
 
     private final Queue<ReaderSupplier<T>> queue;
+    private final int prefetchNum;
+    private final Queue<RecordReader<T>> prefetched;
 
     private RecordReader<T> current;
 
     protected ConcatRecordReader(List<? extends ReaderSupplier<T>> readerFactories) {
+        this(readerFactories, 0);
+    }
+
+    protected ConcatRecordReader(
+            List<? extends ReaderSupplier<T>> readerFactories, int prefetchNum) {
         readerFactories.forEach(
                 supplier ->
                         Preconditions.checkNotNull(supplier, "Reader factory must not be null."));
         this.queue = new LinkedList<>(readerFactories);
+        this.prefetchNum = prefetchNum;
+        this.prefetched = new LinkedList<>();
     }
 
     public static <R> RecordReader<R> create(List<? extends ReaderSupplier<R>> readers)
             throws IOException {
-        return readers.size() == 1 ? readers.get(0).get() : new ConcatRecordReader<>(readers);
+        return create(readers, 0);
+    }
+
+    /**
+     * Creates a reader which opens the next {@code prefetchNum} readers ahead of the current one,
+     * so that async readers among them start reading in background.
+     */
+    public static <R> RecordReader<R> create(
+            List<? extends ReaderSupplier<R>> readers, int prefetchNum) throws IOException {
+        return readers.size() == 1
+                ? readers.get(0).get()
+                : new ConcatRecordReader<>(readers, prefetchNum);
     }
 
     public static <R> RecordReader<R> create(ReaderSupplier<R> reader1, ReaderSupplier<R> reader2)
@@ -69,18 +90,32 @@ public class ConcatRecordReader<T> implements RecordReader<T> {
                 }
                 current.close();
                 current = null;
+            } else if (prefetched.size() > 0) {
+                current = prefetched.poll();
+                prefetch();
             } else if (queue.size() > 0) {
                 current = queue.poll().get();
+                prefetch();
             } else {
                 return null;
             }
         }
     }
 
+    private void prefetch() throws IOException {
+        while (prefetched.size() < prefetchNum && queue.size() > 0) {
+            prefetched.add(queue.poll().get());
+        }
+    }
+
     @Override
     public void close() throws IOException {
-        if (current != null) {
-            current.close();
+        try {
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            IOUtils.closeAllQuietly(prefetched);
         }
     }
 }
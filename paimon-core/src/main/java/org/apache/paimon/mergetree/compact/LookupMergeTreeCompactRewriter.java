@@ -22,11 +22,13 @@ import org.apache.paimon.CoreOptions;
 import org.apache.paimon.CoreOptions.MergeEngine;
 import org.apache.paimon.KeyValue;
 import org.apache.paimon.codegen.RecordEqualiser;
+import org.apache.paimon.compact.CompactResult;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.deletionvectors.DeletionVectorsMaintainer;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.FileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
+import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.lookup.LookupStrategy;
 import org.apache.paimon.mergetree.LookupLevels;
 import org.apache.paimon.mergetree.MergeSorter;
@@ -41,7 +43,9 @@ import java.io.UncheckedIOException;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 import static org.apache.paimon.mergetree.compact.ChangelogMergeTreeRewriter.UpgradeStrategy.CHANGELOG_NO_REWRITE;
 import static org.apache.paimon.mergetree.compact.ChangelogMergeTreeRewriter.UpgradeStrategy.CHANGELOG_WITH_REWRITE;
@@ -58,6 +62,7 @@ public class LookupMergeTreeCompactRewriter<T> extends ChangelogMergeTreeRewrite
     private final boolean noSequenceField;
     @Nullable private final DeletionVectorsMaintainer dvMaintainer;
     private final IntFunction<String> level2FileFormat;
+    private final boolean writeLookupFile;
 
     public LookupMergeTreeCompactRewriter(
             int maxLevel,
@@ -91,6 +96,38 @@ public class LookupMergeTreeCompactRewriter<T> extends ChangelogMergeTreeRewrite
         String fileFormat = options.fileFormatString();
         Map<Integer, String> fileFormatPerLevel = options.fileFormatPerLevel();
         this.level2FileFormat = level -> fileFormatPerLevel.getOrDefault(level, fileFormat);
+        this.writeLookupFile = options.lookupWriteFileOnCompaction();
+    }
+
+    @Nullable
+    @Override
+    protected LookupLevels<?>.LookupFileWriter createLookupFileWriter(
+            int outputLevel,
+            List<List<SortedRun>> sections,
+            RollingFileWriter<KeyValue, DataFileMeta> writer) {
+        // files of level 0 are never looked up by compaction
+        if (!writeLookupFile || outputLevel == 0) {
+            return null;
+        }
+
+        long maxRowCount = 0;
+        for (DataFileMeta file : extractFilesFromSections(sections)) {
+            maxRowCount += file.rowCount();
+        }
+        return lookupLevels.createLookupFileWriter(writer, maxRowCount);
+    }
+
+    @Override
+    public void abort(CompactResult result) {
+        super.abort(result);
+        // the lookup files of the deleted files may have been registered by the rewrite
+        Set<String> before =
+                result.before().stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+        for (DataFileMeta file : result.after()) {
+            if (!before.contains(file.fileName())) {
+                lookupLevels.notifyDropFile(file.fileName());
+            }
+        }
     }
 
     @Override
@@ -18,15 +18,21 @@
 
 package org.apache.paimon.mergetree.compact;
 
+import org.apache.paimon.codegen.NormalizedKeyComputer;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.ExceptionUtils;
 
+import javax.annotation.Nullable;
+
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * A variant of the loser tree. In the LSM-Tree architecture, there will be duplicate Keys in
@@ -41,6 +47,11 @@ import java.util.List;
  * state of the winner/loser for subsequent quick adjustment of the position of the winner.
  *
  * <p>Detailed design can refer to https://cwiki.apache.org/confluence/x/9Ak0Dw.
+ *
+ * <p>If a {@link NormalizedKeyComputer} is given, the normalized key prefix of every leaf is
+ * computed once when the leaf advances, and keys are first compared by their prefixes. The first
+ * comparator is only used when the prefixes are equal and do not fully determine the order. In this
+ * case the first comparator must let the element with the smaller key win.
  */
 public class LoserTree<T> implements Closeable {
     private final int[] tree;
@@ -56,12 +67,29 @@ public class LoserTree<T> implements Closeable {
     /** same as firstComparator, but mainly used to compare sequenceNumber. */
     private final Comparator<T> secondComparator;
 
+    @Nullable private final NormalizedKeyComputer keyComputer;
+    @Nullable private final Function<T, InternalRow> keyGetter;
+
+    /** Normalized key prefixes of all leaves, the prefix of leaf i starts at i * numKeyBytes. */
+    @Nullable private final MemorySegment normalizedKeys;
+
+    private final int numKeyBytes;
+
     private boolean initialized;
 
     public LoserTree(
             List<RecordReader<T>> nextBatchReaders,
             Comparator<T> firstComparator,
             Comparator<T> secondComparator) {
+        this(nextBatchReaders, firstComparator, secondComparator, null, null);
+    }
+
+    public LoserTree(
+            List<RecordReader<T>> nextBatchReaders,
+            Comparator<T> firstComparator,
+            Comparator<T> secondComparator,
+            @Nullable NormalizedKeyComputer keyComputer,
+            @Nullable Function<T, InternalRow> keyGetter) {
         this.size = nextBatchReaders.size();
         this.leaves = new ArrayList<>(size);
         this.tree = new int[size];
@@ -73,8 +101,17 @@ public class LoserTree<T> implements Closeable {
                 (e1, e2) -> e1 == null ? -1 : (e2 == null ? 1 : secondComparator.compare(e1, e2));
         this.initialized = false;
 
+        // a normalized key without any bytes can not save any comparison
+        boolean normalized =
+                keyComputer != null && keyGetter != null && keyComputer.getNumKeyBytes() > 0;
+        this.keyComputer = normalized ? keyComputer : null;
+        this.keyGetter = normalized ? keyGetter : null;
+        this.numKeyBytes = normalized ? keyComputer.getNumKeyBytes() : 0;
+        this.normalizedKeys =
+                normalized ? MemorySegment.allocateHeapMemory(numKeyBytes * size) : null;
+
         for (RecordReader<T> reader : nextBatchReaders) {
-            LeafIterator<T> iterator = new LeafIterator<>(reader);
+            LeafIterator<T> iterator = new LeafIterator<>(reader, leaves.size() * numKeyBytes);
             this.leaves.add(iterator);
         }
     }
@@ -84,7 +121,7 @@ public class LoserTree<T> implements Closeable {
         if (!initialized) {
             Arrays.fill(tree, -1);
             for (int i = size - 1; i >= 0; i--) {
-                leaves.get(i).advanceIfAvailable();
+                advance(leaves.get(i));
                 adjust(i);
             }
             initialized = true;
@@ -95,7 +132,7 @@ public class LoserTree<T> implements Closeable {
     public void adjustForNextLoop() throws IOException {
         LeafIterator<T> winner = leaves.get(tree[0]);
         while (winner.state == State.WINNER_POPPED) {
-            winner.advanceIfAvailable();
+            advance(winner);
             adjust(tree[0]);
             winner = leaves.get(tree[0]);
         }
@@ -119,6 +156,32 @@ public class LoserTree<T> implements Closeable {
         return leaves.get(tree[0]).state != State.WINNER_POPPED ? leaves.get(tree[0]).peek() : null;
     }
 
+    private void advance(LeafIterator<T> leaf) throws IOException {
+        leaf.advanceIfAvailable();
+        if (keyComputer != null && leaf.peek() != null) {
+            keyComputer.putKey(keyGetter.apply(leaf.peek()), normalizedKeys, leaf.keyOffset);
+        }
+    }
+
+    /** Compares the keys of two leaves, a positive result means that the parent wins. */
+    private int compareKey(LeafIterator<T> parentNode, LeafIterator<T> winnerNode) {
+        T parentKey = parentNode.peek();
+        T childKey = winnerNode.peek();
+        if (keyComputer != null && parentKey != null && childKey != null) {
+            // the smaller normalized key wins
+            int result =
+                    keyComputer.compareKey(
+                            normalizedKeys,
+                            winnerNode.keyOffset,
+                            normalizedKeys,
+                            parentNode.keyOffset);
+            if (result != 0 || keyComputer.isKeyFullyDetermines()) {
+                return result;
+            }
+        }
+        return firstComparator.compare(parentKey, childKey);
+    }
+
     /**
      * Adjust the winner from bottom to top. Using different {@link State}, we can quickly compare
      * whether all the current same keys have been processed.
@@ -207,7 +270,7 @@ public class LoserTree<T> implements Closeable {
                 // when the new winner is also a new key, it needs to be compared.
                 T parentKey = parentNode.peek();
                 T childKey = winnerNode.peek();
-                int firstResult = firstComparator.compare(parentKey, childKey);
+                int firstResult = compareKey(parentNode, winnerNode);
                 if (firstResult == 0) {
                     // if the compared keys are the same, we need to update the state of the node
                     // and record the index of the same key for the winner.
@@ -279,8 +342,12 @@ public class LoserTree<T> implements Closeable {
         /** The state of the current node. */
         private State state;
 
-        private LeafIterator(RecordReader<T> reader) {
+        /** The offset of the normalized key of this leaf. */
+        private final int keyOffset;
+
+        private LeafIterator(RecordReader<T> reader, int keyOffset) {
             this.reader = reader;
+            this.keyOffset = keyOffset;
             this.endOfInput = false;
             this.firstSameKeyIndex = -1;
             this.state = State.WINNER_WITH_NEW_KEY;
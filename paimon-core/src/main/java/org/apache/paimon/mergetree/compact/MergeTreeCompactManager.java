@@ -69,6 +69,7 @@ public class MergeTreeCompactManager extends CompactFutureManager {
     private final boolean forceRewriteAllFiles;
 
     @Nullable private final RecordLevelExpire recordLevelExpire;
+    private final int sectionParallelism;
 
     public MergeTreeCompactManager(
             ExecutorService executor,
@@ -83,7 +84,8 @@ public class MergeTreeCompactManager extends CompactFutureManager {
             boolean lazyGenDeletionFile,
             boolean needLookup,
             @Nullable RecordLevelExpire recordLevelExpire,
-            boolean forceRewriteAllFiles) {
+            boolean forceRewriteAllFiles,
+            int sectionParallelism) {
         this.executor = executor;
         this.levels = levels;
         this.strategy = strategy;
@@ -97,6 +99,7 @@ public class MergeTreeCompactManager extends CompactFutureManager {
         this.recordLevelExpire = recordLevelExpire;
         this.needLookup = needLookup;
         this.forceRewriteAllFiles = forceRewriteAllFiles;
+        this.sectionParallelism = sectionParallelism;
 
         MetricUtils.safeCall(this::reportMetrics, LOG);
     }
@@ -222,7 +225,8 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                             metricsReporter,
                             compactDfSupplier,
                             recordLevelExpire,
-                            forceRewriteAllFiles);
+                            forceRewriteAllFiles,
+                            sectionParallelism);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -27,6 +27,7 @@ import org.apache.paimon.io.KeyValueFileWriterFactory;
 import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.manifest.FileSource;
 import org.apache.paimon.mergetree.DropDeleteReader;
+import org.apache.paimon.mergetree.LookupLevels;
 import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.MergeTreeReaders;
 import org.apache.paimon.mergetree.SortedRun;
@@ -41,6 +42,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /** Default {@link CompactRewriter} for merge trees. */
 public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
@@ -73,10 +76,32 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
         return rewriteCompaction(outputLevel, dropDelete, sections);
     }
 
+    @Override
+    public boolean supportsConcurrentRewrite() {
+        // every rewrite creates its own readers, merge function and writer, the shared writer
+        // factory and merge sorter are thread safe
+        return true;
+    }
+
+    @Override
+    public void abort(CompactResult result) {
+        // upgraded files keep their names and must not be deleted
+        Set<String> before =
+                result.before().stream().map(DataFileMeta::fileName).collect(Collectors.toSet());
+        for (DataFileMeta file : result.after()) {
+            if (!before.contains(file.fileName())) {
+                writerFactory.deleteFile(file);
+            }
+        }
+        result.changelog().forEach(writerFactory::deleteFile);
+    }
+
     protected CompactResult rewriteCompaction(
             int outputLevel, boolean dropDelete, List<List<SortedRun>> sections) throws Exception {
         RollingFileWriter<KeyValue, DataFileMeta> writer =
                 writerFactory.createRollingMergeTreeFileWriter(outputLevel, FileSource.COMPACT);
+        LookupLevels<?>.LookupFileWriter lookupFileWriter =
+                createLookupFileWriter(outputLevel, sections, writer);
         RecordReader<KeyValue> reader = null;
         Exception collectedExceptions = null;
         try {
@@ -86,7 +111,17 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
             if (dropDelete) {
                 reader = new DropDeleteReader(reader);
             }
-            writer.write(new RecordReaderIterator<>(reader));
+            if (lookupFileWriter == null) {
+                writer.write(new RecordReaderIterator<>(reader));
+            } else {
+                // the reader is closed below, together with the writer
+                RecordReaderIterator<KeyValue> iterator = new RecordReaderIterator<>(reader);
+                while (iterator.hasNext()) {
+                    KeyValue kv = iterator.next();
+                    writer.write(kv);
+                    lookupFileWriter.write(kv);
+                }
+            }
         } catch (Exception e) {
             collectedExceptions = e;
         } finally {
@@ -97,16 +132,38 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
             }
         }
 
+        if (null == collectedExceptions && lookupFileWriter != null) {
+            try {
+                lookupFileWriter.commit(writer.result());
+            } catch (Exception e) {
+                collectedExceptions = e;
+            }
+        }
+
         if (null != collectedExceptions) {
             writer.abort();
+            if (lookupFileWriter != null) {
+                lookupFileWriter.abort();
+            }
             throw collectedExceptions;
         }
-
         List<DataFileMeta> before = extractFilesFromSections(sections);
         notifyRewriteCompactBefore(before);
         return new CompactResult(before, writer.result());
     }
 
+    /**
+     * Creates a writer to build the lookup files of the compacted files while they are written, or
+     * null if the lookup files should not be built in compaction.
+     */
+    @Nullable
+    protected LookupLevels<?>.LookupFileWriter createLookupFileWriter(
+            int outputLevel,
+            List<List<SortedRun>> sections,
+            RollingFileWriter<KeyValue, DataFileMeta> writer) {
+        return null;
+    }
+
     protected <T> RecordReader<T> readerForMergeTree(
             List<List<SortedRun>> sections, MergeFunctionWrapper<T> mergeFunctionWrapper)
             throws IOException {
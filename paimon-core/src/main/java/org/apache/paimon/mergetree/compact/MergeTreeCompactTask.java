@@ -27,19 +27,35 @@ import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.RecordLevelExpire;
 import org.apache.paimon.mergetree.SortedRun;
 import org.apache.paimon.operation.metrics.CompactionMetrics;
+import org.apache.paimon.utils.SharedThreadPools;
 
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import static java.util.Collections.singletonList;
 
-/** Compact task for merge tree compaction. */
+/**
+ * Compact task for merge tree compaction.
+ *
+ * <p>The compaction unit is split into key-disjoint sections, each of them is either rewritten or
+ * upgraded. If the rewriter supports it, up to {@code sectionParallelism} sections are rewritten
+ * concurrently, and their results are merged in key order.
+ */
 public class MergeTreeCompactTask extends CompactTask {
 
+    private static final String SECTION_THREAD_NAME = "MERGE_TREE_COMPACT_SECTION";
+
     private final long minFileSize;
     private final CompactRewriter rewriter;
     private final int outputLevel;
@@ -49,6 +65,7 @@ public class MergeTreeCompactTask extends CompactTask {
     private final int maxLevel;
     @Nullable private final RecordLevelExpire recordLevelExpire;
     private final boolean forceRewriteAllFiles;
+    private final int sectionParallelism;
 
     // metric
     private int upgradeFilesNum;
@@ -64,6 +81,32 @@ public class MergeTreeCompactTask extends CompactTask {
             Supplier<CompactDeletionFile> compactDfSupplier,
             @Nullable RecordLevelExpire recordLevelExpire,
             boolean forceRewriteAllFiles) {
+        this(
+                keyComparator,
+                minFileSize,
+                rewriter,
+                unit,
+                dropDelete,
+                maxLevel,
+                metricsReporter,
+                compactDfSupplier,
+                recordLevelExpire,
+                forceRewriteAllFiles,
+                1);
+    }
+
+    public MergeTreeCompactTask(
+            Comparator<InternalRow> keyComparator,
+            long minFileSize,
+            CompactRewriter rewriter,
+            CompactUnit unit,
+            boolean dropDelete,
+            int maxLevel,
+            @Nullable CompactionMetrics.Reporter metricsReporter,
+            Supplier<CompactDeletionFile> compactDfSupplier,
+            @Nullable RecordLevelExpire recordLevelExpire,
+            boolean forceRewriteAllFiles,
+            int sectionParallelism) {
         super(metricsReporter);
         this.minFileSize = minFileSize;
         this.rewriter = rewriter;
@@ -74,6 +117,7 @@ public class MergeTreeCompactTask extends CompactTask {
         this.maxLevel = maxLevel;
         this.recordLevelExpire = recordLevelExpire;
         this.forceRewriteAllFiles = forceRewriteAllFiles;
+        this.sectionParallelism = sectionParallelism;
 
         this.upgradeFilesNum = 0;
     }
@@ -81,7 +125,7 @@ public class MergeTreeCompactTask extends CompactTask {
     @Override
     protected CompactResult doCompact() throws Exception {
         List<List<SortedRun>> candidate = new ArrayList<>();
-        CompactResult result = new CompactResult();
+        List<Callable<CompactResult>> jobs = new ArrayList<>();
 
         // Checking the order and compacting adjacent and contiguous files
         // Note: can't skip an intermediate file to compact, this will destroy the overall
@@ -101,13 +145,18 @@ public class MergeTreeCompactTask extends CompactTask {
                         candidate.add(singletonList(SortedRun.fromSingle(file)));
                     } else {
                         // Large file appear, rewrite previous and upgrade it
-                        rewrite(candidate, result);
-                        upgrade(file, result);
+                        rewrite(candidate, jobs);
+                        upgrade(file, jobs);
                     }
                 }
             }
         }
-        rewrite(candidate, result);
+        rewrite(candidate, jobs);
+
+        CompactResult result = new CompactResult();
+        for (CompactResult jobResult : runJobs(jobs)) {
+            result.merge(jobResult);
+        }
         result.setDeletionFile(compactDfSupplier.get());
         return result;
     }
@@ -120,24 +169,23 @@ public class MergeTreeCompactTask extends CompactTask {
                 super.logMetric(startMillis, compactBefore, compactAfter), upgradeFilesNum);
     }
 
-    private void upgrade(DataFileMeta file, CompactResult toUpdate) throws Exception {
+    private void upgrade(DataFileMeta file, List<Callable<CompactResult>> jobs) {
         if ((outputLevel == maxLevel && containsDeleteRecords(file))
                 || forceRewriteAllFiles
                 || containsExpiredRecords(file)) {
             List<List<SortedRun>> candidate = new ArrayList<>();
             candidate.add(singletonList(SortedRun.fromSingle(file)));
-            rewriteImpl(candidate, toUpdate);
+            rewriteImpl(candidate, jobs);
             return;
         }
 
         if (file.level() != outputLevel) {
-            CompactResult upgradeResult = rewriter.upgrade(outputLevel, file);
-            toUpdate.merge(upgradeResult);
+            jobs.add(() -> rewriter.upgrade(outputLevel, file));
             upgradeFilesNum++;
         }
     }
 
-    private void rewrite(List<List<SortedRun>> candidate, CompactResult toUpdate) throws Exception {
+    private void rewrite(List<List<SortedRun>> candidate, List<Callable<CompactResult>> jobs) {
         if (candidate.isEmpty()) {
             return;
         }
@@ -147,22 +195,130 @@ public class MergeTreeCompactTask extends CompactTask {
                 return;
             } else if (section.size() == 1) {
                 for (DataFileMeta file : section.get(0).files()) {
-                    upgrade(file, toUpdate);
+                    upgrade(file, jobs);
                 }
                 candidate.clear();
                 return;
             }
         }
-        rewriteImpl(candidate, toUpdate);
+        rewriteImpl(candidate, jobs);
     }
 
-    private void rewriteImpl(List<List<SortedRun>> candidate, CompactResult toUpdate)
-            throws Exception {
-        CompactResult rewriteResult = rewriter.rewrite(outputLevel, dropDelete, candidate);
-        toUpdate.merge(rewriteResult);
+    private void rewriteImpl(List<List<SortedRun>> candidate, List<Callable<CompactResult>> jobs) {
+        if (sectionParallelism <= 1 || !rewriter.supportsConcurrentRewrite()) {
+            addRewriteJob(new ArrayList<>(candidate), jobs);
+            candidate.clear();
+            return;
+        }
+
+        // Split the sections into chunks of at least the min file size, so that the chunks can be
+        // rewritten in parallel while small sections are still merged into larger files.
+        List<List<SortedRun>> chunk = new ArrayList<>();
+        long chunkSize = 0;
+        for (List<SortedRun> section : candidate) {
+            chunk.add(section);
+            for (SortedRun run : section) {
+                chunkSize += run.totalSize();
+            }
+            if (chunkSize >= minFileSize) {
+                addRewriteJob(chunk, jobs);
+                chunk = new ArrayList<>();
+                chunkSize = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            addRewriteJob(chunk, jobs);
+        }
         candidate.clear();
     }
 
+    private void addRewriteJob(List<List<SortedRun>> sections, List<Callable<CompactResult>> jobs) {
+        jobs.add(() -> rewriter.rewrite(outputLevel, dropDelete, sections));
+    }
+
+    /** Runs the rewrite and upgrade jobs, the results are returned in the order of the jobs. */
+    private List<CompactResult> runJobs(List<Callable<CompactResult>> jobs) throws Exception {
+        List<CompactResult> results = new ArrayList<>(jobs.size());
+        if (sectionParallelism <= 1 || jobs.size() <= 1 || !rewriter.supportsConcurrentRewrite()) {
+            try {
+                for (Callable<CompactResult> job : jobs) {
+                    results.add(job.call());
+                }
+            } catch (Throwable t) {
+                abort(results, t);
+                throw t;
+            }
+            return results;
+        }
+
+        ExecutorService executor =
+                SharedThreadPools.getThreadPool(SECTION_THREAD_NAME, sectionParallelism);
+        // every submitted job holds a permit until it is finished
+        Semaphore permits = new Semaphore(sectionParallelism);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<Future<CompactResult>> futures = new ArrayList<>(jobs.size());
+        try {
+            for (Callable<CompactResult> job : jobs) {
+                permits.acquire();
+                if (failed.get()) {
+                    permits.release();
+                    break;
+                }
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try {
+                                        return failed.get() ? null : job.call();
+                                    } catch (Throwable t) {
+                                        failed.set(true);
+                                        throw t;
+                                    } finally {
+                                        permits.release();
+                                    }
+                                }));
+            }
+            for (Future<CompactResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (Throwable t) {
+            failed.set(true);
+            // wait for the running jobs, so that no writer is left working after the task failed
+            permits.acquireUninterruptibly(sectionParallelism);
+            // all submitted jobs are finished now, delete the files of the successful ones
+            List<CompactResult> finished = new ArrayList<>();
+            for (Future<CompactResult> future : futures) {
+                try {
+                    CompactResult result = future.get();
+                    if (result != null) {
+                        finished.add(result);
+                    }
+                } catch (ExecutionException | CancellationException ignored) {
+                    // the failed job has cleaned up its own files
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            abort(finished, t);
+            if (t instanceof ExecutionException && t.getCause() instanceof Exception) {
+                throw (Exception) t.getCause();
+            }
+            throw t;
+        }
+    }
+
+    /** Deletes the files of the finished jobs, the compaction fails and does not commit them. */
+    private void abort(List<CompactResult> finished, Throwable failure) {
+        for (CompactResult result : finished) {
+            try {
+                rewriter.abort(result);
+            } catch (Throwable t) {
+                failure.addSuppressed(t);
+            }
+        }
+    }
+
     private boolean containsDeleteRecords(DataFileMeta file) {
         return file.deleteRowCount().map(d -> d > 0).orElse(true);
     }
@@ -20,6 +20,7 @@ package org.apache.paimon.mergetree.compact;
 
 import org.apache.paimon.CoreOptions.SortEngine;
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.FieldsComparator;
@@ -44,6 +45,27 @@ public interface SortMergeReader<T> extends RecordReader<T> {
             @Nullable FieldsComparator userDefinedSeqComparator,
             MergeFunctionWrapper<T> mergeFunctionWrapper,
             SortEngine sortEngine) {
+        return createSortMergeReader(
+                readers,
+                userKeyComparator,
+                userDefinedSeqComparator,
+                mergeFunctionWrapper,
+                sortEngine,
+                null);
+    }
+
+    /**
+     * Creates a {@link SortMergeReader}. The {@code normalizedKeyComputer} must produce keys in the
+     * same order as {@code userKeyComparator}, it is only used by {@link
+     * SortEngine#NORMALIZED_LOSER_TREE}, which falls back to a plain loser tree without it.
+     */
+    static <T> SortMergeReader<T> createSortMergeReader(
+            List<RecordReader<KeyValue>> readers,
+            Comparator<InternalRow> userKeyComparator,
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            MergeFunctionWrapper<T> mergeFunctionWrapper,
+            SortEngine sortEngine,
+            @Nullable NormalizedKeyComputer normalizedKeyComputer) {
         switch (sortEngine) {
             case MIN_HEAP:
                 return new SortMergeReaderWithMinHeap<>(
@@ -51,6 +73,13 @@ public interface SortMergeReader<T> extends RecordReader<T> {
             case LOSER_TREE:
                 return new SortMergeReaderWithLoserTree<>(
                         readers, userKeyComparator, userDefinedSeqComparator, mergeFunctionWrapper);
+            case NORMALIZED_LOSER_TREE:
+                return new SortMergeReaderWithLoserTree<>(
+                        readers,
+                        userKeyComparator,
+                        userDefinedSeqComparator,
+                        mergeFunctionWrapper,
+                        normalizedKeyComputer);
             default:
                 throw new UnsupportedOperationException("Unsupported sort engine: " + sortEngine);
         }
@@ -19,6 +19,7 @@
 package org.apache.paimon.mergetree.compact;
 
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.FieldsComparator;
@@ -41,12 +42,27 @@ public class SortMergeReaderWithLoserTree<T> implements SortMergeReader<T> {
             Comparator<InternalRow> userKeyComparator,
             @Nullable FieldsComparator userDefinedSeqComparator,
             MergeFunctionWrapper<T> mergeFunctionWrapper) {
+        this(readers, userKeyComparator, userDefinedSeqComparator, mergeFunctionWrapper, null);
+    }
+
+    /**
+     * Creates a reader which compares the normalized key prefixes computed by {@code
+     * normalizedKeyComputer} first, the {@code userKeyComparator} is only used to break ties.
+     */
+    public SortMergeReaderWithLoserTree(
+            List<RecordReader<KeyValue>> readers,
+            Comparator<InternalRow> userKeyComparator,
+            @Nullable FieldsComparator userDefinedSeqComparator,
+            MergeFunctionWrapper<T> mergeFunctionWrapper,
+            @Nullable NormalizedKeyComputer normalizedKeyComputer) {
         this.mergeFunctionWrapper = mergeFunctionWrapper;
         this.loserTree =
                 new LoserTree<>(
                         readers,
                         (e1, e2) -> userKeyComparator.compare(e2.key(), e1.key()),
-                        createSequenceComparator(userDefinedSeqComparator));
+                        createSequenceComparator(userDefinedSeqComparator),
+                        normalizedKeyComputer,
+                        KeyValue::key);
     }
 
     private Comparator<KeyValue> createSequenceComparator(
@@ -25,7 +25,7 @@ import org.apache.paimon.manifest.BucketEntry;
 import org.apache.paimon.manifest.FileEntry;
 import org.apache.paimon.manifest.FileEntry.Identifier;
 import org.apache.paimon.manifest.ManifestEntry;
-import org.apache.paimon.manifest.ManifestEntrySerializer;
+import org.apache.paimon.manifest.ManifestEntryRowFilter;
 import org.apache.paimon.manifest.ManifestFile;
 import org.apache.paimon.manifest.ManifestFileMeta;
 import org.apache.paimon.manifest.PartitionEntry;
@@ -441,7 +441,7 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
                         .read(
                                 manifest.fileName(),
                                 manifest.fileSize(),
-                                createEntryRowFilter().and(additionalFilter),
+                                createEntryRowFilter(additionalFilter),
                                 entry ->
                                         (additionalTFilter == null || additionalTFilter.test(entry))
                                                 && (manifestEntryFilter == null
@@ -464,51 +464,39 @@ public abstract class AbstractFileStoreScan implements FileStoreScan {
     /**
      * Read the corresponding entries based on the current required partition and bucket.
      *
-     * <p>Implemented to {@link InternalRow} is for performance (No deserialization).
+     * <p>Implemented to {@link InternalRow} is for performance (No deserialization). When the
+     * manifest is cached, the conditions are evaluated on the cached columns.
      */
-    private Filter<InternalRow> createEntryRowFilter() {
-        Function<InternalRow, BinaryRow> partitionGetter =
-                ManifestEntrySerializer.partitionGetter();
-        Function<InternalRow, Integer> bucketGetter = ManifestEntrySerializer.bucketGetter();
-        Function<InternalRow, Integer> totalBucketGetter =
-                ManifestEntrySerializer.totalBucketGetter();
-        Function<InternalRow, String> fileNameGetter = ManifestEntrySerializer.fileNameGetter();
-        PartitionPredicate partitionFilter = manifestsReader.partitionFilter();
-        Function<InternalRow, Integer> levelGetter = ManifestEntrySerializer.levelGetter();
-        return row -> {
-            if ((partitionFilter != null && !partitionFilter.test(partitionGetter.apply(row)))) {
-                return false;
-            }
-
-            int bucket = bucketGetter.apply(row);
-            if (onlyReadRealBuckets && bucket < 0) {
-                return false;
-            }
-
-            if (specifiedBucket != null && bucket != specifiedBucket) {
-                return false;
-            }
-
-            if (bucketFilter != null && !bucketFilter.test(bucket)) {
-                return false;
-            }
-
-            if (totalAwareBucketFilter != null
-                    && !totalAwareBucketFilter.test(bucket, totalBucketGetter.apply(row))) {
-                return false;
-            }
-
-            int level = levelGetter.apply(row);
-            if (specifiedLevel != null && level != specifiedLevel) {
-                return false;
-            }
-
-            if (levelFilter != null && !levelFilter.test(level)) {
-                return false;
-            }
-
-            return fileNameFilter == null || fileNameFilter.test((fileNameGetter.apply(row)));
-        };
+    private ManifestEntryRowFilter createEntryRowFilter(
+            @Nullable Filter<InternalRow> additionalFilter) {
+        Integer specifiedBucket = this.specifiedBucket;
+        Filter<Integer> bucketFilter = this.bucketFilter;
+        boolean onlyReadRealBuckets = this.onlyReadRealBuckets;
+        Filter<Integer> combinedBucketFilter =
+                onlyReadRealBuckets || specifiedBucket != null || bucketFilter != null
+                        ? bucket ->
+                                !(onlyReadRealBuckets && bucket < 0)
+                                        && (specifiedBucket == null
+                                                || bucket.equals(specifiedBucket))
+                                        && (bucketFilter == null || bucketFilter.test(bucket))
+                        : null;
+
+        Integer specifiedLevel = this.specifiedLevel;
+        Filter<Integer> levelFilter = this.levelFilter;
+        Filter<Integer> combinedLevelFilter =
+                specifiedLevel != null || levelFilter != null
+                        ? level ->
+                                (specifiedLevel == null || level.equals(specifiedLevel))
+                                        && (levelFilter == null || levelFilter.test(level))
+                        : null;
+
+        return new ManifestEntryRowFilter(
+                manifestsReader.partitionFilter(),
+                combinedBucketFilter,
+                totalAwareBucketFilter,
+                combinedLevelFilter,
+                fileNameFilter,
+                additionalFilter);
     }
 
     // ------------------------------------------------------------------------
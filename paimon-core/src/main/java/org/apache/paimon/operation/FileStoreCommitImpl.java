@@ -57,11 +57,13 @@ import org.apache.paimon.table.source.ScanMode;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.DataFilePathFactories;
 import org.apache.paimon.utils.FileStorePathFactory;
+import org.apache.paimon.utils.FileSystemSnapshotNotifier;
 import org.apache.paimon.utils.IOUtils;
 import org.apache.paimon.utils.InternalRowPartitionComputer;
 import org.apache.paimon.utils.Pair;
 import org.apache.paimon.utils.Preconditions;
 import org.apache.paimon.utils.SnapshotManager;
+import org.apache.paimon.utils.SnapshotTimeline;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -151,6 +153,8 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     @Nullable private Long strictModeLastSafeSnapshot;
     private final InternalRowPartitionComputer partitionComputer;
     private final boolean rowTrackingEnabled;
+    @Nullable private final LiveFilesIndex liveFilesIndex;
+    private final boolean snapshotTimelineEnabled;
 
     private boolean ignoreEmptyCommit;
     private CommitMetrics commitMetrics;
@@ -231,6 +235,11 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         this.statsFileHandler = statsFileHandler;
         this.bucketMode = bucketMode;
         this.rowTrackingEnabled = rowTrackingEnabled;
+        this.liveFilesIndex =
+                options.commitIncrementalFileIndex()
+                        ? new LiveFilesIndex(scan, snapshotManager)
+                        : null;
+        this.snapshotTimelineEnabled = options.snapshotTimelineEnabled();
     }
 
     @Override
@@ -976,7 +985,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
                             .map(ManifestEntry::partition)
                             .distinct()
                             .collect(Collectors.toList());
-            if (retryResult != null && retryResult.latestSnapshot != null) {
+            if (retryResult != null
+                    && retryResult.latestSnapshot != null
+                    && liveFilesIndex == null) {
                 baseDataFiles = new ArrayList<>(retryResult.baseDataFiles);
                 List<SimpleFileEntry> incremental =
                         readIncrementalChanges(
@@ -1058,11 +1069,17 @@ public class FileStoreCommitImpl implements FileStoreCommit {
 
             // write new delta files into manifest files
             deltaStatistics = new ArrayList<>(PartitionEntry.merge(deltaFiles));
-            deltaManifestList = manifestList.write(manifestFile.write(deltaFiles));
+            deltaManifestList =
+                    manifestList.write(
+                            ManifestFileMerger.write(
+                                    deltaFiles, manifestFile, manifestReadParallelism));
 
             // write changelog into manifest files
             if (!changelogFiles.isEmpty()) {
-                changelogManifestList = manifestList.write(manifestFile.write(changelogFiles));
+                changelogManifestList =
+                        manifestList.write(
+                                ManifestFileMerger.write(
+                                        changelogFiles, manifestFile, manifestReadParallelism));
             }
 
             indexManifest =
@@ -1162,6 +1179,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
         if (strictModeLastSafeSnapshot != null) {
             strictModeLastSafeSnapshot = newSnapshot.id();
         }
+        if (liveFilesIndex != null) {
+            liveFilesIndex.notifyCommitted(latestSnapshot, newSnapshot, deltaFiles);
+        }
         final List<SimpleFileEntry> finalBaseFiles = baseDataFiles;
         final List<ManifestEntry> finalDeltaFiles = deltaFiles;
         commitCallbacks.forEach(
@@ -1289,7 +1309,15 @@ public class FileStoreCommitImpl implements FileStoreCommit {
             for (PartitionEntry entry : deltaStatistics) {
                 statistics.add(entry.toPartitionStatistics(partitionComputer));
             }
-            return snapshotCommit.commit(newSnapshot, branchName, statistics);
+            boolean committed = snapshotCommit.commit(newSnapshot, branchName, statistics);
+            if (committed) {
+                FileSystemSnapshotNotifier.notifyCommitted(
+                        snapshotManager.snapshotDirectory(), newSnapshot.id());
+                if (snapshotTimelineEnabled) {
+                    SnapshotTimeline.update(snapshotManager, newSnapshot);
+                }
+            }
+            return committed;
         } catch (Throwable e) {
             // exception when performing the atomic rename,
             // we cannot clean up because we can't determine the success
@@ -1335,6 +1363,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
     private List<SimpleFileEntry> readAllEntriesFromChangedPartitions(
             Snapshot snapshot, List<BinaryRow> changedPartitions) {
         try {
+            if (liveFilesIndex != null && !changedPartitions.isEmpty()) {
+                return liveFilesIndex.read(snapshot, changedPartitions);
+            }
             return scan.withSnapshot(snapshot)
                     .withKind(ScanMode.ALL)
                     .withPartitionFilter(changedPartitions)
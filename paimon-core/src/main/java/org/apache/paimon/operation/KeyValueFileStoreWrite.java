@@ -66,8 +66,10 @@ import org.apache.paimon.options.Options;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.TableSchema;
+import org.apache.paimon.sort.IndexedSorter;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.CommitIncrement;
+import org.apache.paimon.utils.ExecutorThreadFactory;
 import org.apache.paimon.utils.FieldsComparator;
 import org.apache.paimon.utils.FileStorePathFactory;
 import org.apache.paimon.utils.SnapshotManager;
@@ -83,6 +85,7 @@ import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -113,6 +116,8 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
     private final String commitUser;
     @Nullable private final RecordLevelExpire recordLevelExpire;
     @Nullable private Cache<String, LookupFile> lookupFileCache;
+    @Nullable private ExecutorService lookupPrefetchExecutor;
+    @Nullable private ExecutorService writeBufferFlushExecutor;
 
     public KeyValueFileStoreWrite(
             FileIO fileIO,
@@ -207,17 +212,30 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 options.writeBufferSpillable(),
                 options.writeBufferSpillDiskSize(),
                 options.localSortMaxNumFileHandles(),
+                IndexedSorter.create(options),
                 options.spillCompressOptions(),
                 ioManager,
                 compactManager,
                 restoredMaxSeqNumber,
                 keyComparator,
                 mfFactory.create(),
+                preMergeFunctionFactory(),
                 writerFactory,
                 options.commitForceCompact(),
                 options.changelogProducer(),
                 restoreIncrement,
-                UserDefinedSeqComparator.create(valueType, options));
+                UserDefinedSeqComparator.create(valueType, options),
+                writeBufferFlushExecutor());
+    }
+
+    @Nullable
+    private MergeFunctionFactory<KeyValue> preMergeFunctionFactory() {
+        MergeEngine mergeEngine = options.mergeEngine();
+        boolean canPreMerge =
+                (mergeEngine == MergeEngine.AGGREGATE || mergeEngine == MergeEngine.PARTIAL_UPDATE)
+                        // raw input records are required by the input changelog producer
+                        && options.changelogProducer() != ChangelogProducer.INPUT;
+        return options.writeBufferPreMerge() && canPreMerge ? mfFactory : null;
     }
 
     private CompactStrategy createCompactStrategy(CoreOptions options) {
@@ -289,7 +307,8 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                     options.prepareCommitWaitCompaction(),
                     options.needLookup(),
                     recordLevelExpire,
-                    options.forceRewriteAllFiles());
+                    options.forceRewriteAllFiles(),
+                    options.compactionSectionParallelism(true));
         }
     }
 
@@ -341,6 +360,16 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 processor = new ContainsValueProcessor();
                 wrapperFactory = new FirstRowMergeFunctionWrapperFactory();
             } else {
+                if (dvMaintainer != null && options.lookupPrefetchEnabled()) {
+                    // lookup files may be prefetched in background threads, which must not read
+                    // the deletion vectors while the writer updates them
+                    lookupReaderFactory =
+                            readerFactoryBuilder.build(
+                                    partition, bucket, dvMaintainer::copyOfDeletionVector);
+                    if (recordLevelExpire != null) {
+                        lookupReaderFactory = recordLevelExpire.wrap(lookupReaderFactory);
+                    }
+                }
                 processor =
                         lookupStrategy.deletionVector
                                 ? new PositionedKeyValueProcessor(
@@ -358,7 +387,8 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             return new LookupMergeTreeCompactRewriter(
                     maxLevel,
                     mergeEngine,
-                    createLookupLevels(partition, bucket, levels, processor, lookupReaderFactory),
+                    createLookupLevels(partition, bucket, levels, processor, lookupReaderFactory)
+                            .withPrefetchExecutor(lookupPrefetchExecutor()),
                     readerFactory,
                     writerFactory,
                     keyComparator,
@@ -418,6 +448,26 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 lookupFileCache);
     }
 
+    @Nullable
+    private ExecutorService lookupPrefetchExecutor() {
+        if (options.lookupPrefetchEnabled() && lookupPrefetchExecutor == null) {
+            lookupPrefetchExecutor =
+                    LookupLevels.createPrefetchExecutor(options.lookupPrefetchThreadNum());
+        }
+        return lookupPrefetchExecutor;
+    }
+
+    @Nullable
+    private ExecutorService writeBufferFlushExecutor() {
+        if (options.writeBufferAsyncFlush() && writeBufferFlushExecutor == null) {
+            writeBufferFlushExecutor =
+                    Executors.newSingleThreadExecutor(
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-write-buffer-flush"));
+        }
+        return writeBufferFlushExecutor;
+    }
+
     @Override
     protected Function<WriterContainer<KeyValue>, Boolean> createWriterCleanChecker() {
         return createConflictAwareWriterCleanChecker(commitUser, restore);
@@ -426,6 +476,12 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
     @Override
     public void close() throws Exception {
         super.close();
+        if (lookupPrefetchExecutor != null) {
+            lookupPrefetchExecutor.shutdownNow();
+        }
+        if (writeBufferFlushExecutor != null) {
+            writeBufferFlushExecutor.shutdownNow();
+        }
         if (lookupFileCache != null) {
             lookupFileCache.invalidateAll();
         }
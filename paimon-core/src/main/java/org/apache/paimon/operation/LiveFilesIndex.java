@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.operation;
+
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.manifest.FileEntry;
+import org.apache.paimon.manifest.ManifestEntry;
+import org.apache.paimon.manifest.SimpleFileEntry;
+import org.apache.paimon.table.source.ScanMode;
+import org.apache.paimon.utils.SnapshotManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory index of the live files of the partitions recently changed by a {@link
+ * FileStoreCommitImpl}. The index is bound to the snapshot it was last brought up to date with. For
+ * a newer snapshot, only the delta manifests of the snapshots in between are read and applied, so a
+ * committer writing into the same partitions again and again does not read all the files of these
+ * partitions on every commit.
+ *
+ * <p>Partitions which have not been looked up for {@link #MAX_IDLE_LOOKUPS} lookups are dropped
+ * from the index.
+ */
+class LiveFilesIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveFilesIndex.class);
+
+    static final int MAX_IDLE_LOOKUPS = 16;
+
+    private final FileStoreScan scan;
+    private final SnapshotManager snapshotManager;
+    private final Map<BinaryRow, PartitionFiles> partitions;
+
+    @Nullable private Snapshot snapshot;
+    private long lookups;
+
+    LiveFilesIndex(FileStoreScan scan, SnapshotManager snapshotManager) {
+        this.scan = scan;
+        this.snapshotManager = snapshotManager;
+        this.partitions = new HashMap<>();
+    }
+
+    /** Returns the live files of the given partitions in the given snapshot. */
+    List<SimpleFileEntry> read(Snapshot latest, List<BinaryRow> changedPartitions) {
+        lookups++;
+        catchUp(latest);
+
+        List<BinaryRow> missing = new ArrayList<>();
+        for (BinaryRow partition : changedPartitions) {
+            PartitionFiles files = partitions.get(partition);
+            if (files == null) {
+                missing.add(partition);
+            } else {
+                files.lastLookup = lookups;
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (BinaryRow partition : missing) {
+                partitions.put(partition, new PartitionFiles(lookups));
+            }
+            try {
+                apply(
+                        scan.withSnapshot(latest)
+                                .withKind(ScanMode.ALL)
+                                .withPartitionFilter(missing)
+                                .readSimpleEntries());
+            } catch (RuntimeException e) {
+                missing.forEach(partitions::remove);
+                throw e;
+            }
+        }
+        evictIdlePartitions();
+
+        List<SimpleFileEntry> result = new ArrayList<>();
+        for (BinaryRow partition : changedPartitions) {
+            result.addAll(partitions.get(partition).files.values());
+        }
+        return result;
+    }
+
+    /**
+     * Applies the delta files of a snapshot created by the committer itself, no manifest needs to
+     * be read if the index is up to date with its previous snapshot.
+     */
+    void notifyCommitted(
+            @Nullable Snapshot previous, Snapshot committed, List<ManifestEntry> deltaFiles) {
+        if (snapshot == null || !snapshot.equals(previous)) {
+            // the index catches up with the delta manifests when it is read next time
+            return;
+        }
+
+        apply(SimpleFileEntry.from(deltaFiles));
+        snapshot = committed;
+    }
+
+    private void catchUp(Snapshot latest) {
+        if (snapshot != null && snapshot.id() == latest.id() && snapshot.equals(latest)) {
+            return;
+        }
+
+        if (snapshot != null && snapshot.id() < latest.id() && !partitions.isEmpty()) {
+            try {
+                // the snapshot might have been expired or rolled back
+                if (snapshot.equals(snapshotManager.snapshot(snapshot.id()))) {
+                    List<BinaryRow> indexed = new ArrayList<>(partitions.keySet());
+                    for (long id = snapshot.id() + 1; id <= latest.id(); id++) {
+                        apply(
+                                scan.withSnapshot(id)
+                                        .withKind(ScanMode.DELTA)
+                                        .withPartitionFilter(indexed)
+                                        .readSimpleEntries());
+                    }
+                    snapshot = latest;
+                    return;
+                }
+            } catch (Exception e) {
+                LOG.info(
+                        "Cannot read the delta from snapshot {} to {}, rebuild the live files index.",
+                        snapshot.id(),
+                        latest.id(),
+                        e);
+            }
+        }
+
+        partitions.clear();
+        snapshot = latest;
+    }
+
+    private void apply(List<SimpleFileEntry> entries) {
+        for (SimpleFileEntry entry : entries) {
+            PartitionFiles files = partitions.get(entry.partition());
+            if (files == null) {
+                continue;
+            }
+
+            FileEntry.Identifier identifier = entry.identifier();
+            switch (entry.kind()) {
+                case ADD:
+                    files.files.put(identifier, entry);
+                    break;
+                case DELETE:
+                    files.files.remove(identifier);
+                    break;
+                default:
+                    throw new UnsupportedOperationException(
+                            "Unknown value kind " + entry.kind().name());
+            }
+        }
+    }
+
+    private void evictIdlePartitions() {
+        Iterator<PartitionFiles> iterator = partitions.values().iterator();
+        while (iterator.hasNext()) {
+            if (lookups - iterator.next().lastLookup > MAX_IDLE_LOOKUPS) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /** Live files of a partition. */
+    private static class PartitionFiles {
+
+        private final LinkedHashMap<FileEntry.Identifier, SimpleFileEntry> files;
+        private long lastLookup;
+
+        private PartitionFiles(long lastLookup) {
+            this.files = new LinkedHashMap<>();
+            this.lastLookup = lastLookup;
+        }
+    }
+}
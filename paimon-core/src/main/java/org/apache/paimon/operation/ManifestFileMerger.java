@@ -18,6 +18,7 @@
 
 package org.apache.paimon.operation;
 
+import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.manifest.FileEntry;
@@ -27,7 +28,9 @@ import org.apache.paimon.manifest.ManifestFile;
 import org.apache.paimon.manifest.ManifestFileMeta;
 import org.apache.paimon.partition.PartitionPredicate;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.ExceptionUtils;
 import org.apache.paimon.utils.Filter;
+import org.apache.paimon.utils.SharedThreadPools;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -43,6 +47,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static org.apache.paimon.utils.Preconditions.checkArgument;
 
@@ -51,10 +59,21 @@ public class ManifestFileMerger {
 
     private static final Logger LOG = LoggerFactory.getLogger(ManifestFileMerger.class);
 
+    private static final String MERGE_THREAD_NAME = "MANIFEST-MERGE-THREAD-POOL";
+
+    /** Minimum size of a full compaction shard, in number of target manifest files. */
+    private static final int MIN_SHARD_FILES = 4;
+
+    /** Minimum number of entries of a shard when writing new entries in parallel. */
+    private static final int MIN_SHARD_ENTRIES = 10_000;
+
     /**
      * Merge several {@link ManifestFileMeta}s. {@link ManifestEntry}s representing first adding and
      * then deleting the same data file will cancel each other.
      *
+     * <p>Independent groups of manifest files are merged in parallel, with {@code
+     * manifestReadParallelism} threads at most. The order of entries is kept in the result.
+     *
      * <p>NOTE: This method is atomic.
      */
     public static List<ManifestFileMeta> merge(
@@ -78,15 +97,16 @@ public class ManifestFileMerger {
                             manifestFullCompactionSize,
                             partitionType,
                             manifestReadParallelism);
-            return fullCompacted.orElseGet(
-                    () ->
-                            tryMinorCompaction(
-                                    input,
-                                    newFilesForAbort,
-                                    manifestFile,
-                                    suggestedMetaSize,
-                                    suggestedMinMetaCount,
-                                    manifestReadParallelism));
+            if (fullCompacted.isPresent()) {
+                return fullCompacted.get();
+            }
+            return tryMinorCompaction(
+                    input,
+                    newFilesForAbort,
+                    manifestFile,
+                    suggestedMetaSize,
+                    suggestedMinMetaCount,
+                    manifestReadParallelism);
         } catch (Throwable e) {
             // exception occurs, clean up and rethrow
             for (ManifestFileMeta manifest : newFilesForAbort) {
@@ -96,61 +116,118 @@ public class ManifestFileMerger {
         }
     }
 
+    /**
+     * Write new {@link ManifestEntry}s into manifest files. Large inputs are split into continuous
+     * shards which are rolled in parallel, with {@code manifestReadParallelism} threads at most.
+     * The order of entries is kept in the result.
+     *
+     * <p>NOTE: This method is atomic.
+     */
+    public static List<ManifestFileMeta> write(
+            List<ManifestEntry> entries,
+            ManifestFile manifestFile,
+            @Nullable Integer manifestReadParallelism) {
+        return write(entries, manifestFile, manifestReadParallelism, MIN_SHARD_ENTRIES);
+    }
+
+    @VisibleForTesting
+    public static List<ManifestFileMeta> write(
+            List<ManifestEntry> entries,
+            ManifestFile manifestFile,
+            @Nullable Integer manifestReadParallelism,
+            int minShardEntries) {
+        int parallelism = parallelism(manifestReadParallelism);
+        int shardSize = Math.max(entries.size() / parallelism + 1, minShardEntries);
+        if (entries.size() <= shardSize) {
+            return manifestFile.write(entries);
+        }
+
+        List<Callable<List<ManifestFileMeta>>> tasks = new ArrayList<>();
+        for (int start = 0; start < entries.size(); start += shardSize) {
+            List<ManifestEntry> shard =
+                    entries.subList(start, Math.min(start + shardSize, entries.size()));
+            tasks.add(() -> manifestFile.write(shard));
+        }
+
+        // these are the newly created manifest files, clean them up if exception occurs
+        List<ManifestFileMeta> newFilesForAbort = new ArrayList<>();
+        try {
+            List<ManifestFileMeta> result = new ArrayList<>();
+            runInParallel(tasks, parallelism, newFilesForAbort).forEach(result::addAll);
+            return result;
+        } catch (Throwable e) {
+            for (ManifestFileMeta manifest : newFilesForAbort) {
+                manifestFile.delete(manifest.fileName());
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
     private static List<ManifestFileMeta> tryMinorCompaction(
             List<ManifestFileMeta> input,
             List<ManifestFileMeta> newFilesForAbort,
             ManifestFile manifestFile,
             long suggestedMetaSize,
             int suggestedMinMetaCount,
-            @Nullable Integer manifestReadParallelism) {
-        List<ManifestFileMeta> result = new ArrayList<>();
+            @Nullable Integer manifestReadParallelism)
+            throws Exception {
+        // group existing small manifest files, each group is merged into new files
+        List<List<ManifestFileMeta>> sections = new ArrayList<>();
         List<ManifestFileMeta> candidates = new ArrayList<>();
         long totalSize = 0;
-        // merge existing small manifest files
         for (ManifestFileMeta manifest : input) {
             totalSize += manifest.fileSize();
             candidates.add(manifest);
             if (totalSize >= suggestedMetaSize) {
                 // reach suggested file size, perform merging and produce new file
-                mergeCandidates(
-                        candidates,
-                        manifestFile,
-                        result,
-                        newFilesForAbort,
-                        manifestReadParallelism);
-                candidates.clear();
+                sections.add(candidates);
+                candidates = new ArrayList<>();
                 totalSize = 0;
             }
         }
 
         // merge the last bit of manifests if there are too many
+        List<ManifestFileMeta> remaining = candidates;
         if (candidates.size() >= suggestedMinMetaCount) {
-            mergeCandidates(
-                    candidates, manifestFile, result, newFilesForAbort, manifestReadParallelism);
-        } else {
-            result.addAll(candidates);
+            sections.add(candidates);
+            remaining = Collections.emptyList();
+        }
+
+        // groups are independent, merge them in parallel and keep their order in the result
+        List<Callable<List<ManifestFileMeta>>> tasks = new ArrayList<>();
+        for (List<ManifestFileMeta> section : sections) {
+            if (section.size() > 1) {
+                tasks.add(() -> mergeCandidates(section, manifestFile, manifestReadParallelism));
+            }
+        }
+        Iterator<List<ManifestFileMeta>> merged =
+                runInParallel(tasks, parallelism(manifestReadParallelism), newFilesForAbort)
+                        .iterator();
+
+        List<ManifestFileMeta> result = new ArrayList<>();
+        for (List<ManifestFileMeta> section : sections) {
+            if (section.size() == 1) {
+                result.add(section.get(0));
+            } else {
+                List<ManifestFileMeta> files = merged.next();
+                result.addAll(files);
+                newFilesForAbort.addAll(files);
+            }
         }
+        result.addAll(remaining);
         return result;
     }
 
-    private static void mergeCandidates(
+    private static List<ManifestFileMeta> mergeCandidates(
             List<ManifestFileMeta> candidates,
             ManifestFile manifestFile,
-            List<ManifestFileMeta> result,
-            List<ManifestFileMeta> newMetas,
             @Nullable Integer manifestReadParallelism) {
-        if (candidates.size() == 1) {
-            result.add(candidates.get(0));
-            return;
-        }
-
         Map<FileEntry.Identifier, ManifestEntry> map = new LinkedHashMap<>();
         FileEntry.mergeEntries(manifestFile, candidates, map, manifestReadParallelism);
-        if (!map.isEmpty()) {
-            List<ManifestFileMeta> merged = manifestFile.write(new ArrayList<>(map.values()));
-            result.addAll(merged);
-            newMetas.addAll(merged);
+        if (map.isEmpty()) {
+            return Collections.emptyList();
         }
+        return manifestFile.write(new ArrayList<>(map.values()));
     }
 
     public static Optional<List<ManifestFileMeta>> tryFullCompaction(
@@ -237,11 +314,41 @@ public class ManifestFileMerger {
             return Optional.empty();
         }
 
+        // 2.3. rewrite in parallel, each shard is a continuous range of files rolled by its own
+        // writer, so that the order of entries is kept
+
+        int parallelism = parallelism(manifestReadParallelism);
+        List<List<ManifestFileMeta>> shards = shard(toBeMerged, suggestedMetaSize, parallelism);
+        List<Callable<List<ManifestFileMeta>>> tasks = new ArrayList<>();
+        List<List<ManifestFileMeta>> unchanged = new ArrayList<>();
+        for (List<ManifestFileMeta> shard : shards) {
+            List<ManifestFileMeta> shardUnchanged = new ArrayList<>();
+            unchanged.add(shardUnchanged);
+            tasks.add(
+                    () -> rewrite(shard, shardUnchanged, manifestFile, mustChange, deleteEntries));
+        }
+
+        List<List<ManifestFileMeta>> merged = runInParallel(tasks, parallelism, newFilesForAbort);
+        unchanged.forEach(result::addAll);
+        for (List<ManifestFileMeta> files : merged) {
+            result.addAll(files);
+            newFilesForAbort.addAll(files);
+        }
+        return Optional.of(result);
+    }
+
+    private static List<ManifestFileMeta> rewrite(
+            List<ManifestFileMeta> files,
+            List<ManifestFileMeta> unchanged,
+            ManifestFile manifestFile,
+            Filter<ManifestFileMeta> mustChange,
+            Set<FileEntry.Identifier> deleteEntries)
+            throws Exception {
         RollingFileWriter<ManifestEntry, ManifestFileMeta> writer =
                 manifestFile.createRollingWriter();
         Exception exception = null;
         try {
-            for (ManifestFileMeta file : toBeMerged) {
+            for (ManifestFileMeta file : files) {
                 List<ManifestEntry> entries = new ArrayList<>();
                 boolean requireChange = mustChange.test(file);
                 for (ManifestEntry entry : manifestFile.read(file.fileName(), file.fileSize())) {
@@ -259,7 +366,7 @@ public class ManifestFileMerger {
                 if (requireChange) {
                     writer.write(entries);
                 } else {
-                    result.add(file);
+                    unchanged.add(file);
                 }
             }
         } catch (Exception e) {
@@ -271,11 +378,98 @@ public class ManifestFileMerger {
             }
             writer.close();
         }
+        return writer.result();
+    }
 
-        List<ManifestFileMeta> merged = writer.result();
-        result.addAll(merged);
-        newFilesForAbort.addAll(merged);
-        return Optional.of(result);
+    /**
+     * Splits files into at most {@code parallelism} continuous shards of similar size. A shard is
+     * not smaller than {@link #MIN_SHARD_FILES} target files, because the last file of every shard
+     * may be smaller than the target size.
+     */
+    private static List<List<ManifestFileMeta>> shard(
+            List<ManifestFileMeta> files, long suggestedMetaSize, int parallelism) {
+        long totalSize = 0;
+        for (ManifestFileMeta file : files) {
+            totalSize += file.fileSize();
+        }
+        long shardSize = Math.max(totalSize / parallelism + 1, suggestedMetaSize * MIN_SHARD_FILES);
+
+        List<List<ManifestFileMeta>> shards = new ArrayList<>();
+        List<ManifestFileMeta> shard = new ArrayList<>();
+        long size = 0;
+        for (ManifestFileMeta file : files) {
+            shard.add(file);
+            size += file.fileSize();
+            if (size >= shardSize) {
+                shards.add(shard);
+                shard = new ArrayList<>();
+                size = 0;
+            }
+        }
+        if (!shard.isEmpty()) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    /**
+     * Runs the tasks in the merge thread pool and returns their results in order. If any task
+     * fails, the files written by other tasks are added to {@code newFilesForAbort} before
+     * throwing.
+     */
+    private static List<List<ManifestFileMeta>> runInParallel(
+            List<Callable<List<ManifestFileMeta>>> tasks,
+            int parallelism,
+            List<ManifestFileMeta> newFilesForAbort)
+            throws Exception {
+        if (tasks.size() <= 1 || parallelism <= 1) {
+            List<List<ManifestFileMeta>> results = new ArrayList<>();
+            try {
+                for (Callable<List<ManifestFileMeta>> task : tasks) {
+                    results.add(task.call());
+                }
+            } catch (Exception e) {
+                results.forEach(newFilesForAbort::addAll);
+                throw e;
+            }
+            return results;
+        }
+
+        ExecutorService executor =
+                SharedThreadPools.getExecutorService(MERGE_THREAD_NAME, parallelism);
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        List<Future<List<ManifestFileMeta>>> futures = new ArrayList<>();
+        for (Callable<List<ManifestFileMeta>> task : tasks) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                Thread.currentThread().setContextClassLoader(cl);
+                                return task.call();
+                            }));
+        }
+
+        List<List<ManifestFileMeta>> results = new ArrayList<>();
+        Exception exception = null;
+        for (Future<List<ManifestFileMeta>> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                exception = ExceptionUtils.firstOrSuppressed(cause, exception);
+            }
+        }
+
+        if (exception != null) {
+            results.forEach(newFilesForAbort::addAll);
+            throw exception;
+        }
+        return results;
+    }
+
+    private static int parallelism(@Nullable Integer manifestReadParallelism) {
+        return manifestReadParallelism == null
+                ? Runtime.getRuntime().availableProcessors()
+                : manifestReadParallelism;
     }
 
     private static Set<BinaryRow> computeDeletePartitions(Set<FileEntry.Identifier> deleteEntries) {
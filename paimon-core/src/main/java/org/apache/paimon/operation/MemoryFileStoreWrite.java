@@ -22,9 +22,9 @@ import org.apache.paimon.CoreOptions;
 import org.apache.paimon.deletionvectors.DeletionVectorsMaintainer;
 import org.apache.paimon.index.DynamicBucketIndexMaintainer;
 import org.apache.paimon.io.cache.CacheManager;
-import org.apache.paimon.memory.HeapMemorySegmentPool;
 import org.apache.paimon.memory.MemoryOwner;
 import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.metrics.MetricRegistry;
 import org.apache.paimon.operation.metrics.WriterBufferMetric;
 import org.apache.paimon.table.sink.CommitMessage;
@@ -56,6 +56,7 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
     protected final CoreOptions options;
     protected final CacheManager cacheManager;
     private MemoryPoolFactory writeBufferPool;
+    private boolean ownWriteBufferPool;
 
     private WriterBufferMetric writerBufferMetric;
 
@@ -84,6 +85,7 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
     @Override
     public FileStoreWrite<T> withMemoryPoolFactory(MemoryPoolFactory memoryPoolFactory) {
         this.writeBufferPool = memoryPoolFactory.addOwners(this::memoryOwners);
+        this.ownWriteBufferPool = false;
         return this;
     }
 
@@ -118,12 +120,17 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
         }
 
         if (writeBufferPool == null) {
-            LOG.debug("Use default heap memory segment pool for write buffer.");
+            LOG.debug(
+                    "Use default {} memory segment pool for write buffer.",
+                    options.writeBufferOffHeap() ? "off-heap" : "heap");
             writeBufferPool =
                     new MemoryPoolFactory(
-                                    new HeapMemorySegmentPool(
-                                            options.writeBufferSize(), options.pageSize()))
+                                    MemorySegmentPool.create(
+                                            options.writeBufferSize(),
+                                            options.pageSize(),
+                                            options.writeBufferOffHeap()))
                             .addOwners(this::memoryOwners);
+            ownWriteBufferPool = true;
         }
         writeBufferPool.notifyNewOwner((MemoryOwner) writer);
 
@@ -159,6 +166,10 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
     @Override
     public void close() throws Exception {
         super.close();
+        if (ownWriteBufferPool) {
+            // all writers have returned their memory, release the pool created by ourselves
+            writeBufferPool.close();
+        }
         if (this.writerBufferMetric != null) {
             this.writerBufferMetric.close();
         }
@@ -31,6 +31,7 @@ import org.apache.paimon.mergetree.DropDeleteReader;
 import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.MergeTreeReaders;
 import org.apache.paimon.mergetree.SortedRun;
+import org.apache.paimon.mergetree.compact.ColumnarSortMergeReader;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader;
 import org.apache.paimon.mergetree.compact.IntervalPartition;
 import org.apache.paimon.mergetree.compact.MergeFunctionFactory;
@@ -45,6 +46,7 @@ import org.apache.paimon.table.BucketMode;
 import org.apache.paimon.table.source.DataSplit;
 import org.apache.paimon.table.source.DeletionFile;
 import org.apache.paimon.types.DataField;
+import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.ProjectedRow;
 import org.apache.paimon.utils.Projection;
@@ -62,6 +64,7 @@ import java.util.stream.Collectors;
 
 import static org.apache.paimon.predicate.PredicateBuilder.containsFields;
 import static org.apache.paimon.predicate.PredicateBuilder.splitAnd;
+import static org.apache.paimon.table.source.KeyValueTableRead.unwrap;
 
 /** A {@link SplitRead} to read row lineage table which need field merge. */
 public class MergeFileSplitRead implements SplitRead<KeyValue> {
@@ -74,6 +77,9 @@ public class MergeFileSplitRead implements SplitRead<KeyValue> {
     private final MergeSorter mergeSorter;
     private final List<String> sequenceFields;
     private final boolean sequenceOrder;
+    private final int prefetchFiles;
+    private final boolean columnarMerge;
+    private final int readBatchSize;
 
     @Nullable private RowType readKeyType;
 
@@ -104,6 +110,9 @@ public class MergeFileSplitRead implements SplitRead<KeyValue> {
                         CoreOptions.fromMap(tableSchema.options()), keyType, valueType, null);
         this.sequenceFields = options.sequenceField();
         this.sequenceOrder = options.sequenceFieldSortOrderIsAscending();
+        this.prefetchFiles = options.fileReaderAsyncPrefetchFiles();
+        this.columnarMerge = options.readColumnarMergeEnabled();
+        this.readBatchSize = options.readBatchSize();
     }
 
     public Comparator<InternalRow> keyComparator() {
@@ -288,7 +297,7 @@ public class MergeFileSplitRead implements SplitRead<KeyValue> {
                                     mergeFuncWrapper,
                                     mergeSorter));
         }
-        RecordReader<KeyValue> reader = ConcatRecordReader.create(sectionReaders);
+        RecordReader<KeyValue> reader = ConcatRecordReader.create(sectionReaders, prefetchFiles);
 
         if (!keepDelete) {
             reader = new DropDeleteReader(reader);
@@ -297,6 +306,95 @@ public class MergeFileSplitRead implements SplitRead<KeyValue> {
         return projectOuter(projectKey(reader));
     }
 
+    /**
+     * Whether the split can be read by {@link #createColumnarMergeReader}, that is the columnar
+     * merge is enabled, deleted records are dropped and only top level value fields are projected.
+     * Arrays, maps and multisets are not supported, because the gathered vectors of the merged
+     * batches have no child vectors for their elements.
+     */
+    public boolean supportsColumnarMerge(DataSplit split) {
+        return columnarMerge
+                && !forceKeepDelete
+                && split.beforeFiles().isEmpty()
+                && !split.isStreaming()
+                && split.bucket() != BucketMode.POSTPONE_BUCKET
+                && (outerProjection == null
+                        || Arrays.stream(outerProjection).allMatch(p -> p.length == 1))
+                && supportsGathering(readerFactoryBuilder.readValueType());
+    }
+
+    private static boolean supportsGathering(DataType type) {
+        switch (type.getTypeRoot()) {
+            case ARRAY:
+            case MAP:
+            case MULTISET:
+                return false;
+            case ROW:
+                return ((RowType) type)
+                        .getFieldTypes().stream().allMatch(MergeFileSplitRead::supportsGathering);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Creates a reader which merges the sections of the split on columnar batches and returns the
+     * merged values directly, see {@link ColumnarSortMergeReader}. Sections with more sorted runs
+     * than the spill threshold are still merged row by row by the {@link MergeSorter}, which can
+     * spill them to disk.
+     */
+    public RecordReader<InternalRow> createColumnarMergeReader(DataSplit split) throws IOException {
+        List<DataFileMeta> files = split.dataFiles();
+        DeletionVector.Factory dvFactory =
+                DeletionVector.factory(fileIO, files, split.deletionFiles().orElse(null));
+        KeyValueFileReaderFactory overlappedSectionFactory =
+                readerFactoryBuilder.build(
+                        split.partition(), split.bucket(), dvFactory, false, filtersForKeys);
+        KeyValueFileReaderFactory nonOverlappedSectionFactory =
+                readerFactoryBuilder.build(
+                        split.partition(), split.bucket(), dvFactory, false, filtersForAll);
+
+        int[] valueProjection =
+                outerProjection == null
+                        ? Projection.range(0, readerFactoryBuilder.readValueType().getFieldCount())
+                                .toTopLevelIndexes()
+                        : Projection.of(outerProjection).toTopLevelIndexes();
+        List<ReaderSupplier<InternalRow>> sectionReaders = new ArrayList<>();
+        MergeFunctionWrapper<KeyValue> mergeFuncWrapper =
+                new ReducerMergeFunctionWrapper(mfFactory.create(pushdownProjection));
+        for (List<SortedRun> section : new IntervalPartition(files, keyComparator).partition()) {
+            if (mergeSorter.spills(section.size())) {
+                // too many runs to be merged in memory, let the merge sorter spill some of them
+                sectionReaders.add(
+                        () ->
+                                unwrap(
+                                        projectOuter(
+                                                new DropDeleteReader(
+                                                        MergeTreeReaders.readerForSection(
+                                                                section,
+                                                                overlappedSectionFactory,
+                                                                keyComparator,
+                                                                createUdsComparator(),
+                                                                mergeFuncWrapper,
+                                                                mergeSorter)))));
+                continue;
+            }
+            sectionReaders.add(
+                    () ->
+                            MergeTreeReaders.columnarReaderForSection(
+                                    section,
+                                    section.size() > 1
+                                            ? overlappedSectionFactory
+                                            : nonOverlappedSectionFactory,
+                                    valueProjection,
+                                    keyComparator,
+                                    createUdsComparator(),
+                                    mergeFuncWrapper,
+                                    readBatchSize));
+        }
+        return ConcatRecordReader.create(sectionReaders, prefetchFiles);
+    }
+
     public RecordReader<KeyValue> createNoMergeReader(
             BinaryRow partition,
             int bucket,
@@ -316,7 +414,7 @@ public class MergeFileSplitRead implements SplitRead<KeyValue> {
             suppliers.add(() -> readerFactory.createRecordReader(file));
         }
 
-        return projectOuter(ConcatRecordReader.create(suppliers));
+        return projectOuter(ConcatRecordReader.create(suppliers, prefetchFiles));
     }
 
     private RecordReader<KeyValue> projectKey(RecordReader<KeyValue> reader) {
@@ -18,6 +18,7 @@
 
 package org.apache.paimon.operation;
 
+import org.apache.paimon.CoreOptions;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.deletionvectors.ApplyDeletionVectorReader;
@@ -29,7 +30,9 @@ import org.apache.paimon.fileindex.bitmap.BitmapIndexResult;
 import org.apache.paimon.format.FileFormatDiscover;
 import org.apache.paimon.format.FormatKey;
 import org.apache.paimon.format.FormatReaderContext;
+import org.apache.paimon.format.OrcFormatReaderContext;
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.DataFilePathFactory;
 import org.apache.paimon.io.DataFileRecordReader;
@@ -46,6 +49,7 @@ import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.TableSchema;
 import org.apache.paimon.table.source.DataSplit;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.AsyncRecordReader;
 import org.apache.paimon.utils.FileStorePathFactory;
 import org.apache.paimon.utils.FormatReaderMapping;
 import org.apache.paimon.utils.FormatReaderMapping.Builder;
@@ -79,6 +83,10 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
     private final Map<FormatKey, FormatReaderMapping> formatReaderMappings;
     private final boolean fileIndexReadEnabled;
     private final boolean rowTrackingEnabled;
+    private final long asyncThreshold;
+    @Nullable private final Integer asyncMaxBatches;
+    @Nullable private final Integer asyncThreadNum;
+    private final int prefetchFiles;
 
     private RowType readRowType;
     @Nullable private List<Predicate> filters;
@@ -92,7 +100,7 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
             RowType rowType,
             FileFormatDiscover formatDiscover,
             FileStorePathFactory pathFactory,
-            boolean fileIndexReadEnabled,
+            CoreOptions options,
             boolean rowTrackingEnabled) {
         this.fileIO = fileIO;
         this.schemaManager = schemaManager;
@@ -100,8 +108,12 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
         this.formatDiscover = formatDiscover;
         this.pathFactory = pathFactory;
         this.formatReaderMappings = new HashMap<>();
-        this.fileIndexReadEnabled = fileIndexReadEnabled;
+        this.fileIndexReadEnabled = options.fileIndexReadEnabled();
         this.rowTrackingEnabled = rowTrackingEnabled;
+        this.asyncThreshold = options.fileReaderAsyncThreshold().getBytes();
+        this.asyncMaxBatches = options.fileReaderAsyncMaxBatches();
+        this.asyncThreadNum = options.fileReaderAsyncThreadNum();
+        this.prefetchFiles = options.fileReaderAsyncPrefetchFiles();
         this.readRowType = rowType;
     }
 
@@ -192,7 +204,7 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
                             dvFactories));
         }
 
-        return ConcatRecordReader.create(suppliers);
+        return ConcatRecordReader.create(suppliers, prefetchFiles);
     }
 
     private ReaderSupplier<InternalRow> createFileReader(
@@ -217,9 +229,27 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
 
         IOExceptionSupplier<DeletionVector> dvFactory =
                 dvFactories == null ? null : dvFactories.get(file.fileName());
+        if (asyncMaxBatches != null
+                && file.fileSize() >= asyncThreshold
+                && file.fileName().endsWith(".orc")) {
+            // the orc pool holds exactly the batches allowed to be outstanding, so the producer
+            // never blocks on it
+            return () ->
+                    new AsyncRecordReader<>(
+                            () ->
+                                    createFileReader(
+                                            partition,
+                                            file,
+                                            dataFilePathFactory,
+                                            formatReaderMapping,
+                                            dvFactory,
+                                            asyncMaxBatches),
+                            asyncMaxBatches,
+                            asyncThreadNum);
+        }
         return () ->
                 createFileReader(
-                        partition, file, dataFilePathFactory, formatReaderMapping, dvFactory);
+                        partition, file, dataFilePathFactory, formatReaderMapping, dvFactory, null);
     }
 
     private FileRecordReader<InternalRow> createFileReader(
@@ -227,7 +257,8 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
             DataFileMeta file,
             DataFilePathFactory dataFilePathFactory,
             FormatReaderMapping formatReaderMapping,
-            IOExceptionSupplier<DeletionVector> dvFactory)
+            IOExceptionSupplier<DeletionVector> dvFactory,
+            @Nullable Integer orcPoolSize)
             throws IOException {
         FileIndexResult fileIndexResult = null;
         DeletionVector deletionVector = dvFactory == null ? null : dvFactory.get();
@@ -247,14 +278,19 @@ public class RawFileSplitRead implements SplitRead<InternalRow> {
             }
         }
 
-        RoaringBitmap32 selection = null;
+        RoaringBitmap32 selection;
         if (fileIndexResult instanceof BitmapIndexResult) {
             selection = ((BitmapIndexResult) fileIndexResult).get();
+        } else {
+            selection = DeletionVector.remainingRows(deletionVector, file.rowCount());
         }
 
+        Path filePath = dataFilePathFactory.toPath(file);
         FormatReaderContext formatReaderContext =
-                new FormatReaderContext(
-                        fileIO, dataFilePathFactory.toPath(file), file.fileSize(), selection);
+                orcPoolSize == null
+                        ? new FormatReaderContext(fileIO, filePath, file.fileSize(), selection)
+                        : new OrcFormatReaderContext(
+                                fileIO, filePath, file.fileSize(), selection, orcPoolSize);
         FileRecordReader<InternalRow> fileRecordReader =
                 new DataFileRecordReader(
                         schema.logicalRowType(),
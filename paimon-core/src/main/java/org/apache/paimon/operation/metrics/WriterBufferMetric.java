@@ -34,6 +34,8 @@ public class WriterBufferMetric {
     private static final String BUFFER_PREEMPT_COUNT = "bufferPreemptCount";
     private static final String USED_WRITE_BUFFER_SIZE = "usedWriteBufferSizeByte";
     private static final String TOTAL_WRITE_BUFFER_SIZE = "totalWriteBufferSizeByte";
+    private static final String ALLOCATED_WRITE_BUFFER_SIZE = "allocatedWriteBufferSizeByte";
+    private static final String OFF_HEAP_WRITE_BUFFER_SIZE = "offHeapWriteBufferSizeByte";
 
     private final MetricGroup metricGroup;
     private final AtomicInteger numWriters;
@@ -58,6 +60,16 @@ public class WriterBufferMetric {
                 () ->
                         getMetricValue(
                                 memoryPoolFactorySupplier, MemoryPoolFactory::totalBufferSize));
+        metricGroup.gauge(
+                ALLOCATED_WRITE_BUFFER_SIZE,
+                () ->
+                        getMetricValue(
+                                memoryPoolFactorySupplier, MemoryPoolFactory::allocatedBufferSize));
+        metricGroup.gauge(
+                OFF_HEAP_WRITE_BUFFER_SIZE,
+                () ->
+                        getMetricValue(
+                                memoryPoolFactorySupplier, MemoryPoolFactory::offHeapBufferSize));
     }
 
     private long getMetricValue(
@@ -54,6 +54,9 @@ public abstract class AbstractBinaryExternalMerger<Entry> implements Closeable {
     private final BlockCompressionFactory compressionCodecFactory;
     private final int compressionBlockSize;
 
+    /** Stripes the merged channels over all the spilling directories. */
+    private final FileIOChannel.Enumerator enumerator;
+
     protected final int pageSize;
     protected final IOManager ioManager;
 
@@ -70,6 +73,7 @@ public abstract class AbstractBinaryExternalMerger<Entry> implements Closeable {
         this.channelManager = channelManager;
         this.compressionCodecFactory = compressionCodecFactory;
         this.compressionBlockSize = compressionBlockSize;
+        this.enumerator = ioManager.createChannelEnumerator();
     }
 
     @Override
@@ -169,7 +173,7 @@ public abstract class AbstractBinaryExternalMerger<Entry> implements Closeable {
                 getMergingIterator(channelIDs, openChannels);
 
         // create a new channel writer
-        final FileIOChannel.ID mergedChannelID = ioManager.createChannel();
+        final FileIOChannel.ID mergedChannelID = enumerator.next();
         channelManager.addChannel(mergedChannelID);
         ChannelWriterOutputView output = null;
 
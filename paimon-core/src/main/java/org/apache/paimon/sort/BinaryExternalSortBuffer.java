@@ -261,7 +261,7 @@ public class BinaryExternalSortBuffer implements SortBuffer {
             output =
                     FileChannelUtil.createOutputView(
                             ioManager, channel, compressionCodecFactory, compressionBlockSize);
-            new QuickSort().sort(inMemorySortBuffer);
+            inMemorySortBuffer.sort();
             inMemorySortBuffer.writeToOutput(output);
             output.close();
             blockCount = output.getBlockCount();
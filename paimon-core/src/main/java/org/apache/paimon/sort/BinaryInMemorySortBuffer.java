@@ -50,6 +50,7 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
     private final AbstractRowDataSerializer<InternalRow> inputSerializer;
     private final ArrayList<MemorySegment> recordBufferSegments;
     private final SimpleCollectingOutputView recordCollector;
+    private final IndexedSorter sorter;
 
     private long currentDataBufferOffset;
     private long sortIndexBytes;
@@ -61,6 +62,17 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
             AbstractRowDataSerializer<InternalRow> serializer,
             RecordComparator comparator,
             MemorySegmentPool memoryPool) {
+        return createBuffer(
+                normalizedKeyComputer, serializer, comparator, memoryPool, new QuickSort());
+    }
+
+    /** Create a memory sorter in `insert` way, sorting the records with the given sorter. */
+    public static BinaryInMemorySortBuffer createBuffer(
+            NormalizedKeyComputer normalizedKeyComputer,
+            AbstractRowDataSerializer<InternalRow> serializer,
+            RecordComparator comparator,
+            MemorySegmentPool memoryPool,
+            IndexedSorter sorter) {
         checkArgument(memoryPool.freePages() >= MIN_REQUIRED_BUFFERS);
         ArrayList<MemorySegment> recordBufferSegments = new ArrayList<>(16);
         return new BinaryInMemorySortBuffer(
@@ -70,7 +82,8 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
                 recordBufferSegments,
                 new SimpleCollectingOutputView(
                         recordBufferSegments, memoryPool, memoryPool.pageSize()),
-                memoryPool);
+                memoryPool,
+                sorter);
     }
 
     private BinaryInMemorySortBuffer(
@@ -79,7 +92,8 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
             RecordComparator comparator,
             ArrayList<MemorySegment> recordBufferSegments,
             SimpleCollectingOutputView recordCollector,
-            MemorySegmentPool pool) {
+            MemorySegmentPool pool,
+            IndexedSorter sorter) {
         super(
                 normalizedKeyComputer,
                 new BinaryRowSerializer(inputSerializer.getArity()),
@@ -89,6 +103,7 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
         this.inputSerializer = inputSerializer;
         this.recordBufferSegments = recordBufferSegments;
         this.recordCollector = recordCollector;
+        this.sorter = sorter;
         // The memory will be initialized in super()
         this.isInitialized = true;
         this.clear();
@@ -242,11 +257,16 @@ public class BinaryInMemorySortBuffer extends BinaryIndexedSortable implements S
         };
     }
 
-    @Override
-    public final MutableObjectIterator<BinaryRow> sortedIterator() {
+    /** Sorts the records of this buffer in place. */
+    void sort() {
         if (numRecords > 0) {
-            new QuickSort().sort(this);
+            sorter.sort(this);
         }
+    }
+
+    @Override
+    public final MutableObjectIterator<BinaryRow> sortedIterator() {
+        sort();
         return iterator();
     }
 }
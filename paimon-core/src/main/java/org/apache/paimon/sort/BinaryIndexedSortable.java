@@ -30,6 +30,7 @@ import org.apache.paimon.memory.MemorySegmentPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An abstract sortable, provide basic compare and swap. Support writing of index and normalizedKey.
@@ -220,6 +221,14 @@ public abstract class BinaryIndexedSortable implements IndexedSortable {
         return this.numRecords;
     }
 
+    NormalizedKeyComputer normalizedKeyComputer() {
+        return normalizedKeyComputer;
+    }
+
+    List<MemorySegment> sortIndexSegments() {
+        return sortIndex;
+    }
+
     @Override
     public int recordSize() {
         return indexEntrySize;
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.sort;
 
+import org.apache.paimon.CoreOptions;
+
 /** Indexed sorter to provide sort. */
 public interface IndexedSorter {
 
@@ -32,4 +34,17 @@ public interface IndexedSorter {
     void sort(IndexedSortable s, int l, int r);
 
     void sort(IndexedSortable s);
+
+    /** Creates the {@link IndexedSorter} of the local sort algorithm configured in options. */
+    static IndexedSorter create(CoreOptions options) {
+        switch (options.localSortAlgorithm()) {
+            case RADIX_SORT:
+                return new RadixSort(options.localSortParallelism());
+            case QUICK_SORT:
+                return new QuickSort();
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported local sort algorithm: " + options.localSortAlgorithm());
+        }
+    }
 }
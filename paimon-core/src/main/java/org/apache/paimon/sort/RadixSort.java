@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.sort;
+
+import org.apache.paimon.codegen.NormalizedKeyComputer;
+import org.apache.paimon.memory.MemorySegment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.paimon.data.BinaryRow.LITTLE_ENDIAN;
+import static org.apache.paimon.sort.BinaryIndexedSortable.OFFSET_LEN;
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+import static org.apache.paimon.utils.ThreadPoolUtils.awaitAllFutures;
+import static org.apache.paimon.utils.ThreadPoolUtils.createCachedThreadPool;
+
+/**
+ * MSD radix sort {@link IndexedSorter} over the normalized keys of a {@link BinaryIndexedSortable}.
+ *
+ * <p>Every byte of the normalized key is a digit. From the most significant digit on, a range is
+ * partitioned in place into one bucket per digit value, and each bucket is sorted by the following
+ * digits. Digits which are equal for the whole range are skipped, and small ranges are finished by
+ * insertion sort on the normalized keys. If the normalized key does not fully determine the order,
+ * ranges of equal normalized keys are sorted by {@link QuickSort} afterwards.
+ *
+ * <p>With a parallelism larger than one, the buckets of the first partitioning of a large range are
+ * sorted by multiple threads.
+ */
+public final class RadixSort implements IndexedSorter {
+
+    private static final String SORT_THREAD_NAME = "RADIX_SORT";
+
+    /** Ranges smaller than this are always sorted by a single thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Ranges smaller than this are sorted by insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final int RADIX = 256;
+
+    private static final int[] CHUNK_SIZES = {8, 4, 2, 1};
+
+    private static ThreadPoolExecutor sortExecutor;
+
+    private final int parallelism;
+    private final QuickSort quickSort;
+
+    public RadixSort() {
+        this(1);
+    }
+
+    public RadixSort(int parallelism) {
+        checkArgument(parallelism > 0, "Parallelism of radix sort must be positive.");
+        this.parallelism = parallelism;
+        this.quickSort = new QuickSort();
+    }
+
+    @Override
+    public void sort(IndexedSortable s) {
+        sort(s, 0, s.size());
+    }
+
+    @Override
+    public void sort(IndexedSortable s, int l, int r) {
+        if (!(s instanceof BinaryIndexedSortable) || r - l < 2) {
+            quickSort.sort(s, l, r);
+            return;
+        }
+
+        BinaryIndexedSortable sortable = (BinaryIndexedSortable) s;
+        if (sortable.normalizedKeyComputer().getNumKeyBytes() == 0) {
+            quickSort.sort(s, l, r);
+            return;
+        }
+
+        int threads = parallelism > 1 && r - l >= PARALLEL_THRESHOLD ? parallelism : 1;
+        new Sorting(sortable, threads).sort(l, r);
+    }
+
+    /**
+     * Positions of the normalized key bytes from the most significant to the least significant one.
+     * The generated {@link NormalizedKeyComputer} compares keys in chunks of 8, 4, 2 and 1 bytes,
+     * whose bytes are reversed on little endian machines.
+     */
+    static int[] significantKeyPositions(int numKeyBytes) {
+        int[] positions = new int[numKeyBytes];
+        int p = 0;
+        int offset = 0;
+        for (int chunk : CHUNK_SIZES) {
+            while (numKeyBytes - offset >= chunk) {
+                for (int i = 0; i < chunk; i++) {
+                    positions[p++] = offset + (LITTLE_ENDIAN ? chunk - 1 - i : i);
+                }
+                offset += chunk;
+            }
+        }
+        return positions;
+    }
+
+    private static synchronized ExecutorService sortExecutor(int parallelism) {
+        int threadNum = Math.max(parallelism, Runtime.getRuntime().availableProcessors());
+        if (sortExecutor == null) {
+            sortExecutor = createCachedThreadPool(threadNum, SORT_THREAD_NAME);
+        } else if (sortExecutor.getMaximumPoolSize() < threadNum) {
+            sortExecutor.setMaximumPoolSize(threadNum);
+            sortExecutor.setCorePoolSize(threadNum);
+        }
+        return sortExecutor;
+    }
+
+    /** State of sorting a {@link BinaryIndexedSortable}. */
+    private class Sorting {
+
+        private final BinaryIndexedSortable sortable;
+        private final NormalizedKeyComputer keyComputer;
+        private final MemorySegment[] segments;
+        private final int entrySize;
+        private final int entriesPerSegment;
+        private final boolean invertKey;
+        private final int[] keyPositions;
+        private final int threads;
+
+        private Sorting(BinaryIndexedSortable sortable, int threads) {
+            this.sortable = sortable;
+            this.keyComputer = sortable.normalizedKeyComputer();
+            this.segments = sortable.sortIndexSegments().toArray(new MemorySegment[0]);
+            this.entrySize = sortable.recordSize();
+            this.entriesPerSegment = sortable.recordsPerSegment();
+            this.invertKey = keyComputer.invertKey();
+            this.keyPositions = significantKeyPositions(keyComputer.getNumKeyBytes());
+            this.threads = threads;
+        }
+
+        private void sort(int l, int r) {
+            if (threads > 1) {
+                sortParallel(l, r);
+            } else {
+                sortRange(l, r, 0);
+            }
+
+            if (!keyComputer.isKeyFullyDetermines()) {
+                sortTies(l, r);
+            }
+        }
+
+        private void sortRange(int l, int r, int digitIndex) {
+            for (int d = digitIndex; d < keyPositions.length; d++) {
+                if (r - l < INSERTION_SORT_THRESHOLD) {
+                    break;
+                }
+
+                int[] bounds = partition(l, r, keyPositions[d]);
+                if (bounds != null) {
+                    for (int b = 0; b < RADIX; b++) {
+                        if (bounds[b + 1] - bounds[b] > 1) {
+                            sortRange(bounds[b], bounds[b + 1], d + 1);
+                        }
+                    }
+                    return;
+                }
+            }
+
+            // either the range is small or all normalized keys of the range are equal
+            insertionSort(l, r);
+        }
+
+        private void sortParallel(int l, int r) {
+            for (int d = 0; d < keyPositions.length; d++) {
+                int[] bounds = partition(l, r, keyPositions[d]);
+                if (bounds == null) {
+                    continue;
+                }
+
+                int digitIndex = d + 1;
+                AtomicInteger nextBucket = new AtomicInteger();
+                ExecutorService executor = sortExecutor(threads);
+                List<Future<?>> futures = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    futures.add(
+                            executor.submit(
+                                    () -> {
+                                        int b;
+                                        while ((b = nextBucket.getAndIncrement()) < RADIX) {
+                                            if (bounds[b + 1] - bounds[b] > 1) {
+                                                sortRange(bounds[b], bounds[b + 1], digitIndex);
+                                            }
+                                        }
+                                    }));
+                }
+                awaitAllFutures(futures);
+                return;
+            }
+        }
+
+        /**
+         * Partitions the range in place by the digit at the key position.
+         *
+         * @return the bounds of the buckets, or null if all records share the same digit
+         */
+        private int[] partition(int l, int r, int keyPosition) {
+            int[] counts = new int[RADIX];
+            for (int i = l; i < r; i++) {
+                counts[digit(i, keyPosition)]++;
+            }
+
+            int[] heads = new int[RADIX];
+            int[] bounds = new int[RADIX + 1];
+            bounds[0] = l;
+            for (int b = 0; b < RADIX; b++) {
+                if (counts[b] == r - l) {
+                    return null;
+                }
+                heads[b] = bounds[b];
+                bounds[b + 1] = bounds[b] + counts[b];
+            }
+
+            for (int b = 0; b < RADIX; b++) {
+                int tail = bounds[b + 1];
+                while (heads[b] < tail) {
+                    int digit = digit(heads[b], keyPosition);
+                    if (digit == b) {
+                        heads[b]++;
+                    } else {
+                        sortable.swap(heads[b], heads[digit]++);
+                    }
+                }
+            }
+            return bounds;
+        }
+
+        private void insertionSort(int l, int r) {
+            for (int i = l + 1; i < r; i++) {
+                for (int j = i; j > l && compareKey(j - 1, j) > 0; j--) {
+                    sortable.swap(j - 1, j);
+                }
+            }
+        }
+
+        private void sortTies(int l, int r) {
+            int start = l;
+            for (int i = l + 1; i <= r; i++) {
+                if (i == r || compareKey(i - 1, i) != 0) {
+                    if (i - start > 1) {
+                        quickSort.sort(sortable, start, i);
+                    }
+                    start = i;
+                }
+            }
+        }
+
+        private int compareKey(int i, int j) {
+            int val =
+                    keyComputer.compareKey(
+                            segment(i), offset(i) + OFFSET_LEN, segment(j), offset(j) + OFFSET_LEN);
+            return invertKey ? -val : val;
+        }
+
+        private int digit(int index, int keyPosition) {
+            int b = segment(index).get(offset(index) + OFFSET_LEN + keyPosition) & (RADIX - 1);
+            return invertKey ? RADIX - 1 - b : b;
+        }
+
+        private MemorySegment segment(int index) {
+            return segments[index / entriesPerSegment];
+        }
+
+        private int offset(int index) {
+            return (index % entriesPerSegment) * entrySize;
+        }
+    }
+}
@@ -61,6 +61,7 @@ import org.apache.paimon.utils.SegmentsCache;
 import org.apache.paimon.utils.SimpleFileReader;
 import org.apache.paimon.utils.SnapshotManager;
 import org.apache.paimon.utils.SnapshotNotExistException;
+import org.apache.paimon.utils.SnapshotNotifier;
 import org.apache.paimon.utils.StringUtils;
 import org.apache.paimon.utils.TagManager;
 
@@ -283,7 +284,11 @@ abstract class AbstractFileStoreTable implements FileStoreTable {
                 changelogManager(),
                 supportStreamingReadOverwrite(),
                 catalogEnvironment.tableQueryAuth(coreOptions()),
-                !tableSchema.primaryKeys().isEmpty());
+                !tableSchema.primaryKeys().isEmpty(),
+                SnapshotNotifier.create(
+                        coreOptions(),
+                        snapshotManager(),
+                        catalogEnvironment.commitSnapshotByRename()));
     }
 
     protected abstract SplitGenerator splitGenerator();
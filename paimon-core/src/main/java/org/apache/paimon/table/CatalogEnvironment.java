@@ -93,10 +93,15 @@ public class CatalogEnvironment implements Serializable {
         return supportsVersionManagement;
     }
 
+    /** Whether snapshots are committed by renaming files, which also writes the LATEST hint. */
+    public boolean commitSnapshotByRename() {
+        return catalogLoader == null || !supportsVersionManagement;
+    }
+
     @Nullable
     public SnapshotCommit snapshotCommit(SnapshotManager snapshotManager) {
         SnapshotCommit snapshotCommit;
-        if (catalogLoader != null && supportsVersionManagement) {
+        if (!commitSnapshotByRename()) {
             snapshotCommit = new CatalogSnapshotCommit(catalogLoader.load(), identifier, uuid);
         } else {
             Lock lock =
@@ -23,6 +23,7 @@ import org.apache.paimon.Snapshot;
 import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.utils.ChangelogManager;
 import org.apache.paimon.utils.SnapshotManager;
+import org.apache.paimon.utils.SnapshotTimeline;
 import org.apache.paimon.utils.TagManager;
 
 import java.io.IOException;
@@ -91,6 +92,10 @@ public class RollbackHelper {
         // modify the latest hint
         snapshotManager.commitLatestHint(retainedSnapshot.id());
 
+        // the ids of the deleted snapshots will be reused by new commits
+        SnapshotTimeline.truncate(
+                fileIO, snapshotManager.snapshotDirectory(), retainedSnapshot.id());
+
         // it is possible that some snapshots have been expired
         long to = Math.max(earliest, retainedSnapshot.id() + 1);
         for (long i = latest; i >= to; i--) {
@@ -48,20 +48,31 @@ import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cach
 
 import javax.annotation.Nullable;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static org.apache.paimon.lookup.LookupStoreFactory.bfGenerator;
 import static org.apache.paimon.mergetree.LookupFile.localFilePrefix;
 
-/** Implementation for {@link TableQuery} for caching data and file in local. */
+/**
+ * Implementation for {@link TableQuery} for caching data and file in local.
+ *
+ * <p>This class is thread safe. The table view is striped by bucket: locating a bucket is
+ * lock-free, and every bucket has its own lock, so lookups and refreshes on different buckets never
+ * block each other. Lookups on the same bucket are serialized because {@link LookupLevels} and its
+ * lookup store readers are not thread safe.
+ */
 public class LocalTableQuery implements TableQuery {
 
-    private final Map<BinaryRow, Map<Integer, LookupLevels<KeyValue>>> tableView;
+    private final Map<BinaryRow, Map<Integer, BucketLookup>> tableView;
 
     private final CoreOptions options;
 
@@ -69,13 +80,16 @@ public class LocalTableQuery implements TableQuery {
 
     private final KeyValueFileReaderFactory.Builder readerFactoryBuilder;
 
-    private final LookupStoreFactory lookupStoreFactory;
+    private final CacheManager cacheManager;
 
     private final int startLevel;
 
-    private IOManager ioManager;
+    private final Cache<String, LookupFile> lookupFileCache;
 
-    @Nullable private Cache<String, LookupFile> lookupFileCache;
+    // created lazily, so that the query can be refreshed again after it is closed
+    @Nullable private ExecutorService prefetchExecutor;
+
+    private IOManager ioManager;
 
     private final RowType rowType;
     private final RowType partitionType;
@@ -84,7 +98,7 @@ public class LocalTableQuery implements TableQuery {
 
     public LocalTableQuery(FileStoreTable table) {
         this.options = table.coreOptions();
-        this.tableView = new HashMap<>();
+        this.tableView = new ConcurrentHashMap<>();
         FileStore<?> tableStore = table.store();
         if (!(tableStore instanceof KeyValueFileStore)) {
             throw new UnsupportedOperationException(
@@ -95,15 +109,14 @@ public class LocalTableQuery implements TableQuery {
         this.readerFactoryBuilder = store.newReaderFactoryBuilder();
         this.rowType = table.schema().logicalRowType();
         this.partitionType = table.schema().logicalPartitionType();
-        RowType keyType = readerFactoryBuilder.keyType();
         this.keyComparatorSupplier = new KeyComparatorSupplier(readerFactoryBuilder.keyType());
-        this.lookupStoreFactory =
-                LookupStoreFactory.create(
-                        options,
-                        new CacheManager(
-                                options.lookupCacheMaxMemory(),
-                                options.lookupCacheHighPrioPoolRatio()),
-                        new RowCompactedSerializer(keyType).createSliceComparator());
+        this.cacheManager =
+                new CacheManager(
+                        options.lookupCacheMaxMemory(), options.lookupCacheHighPrioPoolRatio());
+        this.lookupFileCache =
+                LookupFile.createCache(
+                        options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_FILE_RETENTION),
+                        options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE));
         startLevel = options.needLookup() ? 1 : 0;
     }
 
@@ -112,72 +125,96 @@ public class LocalTableQuery implements TableQuery {
             int bucket,
             List<DataFileMeta> beforeFiles,
             List<DataFileMeta> dataFiles) {
-        LookupLevels<KeyValue> lookupLevels =
-                tableView.computeIfAbsent(partition, k -> new HashMap<>()).get(bucket);
-        if (lookupLevels == null) {
+        Map<Integer, BucketLookup> buckets =
+                tableView.computeIfAbsent(partition, k -> new ConcurrentHashMap<>());
+        BucketLookup bucketLookup = buckets.get(bucket);
+        if (bucketLookup == null) {
             // Initial phase: ignore beforeFiles as they represent deletions from previous state
-            newLookupLevels(partition, bucket, dataFiles);
-        } else {
-            lookupLevels.getLevels().update(beforeFiles, dataFiles);
+            ExecutorService executor = prefetchExecutor();
+            LookupLevels<KeyValue> lookupLevels =
+                    newLookupLevels(partition, bucket, dataFiles).withPrefetchExecutor(executor);
+            BucketLookup newBucketLookup = new BucketLookup(lookupLevels);
+            bucketLookup = buckets.putIfAbsent(bucket, newBucketLookup);
+            if (bucketLookup == null) {
+                if (executor != null) {
+                    // the initial files never go through Levels#update, prefetch them here,
+                    // files of higher level first
+                    dataFiles.stream()
+                            .filter(file -> file.level() > 0)
+                            .sorted(Comparator.comparingInt(DataFileMeta::level).reversed())
+                            .forEach(lookupLevels::notifyNewFile);
+                }
+                return;
+            }
+
+            // another thread has initialized this bucket concurrently, apply the files to it
+            try {
+                newBucketLookup.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        bucketLookup.refresh(beforeFiles, dataFiles);
+    }
+
+    @Nullable
+    private synchronized ExecutorService prefetchExecutor() {
+        if (prefetchExecutor == null && options.lookupPrefetchEnabled()) {
+            prefetchExecutor =
+                    LookupLevels.createPrefetchExecutor(options.lookupPrefetchThreadNum());
         }
+        return prefetchExecutor;
     }
 
-    private void newLookupLevels(BinaryRow partition, int bucket, List<DataFileMeta> dataFiles) {
+    private LookupLevels<KeyValue> newLookupLevels(
+            BinaryRow partition, int bucket, List<DataFileMeta> dataFiles) {
         Levels levels = new Levels(keyComparatorSupplier.get(), dataFiles, options.numLevels());
         // TODO pass DeletionVector factory
         KeyValueFileReaderFactory factory =
                 readerFactoryBuilder.build(partition, bucket, DeletionVector.emptyFactory());
+        // the slice comparator is not thread safe, so every bucket owns its lookup store factory
+        LookupStoreFactory lookupStoreFactory =
+                LookupStoreFactory.create(
+                        this.options,
+                        cacheManager,
+                        new RowCompactedSerializer(readerFactoryBuilder.keyType())
+                                .createSliceComparator());
         Options options = this.options.toConfiguration();
-        if (lookupFileCache == null) {
-            lookupFileCache =
-                    LookupFile.createCache(
-                            options.get(CoreOptions.LOOKUP_CACHE_FILE_RETENTION),
-                            options.get(CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE));
-        }
-
-        LookupLevels<KeyValue> lookupLevels =
-                new LookupLevels<>(
-                        levels,
-                        keyComparatorSupplier.get(),
-                        readerFactoryBuilder.keyType(),
-                        new LookupLevels.KeyValueProcessor(readerFactoryBuilder.readValueType()),
-                        file -> {
-                            RecordReader<KeyValue> reader = factory.createRecordReader(file);
-                            if (cacheRowFilter != null) {
-                                reader =
-                                        reader.filter(
-                                                keyValue -> cacheRowFilter.test(keyValue.value()));
-                            }
-                            return reader;
-                        },
-                        file ->
-                                Preconditions.checkNotNull(ioManager, "IOManager is required.")
-                                        .createChannel(
-                                                localFilePrefix(
-                                                        partitionType, partition, bucket, file))
-                                        .getPathFile(),
-                        lookupStoreFactory,
-                        bfGenerator(options),
-                        lookupFileCache);
-
-        tableView.computeIfAbsent(partition, k -> new HashMap<>()).put(bucket, lookupLevels);
+        return new LookupLevels<>(
+                levels,
+                keyComparatorSupplier.get(),
+                readerFactoryBuilder.keyType(),
+                new LookupLevels.KeyValueProcessor(readerFactoryBuilder.readValueType()),
+                file -> {
+                    RecordReader<KeyValue> reader = factory.createRecordReader(file);
+                    if (cacheRowFilter != null) {
+                        reader = reader.filter(keyValue -> cacheRowFilter.test(keyValue.value()));
+                    }
+                    return reader;
+                },
+                file ->
+                        Preconditions.checkNotNull(ioManager, "IOManager is required.")
+                                .createChannel(
+                                        localFilePrefix(partitionType, partition, bucket, file))
+                                .getPathFile(),
+                lookupStoreFactory,
+                bfGenerator(options),
+                lookupFileCache);
     }
 
-    /** TODO remove synchronized and supports multiple thread to lookup. */
     @Nullable
     @Override
-    public synchronized InternalRow lookup(BinaryRow partition, int bucket, InternalRow key)
-            throws IOException {
-        Map<Integer, LookupLevels<KeyValue>> buckets = tableView.get(partition);
+    public InternalRow lookup(BinaryRow partition, int bucket, InternalRow key) throws IOException {
+        Map<Integer, BucketLookup> buckets = tableView.get(partition);
         if (buckets == null || buckets.isEmpty()) {
             return null;
         }
-        LookupLevels<KeyValue> lookupLevels = buckets.get(bucket);
-        if (lookupLevels == null) {
+        BucketLookup bucketLookup = buckets.get(bucket);
+        if (bucketLookup == null) {
             return null;
         }
 
-        KeyValue kv = lookupLevels.lookup(key, startLevel);
+        KeyValue kv = bucketLookup.lookup(key, startLevel);
         if (kv == null || kv.valueKind().isRetract()) {
             return null;
         } else {
@@ -185,6 +222,29 @@ public class LocalTableQuery implements TableQuery {
         }
     }
 
+    @Override
+    public InternalRow[] lookupBatch(BinaryRow partition, int bucket, InternalRow[] keys)
+            throws IOException {
+        InternalRow[] values = new InternalRow[keys.length];
+        Map<Integer, BucketLookup> buckets = tableView.get(partition);
+        if (buckets == null || buckets.isEmpty()) {
+            return values;
+        }
+        BucketLookup bucketLookup = buckets.get(bucket);
+        if (bucketLookup == null) {
+            return values;
+        }
+
+        List<KeyValue> kvs = bucketLookup.lookupBatch(keys, startLevel);
+        for (int i = 0; i < values.length; i++) {
+            KeyValue kv = kvs.get(i);
+            if (kv != null && !kv.valueKind().isRetract()) {
+                values[i] = kv.value();
+            }
+        }
+        return values;
+    }
+
     @Override
     public LocalTableQuery withValueProjection(int[] projection) {
         this.readerFactoryBuilder.withReadValueType(rowType.project(projection));
@@ -208,16 +268,68 @@ public class LocalTableQuery implements TableQuery {
 
     @Override
     public void close() throws IOException {
-        for (Map.Entry<BinaryRow, Map<Integer, LookupLevels<KeyValue>>> buckets :
-                tableView.entrySet()) {
-            for (Map.Entry<Integer, LookupLevels<KeyValue>> bucket :
-                    buckets.getValue().entrySet()) {
-                bucket.getValue().close();
+        for (Map<Integer, BucketLookup> buckets : tableView.values()) {
+            for (BucketLookup bucketLookup : buckets.values()) {
+                bucketLookup.close();
             }
         }
-        if (lookupFileCache != null) {
-            lookupFileCache.invalidateAll();
+        synchronized (this) {
+            if (prefetchExecutor != null) {
+                prefetchExecutor.shutdownNow();
+                prefetchExecutor = null;
+            }
         }
+        lookupFileCache.invalidateAll();
         tableView.clear();
     }
+
+    /** {@link LookupLevels} of a bucket, guarded by its own lock. */
+    private static class BucketLookup implements Closeable {
+
+        private final LookupLevels<KeyValue> lookupLevels;
+        private final ReentrantLock lock;
+
+        private BucketLookup(LookupLevels<KeyValue> lookupLevels) {
+            this.lookupLevels = lookupLevels;
+            this.lock = new ReentrantLock();
+        }
+
+        private void refresh(List<DataFileMeta> beforeFiles, List<DataFileMeta> dataFiles) {
+            lock.lock();
+            try {
+                lookupLevels.getLevels().update(beforeFiles, dataFiles);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Nullable
+        private KeyValue lookup(InternalRow key, int startLevel) throws IOException {
+            lock.lock();
+            try {
+                return lookupLevels.lookup(key, startLevel);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<KeyValue> lookupBatch(InternalRow[] keys, int startLevel) throws IOException {
+            lock.lock();
+            try {
+                return lookupLevels.lookupBatch(keys, startLevel);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lock.lock();
+            try {
+                lookupLevels.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
 }
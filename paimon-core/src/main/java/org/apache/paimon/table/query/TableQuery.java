@@ -37,4 +37,17 @@ public interface TableQuery extends Closeable {
 
     @Nullable
     InternalRow lookup(BinaryRow partition, int bucket, InternalRow key) throws IOException;
+
+    /**
+     * Lookup a batch of keys in the same partition and bucket, the returned values are aligned with
+     * the keys and a value is null if its key does not exist.
+     */
+    default InternalRow[] lookupBatch(BinaryRow partition, int bucket, InternalRow[] keys)
+            throws IOException {
+        InternalRow[] values = new InternalRow[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = lookup(partition, bucket, keys[i]);
+        }
+        return values;
+    }
 }
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.table.sink;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.manifest.ManifestCommittable;
+import org.apache.paimon.table.FileStoreTable;
+import org.apache.paimon.utils.ExecutorThreadFactory;
+import org.apache.paimon.utils.SnapshotManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * A coordinator which accepts {@link ManifestCommittable}s from many producers of one table and
+ * commits them in batches. All committables of a batch are merged into one committable, so that
+ * conflicts are detected once and a single snapshot with merged manifest files is written for the
+ * whole batch. Each producer is acknowledged individually by the future returned from {@link
+ * #submit}.
+ *
+ * <p>The last committed identifier of each producer is recorded in the snapshot properties, so that
+ * committables submitted again after a failover are recognized as committed and skipped.
+ *
+ * <p>Committables of a batch deleting the same files are committed separately. If a batch still
+ * fails to commit before anything is written, its committables are committed one by one, so that a
+ * conflicting producer does not fail the others.
+ */
+public class GroupCommitCoordinator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GroupCommitCoordinator.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private static final String PRODUCER_IDENTIFIER_PREFIX = "group-commit.identifier.";
+
+    private final TableCommitImpl commit;
+    private final SnapshotManager snapshotManager;
+    private final String commitUser;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+
+    private final BlockingQueue<PendingCommit> queue;
+    private final ExecutorService executor;
+
+    private long nextIdentifier;
+    private Map<String, Long> committedIdentifiers;
+    private volatile boolean closed;
+
+    public GroupCommitCoordinator(FileStoreTable table, String commitUser) {
+        CoreOptions options = table.coreOptions();
+        this.commit = table.newCommit(commitUser);
+        this.snapshotManager = table.snapshotManager();
+        this.commitUser = commitUser;
+        this.maxBatchSize = options.commitGroupMaxBatchSize();
+        this.maxDelayNanos = options.commitGroupMaxDelay().toNanos();
+
+        this.queue = new LinkedBlockingQueue<>();
+        restoreCommitted();
+        this.executor =
+                Executors.newSingleThreadExecutor(
+                        new ExecutorThreadFactory("group-commit-" + table.name()));
+        this.executor.execute(this::run);
+    }
+
+    /**
+     * Submits a committable of a producer. The identifiers of one producer must be increasing, a
+     * committable whose identifier is not larger than the last committed identifier of its producer
+     * has been committed before and is skipped. The returned future completes when the committable
+     * is committed.
+     */
+    public CompletableFuture<Void> submit(String producer, ManifestCommittable committable) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(
+                        new IllegalStateException("Group commit coordinator is closed."));
+                return future;
+            }
+            queue.add(new PendingCommit(producer, committable, future));
+        }
+        return future;
+    }
+
+    private void run() {
+        List<PendingCommit> batch = new ArrayList<>();
+        while (true) {
+            try {
+                PendingCommit first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        // no more committables can be submitted
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingCommit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(p -> p.future.completeExceptionally(e));
+                return;
+            } catch (Throwable t) {
+                // fail the uncompleted committables of this batch, but keep accepting new ones
+                LOG.warn("Failed to commit a batch of {} committables.", batch.size(), t);
+                batch.forEach(p -> p.future.completeExceptionally(t));
+                restoreCommitted();
+            }
+            batch.clear();
+        }
+    }
+
+    private void commitBatch(List<PendingCommit> batch) {
+        // committables deleting the same files conflict with each other, only the first one is
+        // committed with the batch, the others are committed alone and fail on their own
+        List<PendingCommit> group = new ArrayList<>();
+        List<PendingCommit> deferred = new ArrayList<>();
+        Set<String> deletedFiles = new HashSet<>();
+        Map<String, Long> batchIdentifiers = new HashMap<>();
+        for (PendingCommit pending : batch) {
+            long identifier = pending.committable.identifier();
+            Long committed = committedIdentifiers.get(pending.producer);
+            Long submitted = batchIdentifiers.get(pending.producer);
+            if ((committed != null && identifier <= committed)
+                    || (submitted != null && identifier <= submitted)) {
+                // committed before a failover or submitted twice
+                pending.future.complete(null);
+                continue;
+            }
+            batchIdentifiers.put(pending.producer, identifier);
+
+            List<String> deletes = deletedFiles(pending.committable);
+            if (deletes.stream().anyMatch(deletedFiles::contains)) {
+                deferred.add(pending);
+            } else {
+                deletedFiles.addAll(deletes);
+                group.add(pending);
+            }
+        }
+
+        if (!group.isEmpty()) {
+            commitGroup(group);
+        }
+        deferred.forEach(this::commitOne);
+    }
+
+    private void commitGroup(List<PendingCommit> group) {
+        if (group.size() == 1) {
+            commitOne(group.get(0));
+            return;
+        }
+
+        long identifier = nextIdentifier++;
+        try {
+            commit.commitMultiple(singletonList(merge(identifier, group)), true);
+            markCommitted(group);
+            return;
+        } catch (Throwable t) {
+            if (isCommitted(identifier)) {
+                // the snapshot has been committed, only the work after it failed
+                LOG.warn("Committed a batch of {} committables with failure.", group.size(), t);
+                restoreCommitted();
+                markCommitted(group);
+                return;
+            }
+            LOG.warn(
+                    "Failed to commit a batch of {} committables, commit them one by one.",
+                    group.size(),
+                    t);
+        }
+
+        group.forEach(this::commitOne);
+    }
+
+    private void commitOne(PendingCommit pending) {
+        long identifier = nextIdentifier++;
+        try {
+            commit.commitMultiple(singletonList(merge(identifier, singletonList(pending))), true);
+            markCommitted(singletonList(pending));
+        } catch (Throwable t) {
+            boolean committed = isCommitted(identifier);
+            restoreCommitted();
+            if (committed) {
+                LOG.warn("Committed a committable with failure.", t);
+                markCommitted(singletonList(pending));
+            } else {
+                pending.future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private void markCommitted(List<PendingCommit> group) {
+        for (PendingCommit pending : group) {
+            committedIdentifiers.put(pending.producer, pending.committable.identifier());
+            pending.future.complete(null);
+        }
+    }
+
+    /** Restores the last committed identifiers from the latest snapshot of the commit user. */
+    private void restoreCommitted() {
+        Snapshot latest = snapshotManager.latestSnapshotOfUser(commitUser).orElse(null);
+        this.nextIdentifier = latest == null ? 0 : latest.commitIdentifier() + 1;
+        this.committedIdentifiers = new HashMap<>();
+        if (latest != null && latest.properties() != null) {
+            latest.properties()
+                    .forEach(
+                            (key, value) -> {
+                                if (key.startsWith(PRODUCER_IDENTIFIER_PREFIX)) {
+                                    committedIdentifiers.put(
+                                            key.substring(PRODUCER_IDENTIFIER_PREFIX.length()),
+                                            Long.parseLong(value));
+                                }
+                            });
+        }
+    }
+
+    private static List<String> deletedFiles(ManifestCommittable committable) {
+        List<String> files = new ArrayList<>();
+        for (CommitMessage message : committable.fileCommittables()) {
+            CommitMessageImpl impl = (CommitMessageImpl) message;
+            impl.newFilesIncrement().deletedFiles().forEach(f -> files.add(f.fileName()));
+            impl.compactIncrement().compactBefore().forEach(f -> files.add(f.fileName()));
+        }
+        return files;
+    }
+
+    private boolean isCommitted(long identifier) {
+        return snapshotManager
+                .latestSnapshotOfUser(commitUser)
+                .map(Snapshot::commitIdentifier)
+                .filter(id -> id >= identifier)
+                .isPresent();
+    }
+
+    private ManifestCommittable merge(long identifier, List<PendingCommit> batch) {
+        Long watermark = null;
+        Map<Integer, Long> logOffsets = new HashMap<>();
+        List<CommitMessage> messages = new ArrayList<>();
+        Map<String, String> properties = new HashMap<>();
+        // carry the identifiers of all producers, only the latest snapshot is read on restore
+        committedIdentifiers.forEach(
+                (producer, id) ->
+                        properties.put(PRODUCER_IDENTIFIER_PREFIX + producer, String.valueOf(id)));
+        for (PendingCommit pending : batch) {
+            ManifestCommittable committable = pending.committable;
+            if (committable.watermark() != null) {
+                watermark =
+                        watermark == null
+                                ? committable.watermark()
+                                : Math.max(watermark, committable.watermark());
+            }
+            committable
+                    .logOffsets()
+                    .forEach((bucket, offset) -> logOffsets.merge(bucket, offset, Math::max));
+            messages.addAll(committable.fileCommittables());
+            properties.putAll(committable.properties());
+            properties.put(
+                    PRODUCER_IDENTIFIER_PREFIX + pending.producer,
+                    String.valueOf(committable.identifier()));
+        }
+        return new ManifestCommittable(identifier, watermark, logOffsets, messages, properties);
+    }
+
+    /** Commits all submitted committables and closes the coordinator. */
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            closed = true;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            LOG.warn("Group commit coordinator does not terminate in time, interrupt it.");
+            executor.shutdownNow();
+        }
+
+        IllegalStateException closedException =
+                new IllegalStateException("Group commit coordinator is closed.");
+        PendingCommit pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(closedException);
+        }
+        commit.close();
+    }
+
+    private static class PendingCommit {
+
+        private final String producer;
+        private final ManifestCommittable committable;
+        private final CompletableFuture<Void> future;
+
+        private PendingCommit(
+                String producer, ManifestCommittable committable, CompletableFuture<Void> future) {
+            this.producer = producer;
+            this.committable = committable;
+            this.future = future;
+        }
+    }
+}
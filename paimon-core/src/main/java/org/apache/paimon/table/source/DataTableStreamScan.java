@@ -40,6 +40,7 @@ import org.apache.paimon.utils.ChangelogManager;
 import org.apache.paimon.utils.Filter;
 import org.apache.paimon.utils.NextSnapshotFetcher;
 import org.apache.paimon.utils.SnapshotManager;
+import org.apache.paimon.utils.SnapshotNotifier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,7 +84,8 @@ public class DataTableStreamScan extends AbstractDataTableScan implements Stream
             ChangelogManager changelogManager,
             boolean supportStreamingReadOverwrite,
             TableQueryAuth queryAuth,
-            boolean hasPk) {
+            boolean hasPk,
+            @Nullable SnapshotNotifier snapshotNotifier) {
         super(schema, options, snapshotReader, queryAuth);
 
         this.options = options;
@@ -92,7 +94,10 @@ public class DataTableStreamScan extends AbstractDataTableScan implements Stream
         this.supportStreamingReadOverwrite = supportStreamingReadOverwrite;
         this.nextSnapshotProvider =
                 new NextSnapshotFetcher(
-                        snapshotManager, changelogManager, options.changelogLifecycleDecoupled());
+                        snapshotManager,
+                        changelogManager,
+                        options.changelogLifecycleDecoupled(),
+                        snapshotNotifier);
         this.hasPk = hasPk;
 
         if (options.bucket() == BucketMode.POSTPONE_BUCKET
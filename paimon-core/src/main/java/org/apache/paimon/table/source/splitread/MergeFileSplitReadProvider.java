@@ -47,7 +47,12 @@ public class MergeFileSplitReadProvider implements SplitReadProvider {
 
     private SplitRead<InternalRow> create(Supplier<MergeFileSplitRead> supplier) {
         final MergeFileSplitRead read = supplier.get().withReadKeyType(RowType.of());
-        return SplitRead.convert(read, split -> unwrap(read.createReader(split)));
+        return SplitRead.convert(
+                read,
+                split ->
+                        read.supportsColumnarMerge(split)
+                                ? read.createColumnarMergeReader(split)
+                                : unwrap(read.createReader(split)));
     }
 
     @Override
@@ -44,6 +44,7 @@ import org.apache.paimon.utils.BranchManager;
 import org.apache.paimon.utils.ChangelogManager;
 import org.apache.paimon.utils.SimpleFileReader;
 import org.apache.paimon.utils.SnapshotManager;
+import org.apache.paimon.utils.SnapshotNotifier;
 import org.apache.paimon.utils.TagManager;
 
 import java.util.List;
@@ -168,7 +169,11 @@ public class ReadOptimizedTable implements DataTable, ReadonlyTable {
                 changelogManager(),
                 wrapped.supportStreamingReadOverwrite(),
                 wrapped.catalogEnvironment().tableQueryAuth(coreOptions()),
-                !wrapped.schema().primaryKeys().isEmpty());
+                !wrapped.schema().primaryKeys().isEmpty(),
+                SnapshotNotifier.create(
+                        coreOptions(),
+                        snapshotManager(),
+                        wrapped.catalogEnvironment().commitSnapshotByRename()));
     }
 
     @Override
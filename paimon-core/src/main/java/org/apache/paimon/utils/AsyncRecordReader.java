@@ -18,56 +18,236 @@
 
 package org.apache.paimon.utils;
 
+import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.columnar.VectorizedColumnBatch;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.reader.FileRecordIterator;
 import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.reader.VectorizedRecordIterator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
-/** A {@link RecordReader} to use ASYNC_EXECUTOR to read records async. */
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * A {@link RecordReader} to read records async.
+ *
+ * <p>By default, the reader uses ASYNC_EXECUTOR and buffers all batches the underlying reader
+ * produces. In bounded mode, at most {@code maxBatches} batches are handed out and not yet
+ * released, and the producer is executed by a sized shared pool. When the limit is reached, the
+ * producer task exits instead of blocking a pool thread, and it is resubmitted once the consumer
+ * releases a batch. So bounded readers sharing the pool can never starve each other. If the
+ * consumer asks for a new batch while it still holds all of them, the producer reads one batch over
+ * the limit instead of letting the consumer wait forever.
+ *
+ * <p>The returned batches keep the {@link FileRecordIterator} and {@link VectorizedRecordIterator}
+ * types of the batches of the underlying reader.
+ */
 public class AsyncRecordReader<T> implements RecordReader<T> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncRecordReader.class);
+
     private static final ExecutorService ASYNC_EXECUTOR =
             Executors.newCachedThreadPool(new ExecutorThreadFactory("paimon-reader-async-thread"));
 
+    private static final String BOUNDED_THREAD_NAME = "paimon-reader-async-bounded-thread";
+
+    private static final long POLL_TIMEOUT_MILLIS = 2000;
+
     private final BlockingQueue<Element> queue;
-    private final Future<Void> future;
+    private final IOExceptionSupplier<RecordReader<T>> supplier;
+    private final ClassLoader classLoader;
+    private final ExecutorService executor;
+    private final int maxBatches;
+
+    // guarded by the queue
+    private int outstandingBatches;
+    private boolean producerRunning;
+    private boolean producerFinished;
+    private boolean closed;
+    private boolean consumerWaiting;
+    @Nullable private Thread producerThread;
+    private long producerPausedAt;
+
+    // accessed only by the producer, which never runs concurrently with itself
+    @Nullable private RecordReader<T> reader;
+
+    private volatile long producerPausedNanos;
+    private volatile long consumerStalledNanos;
 
     private boolean isEnd = false;
 
     public AsyncRecordReader(IOExceptionSupplier<RecordReader<T>> supplier) {
+        this(supplier, ASYNC_EXECUTOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a bounded reader.
+     *
+     * @param maxBatches max number of batches read from the underlying reader but not released
+     * @param threadNum number of threads of the shared pool, the number of processors if null
+     */
+    public AsyncRecordReader(
+            IOExceptionSupplier<RecordReader<T>> supplier,
+            int maxBatches,
+            @Nullable Integer threadNum) {
+        this(
+                supplier,
+                SharedThreadPools.getThreadPool(
+                        BOUNDED_THREAD_NAME,
+                        threadNum == null ? Runtime.getRuntime().availableProcessors() : threadNum),
+                maxBatches);
+    }
+
+    @VisibleForTesting
+    AsyncRecordReader(
+            IOExceptionSupplier<RecordReader<T>> supplier,
+            ExecutorService executor,
+            int maxBatches) {
+        checkArgument(maxBatches > 0, "Max batches should be positive, but is %s.", maxBatches);
         this.queue = new LinkedBlockingQueue<>();
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        this.future = ASYNC_EXECUTOR.submit(() -> asyncRead(supplier, classLoader));
+        this.supplier = supplier;
+        this.classLoader = Thread.currentThread().getContextClassLoader();
+        this.executor = executor;
+        this.maxBatches = maxBatches;
+        this.producerRunning = true;
+        submitProducer();
     }
 
-    private Void asyncRead(IOExceptionSupplier<RecordReader<T>> supplier, ClassLoader classLoader)
-            throws IOException {
+    private void produce() {
+        synchronized (queue) {
+            if (closed) {
+                finishProducer();
+                return;
+            }
+            producerThread = Thread.currentThread();
+        }
+
         // set classloader, otherwise, its classloader belongs to its creator. It is possible that
         // its creator's classloader has already exited, which will cause subsequent reads to report
         // exceptions
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
         Thread.currentThread().setContextClassLoader(classLoader);
-
-        try (RecordReader<T> reader = supplier.get()) {
+        try {
+            if (reader == null) {
+                reader = supplier.get();
+            }
             while (true) {
+                synchronized (queue) {
+                    if (closed) {
+                        finishProducer();
+                        return;
+                    }
+                    if (outstandingBatches >= maxBatches && !(consumerWaiting && queue.isEmpty())) {
+                        // pause, the consumer resubmits the producer when it releases a batch
+                        producerRunning = false;
+                        producerThread = null;
+                        producerPausedAt = System.nanoTime();
+                        return;
+                    }
+                    outstandingBatches++;
+                }
+
                 RecordIterator<T> batch = reader.readBatch();
                 if (batch == null) {
-                    queue.add(new Element(true, null));
-                    return null;
+                    // under the lock, so that a close after the end waits for the reader to close
+                    synchronized (queue) {
+                        queue.add(new Element(true, null, null));
+                        finishProducer();
+                    }
+                    return;
                 }
 
-                queue.add(new Element(false, batch));
+                queue.add(new Element(false, releasing(batch), null));
+            }
+        } catch (Throwable t) {
+            synchronized (queue) {
+                queue.add(new Element(true, null, t));
+                finishProducer();
+            }
+        } finally {
+            // clear a possible interrupt from close, the thread goes back to the pool
+            Thread.interrupted();
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    /** Must be called while holding the lock of queue. */
+    private void finishProducer() {
+        producerRunning = false;
+        producerFinished = true;
+        producerThread = null;
+        closeReaderQuietly();
+    }
+
+    private void closeReaderQuietly() {
+        if (reader != null) {
+            IOUtils.closeQuietly(reader);
+            reader = null;
+        }
+    }
+
+    private void releaseBatch() {
+        synchronized (queue) {
+            outstandingBatches--;
+            resumeProducer();
+        }
+    }
+
+    /** Must be called while holding the lock of queue. */
+    private void resumeProducer() {
+        if (!producerRunning && !producerFinished && !closed) {
+            producerPausedNanos += System.nanoTime() - producerPausedAt;
+            producerRunning = true;
+            submitProducer();
+        }
+    }
+
+    private void setConsumerWaiting(boolean waiting) {
+        synchronized (queue) {
+            consumerWaiting = waiting;
+            if (waiting && queue.isEmpty()) {
+                // the consumer holds all batches, the producer reads one over the limit
+                resumeProducer();
+            }
+        }
+    }
+
+    /** Submits the producer, fails the reader if the producer can not be executed. */
+    private void submitProducer() {
+        try {
+            executor.execute(this::produce);
+        } catch (Throwable t) {
+            synchronized (queue) {
+                queue.add(new Element(true, null, t));
+                finishProducer();
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private RecordIterator<T> releasing(RecordIterator<T> batch) {
+        if (batch instanceof VectorizedRecordIterator && batch instanceof FileRecordIterator) {
+            return (RecordIterator<T>)
+                    new ReleasingVectorizedIterator(
+                            (VectorizedRecordIterator) batch, this::releaseBatch);
+        } else if (batch instanceof FileRecordIterator) {
+            return new ReleasingFileIterator<>((FileRecordIterator<T>) batch, this::releaseBatch);
+        }
+        return new ReleasingIterator<>(batch, this::releaseBatch);
+    }
+
     @Nullable
     @Override
     public RecordIterator<T> readBatch() throws IOException {
@@ -76,11 +256,25 @@ public class AsyncRecordReader<T> implements RecordReader<T> {
         }
 
         try {
-            Element element;
-            do {
-                element = queue.poll(2, TimeUnit.SECONDS);
-                checkException();
-            } while (element == null);
+            Element element = queue.poll();
+            if (element == null) {
+                long start = System.nanoTime();
+                setConsumerWaiting(true);
+                try {
+                    while ((element = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+                            == null) {
+                        checkProducer();
+                    }
+                } finally {
+                    setConsumerWaiting(false);
+                }
+                consumerStalledNanos += System.nanoTime() - start;
+            }
+
+            if (element.exception != null) {
+                isEnd = true;
+                throw new IOException(element.exception);
+            }
 
             if (element.isEnd) {
                 isEnd = true;
@@ -94,29 +288,123 @@ public class AsyncRecordReader<T> implements RecordReader<T> {
         }
     }
 
-    private void checkException() throws IOException, InterruptedException {
-        if (future.isDone()) {
-            try {
-                future.get();
-            } catch (ExecutionException e) {
-                throw new IOException(e.getCause());
+    /** Fails if the producer has finished without adding the end or an exception to the queue. */
+    private void checkProducer() throws IOException {
+        synchronized (queue) {
+            if (closed) {
+                throw new IOException("The async reader has been closed.");
+            }
+            if (producerFinished && queue.isEmpty()) {
+                throw new IOException("The producer of the async reader exited unexpectedly.");
             }
         }
     }
 
+    /** Number of batches read ahead and waiting for the consumer. */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /** Total time the producer was paused because the max number of batches was reached. */
+    public long producerPausedNanos() {
+        return producerPausedNanos;
+    }
+
+    /** Total time the consumer waited for the producer. */
+    public long consumerStalledNanos() {
+        return consumerStalledNanos;
+    }
+
     @Override
     public void close() throws IOException {
-        future.cancel(true);
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (producerThread != null) {
+                // the producer may be blocked in the underlying reader, it closes the reader
+                // itself after it is interrupted
+                producerThread.interrupt();
+            } else if (!producerRunning) {
+                producerFinished = true;
+                closeReaderQuietly();
+            }
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Async reader closed, producer paused {} ms, consumer stalled {} ms.",
+                    TimeUnit.NANOSECONDS.toMillis(producerPausedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(consumerStalledNanos));
+        }
+    }
+
+    private static class ReleasingIterator<E> implements RecordIterator<E> {
+
+        protected final RecordIterator<E> iterator;
+        private final Runnable release;
+
+        private ReleasingIterator(RecordIterator<E> iterator, Runnable release) {
+            this.iterator = iterator;
+            this.release = release;
+        }
+
+        @Nullable
+        @Override
+        public E next() throws IOException {
+            return iterator.next();
+        }
+
+        @Override
+        public void releaseBatch() {
+            iterator.releaseBatch();
+            release.run();
+        }
+    }
+
+    private static class ReleasingFileIterator<E> extends ReleasingIterator<E>
+            implements FileRecordIterator<E> {
+
+        private ReleasingFileIterator(FileRecordIterator<E> iterator, Runnable release) {
+            super(iterator, release);
+        }
+
+        @Override
+        public long returnedPosition() {
+            return ((FileRecordIterator<E>) iterator).returnedPosition();
+        }
+
+        @Override
+        public Path filePath() {
+            return ((FileRecordIterator<E>) iterator).filePath();
+        }
+    }
+
+    private static class ReleasingVectorizedIterator extends ReleasingFileIterator<InternalRow>
+            implements VectorizedRecordIterator {
+
+        @SuppressWarnings("unchecked")
+        private ReleasingVectorizedIterator(VectorizedRecordIterator iterator, Runnable release) {
+            super((FileRecordIterator<InternalRow>) iterator, release);
+        }
+
+        @Override
+        public VectorizedColumnBatch batch() {
+            return ((VectorizedRecordIterator) iterator).batch();
+        }
     }
 
     private class Element {
 
         private final boolean isEnd;
         private final RecordIterator<T> batch;
+        @Nullable private final Throwable exception;
 
-        private Element(boolean isEnd, RecordIterator<T> batch) {
+        private Element(boolean isEnd, RecordIterator<T> batch, @Nullable Throwable exception) {
             this.isEnd = isEnd;
             this.batch = batch;
+            this.exception = exception;
         }
     }
 }
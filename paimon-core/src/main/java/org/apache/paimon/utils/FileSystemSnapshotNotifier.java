@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
+
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cache;
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.annotation.Nullable;
+
+import static org.apache.paimon.utils.HintFileUtils.LATEST;
+
+/**
+ * A {@link SnapshotNotifier} reading the LATEST hint of the snapshot directory. The hint is read at
+ * most once per refresh interval and shared by all notifiers of the same directory in this process,
+ * and commits in this process advance it immediately by {@link #notifyCommitted}.
+ */
+public class FileSystemSnapshotNotifier implements SnapshotNotifier {
+
+    private static final Cache<Path, LatestSnapshot> LATEST_SNAPSHOTS =
+            Caffeine.newBuilder().weakValues().build();
+
+    private final FileIO fileIO;
+    private final Path snapshotDirectory;
+    private final long refreshIntervalMillis;
+
+    // strong reference, keeps the shared state alive while this notifier is in use
+    private final LatestSnapshot latestSnapshot;
+
+    public FileSystemSnapshotNotifier(
+            FileIO fileIO, Path snapshotDirectory, long refreshIntervalMillis) {
+        this.fileIO = fileIO;
+        this.snapshotDirectory = snapshotDirectory;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.latestSnapshot = LATEST_SNAPSHOTS.get(snapshotDirectory, k -> new LatestSnapshot());
+    }
+
+    @Nullable
+    @Override
+    public Long latestSnapshotId() {
+        return latestSnapshot.get(this);
+    }
+
+    /** Notifies the notifiers of the snapshot directory in this process about a new snapshot. */
+    public static void notifyCommitted(Path snapshotDirectory, long snapshotId) {
+        LatestSnapshot latestSnapshot = LATEST_SNAPSHOTS.getIfPresent(snapshotDirectory);
+        if (latestSnapshot != null) {
+            latestSnapshot.advance(snapshotId);
+        }
+    }
+
+    private static class LatestSnapshot {
+
+        @Nullable private volatile Long id;
+        private volatile long refreshMillis = -1;
+
+        @Nullable
+        private Long get(FileSystemSnapshotNotifier notifier) {
+            if (shouldRefresh(System.currentTimeMillis(), notifier.refreshIntervalMillis)) {
+                synchronized (this) {
+                    long now = System.currentTimeMillis();
+                    if (shouldRefresh(now, notifier.refreshIntervalMillis)) {
+                        // the hint is the truth, it may go backwards after a rollback
+                        id =
+                                HintFileUtils.readHint(
+                                        notifier.fileIO, LATEST, notifier.snapshotDirectory);
+                        refreshMillis = now;
+                    }
+                }
+            }
+            return id;
+        }
+
+        private boolean shouldRefresh(long now, long refreshIntervalMillis) {
+            return refreshMillis < 0 || now - refreshMillis >= refreshIntervalMillis;
+        }
+
+        private synchronized void advance(long snapshotId) {
+            if (id != null && snapshotId > id) {
+                id = snapshotId;
+            }
+        }
+    }
+}
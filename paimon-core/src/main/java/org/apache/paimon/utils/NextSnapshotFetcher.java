@@ -36,22 +36,40 @@ public class NextSnapshotFetcher {
     private final SnapshotManager snapshotManager;
     private final ChangelogManager changelogManager;
     private final boolean changelogDecoupled;
+    @Nullable private final SnapshotNotifier snapshotNotifier;
 
     private int rangeCheckCnt = 0;
+    private int notifiedMissCnt = 0;
+    // the notified id which was found stale, the notifier is not trusted until it changes
+    @Nullable private Long staleNotifiedId;
 
     public NextSnapshotFetcher(
             SnapshotManager snapshotManager,
             ChangelogManager changelogManager,
             boolean changelogDecoupled) {
+        this(snapshotManager, changelogManager, changelogDecoupled, null);
+    }
+
+    public NextSnapshotFetcher(
+            SnapshotManager snapshotManager,
+            ChangelogManager changelogManager,
+            boolean changelogDecoupled,
+            @Nullable SnapshotNotifier snapshotNotifier) {
         this.snapshotManager = snapshotManager;
         this.changelogManager = changelogManager;
         this.changelogDecoupled = changelogDecoupled;
+        this.snapshotNotifier = snapshotNotifier;
     }
 
     @Nullable
     public Snapshot getNextSnapshot(long nextSnapshotId) {
+        if (notCommittedYet(nextSnapshotId)) {
+            return null;
+        }
+
         if (snapshotManager.snapshotExists(nextSnapshotId)) {
             rangeCheckCnt = 0;
+            markStaleNotifier(nextSnapshotId);
             return snapshotManager.snapshot(nextSnapshotId);
         }
 
@@ -67,6 +85,38 @@ public class NextSnapshotFetcher {
         return null;
     }
 
+    private boolean notCommittedYet(long nextSnapshotId) {
+        if (snapshotNotifier == null) {
+            return false;
+        }
+
+        Long latestSnapshotId = snapshotNotifier.latestSnapshotId();
+        if (latestSnapshotId == null
+                || nextSnapshotId <= latestSnapshotId
+                || latestSnapshotId.equals(staleNotifiedId)) {
+            notifiedMissCnt = 0;
+            return false;
+        }
+        staleNotifiedId = null;
+
+        // the notifier may fall behind, still check the file system once in a while
+        notifiedMissCnt++;
+        return notifiedMissCnt % RANGE_CHECK_INTERVAL != 0;
+    }
+
+    private void markStaleNotifier(long nextSnapshotId) {
+        if (snapshotNotifier == null) {
+            return;
+        }
+
+        // the snapshot exists although the notifier does not know it, for example the notifier
+        // is not advanced by this kind of commit, so probe the file system until it moves on
+        Long latestSnapshotId = snapshotNotifier.latestSnapshotId();
+        if (latestSnapshotId != null && nextSnapshotId > latestSnapshotId) {
+            staleNotifiedId = latestSnapshotId;
+        }
+    }
+
     private void rangeCheck(long nextSnapshotId) {
         Long earliestSnapshotId = snapshotManager.earliestSnapshotId();
         Long latestSnapshotId = snapshotManager.latestSnapshotIdFromFileSystem();
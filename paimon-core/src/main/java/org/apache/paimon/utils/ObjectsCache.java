@@ -43,11 +43,11 @@ import static org.apache.paimon.utils.ObjectsFile.readFromIterator;
 @ThreadSafe
 public class ObjectsCache<K, V> {
 
-    private final SegmentsCache<K> cache;
-    private final ObjectSerializer<V> projectedSerializer;
-    private final ThreadLocal<InternalRowSerializer> formatSerializer;
-    private final FunctionWithIOException<K, Long> fileSizeFunction;
-    private final BiFunctionWithIOE<K, Long, CloseableIterator<InternalRow>> reader;
+    protected final SegmentsCache<K> cache;
+    protected final ObjectSerializer<V> projectedSerializer;
+    protected final ThreadLocal<InternalRowSerializer> formatSerializer;
+    protected final FunctionWithIOException<K, Long> fileSizeFunction;
+    protected final BiFunctionWithIOE<K, Long, CloseableIterator<InternalRow>> reader;
 
     @Nullable private CacheMetrics cacheMetrics;
 
@@ -96,7 +96,7 @@ public class ObjectsCache<K, V> {
         }
     }
 
-    private List<V> readFromSegments(
+    protected List<V> readFromSegments(
             Segments segments, Filter<InternalRow> readFilter, Filter<V> readVFilter)
             throws IOException {
         InternalRowSerializer formatSerializer = this.formatSerializer.get();
@@ -120,7 +120,7 @@ public class ObjectsCache<K, V> {
         }
     }
 
-    private Segments readSegments(K key, @Nullable Long fileSize) {
+    protected Segments readSegments(K key, @Nullable Long fileSize) {
         InternalRowSerializer formatSerializer = this.formatSerializer.get();
         try (CloseableIterator<InternalRow> iterator = reader.apply(key, fileSize)) {
             ArrayList<MemorySegment> segments = new ArrayList<>();
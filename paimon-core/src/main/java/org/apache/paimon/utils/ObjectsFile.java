@@ -70,12 +70,16 @@ public class ObjectsFile<T> implements SimpleFileReader<T> {
         this.cache =
                 cache == null
                         ? null
-                        : new ObjectsCache<>(
-                                cache,
-                                serializer,
-                                formatType,
-                                this::fileSize,
-                                this::createIterator);
+                        : createCache(cache, formatType, this::fileSize, this::createIterator);
+    }
+
+    /** Creates the {@link ObjectsCache} of this file, subclasses may use a specialized cache. */
+    protected ObjectsCache<Path, T> createCache(
+            SegmentsCache<Path> cache,
+            RowType formatType,
+            FunctionWithIOException<Path, Long> fileSizeFunction,
+            BiFunctionWithIOE<Path, Long, CloseableIterator<InternalRow>> reader) {
+        return new ObjectsCache<>(cache, serializer, formatType, fileSizeFunction, reader);
     }
 
     public ObjectsFile<T> withCacheMetrics(@Nullable CacheMetrics cacheMetrics) {
@@ -73,7 +73,8 @@ public class SegmentsCache<T> {
     }
 
     private int weigh(T cacheKey, Segments segments) {
-        return OBJECT_MEMORY_SIZE + segments.segments().size() * pageSize;
+        long weight = OBJECT_MEMORY_SIZE + segments.weight(pageSize);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
     }
 
     @Nullable
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.apache.paimon.utils.ThreadPoolUtils.createCachedThreadPool;
+
+/**
+ * Cached thread pools shared by name. Like {@link ManifestReadThreadPool}, a pool is replaced by a
+ * larger one when more threads are requested, and callers requesting fewer threads get an executor
+ * limiting their concurrency.
+ */
+public class SharedThreadPools {
+
+    private static final Map<String, ThreadPoolExecutor> POOLS = new HashMap<>();
+
+    /** Returns the pool of the name, which has at least {@code threadNum} threads. */
+    public static synchronized ThreadPoolExecutor getThreadPool(String name, int threadNum) {
+        ThreadPoolExecutor pool = POOLS.get(name);
+        if (pool == null || threadNum > pool.getMaximumPoolSize()) {
+            // we don't need to close previous pool
+            // it is just cached pool
+            pool = createCachedThreadPool(threadNum, name);
+            POOLS.put(name, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns an executor of the pool of the name, which executes at most {@code threadNum} tasks
+     * concurrently.
+     */
+    public static ExecutorService getExecutorService(String name, int threadNum) {
+        ThreadPoolExecutor pool = getThreadPool(name, threadNum);
+        if (threadNum == pool.getMaximumPoolSize()) {
+            return pool;
+        }
+        return new SemaphoredDelegatingExecutor(pool, threadNum, false);
+    }
+}
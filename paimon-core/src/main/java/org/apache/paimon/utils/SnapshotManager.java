@@ -38,9 +38,11 @@ import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -72,6 +74,7 @@ public class SnapshotManager implements Serializable {
     private final String branch;
     @Nullable private final SnapshotLoader snapshotLoader;
     @Nullable private final Cache<Path, Snapshot> cache;
+    private final boolean snapshotTimelineEnabled;
 
     public SnapshotManager(
             FileIO fileIO,
@@ -79,11 +82,22 @@ public class SnapshotManager implements Serializable {
             @Nullable String branchName,
             @Nullable SnapshotLoader snapshotLoader,
             @Nullable Cache<Path, Snapshot> cache) {
+        this(fileIO, tablePath, branchName, snapshotLoader, cache, false);
+    }
+
+    public SnapshotManager(
+            FileIO fileIO,
+            Path tablePath,
+            @Nullable String branchName,
+            @Nullable SnapshotLoader snapshotLoader,
+            @Nullable Cache<Path, Snapshot> cache,
+            boolean snapshotTimelineEnabled) {
         this.fileIO = fileIO;
         this.tablePath = tablePath;
         this.branch = BranchManager.normalizeBranch(branchName);
         this.snapshotLoader = snapshotLoader;
         this.cache = cache;
+        this.snapshotTimelineEnabled = snapshotTimelineEnabled;
     }
 
     public SnapshotManager copyWithBranch(String branchName) {
@@ -91,7 +105,8 @@ public class SnapshotManager implements Serializable {
         if (snapshotLoader != null) {
             newSnapshotLoader = snapshotLoader.copyWithBranch(branchName);
         }
-        return new SnapshotManager(fileIO, tablePath, branchName, newSnapshotLoader, cache);
+        return new SnapshotManager(
+                fileIO, tablePath, branchName, newSnapshotLoader, cache, snapshotTimelineEnabled);
     }
 
     public FileIO fileIO() {
@@ -285,33 +300,39 @@ public class SnapshotManager implements Serializable {
      * mills. If there is no such a snapshot, returns null.
      */
     public @Nullable Snapshot earlierOrEqualTimeMills(long timestampMills) {
-        Long latest = latestSnapshotId();
-        if (latest == null) {
+        Long latestId = latestSnapshotId();
+        if (latestId == null) {
             return null;
         }
 
-        Snapshot earliestSnapShot = earliestSnapshot(latest);
+        Snapshot earliestSnapShot = earliestSnapshot(latestId);
         if (earliestSnapShot == null || earliestSnapShot.timeMillis() > timestampMills) {
             return null;
         }
-        long earliest = earliestSnapShot.id();
-
-        Snapshot finalSnapshot = null;
-        while (earliest <= latest) {
-            long mid = earliest + (latest - earliest) / 2; // Avoid overflow
-            Snapshot snapshot = snapshot(mid);
-            long commitTime = snapshot.timeMillis();
-            if (commitTime > timestampMills) {
-                latest = mid - 1; // Search in the left half
-            } else if (commitTime < timestampMills) {
-                earliest = mid + 1; // Search in the right half
-                finalSnapshot = snapshot;
-            } else {
-                finalSnapshot = snapshot; // Found the exact match
-                break;
-            }
-        }
-        return finalSnapshot;
+        long earliestId = earliestSnapShot.id();
+
+        return searchSnapshot(
+                earliestId,
+                latestId,
+                times -> {
+                    long earliest = earliestId;
+                    long latest = latestId;
+                    Long finalSnapshot = null;
+                    while (earliest <= latest) {
+                        long mid = earliest + (latest - earliest) / 2; // Avoid overflow
+                        long commitTime = times.timeMillis(mid);
+                        if (commitTime > timestampMills) {
+                            latest = mid - 1; // Search in the left half
+                        } else if (commitTime < timestampMills) {
+                            earliest = mid + 1; // Search in the right half
+                            finalSnapshot = mid;
+                        } else {
+                            finalSnapshot = mid; // Found the exact match
+                            break;
+                        }
+                    }
+                    return finalSnapshot;
+                });
     }
 
     /**
@@ -319,162 +340,284 @@ public class SnapshotManager implements Serializable {
      * If there is no such a snapshot, returns null.
      */
     public @Nullable Snapshot laterOrEqualTimeMills(long timestampMills) {
-        Long earliest = earliestSnapshotId();
-        Long latest = latestSnapshotId();
-        if (earliest == null || latest == null) {
+        Long earliestId = earliestSnapshotId();
+        Long latestId = latestSnapshotId();
+        if (earliestId == null || latestId == null) {
             return null;
         }
 
-        Snapshot latestSnapShot = snapshot(latest);
+        Snapshot latestSnapShot = snapshot(latestId);
         if (latestSnapShot.timeMillis() < timestampMills) {
             return null;
         }
-        Snapshot finalSnapshot = null;
-        while (earliest <= latest) {
-            long mid = earliest + (latest - earliest) / 2; // Avoid overflow
-            Snapshot snapshot = snapshot(mid);
-            long commitTime = snapshot.timeMillis();
-            if (commitTime > timestampMills) {
-                latest = mid - 1; // Search in the left half
-                finalSnapshot = snapshot;
-            } else if (commitTime < timestampMills) {
-                earliest = mid + 1; // Search in the right half
-            } else {
-                finalSnapshot = snapshot; // Found the exact match
-                break;
-            }
-        }
-        return finalSnapshot;
+
+        return searchSnapshot(
+                earliestId,
+                latestId,
+                times -> {
+                    long earliest = earliestId;
+                    long latest = latestId;
+                    Long finalSnapshot = null;
+                    while (earliest <= latest) {
+                        long mid = earliest + (latest - earliest) / 2; // Avoid overflow
+                        long commitTime = times.timeMillis(mid);
+                        if (commitTime > timestampMills) {
+                            latest = mid - 1; // Search in the left half
+                            finalSnapshot = mid;
+                        } else if (commitTime < timestampMills) {
+                            earliest = mid + 1; // Search in the right half
+                        } else {
+                            finalSnapshot = mid; // Found the exact match
+                            break;
+                        }
+                    }
+                    return finalSnapshot;
+                });
     }
 
     public @Nullable Snapshot earlierOrEqualWatermark(long watermark) {
-        Long latest = latestSnapshotId();
+        Long latestId = latestSnapshotId();
         // If latest == Long.MIN_VALUE don't need next binary search for watermark
         // which can reduce IO cost with snapshot
-        if (latest == null || snapshot(latest).watermark() == Long.MIN_VALUE) {
+        if (latestId == null || snapshot(latestId).watermark() == Long.MIN_VALUE) {
             return null;
         }
 
-        Snapshot earliestSnapShot = earliestSnapshot(latest);
+        Snapshot earliestSnapShot = earliestSnapshot(latestId);
         if (earliestSnapShot == null) {
             return null;
         }
-        long earliest = earliestSnapShot.id();
-
-        Long earliestWatermark = null;
-        // find the first snapshot with watermark
-        if ((earliestWatermark = earliestSnapShot.watermark()) == null) {
-            while (earliest < latest) {
-                earliest++;
-                earliestWatermark = snapshot(earliest).watermark();
-                if (earliestWatermark != null) {
-                    break;
-                }
-            }
-        }
-        if (earliestWatermark == null) {
-            return null;
-        }
-
-        if (earliestWatermark >= watermark) {
-            return snapshot(earliest);
-        }
-        Snapshot finalSnapshot = null;
+        long earliestId = earliestSnapShot.id();
+
+        return searchSnapshot(
+                earliestId,
+                latestId,
+                times -> {
+                    long earliest = earliestId;
+                    long latest = latestId;
+                    Long earliestWatermark = null;
+                    // find the first snapshot with watermark
+                    if ((earliestWatermark = times.watermark(earliest)) == null) {
+                        while (earliest < latest) {
+                            earliest++;
+                            earliestWatermark = times.watermark(earliest);
+                            if (earliestWatermark != null) {
+                                break;
+                            }
+                        }
+                    }
+                    if (earliestWatermark == null) {
+                        return null;
+                    }
 
-        while (earliest <= latest) {
-            long mid = earliest + (latest - earliest) / 2; // Avoid overflow
-            Snapshot snapshot = snapshot(mid);
-            Long commitWatermark = snapshot.watermark();
-            if (commitWatermark == null) {
-                // find the first snapshot with watermark
-                while (mid >= earliest) {
-                    mid--;
-                    commitWatermark = snapshot(mid).watermark();
-                    if (commitWatermark != null) {
-                        break;
+                    if (earliestWatermark >= watermark) {
+                        return earliest;
                     }
-                }
-            }
-            if (commitWatermark == null) {
-                earliest = mid + 1;
-            } else {
-                if (commitWatermark > watermark) {
-                    latest = mid - 1; // Search in the left half
-                } else if (commitWatermark < watermark) {
-                    earliest = mid + 1; // Search in the right half
-                    finalSnapshot = snapshot;
-                } else {
-                    finalSnapshot = snapshot; // Found the exact match
-                    break;
-                }
-            }
-        }
-        return finalSnapshot;
+                    Long finalSnapshot = null;
+
+                    while (earliest <= latest) {
+                        long mid = earliest + (latest - earliest) / 2; // Avoid overflow
+                        long snapshot = mid;
+                        Long commitWatermark = times.watermark(mid);
+                        if (commitWatermark == null) {
+                            // find the first snapshot with watermark
+                            while (mid >= earliest) {
+                                mid--;
+                                commitWatermark = times.watermark(mid);
+                                if (commitWatermark != null) {
+                                    break;
+                                }
+                            }
+                        }
+                        if (commitWatermark == null) {
+                            earliest = mid + 1;
+                        } else {
+                            if (commitWatermark > watermark) {
+                                latest = mid - 1; // Search in the left half
+                            } else if (commitWatermark < watermark) {
+                                earliest = mid + 1; // Search in the right half
+                                finalSnapshot = snapshot;
+                            } else {
+                                finalSnapshot = snapshot; // Found the exact match
+                                break;
+                            }
+                        }
+                    }
+                    return finalSnapshot;
+                });
     }
 
     public @Nullable Snapshot laterOrEqualWatermark(long watermark) {
-        Long latest = latestSnapshotId();
+        Long latestId = latestSnapshotId();
         // If latest == Long.MIN_VALUE don't need next binary search for watermark
         // which can reduce IO cost with snapshot
-        if (latest == null || snapshot(latest).watermark() == Long.MIN_VALUE) {
+        if (latestId == null || snapshot(latestId).watermark() == Long.MIN_VALUE) {
             return null;
         }
 
-        Snapshot earliestSnapShot = earliestSnapshot(latest);
+        Snapshot earliestSnapShot = earliestSnapshot(latestId);
         if (earliestSnapShot == null) {
             return null;
         }
-        long earliest = earliestSnapShot.id();
+        long earliestId = earliestSnapShot.id();
+
+        return searchSnapshot(
+                earliestId,
+                latestId,
+                times -> {
+                    long earliest = earliestId;
+                    long latest = latestId;
+                    Long earliestWatermark = null;
+                    // find the first snapshot with watermark
+                    if ((earliestWatermark = times.watermark(earliest)) == null) {
+                        while (earliest < latest) {
+                            earliest++;
+                            earliestWatermark = times.watermark(earliest);
+                            if (earliestWatermark != null) {
+                                break;
+                            }
+                        }
+                    }
+                    if (earliestWatermark == null) {
+                        return null;
+                    }
 
-        Long earliestWatermark = null;
-        // find the first snapshot with watermark
-        if ((earliestWatermark = earliestSnapShot.watermark()) == null) {
-            while (earliest < latest) {
-                earliest++;
-                earliestWatermark = snapshot(earliest).watermark();
-                if (earliestWatermark != null) {
-                    break;
-                }
+                    if (earliestWatermark >= watermark) {
+                        return earliest;
+                    }
+                    Long finalSnapshot = null;
+
+                    while (earliest <= latest) {
+                        long mid = earliest + (latest - earliest) / 2; // Avoid overflow
+                        long snapshot = mid;
+                        Long commitWatermark = times.watermark(mid);
+                        if (commitWatermark == null) {
+                            // find the first snapshot with watermark
+                            while (mid >= earliest) {
+                                mid--;
+                                commitWatermark = times.watermark(mid);
+                                if (commitWatermark != null) {
+                                    break;
+                                }
+                            }
+                        }
+                        if (commitWatermark == null) {
+                            earliest = mid + 1;
+                        } else {
+                            if (commitWatermark > watermark) {
+                                latest = mid - 1; // Search in the left half
+                                finalSnapshot = snapshot;
+                            } else if (commitWatermark < watermark) {
+                                earliest = mid + 1; // Search in the right half
+                            } else {
+                                finalSnapshot = snapshot; // Found the exact match
+                                break;
+                            }
+                        }
+                    }
+                    return finalSnapshot;
+                });
+    }
+
+    /**
+     * Runs a search over the snapshots in [earliest, latest]. The search reads the {@link
+     * SnapshotTimeline} for the snapshots it covers, and the snapshot files for the others.
+     */
+    private @Nullable Snapshot searchSnapshot(
+            long earliest, long latest, Function<SnapshotTimes, Long> search) {
+        SnapshotTimeline timeline = readTimeline(latest);
+        if (timeline != null) {
+            Long snapshotId =
+                    search.apply(
+                            new SnapshotTimes() {
+                                @Override
+                                public long timeMillis(long snapshotId) {
+                                    SnapshotTimeline.Entry entry = timeline.entry(snapshotId);
+                                    return entry == null
+                                            ? snapshot(snapshotId).timeMillis()
+                                            : entry.timeMillis();
+                                }
+
+                                @Nullable
+                                @Override
+                                public Long watermark(long snapshotId) {
+                                    SnapshotTimeline.Entry entry = timeline.entry(snapshotId);
+                                    return entry == null
+                                            ? snapshot(snapshotId).watermark()
+                                            : entry.watermark();
+                                }
+                            });
+            if (snapshotId == null) {
+                return null;
             }
-        }
-        if (earliestWatermark == null) {
+
+            Snapshot snapshot = snapshot(snapshotId);
+            SnapshotTimeline.Entry entry = timeline.entry(snapshotId);
+            if (entry == null || entry.matches(snapshot)) {
+                return snapshot;
+            }
+            LOG.warn(
+                    "Snapshot timeline does not match snapshot {}, search snapshot files instead.",
+                    snapshotId);
+        }
+
+        Map<Long, Snapshot> snapshots = new HashMap<>();
+        Long snapshotId =
+                search.apply(
+                        new SnapshotTimes() {
+                            @Override
+                            public long timeMillis(long snapshotId) {
+                                return snapshots
+                                        .computeIfAbsent(snapshotId, SnapshotManager.this::snapshot)
+                                        .timeMillis();
+                            }
+
+                            @Nullable
+                            @Override
+                            public Long watermark(long snapshotId) {
+                                return snapshots
+                                        .computeIfAbsent(snapshotId, SnapshotManager.this::snapshot)
+                                        .watermark();
+                            }
+                        });
+        return snapshotId == null
+                ? null
+                : snapshots.computeIfAbsent(snapshotId, SnapshotManager.this::snapshot);
+    }
+
+    /**
+     * Reads the {@link SnapshotTimeline} if it is enabled and up to date with the latest snapshot.
+     * The timeline may only cover a suffix of the live snapshots.
+     */
+    @Nullable
+    private SnapshotTimeline readTimeline(long latestId) {
+        if (!snapshotTimelineEnabled) {
             return null;
         }
 
-        if (earliestWatermark >= watermark) {
-            return snapshot(earliest);
+        SnapshotTimeline timeline = SnapshotTimeline.read(fileIO, snapshotDirectory());
+        if (timeline == null) {
+            return null;
         }
-        Snapshot finalSnapshot = null;
 
-        while (earliest <= latest) {
-            long mid = earliest + (latest - earliest) / 2; // Avoid overflow
-            Snapshot snapshot = snapshot(mid);
-            Long commitWatermark = snapshot.watermark();
-            if (commitWatermark == null) {
-                // find the first snapshot with watermark
-                while (mid >= earliest) {
-                    mid--;
-                    commitWatermark = snapshot(mid).watermark();
-                    if (commitWatermark != null) {
-                        break;
-                    }
-                }
-            }
-            if (commitWatermark == null) {
-                earliest = mid + 1;
-            } else {
-                if (commitWatermark > watermark) {
-                    latest = mid - 1; // Search in the left half
-                    finalSnapshot = snapshot;
-                } else if (commitWatermark < watermark) {
-                    earliest = mid + 1; // Search in the right half
-                } else {
-                    finalSnapshot = snapshot; // Found the exact match
-                    break;
-                }
+        // the timeline is stale if a snapshot is committed without updating it
+        SnapshotTimeline.Entry entry = timeline.entry(latestId);
+        try {
+            if (entry != null && entry.matches(tryGetSnapshot(latestId))) {
+                return timeline;
             }
+        } catch (FileNotFoundException ignored) {
         }
-        return finalSnapshot;
+        return null;
+    }
+
+    /** Commit times and watermarks of snapshots, used by the searches over snapshots. */
+    private interface SnapshotTimes {
+
+        long timeMillis(long snapshotId);
+
+        @Nullable
+        Long watermark(long snapshotId);
     }
 
     public long snapshotCount() throws IOException {
@@ -601,7 +744,35 @@ public class SnapshotManager implements Serializable {
                         earliestSnapshotId(),
                         "Latest snapshot id is not null, but earliest snapshot id is null. "
                                 + "This is unexpected.");
-        for (long id = latestId; id >= earliestId; id--) {
+
+        // only the snapshots with the same user hash in the timeline need to be read, the
+        // snapshots before the timeline are read from snapshot files
+        long scanFrom = latestId;
+        SnapshotTimeline timeline = readTimeline(latestId);
+        if (timeline != null) {
+            long coveredFrom = Math.max(earliestId, timeline.entries().get(0).snapshotId());
+            try {
+                for (long id : timeline.candidatesOfUser(user, coveredFrom, latestId)) {
+                    Snapshot snapshot = snapshot(id);
+                    if (!Preconditions.checkNotNull(timeline.entry(id)).matches(snapshot)) {
+                        throw new IllegalStateException(
+                                "Snapshot timeline does not match snapshot " + id);
+                    }
+                    if (user.equals(snapshot.commitUser())) {
+                        return Optional.of(snapshot);
+                    }
+                }
+                scanFrom = coveredFrom - 1;
+            } catch (Exception e) {
+                LOG.warn(
+                        "Failed to find the latest snapshot of user {} from snapshot timeline, "
+                                + "read snapshot files instead.",
+                        user,
+                        e);
+            }
+        }
+
+        for (long id = scanFrom; id >= earliestId; id--) {
             Snapshot snapshot;
             try {
                 snapshot = snapshot(id);
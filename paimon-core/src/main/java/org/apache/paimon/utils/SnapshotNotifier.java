@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.CoreOptions;
+
+import javax.annotation.Nullable;
+
+/**
+ * Notifier of the snapshots committed to a table. Streaming scans use it to skip probing the
+ * snapshot directory while the next snapshot is not committed yet.
+ *
+ * <p>The notifier is only asked when a scan runs, it does not wake up a waiting scan. So a new
+ * snapshot is still discovered once per discovery interval.
+ */
+public interface SnapshotNotifier {
+
+    /**
+     * Returns the id of the latest committed snapshot known by this notifier, or null if unknown.
+     * The known id may fall behind the real latest snapshot for a while, but should not be ahead of
+     * it.
+     */
+    @Nullable
+    Long latestSnapshotId();
+
+    @Nullable
+    static SnapshotNotifier create(
+            CoreOptions options, SnapshotManager snapshotManager, boolean commitSnapshotByRename) {
+        switch (options.continuousSnapshotNotifier()) {
+            case NONE:
+                return null;
+            case FILESYSTEM:
+                if (!commitSnapshotByRename) {
+                    // the LATEST hint is only written by commits renaming snapshot files
+                    return null;
+                }
+                return new FileSystemSnapshotNotifier(
+                        snapshotManager.fileIO(),
+                        snapshotManager.snapshotDirectory(),
+                        options.continuousSnapshotNotifierRefreshInterval().toMillis());
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported snapshot notifier: " + options.continuousSnapshotNotifier());
+        }
+    }
+}
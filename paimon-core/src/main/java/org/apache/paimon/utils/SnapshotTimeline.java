@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.PositionOutputStream;
+import org.apache.paimon.fs.SeekableInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import static org.apache.paimon.utils.HintFileUtils.EARLIEST;
+
+/**
+ * A compact binary timeline of the snapshots of a table, stored in the TIMELINE file of the
+ * snapshot directory. Each entry keeps the snapshot id, commit time, watermark, hash of the commit
+ * user and commit identifier, so that time travel and watermark lookups can be answered by one
+ * small read instead of reading many snapshot files.
+ *
+ * <p>The timeline is updated after each commit in a best effort way. Entries of expired snapshots
+ * are dropped on update, and small gaps left by failed or concurrent updates are filled by the next
+ * update. A larger gap starts a new timeline, so the timeline may only cover a suffix of the live
+ * snapshots. Readers must check that the timeline matches the latest snapshot before using it.
+ */
+public class SnapshotTimeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotTimeline.class);
+
+    public static final String TIMELINE = "TIMELINE";
+
+    private static final int MAGIC = 0x50544c31;
+    private static final int VERSION = 1;
+
+    /** Maximum number of missing snapshots read from snapshot files on one update. */
+    private static final int MAX_FILL_SNAPSHOTS = 100;
+
+    // entries sorted by continuous snapshot ids
+    private final List<Entry> entries;
+
+    private SnapshotTimeline(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    /** Returns the entry of the snapshot id, or null if the id is not covered by this timeline. */
+    @Nullable
+    public Entry entry(long snapshotId) {
+        if (entries.isEmpty()
+                || snapshotId < entries.get(0).snapshotId
+                || snapshotId > entries.get(entries.size() - 1).snapshotId) {
+            return null;
+        }
+        return entries.get((int) (snapshotId - entries.get(0).snapshotId));
+    }
+
+    /**
+     * Returns the ids of snapshots in [minSnapshotId, maxSnapshotId] which may be committed by the
+     * user, in descending order.
+     */
+    public List<Long> candidatesOfUser(String user, long minSnapshotId, long maxSnapshotId) {
+        int hash = user.hashCode();
+        List<Long> candidates = new ArrayList<>();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            Entry entry = entries.get(i);
+            if (entry.snapshotId >= minSnapshotId
+                    && entry.snapshotId <= maxSnapshotId
+                    && entry.commitUserHash == hash) {
+                candidates.add(entry.snapshotId);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Reads the timeline from the snapshot directory, returns null if the timeline does not exist
+     * or is broken.
+     */
+    @Nullable
+    public static SnapshotTimeline read(FileIO fileIO, Path snapshotDirectory) {
+        byte[] bytes;
+        try (SeekableInputStream in = fileIO.newInputStream(timelinePath(snapshotDirectory))) {
+            bytes = IOUtils.readFully(in, false);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn("Failed to read snapshot timeline of {}.", snapshotDirectory, e);
+            return null;
+        }
+        return deserialize(bytes);
+    }
+
+    /**
+     * Adds the new committed snapshot to the timeline of its snapshot directory. Failures are only
+     * logged, because the timeline is only an index of the snapshots.
+     */
+    public static void update(SnapshotManager snapshotManager, Snapshot snapshot) {
+        FileIO fileIO = snapshotManager.fileIO();
+        Path snapshotDirectory = snapshotManager.snapshotDirectory();
+        try {
+            SnapshotTimeline timeline = read(fileIO, snapshotDirectory);
+            List<Entry> entries =
+                    timeline == null ? new ArrayList<>() : new ArrayList<>(timeline.entries);
+
+            // drop expired snapshots, and the snapshots which were rolled back
+            Long earliest = HintFileUtils.readHint(fileIO, EARLIEST, snapshotDirectory);
+            entries.removeIf(
+                    e ->
+                            e.snapshotId >= snapshot.id()
+                                    || (earliest != null && e.snapshotId < earliest));
+
+            // fill the gap between the timeline and the new snapshot
+            long fillFrom;
+            if (entries.isEmpty()) {
+                Long earliestId = snapshotManager.earliestSnapshotId();
+                fillFrom = earliestId == null ? snapshot.id() : earliestId;
+            } else {
+                fillFrom = entries.get(entries.size() - 1).snapshotId + 1;
+            }
+            if (snapshot.id() - fillFrom > MAX_FILL_SNAPSHOTS) {
+                // start a new timeline, readers use it for the snapshots it covers
+                entries.clear();
+                fillFrom = snapshot.id();
+            }
+            for (long id = fillFrom; id < snapshot.id(); id++) {
+                try {
+                    entries.add(Entry.of(snapshotManager.tryGetSnapshot(id)));
+                } catch (FileNotFoundException e) {
+                    // expired concurrently, start after it
+                    entries.clear();
+                }
+            }
+            entries.add(Entry.of(snapshot));
+
+            write(fileIO, snapshotDirectory, entries);
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to update snapshot timeline of {} with snapshot {}.",
+                    snapshotDirectory,
+                    snapshot.id(),
+                    e);
+        }
+    }
+
+    /**
+     * Drops the entries of the snapshots larger than the retained snapshot, used when rolling back.
+     * The timeline is deleted if it can not be rewritten, so that reused snapshot ids are not
+     * described by stale entries.
+     */
+    public static void truncate(FileIO fileIO, Path snapshotDirectory, long retainedSnapshotId) {
+        SnapshotTimeline timeline = read(fileIO, snapshotDirectory);
+        if (timeline == null) {
+            return;
+        }
+
+        List<Entry> entries = new ArrayList<>(timeline.entries);
+        entries.removeIf(e -> e.snapshotId > retainedSnapshotId);
+        try {
+            write(fileIO, snapshotDirectory, entries);
+        } catch (IOException e) {
+            LOG.warn(
+                    "Failed to truncate snapshot timeline of {}, delete it instead.",
+                    snapshotDirectory,
+                    e);
+            fileIO.deleteQuietly(timelinePath(snapshotDirectory));
+        }
+    }
+
+    private static void write(FileIO fileIO, Path snapshotDirectory, List<Entry> entries)
+            throws IOException {
+        try (PositionOutputStream out =
+                fileIO.newOutputStream(timelinePath(snapshotDirectory), true)) {
+            out.write(serialize(entries));
+        }
+    }
+
+    private static Path timelinePath(Path snapshotDirectory) {
+        return new Path(snapshotDirectory, TIMELINE);
+    }
+
+    private static byte[] serialize(List<Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            out.writeLong(entry.snapshotId);
+            out.writeLong(entry.timeMillis);
+            out.writeBoolean(entry.watermark != null);
+            out.writeLong(entry.watermark == null ? 0 : entry.watermark);
+            out.writeInt(entry.commitUserHash);
+            out.writeLong(entry.commitIdentifier);
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Nullable
+    private static SnapshotTimeline deserialize(byte[] bytes) {
+        // the file may be read while it is overwritten, the checksum detects partial content
+        if (bytes.length < 8) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 8);
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            in.skipBytes(bytes.length - 8);
+            if (in.readLong() != crc.getValue()) {
+                return null;
+            }
+
+            in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int size = in.readInt();
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long snapshotId = in.readLong();
+                long timeMillis = in.readLong();
+                boolean hasWatermark = in.readBoolean();
+                long watermark = in.readLong();
+                int commitUserHash = in.readInt();
+                long commitIdentifier = in.readLong();
+                if (!entries.isEmpty()
+                        && entries.get(entries.size() - 1).snapshotId + 1 != snapshotId) {
+                    return null;
+                }
+                entries.add(
+                        new Entry(
+                                snapshotId,
+                                timeMillis,
+                                hasWatermark ? watermark : null,
+                                commitUserHash,
+                                commitIdentifier));
+            }
+            return new SnapshotTimeline(entries);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** An entry of {@link SnapshotTimeline}. */
+    public static class Entry {
+
+        private final long snapshotId;
+        private final long timeMillis;
+        @Nullable private final Long watermark;
+        private final int commitUserHash;
+        private final long commitIdentifier;
+
+        private Entry(
+                long snapshotId,
+                long timeMillis,
+                @Nullable Long watermark,
+                int commitUserHash,
+                long commitIdentifier) {
+            this.snapshotId = snapshotId;
+            this.timeMillis = timeMillis;
+            this.watermark = watermark;
+            this.commitUserHash = commitUserHash;
+            this.commitIdentifier = commitIdentifier;
+        }
+
+        public static Entry of(Snapshot snapshot) {
+            return new Entry(
+                    snapshot.id(),
+                    snapshot.timeMillis(),
+                    snapshot.watermark(),
+                    Objects.hashCode(snapshot.commitUser()),
+                    snapshot.commitIdentifier());
+        }
+
+        public long snapshotId() {
+            return snapshotId;
+        }
+
+        public long timeMillis() {
+            return timeMillis;
+        }
+
+        @Nullable
+        public Long watermark() {
+            return watermark;
+        }
+
+        public long commitIdentifier() {
+            return commitIdentifier;
+        }
+
+        /** Whether this entry describes the snapshot. */
+        public boolean matches(Snapshot snapshot) {
+            return snapshotId == snapshot.id()
+                    && timeMillis == snapshot.timeMillis()
+                    && Objects.equals(watermark, snapshot.watermark())
+                    && commitUserHash == Objects.hashCode(snapshot.commitUser())
+                    && commitIdentifier == snapshot.commitIdentifier();
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.deletionvectors;
 
+import org.apache.paimon.utils.RoaringBitmap32;
+
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
@@ -138,4 +140,20 @@ public class DeletionVectorTest {
             assertThat(bitmap64DeletionVector.isDeleted(i)).isFalse();
         }
     }
+
+    @Test
+    public void testRemainingRows() {
+        BitmapDeletionVector deletionVector = new BitmapDeletionVector();
+        assertThat(DeletionVector.remainingRows(deletionVector, 10)).isNull();
+        assertThat(DeletionVector.remainingRows(null, 10)).isNull();
+
+        deletionVector.delete(0);
+        deletionVector.delete(5);
+        assertThat(DeletionVector.remainingRows(deletionVector, 10))
+                .isEqualTo(RoaringBitmap32.bitmapOf(1, 2, 3, 4, 6, 7, 8, 9));
+
+        Bitmap64DeletionVector deletionVector64 = new Bitmap64DeletionVector();
+        deletionVector64.delete(0);
+        assertThat(DeletionVector.remainingRows(deletionVector64, 10)).isNull();
+    }
 }
@@ -71,4 +71,28 @@ public class IOManagerTest {
             }
         }
     }
+
+    @Test
+    public void interleavedChannelEnumerators() throws Exception {
+        File tempPath = tempDir.toFile();
+        String[] tempDirs =
+                new String[] {
+                    new File(tempPath, "a").getAbsolutePath(),
+                    new File(tempPath, "b").getAbsolutePath(),
+                };
+
+        try (IOManager ioMan = IOManager.create(tempDirs)) {
+            FileIOChannel.Enumerator enumerator1 = ioMan.createChannelEnumerator();
+            FileIOChannel.Enumerator enumerator2 = ioMan.createChannelEnumerator();
+
+            // channels of both enumerators are created alternately, each enumerator still
+            // stripes its own channels over all the directories
+            for (int i = 0; i < 3; i++) {
+                File dir1 = enumerator1.next().getPathFile().getParentFile();
+                File dir2 = enumerator2.next().getPathFile().getParentFile();
+                assertThat(enumerator1.next().getPathFile().getParentFile()).isNotEqualTo(dir1);
+                assertThat(enumerator2.next().getPathFile().getParentFile()).isNotEqualTo(dir2);
+            }
+        }
+    }
 }
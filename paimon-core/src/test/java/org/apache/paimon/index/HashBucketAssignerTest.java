@@ -20,9 +20,12 @@ package org.apache.paimon.index;
 
 import org.apache.paimon.catalog.PrimaryKeyTableTestBase;
 import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.disk.IOManager;
 import org.apache.paimon.io.CompactIncrement;
 import org.apache.paimon.io.DataIncrement;
 import org.apache.paimon.io.IndexIncrement;
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemoryPoolFactory;
 import org.apache.paimon.table.sink.CommitMessage;
 import org.apache.paimon.table.sink.CommitMessageImpl;
 import org.apache.paimon.table.sink.StreamTableCommit;
@@ -337,4 +340,98 @@ public class HashBucketAssignerTest extends PrimaryKeyTableTestBase {
         assigner.prepareCommit(3);
         assertThat(assigner.currentPartitions()).isEmpty();
     }
+
+    @Test
+    public void testSpillIndex() throws Exception {
+        MemoryPoolFactory memoryPoolFactory =
+                new MemoryPoolFactory(new HeapMemorySegmentPool(2 * 1024, 1024));
+        try (IOManager ioManager = IOManager.create(tempPath.toString())) {
+            HashBucketAssigner assigner =
+                    new HashBucketAssigner(
+                            table.snapshotManager(),
+                            commitUser,
+                            fileHandler,
+                            1,
+                            1,
+                            0,
+                            5,
+                            -1,
+                            memoryPoolFactory,
+                            ioManager);
+
+            int[] buckets = new int[20];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = assigner.assign(row(1), i);
+            }
+            assertThat(buckets).containsOnly(0, 1, 2, 3);
+            assertThat(assigner.assign(row(2), 0)).isEqualTo(0);
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(0);
+
+            // no memory left, another partition is spilled
+            assertThat(assigner.assign(row(3), 0)).isEqualTo(0);
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(1);
+
+            // restore spilled partition
+            for (int i = 0; i < buckets.length; i++) {
+                assertThat(assigner.assign(row(1), i)).isEqualTo(buckets[i]);
+            }
+            assertThat(assigner.assign(row(2), 0)).isEqualTo(0);
+            assertThat(assigner.assign(row(2), 1)).isEqualTo(0);
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(1);
+
+            // cold partitions are removed once their modifications are committed
+            assigner.prepareCommit(0);
+            commit.commit(
+                    0,
+                    Collections.singletonList(
+                            createCommitMessage(
+                                    row(1), 0, 1, fileHandler.writeHashIndex(new int[] {0}))));
+            assertThat(assigner.assign(row(1), 0)).isEqualTo(buckets[0]);
+            assigner.prepareCommit(1);
+            assertThat(assigner.currentPartitions()).containsExactlyInAnyOrder(row(1));
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(0);
+
+            // cold partitions with uncommitted modifications are spilled
+            assertThat(assigner.assign(row(2), 0)).isEqualTo(0);
+            assigner.prepareCommit(2);
+            assertThat(assigner.currentPartitions()).containsExactlyInAnyOrder(row(1), row(2));
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(1);
+            assertThat(assigner.assign(row(1), 0)).isEqualTo(buckets[0]);
+            assertThat(assigner.numSpilledPartitions()).isEqualTo(0);
+
+            assigner.close();
+            assertThat(assigner.currentPartitions()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testIndexFallbackToHeap() throws Exception {
+        MemoryPoolFactory memoryPoolFactory =
+                new MemoryPoolFactory(new HeapMemorySegmentPool(2 * 1024, 1024));
+        try (IOManager ioManager = IOManager.create(tempPath.toString())) {
+            HashBucketAssigner assigner =
+                    new HashBucketAssigner(
+                            table.snapshotManager(),
+                            commitUser,
+                            fileHandler,
+                            1,
+                            1,
+                            0,
+                            1000,
+                            -1,
+                            memoryPoolFactory,
+                            ioManager);
+
+            // the index of one partition exceeds the pool, it is moved to heap
+            for (int i = 0; i < 1000; i++) {
+                assertThat(assigner.assign(row(1), i)).isEqualTo(0);
+            }
+            assertThat(assigner.assign(row(1), 1000)).isEqualTo(1);
+            for (int i = 0; i < 1000; i++) {
+                assertThat(assigner.assign(row(1), i)).isEqualTo(0);
+            }
+            assertThat(memoryPoolFactory.usedBufferSize()).isEqualTo(0);
+            assigner.close();
+        }
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.manifest;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.format.FileFormat;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.local.LocalFileIO;
+import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.partition.PartitionPredicate;
+import org.apache.paimon.schema.SchemaManager;
+import org.apache.paimon.utils.FileStorePathFactory;
+import org.apache.paimon.utils.SegmentsCache;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.paimon.TestKeyValueGenerator.DEFAULT_PART_TYPE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link ManifestEntryCache}. */
+public class ManifestEntryCacheTest {
+
+    private final ManifestTestDataGenerator gen = ManifestTestDataGenerator.builder().build();
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @RepeatedTest(10)
+    public void testFilterOnCachedColumns() {
+        List<ManifestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            entries.add(gen.next());
+        }
+
+        SegmentsCache<Path> segmentsCache =
+                SegmentsCache.create(1024, MemorySize.ofMebiBytes(16), Long.MAX_VALUE);
+        ManifestFile cachedFile = createManifestFile(segmentsCache);
+        ManifestFile file = createManifestFile(null);
+        ManifestFileMeta meta = file.write(entries).get(0);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<BinaryRow> partitions = new HashSet<>();
+        for (ManifestEntry entry : entries) {
+            if (random.nextInt(3) == 0) {
+                partitions.add(entry.partition());
+            }
+        }
+        int bucket = random.nextInt(3);
+        int level = random.nextInt(3);
+        ManifestEntryRowFilter filter =
+                new ManifestEntryRowFilter(
+                        random.nextBoolean()
+                                ? PartitionPredicate.fromMultiple(DEFAULT_PART_TYPE, partitions)
+                                : null,
+                        random.nextBoolean() ? b -> b >= bucket : null,
+                        null,
+                        random.nextBoolean() ? l -> l <= level : null,
+                        null,
+                        random.nextBoolean() ? FileEntry.addFilter() : null);
+
+        List<ManifestEntry> expected = new ArrayList<>();
+        for (ManifestEntry entry : entries) {
+            if ((!filter.hasPartitionFilter() || filter.testPartition(entry.partition()))
+                    && filter.testBucket(entry.bucket(), entry.totalBuckets())
+                    && filter.testLevel(entry.level())
+                    && filter.testFileName(entry.fileName())) {
+                expected.add(entry);
+            }
+        }
+
+        // the first read fills the cache
+        for (int i = 0; i < 2; i++) {
+            List<ManifestEntry> actual =
+                    cachedFile.read(meta.fileName(), meta.fileSize(), filter, e -> true);
+            List<ManifestEntry> uncached =
+                    file.read(meta.fileName(), meta.fileSize(), filter, e -> true);
+            assertThat(actual).isEqualTo(uncached);
+            assertThat(actual).isSubsetOf(expected);
+        }
+        assertThat(
+                        segmentsCache.getIfPresents(
+                                new Path(tempDir.toString() + "/manifest/" + meta.fileName())))
+                .isInstanceOf(ManifestEntrySegments.class);
+    }
+
+    private ManifestFile createManifestFile(@Nullable SegmentsCache<Path> cache) {
+        Path path = new Path(tempDir.toString());
+        FileStorePathFactory pathFactory =
+                new FileStorePathFactory(
+                        path,
+                        DEFAULT_PART_TYPE,
+                        "default",
+                        CoreOptions.FILE_FORMAT.defaultValue().toString(),
+                        CoreOptions.DATA_FILE_PREFIX.defaultValue(),
+                        CoreOptions.CHANGELOG_FILE_PREFIX.defaultValue(),
+                        CoreOptions.PARTITION_GENERATE_LEGACY_NAME.defaultValue(),
+                        CoreOptions.FILE_SUFFIX_INCLUDE_COMPRESSION.defaultValue(),
+                        CoreOptions.FILE_COMPRESSION.defaultValue(),
+                        null,
+                        null);
+        FileIO fileIO = LocalFileIO.create();
+        return new ManifestFile.Factory(
+                        fileIO,
+                        new SchemaManager(fileIO, path),
+                        DEFAULT_PART_TYPE,
+                        FileFormat.fromIdentifier("avro", new Options()),
+                        "zstd",
+                        pathFactory,
+                        Long.MAX_VALUE,
+                        cache)
+                .create();
+    }
+}
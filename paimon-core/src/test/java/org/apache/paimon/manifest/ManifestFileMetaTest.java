@@ -50,6 +50,7 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -520,7 +521,8 @@ public class ManifestFileMetaTest extends ManifestFileMetaTestBase {
                         suggerstSize,
                         sizeTrigger,
                         getPartitionType(),
-                        null);
+                        // single shard, all changed files are rolled by one writer
+                        1);
 
         // *****verify result*****
         List<ManifestFileMeta> mustMergedFiles =
@@ -585,6 +587,91 @@ public class ManifestFileMetaTest extends ManifestFileMetaTestBase {
         }
     }
 
+    @RepeatedTest(10)
+    public void testParallelMerge() throws Exception {
+        List<ManifestFileMeta> input = new ArrayList<>();
+        Set<FileEntry.Identifier> manifestEntrySet = new HashSet<>();
+        Set<FileEntry.Identifier> deleteManifestEntrySet = new HashSet<>();
+        int totalEntryNums = 0;
+        for (int i = 0; i < 100; i++) {
+            int entryNums = ThreadLocalRandom.current().nextInt(20) + 1;
+            input.add(
+                    generateRandomData(
+                            entryNums, totalEntryNums, manifestEntrySet, deleteManifestEntrySet));
+            totalEntryNums += entryNums;
+        }
+        long suggestedSize = input.stream().mapToLong(ManifestFileMeta::fileSize).sum() / 20;
+
+        // minor compaction
+        assertSameEntriesInOrder(
+                ManifestFileMerger.merge(
+                        input,
+                        manifestFile,
+                        suggestedSize,
+                        3,
+                        Long.MAX_VALUE,
+                        getPartitionType(),
+                        1),
+                ManifestFileMerger.merge(
+                        input,
+                        manifestFile,
+                        suggestedSize,
+                        3,
+                        Long.MAX_VALUE,
+                        getPartitionType(),
+                        4));
+
+        // full compaction, files are rewritten by several shards
+        List<ManifestFileMeta> newMetas = new ArrayList<>();
+        List<ManifestFileMeta> sequential =
+                ManifestFileMerger.tryFullCompaction(
+                                input,
+                                new ArrayList<>(),
+                                manifestFile,
+                                suggestedSize,
+                                1,
+                                getPartitionType(),
+                                1)
+                        .get();
+        List<ManifestFileMeta> parallel =
+                ManifestFileMerger.tryFullCompaction(
+                                input,
+                                newMetas,
+                                manifestFile,
+                                suggestedSize,
+                                1,
+                                getPartitionType(),
+                                4)
+                        .get();
+        assertThat(newMetas.size()).isGreaterThan(1);
+        assertSameEntriesInOrder(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelWrite() {
+        List<ManifestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            entries.add(makeEntry(i % 3 != 0, "A" + i, i % 5));
+        }
+
+        List<ManifestFileMeta> sequential = manifestFile.write(entries);
+        List<ManifestFileMeta> parallel = ManifestFileMerger.write(entries, manifestFile, 4, 10);
+        assertThat(parallel.size()).isGreaterThan(1);
+        assertSameEntriesInOrder(sequential, parallel);
+    }
+
+    private void assertSameEntriesInOrder(
+            List<ManifestFileMeta> expected, List<ManifestFileMeta> actual) {
+        Function<List<ManifestFileMeta>, List<String>> entries =
+                files ->
+                        files.stream()
+                                .flatMap(
+                                        f -> manifestFile.read(f.fileName(), f.fileSize()).stream())
+                                .map(e -> e.kind() + "-" + e.file().fileName())
+                                .collect(Collectors.toList());
+        assertThat(entries.apply(actual)).isEqualTo(entries.apply(expected));
+    }
+
     private ManifestFileMeta generateRandomData(
             int entryNums,
             int totalEntryNums,
@@ -45,6 +45,33 @@ public class MemoryPoolFactoryTest {
         assertThat(pool2.freePages()).isEqualTo(8);
     }
 
+    @Test
+    public void testOffHeapPool() {
+        MemoryPoolFactory factory =
+                new MemoryPoolFactory(MemorySegmentPool.create(1024 * 10, 1024, true))
+                        .addOwners(new ArrayList<>());
+        MemorySegmentPool pool = factory.createSubPool(new TestMemoryOwner());
+        List<MemorySegment> segments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MemorySegment segment = pool.nextSegment();
+            assertThat(segment.isOffHeap()).isTrue();
+            segments.add(segment);
+        }
+        assertThat(factory.allocatedBufferSize()).isEqualTo(3 * 1024);
+        assertThat(factory.offHeapBufferSize()).isEqualTo(3 * 1024);
+
+        // returned pages are cached for reuse
+        pool.returnAll(segments);
+        assertThat(factory.allocatedBufferSize()).isEqualTo(0);
+        assertThat(factory.offHeapBufferSize()).isEqualTo(3 * 1024);
+        assertThat(pool.nextSegment()).isSameAs(segments.get(0));
+        pool.returnAll(segments.subList(0, 1));
+
+        factory.close();
+        assertThat(factory.offHeapBufferSize()).isEqualTo(0);
+        assertThat(pool.freePages()).isEqualTo(10);
+    }
+
     @Test
     public void testAddOwners() {
         MemoryPoolFactory factory =
@@ -20,6 +20,7 @@ package org.apache.paimon.mergetree;
 
 import org.apache.paimon.CoreOptions;
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.compression.CompressOptions;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.GenericRow;
 import org.apache.paimon.data.InternalRow;
@@ -32,11 +33,17 @@ import org.apache.paimon.io.FileReaderFactory;
 import org.apache.paimon.io.KeyValueFileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
 import org.apache.paimon.io.RollingFileWriter;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.lookup.LookupStoreReader;
+import org.apache.paimon.lookup.LookupStoreWriter;
+import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
 import org.apache.paimon.mergetree.compact.ChangelogMergeTreeRewriter;
 import org.apache.paimon.mergetree.compact.ChangelogResult;
 import org.apache.paimon.mergetree.compact.DeduplicateMergeFunction;
 import org.apache.paimon.mergetree.compact.FullChangelogMergeFunctionWrapper;
 import org.apache.paimon.mergetree.compact.MergeFunctionWrapper;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
@@ -47,6 +54,7 @@ import org.apache.paimon.types.DataField;
 import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.BloomFilter;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,9 +65,11 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import javax.annotation.Nullable;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -68,10 +78,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.paimon.options.MemorySize.VALUE_128_MB;
 import static org.apache.paimon.utils.FileStorePathFactoryTest.createNonPartFactory;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /** Tests for {@link ChangelogMergeTreeRewriter}. */
@@ -192,6 +204,71 @@ public class ChangelogMergeTreeRewriterTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testLookupFileCommitFailure(boolean rewriteChangelog) throws Exception {
+        List<List<SortedRun>> sections = createTestSections(1);
+        Path testPath = new Path(path, UUID.randomUUID().toString());
+        File lookupDir = Files.createDirectory(tempDir.resolve("lookup")).toFile();
+        LookupStoreFactory storeFactory =
+                new HashLookupStoreFactory(
+                        new CacheManager(MemorySize.ofMebiBytes(1)),
+                        2048,
+                        0.75,
+                        new CompressOptions("none", 1));
+        LookupLevels<KeyValue> lookupLevels =
+                new LookupLevels<>(
+                        new Levels(comparator, Collections.emptyList(), 3),
+                        comparator,
+                        keyType,
+                        new LookupLevels.KeyValueProcessor(valueType),
+                        file -> {
+                            throw new UnsupportedOperationException();
+                        },
+                        file -> new File(lookupDir, file + UUID.randomUUID()),
+                        new LookupStoreFactory() {
+                            @Override
+                            public LookupStoreWriter createWriter(
+                                    File file, @Nullable BloomFilter.Builder bloomFilter)
+                                    throws IOException {
+                                return storeFactory.createWriter(file, bloomFilter);
+                            }
+
+                            @Override
+                            public LookupStoreReader createReader(File file, Context context)
+                                    throws IOException {
+                                throw new IOException("Expected exception.");
+                            }
+                        },
+                        rowCount -> BloomFilter.builder(rowCount, 0.05),
+                        LookupFile.createCache(Duration.ofHours(1), MemorySize.ofMebiBytes(10)));
+        CoreOptions coreOptions = new CoreOptions(new Options());
+        try (ChangelogMergeTreeRewriter rewriter =
+                new TestRewriter(
+                        createReaderFactory(schemaManager, tableSchema, keyType, valueType),
+                        createWriterFactory(testPath, keyType, valueType),
+                        comparator,
+                        new MergeSorter(
+                                coreOptions,
+                                tableSchema.logicalPrimaryKeysType(),
+                                tableSchema.logicalRowType(),
+                                null),
+                        rewriteChangelog,
+                        false,
+                        lookupLevels)) {
+            assertThatThrownBy(() -> rewriter.rewrite(5, true, sections))
+                    .hasMessageContaining("Expected exception.");
+
+            // the compact file, the changelog file and the local lookup file are all deleted
+            try (Stream<java.nio.file.Path> files = Files.walk(Paths.get(testPath.toString()))) {
+                assertThat(files.filter(Files::isRegularFile)).isEmpty();
+            }
+            assertThat(lookupDir.list()).isEmpty();
+            assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
+        }
+        lookupLevels.close();
+    }
+
     @Test
     public void testWriteReusedKey() throws Exception {
         Path testPath = new Path(path, UUID.randomUUID().toString());
@@ -296,6 +373,7 @@ public class ChangelogMergeTreeRewriterTest {
         private static final int MAX_LEVEL = 5;
         private final boolean rewriteChangelog;
         private final boolean closeWithException;
+        @Nullable private final LookupLevels<KeyValue> lookupLevels;
 
         public TestRewriter(
                 FileReaderFactory<KeyValue> readerFactory,
@@ -304,6 +382,24 @@ public class ChangelogMergeTreeRewriterTest {
                 MergeSorter mergeSorter,
                 boolean rewriteChangelog,
                 boolean closeWithException) {
+            this(
+                    readerFactory,
+                    writerFactory,
+                    keyComparator,
+                    mergeSorter,
+                    rewriteChangelog,
+                    closeWithException,
+                    null);
+        }
+
+        public TestRewriter(
+                FileReaderFactory<KeyValue> readerFactory,
+                KeyValueFileWriterFactory writerFactory,
+                Comparator<InternalRow> keyComparator,
+                MergeSorter mergeSorter,
+                boolean rewriteChangelog,
+                boolean closeWithException,
+                @Nullable LookupLevels<KeyValue> lookupLevels) {
             super(
                     MAX_LEVEL,
                     CoreOptions.MergeEngine.DEDUPLICATE,
@@ -317,6 +413,16 @@ public class ChangelogMergeTreeRewriterTest {
                     true);
             this.rewriteChangelog = rewriteChangelog;
             this.closeWithException = closeWithException;
+            this.lookupLevels = lookupLevels;
+        }
+
+        @Nullable
+        @Override
+        protected LookupLevels<?>.LookupFileWriter createLookupFileWriter(
+                int outputLevel,
+                List<List<SortedRun>> sections,
+                RollingFileWriter<KeyValue, DataFileMeta> writer) {
+            return lookupLevels == null ? null : lookupLevels.createLookupFileWriter(writer, 10);
         }
 
         @Override
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.compression.CompressOptions;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.mergetree.compact.MergeFunctionTestUtils;
+import org.apache.paimon.mergetree.compact.PartialUpdateMergeFunction;
+import org.apache.paimon.mergetree.compact.aggregate.AggregateMergeFunction;
+import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.sort.QuickSort;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.ReusingKeyValue;
+import org.apache.paimon.utils.ReusingTestData;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link HashPreMergeWriteBuffer}. */
+public class HashPreMergeWriteBufferTest {
+
+    private static final Comparator<InternalRow> KEY_COMPARATOR =
+            (a, b) -> Integer.compare(a.getInt(0), b.getInt(0));
+
+    private static final RowType KEY_TYPE =
+            RowType.builder().field("key_f0", DataTypes.INT()).build();
+    private static final RowType VALUE_TYPE =
+            RowType.builder().field("f0", DataTypes.INT()).field("f1", DataTypes.BIGINT()).build();
+
+    @Test
+    public void testCanPreMerge() {
+        assertThat(HashPreMergeWriteBuffer.canPreMerge(KEY_TYPE, VALUE_TYPE, pool(4))).isTrue();
+        // the hash map requires 2 mb
+        assertThat(HashPreMergeWriteBuffer.canPreMerge(KEY_TYPE, VALUE_TYPE, pool(2))).isFalse();
+        RowType stringValue =
+                RowType.builder()
+                        .field("f0", DataTypes.INT())
+                        .field("f1", DataTypes.STRING())
+                        .build();
+        assertThat(HashPreMergeWriteBuffer.canPreMerge(KEY_TYPE, stringValue, pool(4))).isFalse();
+    }
+
+    @Test
+    public void testAggregation() throws IOException {
+        HashPreMergeWriteBuffer buffer = createBuffer(aggMergeFunction());
+        for (int i = 0; i < 3; i++) {
+            // a few keys, all records are merged in the hash map
+            List<ReusingTestData> input = generateData(10000, 100);
+            runTest(
+                    buffer,
+                    aggMergeFunction(),
+                    input,
+                    MergeFunctionTestUtils.getExpectedForAggSum(input, false, false));
+            assertThat(buffer.size()).isEqualTo(distinctKeys(input));
+            buffer.clear();
+        }
+    }
+
+    @Test
+    public void testAggregationOverflow() throws IOException {
+        HashPreMergeWriteBuffer buffer = createBuffer(aggMergeFunction());
+        for (int i = 0; i < 2; i++) {
+            // too many keys for the hash map, records of new keys go into the sort buffer
+            List<ReusingTestData> input = generateData(40000, 40000);
+            runTest(
+                    buffer,
+                    aggMergeFunction(),
+                    input,
+                    MergeFunctionTestUtils.getExpectedForAggSum(input, false, false));
+            assertThat(buffer.size()).isGreaterThan(distinctKeys(input)).isLessThan(input.size());
+            buffer.clear();
+        }
+    }
+
+    @Test
+    public void testPartialUpdate() throws IOException {
+        HashPreMergeWriteBuffer buffer = createBuffer(partialUpdateMergeFunction());
+        List<ReusingTestData> input = generateData(40000, 40000);
+        runTest(
+                buffer,
+                partialUpdateMergeFunction(),
+                input,
+                MergeFunctionTestUtils.getExpectedForPartialUpdate(input, false));
+    }
+
+    private static MergeFunction<KeyValue> aggMergeFunction() {
+        Options options = new Options();
+        options.set("fields.f1.aggregate-function", "sum");
+        return AggregateMergeFunction.factory(
+                        options,
+                        Arrays.asList("f0", "f1"),
+                        Arrays.asList(DataTypes.INT().notNull(), DataTypes.BIGINT()),
+                        Collections.singletonList("f0"))
+                .create();
+    }
+
+    private static MergeFunction<KeyValue> partialUpdateMergeFunction() {
+        Options options = new Options();
+        options.set(CoreOptions.IGNORE_DELETE, true);
+        return PartialUpdateMergeFunction.factory(
+                        options,
+                        RowType.of(DataTypes.INT().notNull(), DataTypes.BIGINT()),
+                        Collections.singletonList("f0"))
+                .create();
+    }
+
+    private static MemorySegmentPool pool(int mb) {
+        return new HeapMemorySegmentPool(mb * 1024 * 1024L, 32 * 1024);
+    }
+
+    private static HashPreMergeWriteBuffer createBuffer(MergeFunction<KeyValue> mergeFunction) {
+        return new HashPreMergeWriteBuffer(
+                KEY_TYPE,
+                VALUE_TYPE,
+                mergeFunction,
+                null,
+                pool(4),
+                pool ->
+                        new SortBufferWriteBuffer(
+                                KEY_TYPE,
+                                VALUE_TYPE,
+                                null,
+                                pool,
+                                false,
+                                MemorySize.MAX_VALUE,
+                                128,
+                                new QuickSort(),
+                                CompressOptions.defaultOptions(),
+                                null));
+    }
+
+    /** Records arrive in the order of sequence numbers, like in the writer. */
+    private static List<ReusingTestData> generateData(int numRecords, int numKeys) {
+        List<ReusingTestData> input = ReusingTestData.generateData(numRecords, false);
+        input.replaceAll(
+                d -> new ReusingTestData(d.key % numKeys, d.sequenceNumber, d.valueKind, d.value));
+        input.sort(Comparator.comparingLong(d -> d.sequenceNumber));
+        return input;
+    }
+
+    private static int distinctKeys(List<ReusingTestData> input) {
+        return (int) input.stream().mapToInt(d -> d.key).distinct().count();
+    }
+
+    private static void runTest(
+            HashPreMergeWriteBuffer buffer,
+            MergeFunction<KeyValue> mergeFunction,
+            List<ReusingTestData> input,
+            List<ReusingTestData> expected)
+            throws IOException {
+        ReusingKeyValue reuse = new ReusingKeyValue();
+        for (ReusingTestData data : input) {
+            KeyValue kv = reuse.update(data);
+            assertThat(buffer.put(kv.sequenceNumber(), kv.valueKind(), kv.key(), kv.value()))
+                    .isTrue();
+        }
+
+        Queue<ReusingTestData> queue = new LinkedList<>(expected);
+        buffer.forEach(
+                KEY_COMPARATOR,
+                mergeFunction,
+                null,
+                kv -> {
+                    assertThat(queue.isEmpty()).isFalse();
+                    queue.poll().assertEquals(kv);
+                });
+        assertThat(queue).isEmpty();
+    }
+}
@@ -33,10 +33,14 @@ import org.apache.paimon.io.KeyValueFileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
 import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.lookup.LookupStoreReader;
+import org.apache.paimon.lookup.LookupStoreWriter;
 import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
 import org.apache.paimon.manifest.FileSource;
 import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
+import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.TableSchema;
@@ -48,11 +52,14 @@ import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.BloomFilter;
 import org.apache.paimon.utils.FileStorePathFactory;
+import org.apache.paimon.utils.IOFunction;
 
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
@@ -64,6 +71,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 import static org.apache.paimon.KeyValue.UNKNOWN_SEQUENCE;
@@ -71,6 +80,7 @@ import static org.apache.paimon.io.DataFileTestUtils.row;
 import static org.apache.paimon.options.MemorySize.VALUE_128_MB;
 import static org.apache.paimon.utils.FileStorePathFactoryTest.createNonPartFactory;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test {@link LookupLevels}. */
 public class LookupLevelsTest {
@@ -175,6 +185,252 @@ public class LookupLevelsTest {
         assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
     }
 
+    @Test
+    public void testLookupBatch() throws IOException {
+        Levels levels =
+                new Levels(
+                        comparator,
+                        Arrays.asList(
+                                newFile(0, kv(4, 404, 10), kv(7, 707, 11)),
+                                newFile(1, kv(1, 11, 1), kv(3, 33, 2)),
+                                newFile(1, kv(5, 55, 3), kv(7, 77, 4)),
+                                newFile(2, kv(2, 22, 5), kv(5, 5, 6), kv(8, 88, 7))),
+                        3);
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(levels, MemorySize.ofMebiBytes(10));
+
+        InternalRow[] keys =
+                new InternalRow[] {row(8), row(1), row(6), row(5), row(7), row(4), row(2), row(0)};
+        List<KeyValue> results = lookupLevels.lookupBatch(keys, 0);
+        assertThat(results).hasSize(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            KeyValue expected = lookupLevels.lookup(keys[i], 0);
+            KeyValue actual = results.get(i);
+            if (expected == null) {
+                assertThat(actual).isNull();
+            } else {
+                assertThat(actual).isNotNull();
+                assertThat(actual.sequenceNumber()).isEqualTo(expected.sequenceNumber());
+                assertThat(actual.level()).isEqualTo(expected.level());
+                assertThat(actual.value().getInt(1)).isEqualTo(expected.value().getInt(1));
+            }
+        }
+        assertThat(results.get(2)).isNull();
+        assertThat(results.get(4).value().getInt(1)).isEqualTo(707);
+        assertThat(results.get(3).level()).isEqualTo(1);
+
+        // lookup from level 1
+        results = lookupLevels.lookupBatch(keys, 1);
+        assertThat(results.get(4).value().getInt(1)).isEqualTo(77);
+        assertThat(results.get(5)).isNull();
+
+        lookupLevels.close();
+        assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        DataFileMeta file1 = newFile(1, kv(1, 11), kv(2, 22));
+        Levels levels = new Levels(comparator, Collections.singletonList(file1), 3);
+        ExecutorService executor = LookupLevels.createPrefetchExecutor(1);
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(levels, MemorySize.ofMebiBytes(10))
+                        .withPrefetchExecutor(executor);
+
+        // hold the only prefetch thread until the task is registered
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        // compaction rewrites file1 to a higher level
+        DataFileMeta file2 = newFile(2, kv(1, 11), kv(2, 22), kv(3, 33));
+        levels.update(Collections.singletonList(file1), Collections.singletonList(file2));
+        LookupLevels.PrefetchTask task = lookupLevels.prefetchTasks().get(file2.fileName());
+        assertThat(task).isNotNull();
+        latch.countDown();
+        task.future().get();
+        assertThat(lookupLevels.lookupFiles().getIfPresent(file2.fileName())).isNotNull();
+        assertThat(lookupLevels.cachedFiles()).containsExactly(file2.fileName());
+        // finished tasks are removed
+        assertThat(lookupLevels.prefetchTasks()).isEmpty();
+
+        KeyValue kv = lookupLevels.lookup(row(3), 1);
+        assertThat(kv).isNotNull();
+        assertThat(kv.level()).isEqualTo(2);
+        assertThat(kv.value().getInt(1)).isEqualTo(33);
+        assertThat(lookupLevels.cachedFiles()).containsExactly(file2.fileName());
+
+        // dropped files are not prefetched any more
+        levels.update(Collections.singletonList(file2), Collections.emptyList());
+        assertThat(lookupLevels.prefetchTasks()).isEmpty();
+
+        lookupLevels.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLookupTakesOverPendingPrefetch() throws Exception {
+        Levels levels = new Levels(comparator, Collections.emptyList(), 3);
+        ExecutorService executor = LookupLevels.createPrefetchExecutor(1);
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(levels, MemorySize.ofMebiBytes(10))
+                        .withPrefetchExecutor(executor);
+
+        // occupy the only prefetch thread
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+
+        DataFileMeta file = newFile(1, kv(1, 11), kv(2, 22));
+        levels.update(Collections.emptyList(), Collections.singletonList(file));
+        LookupLevels.PrefetchTask task = lookupLevels.prefetchTasks().get(file.fileName());
+        assertThat(task).isNotNull();
+
+        // the pending prefetch is built by the lookup itself
+        KeyValue kv = lookupLevels.lookup(row(2), 1);
+        assertThat(kv).isNotNull();
+        assertThat(kv.value().getInt(1)).isEqualTo(22);
+        assertThat(task.future().isCancelled()).isTrue();
+        assertThat(lookupLevels.prefetchTasks()).isEmpty();
+        assertThat(lookupLevels.cachedFiles()).containsExactly(file.fileName());
+
+        latch.countDown();
+        lookupLevels.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLookupFileWriter() throws IOException {
+        Levels levels = new Levels(comparator, Collections.emptyList(), 3);
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(levels, MemorySize.ofMebiBytes(10));
+
+        RollingFileWriter<KeyValue, DataFileMeta> writer =
+                createWriterFactory().createRollingMergeTreeFileWriter(1, FileSource.COMPACT);
+        LookupLevels<KeyValue>.LookupFileWriter lookupFileWriter =
+                lookupLevels.createLookupFileWriter(writer, 3);
+        for (KeyValue kv : Arrays.asList(kv(1, 11), kv(3, 33), kv(5, 55))) {
+            writer.write(kv);
+            lookupFileWriter.write(kv);
+        }
+        writer.close();
+        lookupFileWriter.commit(writer.result());
+
+        DataFileMeta file = writer.result().get(0);
+        LookupFile lookupFile = lookupLevels.lookupFiles().getIfPresent(file.fileName());
+        assertThat(lookupFile).isNotNull();
+        assertThat(lookupLevels.cachedFiles()).containsExactly(file.fileName());
+
+        levels.update(Collections.emptyList(), writer.result());
+        KeyValue kv = lookupLevels.lookup(row(3), 1);
+        assertThat(kv).isNotNull();
+        assertThat(kv.level()).isEqualTo(1);
+        assertThat(kv.value().getInt(1)).isEqualTo(33);
+        assertThat(lookupLevels.lookup(row(4), 1)).isNull();
+        // the lookup file is not built again
+        assertThat(lookupLevels.lookupFiles().getIfPresent(file.fileName())).isSameAs(lookupFile);
+
+        lookupLevels.close();
+        assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLookupFileWriterCommitFailure() throws IOException {
+        Levels levels = new Levels(comparator, Collections.emptyList(), 3);
+        LookupStoreFactory storeFactory = createStoreFactory();
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(
+                        levels,
+                        MemorySize.ofMebiBytes(10),
+                        file -> createReaderFactory().createRecordReader(file),
+                        new LookupStoreFactory() {
+                            @Override
+                            public LookupStoreWriter createWriter(
+                                    File file, @Nullable BloomFilter.Builder bloomFilter)
+                                    throws IOException {
+                                return storeFactory.createWriter(file, bloomFilter);
+                            }
+
+                            @Override
+                            public LookupStoreReader createReader(File file, Context context)
+                                    throws IOException {
+                                throw new IOException("Expected exception.");
+                            }
+                        });
+
+        RollingFileWriter<KeyValue, DataFileMeta> writer =
+                createWriterFactory().createRollingMergeTreeFileWriter(1, FileSource.COMPACT);
+        LookupLevels<KeyValue>.LookupFileWriter lookupFileWriter =
+                lookupLevels.createLookupFileWriter(writer, 2);
+        for (KeyValue kv : Arrays.asList(kv(1, 11), kv(3, 33))) {
+            writer.write(kv);
+            lookupFileWriter.write(kv);
+        }
+        writer.close();
+
+        assertThatThrownBy(() -> lookupFileWriter.commit(writer.result()))
+                .hasMessageContaining("Expected exception.");
+        assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
+        assertThat(lookupLevels.cachedFiles()).isEmpty();
+
+        lookupFileWriter.abort();
+        assertThat(tempDir.toFile().list((dir, name) -> name.startsWith(LOOKUP_FILE_PREFIX)))
+                .isEmpty();
+        lookupLevels.close();
+    }
+
+    @Test
+    public void testDropFileWhilePrefetching() throws Exception {
+        Levels levels = new Levels(comparator, Collections.emptyList(), 3);
+        ExecutorService executor = LookupLevels.createPrefetchExecutor(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        LookupLevels<KeyValue> lookupLevels =
+                createLookupLevels(
+                                levels,
+                                MemorySize.ofMebiBytes(10),
+                                file -> {
+                                    started.countDown();
+                                    try {
+                                        proceed.await();
+                                    } catch (InterruptedException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                    return createReaderFactory().createRecordReader(file);
+                                })
+                        .withPrefetchExecutor(executor);
+
+        DataFileMeta file = newFile(1, kv(1, 11), kv(2, 22));
+        levels.update(Collections.emptyList(), Collections.singletonList(file));
+        LookupLevels.PrefetchTask task = lookupLevels.prefetchTasks().get(file.fileName());
+        assertThat(task).isNotNull();
+        started.await();
+
+        // the file is dropped while its lookup file is built
+        levels.update(Collections.singletonList(file), Collections.emptyList());
+        proceed.countDown();
+        task.future().get();
+
+        assertThat(lookupLevels.lookupFiles().getIfPresent(file.fileName())).isNull();
+        assertThat(lookupLevels.cachedFiles()).isEmpty();
+        assertThat(lookupLevels.prefetchTasks()).isEmpty();
+
+        lookupLevels.close();
+        executor.shutdownNow();
+    }
+
     @RepeatedTest(value = 10)
     public void testMaxDiskSize() throws IOException {
         List<DataFileMeta> files = new ArrayList<>();
@@ -268,22 +524,42 @@ public class LookupLevelsTest {
     }
 
     private LookupLevels<KeyValue> createLookupLevels(Levels levels, MemorySize maxDiskSize) {
+        return createLookupLevels(
+                levels, maxDiskSize, file -> createReaderFactory().createRecordReader(file));
+    }
+
+    private LookupLevels<KeyValue> createLookupLevels(
+            Levels levels,
+            MemorySize maxDiskSize,
+            IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory) {
+        return createLookupLevels(levels, maxDiskSize, fileReaderFactory, createStoreFactory());
+    }
+
+    private LookupLevels<KeyValue> createLookupLevels(
+            Levels levels,
+            MemorySize maxDiskSize,
+            IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory,
+            LookupStoreFactory lookupStoreFactory) {
         return new LookupLevels<>(
                 levels,
                 comparator,
                 keyType,
                 new LookupLevels.KeyValueProcessor(rowType),
-                file -> createReaderFactory().createRecordReader(file),
+                fileReaderFactory,
                 file -> new File(tempDir.toFile(), LOOKUP_FILE_PREFIX + UUID.randomUUID()),
-                new HashLookupStoreFactory(
-                        new CacheManager(MemorySize.ofMebiBytes(1)),
-                        2048,
-                        0.75,
-                        new CompressOptions("none", 1)),
+                lookupStoreFactory,
                 rowCount -> BloomFilter.builder(rowCount, 0.05),
                 LookupFile.createCache(Duration.ofHours(1), maxDiskSize));
     }
 
+    private LookupStoreFactory createStoreFactory() {
+        return new HashLookupStoreFactory(
+                new CacheManager(MemorySize.ofMebiBytes(1)),
+                2048,
+                0.75,
+                new CompressOptions("none", 1));
+    }
+
     private KeyValue kv(int key, int value) {
         return kv(key, value, UNKNOWN_SEQUENCE);
     }
@@ -84,7 +84,8 @@ public class MergeSorterTest {
     @SuppressWarnings("unused")
     @Parameters(name = "{0}")
     public static List<SortEngine> getVarSeg() {
-        return Arrays.asList(SortEngine.LOSER_TREE, SortEngine.MIN_HEAP);
+        return Arrays.asList(
+                SortEngine.LOSER_TREE, SortEngine.MIN_HEAP, SortEngine.NORMALIZED_LOSER_TREE);
     }
 
     @BeforeEach
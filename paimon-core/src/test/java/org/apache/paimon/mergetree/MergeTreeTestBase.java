@@ -53,6 +53,7 @@ import org.apache.paimon.reader.RecordReaderIterator;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.TableSchema;
+import org.apache.paimon.sort.QuickSort;
 import org.apache.paimon.table.SchemaEvolutionTableTestBase;
 import org.apache.paimon.types.DataField;
 import org.apache.paimon.types.IntType;
@@ -98,6 +99,7 @@ public abstract class MergeTreeTestBase {
 
     @TempDir java.nio.file.Path tempDir;
     private static ExecutorService service;
+    private static ExecutorService flushService;
     private Path path;
     private FileStorePathFactory pathFactory;
     private Comparator<InternalRow> comparator;
@@ -137,7 +139,9 @@ public abstract class MergeTreeTestBase {
 
     private void recreateMergeTree(long targetFileSize) {
         Options options = new Options();
-        options.set(CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * 3));
+        // each buffer of async flushing holds half of the memory
+        options.set(
+                CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * 3 * (asyncFlush() ? 2 : 1)));
         options.set(CoreOptions.PAGE_SIZE, new MemorySize(4096));
         options.set(CoreOptions.TARGET_FILE_SIZE, new MemorySize(targetFileSize));
         options.set(CoreOptions.SORT_ENGINE, getSortEngine());
@@ -194,12 +198,15 @@ public abstract class MergeTreeTestBase {
     @BeforeAll
     public static void before() {
         service = Executors.newSingleThreadExecutor();
+        flushService = Executors.newSingleThreadExecutor();
     }
 
     @AfterAll
     public static void after() {
         service.shutdownNow();
         service = null;
+        flushService.shutdownNow();
+        flushService = null;
     }
 
     @Test
@@ -419,17 +426,20 @@ public abstract class MergeTreeTestBase {
                         false,
                         MemorySize.ofKibiBytes(10),
                         128,
+                        new QuickSort(),
                         CompressOptions.defaultOptions(),
                         null,
                         compactManager,
                         maxSequenceNumber,
                         comparator,
                         DeduplicateMergeFunction.factory().create(),
+                        null,
                         writerFactory,
                         options.commitForceCompact(),
                         ChangelogProducer.NONE,
                         null,
-                        null);
+                        null,
+                        asyncFlush() ? flushService : null);
         writer.setMemoryPool(
                 new HeapMemorySegmentPool(options.writeBufferSize(), options.pageSize()));
         return writer;
@@ -455,7 +465,8 @@ public abstract class MergeTreeTestBase {
                 false,
                 options.needLookup(),
                 null,
-                false);
+                false,
+                1);
     }
 
     static class MockFailResultCompactionManager extends MergeTreeCompactManager {
@@ -480,7 +491,8 @@ public abstract class MergeTreeTestBase {
                     false,
                     false,
                     null,
-                    false);
+                    false,
+                    1);
         }
 
         protected CompactResult obtainCompactResult()
@@ -569,7 +581,7 @@ public abstract class MergeTreeTestBase {
                         null,
                         new ReducerMergeFunctionWrapper(
                                 DeduplicateMergeFunction.factory().create()),
-                        new MergeSorter(options, null, null, null));
+                        new MergeSorter(options, RowType.of(new IntType()), null, null));
         if (dropDelete) {
             reader = new DropDeleteReader(reader);
         }
@@ -603,6 +615,10 @@ public abstract class MergeTreeTestBase {
 
     protected abstract SortEngine getSortEngine();
 
+    protected boolean asyncFlush() {
+        return false;
+    }
+
     private class TestRewriter extends AbstractCompactRewriter {
 
         @Override
@@ -619,7 +635,7 @@ public abstract class MergeTreeTestBase {
                             null,
                             new ReducerMergeFunctionWrapper(
                                     DeduplicateMergeFunction.factory().create()),
-                            new MergeSorter(options, null, null, null));
+                            new MergeSorter(options, RowType.of(new IntType()), null, null));
             if (dropDelete) {
                 reader = new DropDeleteReader(reader);
             }
@@ -676,4 +692,27 @@ public abstract class MergeTreeTestBase {
             return SortEngine.MIN_HEAP;
         }
     }
+
+    /** {@link MergeTreeTestBase} with {@link SortEngine#NORMALIZED_LOSER_TREE}. */
+    public static class MergeTreeTestWithNormalizedLoserTree extends MergeTreeTestBase {
+
+        @Override
+        protected SortEngine getSortEngine() {
+            return SortEngine.NORMALIZED_LOSER_TREE;
+        }
+    }
+
+    /** {@link MergeTreeTestBase} which flushes the write buffer in background. */
+    public static class MergeTreeTestWithAsyncFlush extends MergeTreeTestBase {
+
+        @Override
+        protected SortEngine getSortEngine() {
+            return SortEngine.LOSER_TREE;
+        }
+
+        @Override
+        protected boolean asyncFlush() {
+            return true;
+        }
+    }
 }
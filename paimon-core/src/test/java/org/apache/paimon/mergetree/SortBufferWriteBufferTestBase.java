@@ -34,6 +34,9 @@ import org.apache.paimon.mergetree.compact.aggregate.AggregateMergeFunction;
 import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.sort.BinaryInMemorySortBuffer;
+import org.apache.paimon.sort.IndexedSorter;
+import org.apache.paimon.sort.QuickSort;
+import org.apache.paimon.sort.RadixSort;
 import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.ReusingKeyValue;
@@ -73,9 +76,14 @@ public abstract class SortBufferWriteBufferTestBase {
                     false,
                     MemorySize.MAX_VALUE,
                     128,
+                    sorter(),
                     CompressOptions.defaultOptions(),
                     null);
 
+    protected IndexedSorter sorter() {
+        return new QuickSort();
+    }
+
     protected abstract boolean addOnly();
 
     protected abstract List<ReusingTestData> getExpected(List<ReusingTestData> input);
@@ -164,6 +172,15 @@ public abstract class SortBufferWriteBufferTestBase {
         }
     }
 
+    /** Test for {@link SortBufferWriteBuffer} with {@link RadixSort}. */
+    public static class WithRadixSortTest extends WithDeduplicateMergeFunctionTest {
+
+        @Override
+        protected IndexedSorter sorter() {
+            return new RadixSort();
+        }
+    }
+
     /** Test for {@link SortBufferWriteBuffer} with {@link PartialUpdateMergeFunction}. */
     public static class WithPartialUpdateMergeFunctionTest extends SortBufferWriteBufferTestBase {
 
@@ -28,10 +28,15 @@ import org.apache.paimon.utils.TestReusingRecordReader;
 
 import org.junit.jupiter.api.Test;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /** Tests for {@link ConcatRecordReader}. */
 public class ConcatRecordReaderTest extends CombiningRecordReaderTestBase {
 
@@ -71,4 +76,66 @@ public class ConcatRecordReaderTest extends CombiningRecordReaderTestBase {
     private void runTest(List<List<ReusingTestData>> readersData) throws IOException {
         runTest(readersData, CoreOptions.SORT_ENGINE.defaultValue());
     }
+
+    @Test
+    public void testPrefetch() throws IOException {
+        List<Integer> opened = new ArrayList<>();
+        List<Integer> closed = new ArrayList<>();
+        List<ReaderSupplier<Integer>> suppliers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int id = i;
+            suppliers.add(
+                    () -> {
+                        opened.add(id);
+                        return new RecordReader<Integer>() {
+
+                            private boolean read = false;
+
+                            @Nullable
+                            @Override
+                            public RecordIterator<Integer> readBatch() {
+                                if (read) {
+                                    return null;
+                                }
+                                read = true;
+                                return new RecordIterator<Integer>() {
+
+                                    private boolean returned = false;
+
+                                    @Nullable
+                                    @Override
+                                    public Integer next() {
+                                        if (returned) {
+                                            return null;
+                                        }
+                                        returned = true;
+                                        return id;
+                                    }
+
+                                    @Override
+                                    public void releaseBatch() {}
+                                };
+                            }
+
+                            @Override
+                            public void close() {
+                                closed.add(id);
+                            }
+                        };
+                    });
+        }
+
+        RecordReader<Integer> reader = ConcatRecordReader.create(suppliers, 1);
+        assertThat(opened).isEmpty();
+
+        // opening the first reader opens the next reader ahead
+        RecordReader.RecordIterator<Integer> batch = reader.readBatch();
+        assertThat(batch.next()).isEqualTo(0);
+        assertThat(opened).containsExactly(0, 1);
+
+        // closing closes the prefetched reader too
+        reader.close();
+        assertThat(closed).containsExactlyInAnyOrder(0, 1);
+        assertThat(opened).containsExactly(0, 1);
+    }
 }
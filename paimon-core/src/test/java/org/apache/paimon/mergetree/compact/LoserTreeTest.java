@@ -19,6 +19,9 @@
 package org.apache.paimon.mergetree.compact;
 
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.ReusingTestData;
 import org.apache.paimon.utils.TestReusingRecordReader;
@@ -67,6 +70,30 @@ public class LoserTreeTest {
         }
     }
 
+    @RepeatedTest(100)
+    public void testLoserTreeWithNormalizedKeyIsOrdered() throws IOException {
+        List<ReusingTestData> reusingTestData = new ArrayList<>();
+        List<RecordReader<KeyValue>> sortedTestReaders =
+                createSortedTestReaders(reusingTestData, 0, () -> Function::identity);
+        Collections.sort(reusingTestData);
+        try (LoserTree<KeyValue> loserTree =
+                new LoserTree<>(
+                        sortedTestReaders,
+                        KEY_COMPARATOR,
+                        SEQUENCE_COMPARATOR,
+                        new CoarseKeyComputer(),
+                        KeyValue::key)) {
+            Iterator<ReusingTestData> expectedIterator = reusingTestData.iterator();
+            checkLoserTree(
+                    loserTree,
+                    kv -> {
+                        assertThat(expectedIterator.hasNext()).isTrue();
+                        expectedIterator.next().assertEquals(kv);
+                    });
+            assertThat(expectedIterator.hasNext()).isFalse();
+        }
+    }
+
     @RepeatedTest(100)
     public void testLoserTreeCloseNormally() {
         List<RecordReader<KeyValue>> sortedTestReaders =
@@ -121,4 +148,43 @@ public class LoserTreeTest {
             loserTree.adjustForNextLoop();
         } while (loserTree.peekWinner() != null);
     }
+
+    /**
+     * Normalizes a key into one byte of {@code key / 16}, so that different keys often share the
+     * same prefix and the full comparator is needed to break the ties.
+     */
+    private static class CoarseKeyComputer implements NormalizedKeyComputer {
+
+        @Override
+        public void putKey(InternalRow record, MemorySegment target, int offset) {
+            target.put(offset, (byte) (record.getInt(0) >> 4));
+        }
+
+        @Override
+        public int compareKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+            return Integer.compare(segI.get(offsetI) & 0xFF, segJ.get(offsetJ) & 0xFF);
+        }
+
+        @Override
+        public void swapKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+            byte tmp = segI.get(offsetI);
+            segI.put(offsetI, segJ.get(offsetJ));
+            segJ.put(offsetJ, tmp);
+        }
+
+        @Override
+        public int getNumKeyBytes() {
+            return 1;
+        }
+
+        @Override
+        public boolean isKeyFullyDetermines() {
+            return false;
+        }
+
+        @Override
+        public boolean invertKey() {
+            return false;
+        }
+    }
 }
@@ -31,6 +31,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,6 +39,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -45,6 +48,7 @@ import java.util.stream.Collectors;
 
 import static org.apache.paimon.io.DataFileTestUtils.newFile;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test for {@link MergeTreeCompactManager}. */
 public class MergeTreeCompactManagerTest {
@@ -179,6 +183,89 @@ public class MergeTreeCompactManagerTest {
                 Collections.singletonList(new LevelMinMax(2, 1, 10)));
     }
 
+    @Test
+    public void testParallelSectionRewrite() throws ExecutionException, InterruptedException {
+        innerTest(
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 5),
+                        new LevelMinMax(0, 6, 6),
+                        new LevelMinMax(1, 1, 4),
+                        new LevelMinMax(1, 6, 8),
+                        new LevelMinMax(1, 10, 11),
+                        new LevelMinMax(2, 1, 3),
+                        new LevelMinMax(2, 4, 6),
+                        new LevelMinMax(2, 20, 25),
+                        new LevelMinMax(2, 30, 35)),
+                Arrays.asList(
+                        new LevelMinMax(2, 1, 8),
+                        new LevelMinMax(2, 10, 11),
+                        new LevelMinMax(2, 20, 25),
+                        new LevelMinMax(2, 30, 35)),
+                testStrategy(),
+                true,
+                4);
+    }
+
+    @Test
+    public void testParallelSectionRewriteChunks() throws ExecutionException, InterruptedException {
+        // sections are rewritten in chunks of at least the min file size, small sections are
+        // merged together
+        innerTest(
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 3),
+                        new LevelMinMax(1, 1, 3),
+                        new LevelMinMax(1, 5, 5),
+                        new LevelMinMax(1, 7, 7),
+                        new LevelMinMax(0, 9, 12),
+                        new LevelMinMax(1, 10, 12)),
+                Arrays.asList(
+                        new LevelMinMax(2, 1, 3),
+                        new LevelMinMax(2, 5, 7),
+                        new LevelMinMax(2, 9, 12)),
+                testStrategy(),
+                true,
+                4);
+    }
+
+    @Test
+    public void testParallelSectionRewriteFailure() {
+        List<DataFileMeta> files =
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 5).toFile(0),
+                        new LevelMinMax(1, 1, 4).toFile(1),
+                        new LevelMinMax(0, 10, 12).toFile(2),
+                        new LevelMinMax(1, 10, 11).toFile(3),
+                        new LevelMinMax(0, 20, 22).toFile(4),
+                        new LevelMinMax(1, 20, 25).toFile(5));
+        Levels levels = new Levels(comparator, files, 3);
+        FailingRewriter rewriter = new FailingRewriter(20, 2);
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                        service,
+                        levels,
+                        testStrategy(),
+                        comparator,
+                        2,
+                        Integer.MAX_VALUE,
+                        rewriter,
+                        null,
+                        null,
+                        false,
+                        false,
+                        null,
+                        false,
+                        4);
+        manager.triggerCompaction(false);
+        assertThatThrownBy(() -> manager.getCompactionResult(true))
+                .hasRootCauseMessage("Rewrite failed.");
+
+        // the files written by the successful sections are deleted, levels are untouched
+        assertThat(rewriter.aborted)
+                .extracting(r -> new LevelMinMax(r.after().get(0)))
+                .containsExactlyInAnyOrder(new LevelMinMax(2, 1, 5), new LevelMinMax(2, 10, 12));
+        assertThat(levels.allFiles()).containsExactlyInAnyOrderElementsOf(files);
+    }
+
     @Test
     public void testIsCompacting() {
         List<LevelMinMax> inputs =
@@ -209,7 +296,8 @@ public class MergeTreeCompactManagerTest {
                         false,
                         true,
                         null,
-                        false);
+                        false,
+                        1);
 
         MergeTreeCompactManager defaultManager =
                 new MergeTreeCompactManager(
@@ -225,7 +313,8 @@ public class MergeTreeCompactManagerTest {
                         false,
                         false,
                         null,
-                        false);
+                        false,
+                        1);
 
         assertThat(lookupManager.compactNotCompleted()).isTrue();
         assertThat(defaultManager.compactNotCompleted()).isFalse();
@@ -242,6 +331,16 @@ public class MergeTreeCompactManagerTest {
             CompactStrategy strategy,
             boolean expectedDropDelete)
             throws ExecutionException, InterruptedException {
+        innerTest(inputs, expected, strategy, expectedDropDelete, 1);
+    }
+
+    private void innerTest(
+            List<LevelMinMax> inputs,
+            List<LevelMinMax> expected,
+            CompactStrategy strategy,
+            boolean expectedDropDelete,
+            int sectionParallelism)
+            throws ExecutionException, InterruptedException {
         List<DataFileMeta> files = new ArrayList<>();
         for (int i = 0; i < inputs.size(); i++) {
             LevelMinMax minMax = inputs.get(i);
@@ -256,13 +355,14 @@ public class MergeTreeCompactManagerTest {
                         comparator,
                         2,
                         Integer.MAX_VALUE,
-                        new TestRewriter(expectedDropDelete),
+                        new TestRewriter(expectedDropDelete, sectionParallelism > 1),
                         null,
                         null,
                         false,
                         false,
                         null,
-                        false);
+                        false,
+                        sectionParallelism);
         manager.triggerCompaction(false);
         manager.getCompactionResult(true);
         List<LevelMinMax> outputs =
@@ -281,9 +381,20 @@ public class MergeTreeCompactManagerTest {
     private static class TestRewriter extends AbstractCompactRewriter {
 
         private final boolean expectedDropDelete;
+        private final boolean concurrent;
 
         private TestRewriter(boolean expectedDropDelete) {
+            this(expectedDropDelete, false);
+        }
+
+        private TestRewriter(boolean expectedDropDelete, boolean concurrent) {
             this.expectedDropDelete = expectedDropDelete;
+            this.concurrent = concurrent;
+        }
+
+        @Override
+        public boolean supportsConcurrentRewrite() {
+            return concurrent;
         }
 
         @Override
@@ -317,6 +428,38 @@ public class MergeTreeCompactManagerTest {
         }
     }
 
+    private static class FailingRewriter extends TestRewriter {
+
+        private final int failingMinKey;
+        private final CountDownLatch succeeded;
+        private final List<CompactResult> aborted = new CopyOnWriteArrayList<>();
+
+        private FailingRewriter(int failingMinKey, int numSucceeded) {
+            super(true, true);
+            this.failingMinKey = failingMinKey;
+            this.succeeded = new CountDownLatch(numSucceeded);
+        }
+
+        @Override
+        public CompactResult rewrite(
+                int outputLevel, boolean dropDelete, List<List<SortedRun>> sections)
+                throws Exception {
+            CompactResult result = super.rewrite(outputLevel, dropDelete, sections);
+            if (result.after().get(0).minKey().getInt(0) == failingMinKey) {
+                // fail only after the other sections are written
+                succeeded.await();
+                throw new IOException("Rewrite failed.");
+            }
+            succeeded.countDown();
+            return result;
+        }
+
+        @Override
+        public void abort(CompactResult result) {
+            aborted.add(result);
+        }
+    }
+
     private static class LevelMinMax {
 
         private final int level;
@@ -21,7 +21,9 @@ package org.apache.paimon.mergetree.compact;
 import org.apache.paimon.CoreOptions;
 import org.apache.paimon.CoreOptions.SortEngine;
 import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.CodeGenUtils;
 import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.types.IntType;
 import org.apache.paimon.utils.ReusingTestData;
 import org.apache.paimon.utils.TestReusingRecordReader;
 
@@ -30,6 +32,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /** Tests for {@link SortMergeReader}. */
@@ -45,7 +48,9 @@ public abstract class SortMergeReaderTestBase extends CombiningRecordReaderTestB
                 KEY_COMPARATOR,
                 null,
                 new ReducerMergeFunctionWrapper(createMergeFunction()),
-                sortEngine);
+                sortEngine,
+                CodeGenUtils.newNormalizedKeyComputer(
+                        Collections.singletonList(new IntType()), new int[] {0}));
     }
 
     @ParameterizedTest
@@ -37,6 +37,8 @@ import org.apache.paimon.manifest.ManifestCommittable;
 import org.apache.paimon.manifest.ManifestEntry;
 import org.apache.paimon.manifest.ManifestFile;
 import org.apache.paimon.manifest.ManifestFileMeta;
+import org.apache.paimon.manifest.PartitionEntry;
+import org.apache.paimon.manifest.SimpleFileEntry;
 import org.apache.paimon.mergetree.compact.DeduplicateMergeFunction;
 import org.apache.paimon.operation.FileStoreCommitImpl.RetryResult;
 import org.apache.paimon.predicate.PredicateBuilder;
@@ -49,6 +51,7 @@ import org.apache.paimon.stats.Statistics;
 import org.apache.paimon.stats.StatsFileHandler;
 import org.apache.paimon.table.sink.CommitMessage;
 import org.apache.paimon.table.sink.CommitMessageImpl;
+import org.apache.paimon.table.source.ScanMode;
 import org.apache.paimon.types.DataField;
 import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowKind;
@@ -165,6 +168,59 @@ public class FileStoreCommitTest {
                 CoreOptions.ChangelogProducer.valueOf(changelogProducer));
     }
 
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testManyCommitUsersWithIncrementalFileIndex(boolean failing) throws Exception {
+        testRandomConcurrentWithConflict(
+                ThreadLocalRandom.current().nextInt(3) + 2,
+                failing,
+                CoreOptions.ChangelogProducer.NONE,
+                Collections.singletonMap(CoreOptions.COMMIT_INCREMENTAL_FILE_INDEX.key(), "true"));
+    }
+
+    @Test
+    public void testLiveFilesIndex() throws Exception {
+        TestFileStore store = createStore(false, 2);
+        LiveFilesIndex index = new LiveFilesIndex(store.newScan(), store.snapshotManager());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10; i++) {
+            List<KeyValue> kvs = generateDataList(random.nextInt(100) + 1);
+            if (i % 4 == 3) {
+                String dt = gen.getPartition(kvs.get(0)).getString(0).toString();
+                kvs.removeIf(kv -> !dt.equals(gen.getPartition(kv).getString(0).toString()));
+                store.overwriteData(
+                        kvs, gen::getPartition, kv -> 0, Collections.singletonMap("dt", dt));
+            } else {
+                store.commitData(kvs, gen::getPartition, kv -> random.nextInt(2));
+            }
+
+            // look up a part of the partitions, so that partitions move in and out of the index
+            Snapshot latest = store.snapshotManager().latestSnapshot();
+            List<BinaryRow> partitions =
+                    store.newScan().withSnapshot(latest).readPartitionEntries().stream()
+                            .map(PartitionEntry::partition)
+                            .filter(p -> random.nextBoolean())
+                            .collect(Collectors.toList());
+            if (partitions.isEmpty()) {
+                continue;
+            }
+            List<SimpleFileEntry> expected =
+                    store.newScan()
+                            .withSnapshot(latest)
+                            .withKind(ScanMode.ALL)
+                            .withPartitionFilter(partitions)
+                            .readSimpleEntries();
+            assertThat(
+                            index.read(latest, partitions).stream()
+                                    .map(SimpleFileEntry::identifier)
+                                    .collect(Collectors.toList()))
+                    .containsExactlyInAnyOrderElementsOf(
+                            expected.stream()
+                                    .map(SimpleFileEntry::identifier)
+                                    .collect(Collectors.toList()));
+        }
+    }
+
     @Test
     public void testLatestHint() throws Exception {
         testRandomConcurrentNoConflict(1, false, CoreOptions.ChangelogProducer.NONE);
@@ -252,12 +308,23 @@ public class FileStoreCommitTest {
                 // so only enable it when changelog producer is none
                 changelogProducer == CoreOptions.ChangelogProducer.NONE,
                 failing,
-                changelogProducer);
+                changelogProducer,
+                Collections.emptyMap());
     }
 
     protected void testRandomConcurrentWithConflict(
             int numThreads, boolean failing, CoreOptions.ChangelogProducer changelogProducer)
             throws Exception {
+        testRandomConcurrentWithConflict(
+                numThreads, failing, changelogProducer, Collections.emptyMap());
+    }
+
+    protected void testRandomConcurrentWithConflict(
+            int numThreads,
+            boolean failing,
+            CoreOptions.ChangelogProducer changelogProducer,
+            Map<String, String> options)
+            throws Exception {
         // prepare test data
         Map<BinaryRow, List<KeyValue>> data =
                 generateData(ThreadLocalRandom.current().nextInt(1000) + 1);
@@ -281,14 +348,15 @@ public class FileStoreCommitTest {
             }
         }
 
-        testRandomConcurrent(dataPerThread, false, failing, changelogProducer);
+        testRandomConcurrent(dataPerThread, false, failing, changelogProducer, options);
     }
 
     private void testRandomConcurrent(
             List<Map<BinaryRow, List<KeyValue>>> dataPerThread,
             boolean enableOverwrite,
             boolean failing,
-            CoreOptions.ChangelogProducer changelogProducer)
+            CoreOptions.ChangelogProducer changelogProducer,
+            Map<String, String> options)
             throws Exception {
         // concurrent commits
         List<TestCommitThread> threads = new ArrayList<>();
@@ -299,13 +367,13 @@ public class FileStoreCommitTest {
                             TestKeyValueGenerator.DEFAULT_ROW_TYPE,
                             enableOverwrite,
                             data,
-                            createStore(failing, 1, changelogProducer),
-                            createStore(false, 1, changelogProducer));
+                            createStore(failing, 1, changelogProducer, options),
+                            createStore(false, 1, changelogProducer, options));
             thread.start();
             threads.add(thread);
         }
 
-        TestFileStore store = createStore(false, 1, changelogProducer);
+        TestFileStore store = createStore(false, 1, changelogProducer, options);
 
         // calculate expected results
         List<KeyValue> threadResults = new ArrayList<>();
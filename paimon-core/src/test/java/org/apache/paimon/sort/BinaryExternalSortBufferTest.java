@@ -236,6 +236,29 @@ public class BinaryExternalSortBufferTest {
         sorter.clear();
     }
 
+    @Test
+    public void testMergeManyTimesWithAdaptiveCompression() throws Exception {
+        int size = 1000_000;
+
+        MockBinaryRowReader reader = new MockBinaryRowReader(size);
+
+        BinaryExternalSortBuffer sorter =
+                createBuffer(8, MemorySize.MAX_VALUE, new CompressOptions("adaptive", 1));
+        sorter.write(reader);
+        assertThat(sorter.size()).isEqualTo(size);
+
+        MutableObjectIterator<BinaryRow> iterator = sorter.sortedIterator();
+
+        BinaryRow next = serializer.createInstance();
+        for (int i = 0; i < size; i++) {
+            next = iterator.next(next);
+            assertThat(next.getInt(0)).isEqualTo(i);
+            assertThat(next.getString(1).toString()).isEqualTo(getString(i));
+        }
+
+        sorter.clear();
+    }
+
     @Test
     public void testSpillingRandom() throws Exception {
         int size = 1000_000;
@@ -303,6 +326,11 @@ public class BinaryExternalSortBufferTest {
     }
 
     private BinaryExternalSortBuffer createBuffer(int maxNumFileHandles, MemorySize diskSize) {
+        return createBuffer(maxNumFileHandles, diskSize, CompressOptions.defaultOptions());
+    }
+
+    private BinaryExternalSortBuffer createBuffer(
+            int maxNumFileHandles, MemorySize diskSize, CompressOptions compression) {
         @SuppressWarnings({"unchecked", "rawtypes"})
         BinaryInMemorySortBuffer inMemorySortBuffer =
                 BinaryInMemorySortBuffer.createBuffer(
@@ -317,7 +345,7 @@ public class BinaryExternalSortBufferTest {
                 inMemorySortBuffer,
                 ioManager,
                 maxNumFileHandles,
-                CompressOptions.defaultOptions(),
+                compression,
                 diskSize);
     }
 
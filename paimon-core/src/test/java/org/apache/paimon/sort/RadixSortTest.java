@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.sort;
+
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.codegen.NormalizedKeyComputer;
+import org.apache.paimon.codegen.RecordComparator;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.types.DataType;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.utils.MutableObjectIterator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RadixSort}. */
+public class RadixSortTest {
+
+    private static final int MEMORY_SIZE = 1024 * 1024 * 32;
+
+    private final Random random = new Random();
+
+    @Test
+    public void testSignificantKeyPositions() {
+        int[] positions = RadixSort.significantKeyPositions(7);
+        int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+        assertThat(sorted).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        // chunks of 4, 2 and 1 bytes are compared in order
+        assertThat(Arrays.copyOfRange(positions, 0, 4)).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(Arrays.copyOfRange(positions, 4, 6)).containsExactlyInAnyOrder(4, 5);
+        assertThat(positions[6]).isEqualTo(6);
+    }
+
+    @Test
+    public void testInt() throws Exception {
+        innerTest(
+                Arrays.asList(DataTypes.INT()),
+                i -> GenericRow.of(nullable(random.nextInt(i + 1) - i / 2)),
+                10_000,
+                new RadixSort());
+    }
+
+    @Test
+    public void testLong() throws Exception {
+        innerTest(
+                Arrays.asList(DataTypes.BIGINT()),
+                i -> GenericRow.of(nullable(random.nextLong())),
+                10_000,
+                new RadixSort());
+    }
+
+    @Test
+    public void testString() throws Exception {
+        // strings longer than the normalized key need the record comparator for ties
+        innerTest(
+                Arrays.asList(DataTypes.STRING()),
+                i -> GenericRow.of(nullable(BinaryString.fromString(randomString()))),
+                10_000,
+                new RadixSort());
+    }
+
+    @Test
+    public void testComposite() throws Exception {
+        innerTest(
+                Arrays.asList(DataTypes.INT(), DataTypes.STRING(), DataTypes.BIGINT()),
+                i ->
+                        GenericRow.of(
+                                random.nextInt(10),
+                                nullable(BinaryString.fromString(randomString())),
+                                random.nextLong()),
+                10_000,
+                new RadixSort());
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        innerTest(
+                Arrays.asList(DataTypes.BIGINT(), DataTypes.STRING()),
+                i ->
+                        GenericRow.of(
+                                (long) random.nextInt(1000),
+                                BinaryString.fromString(randomString())),
+                RadixSort.PARALLEL_THRESHOLD * 2,
+                new RadixSort(4));
+    }
+
+    @Test
+    public void testInvertedKey() throws Exception {
+        List<DataType> types = Arrays.asList(DataTypes.INT());
+        int[] keys = {0};
+        NormalizedKeyComputer computer = CodeGenUtils.newNormalizedKeyComputer(types, keys);
+        RecordComparator ascending = CodeGenUtils.newRecordComparator(types, keys, true);
+        RecordComparator comparator = (o1, o2) -> ascending.compare(o2, o1);
+        innerTest(
+                types,
+                i -> GenericRow.of(random.nextInt()),
+                10_000,
+                new InvertedKeyComputer(computer),
+                comparator);
+    }
+
+    private void innerTest(
+            List<DataType> types,
+            Function<Integer, InternalRow> rowGenerator,
+            int size,
+            IndexedSorter sorter)
+            throws Exception {
+        int[] keys = IntStream.range(0, types.size()).toArray();
+        innerTest(
+                types,
+                rowGenerator,
+                size,
+                CodeGenUtils.newNormalizedKeyComputer(types, keys),
+                CodeGenUtils.newRecordComparator(types, keys, true),
+                sorter);
+    }
+
+    private void innerTest(
+            List<DataType> types,
+            Function<Integer, InternalRow> rowGenerator,
+            int size,
+            NormalizedKeyComputer computer,
+            RecordComparator comparator)
+            throws Exception {
+        innerTest(types, rowGenerator, size, computer, comparator, new RadixSort());
+    }
+
+    private void innerTest(
+            List<DataType> types,
+            Function<Integer, InternalRow> rowGenerator,
+            int size,
+            NormalizedKeyComputer computer,
+            RecordComparator comparator,
+            IndexedSorter sorter)
+            throws Exception {
+        InternalRowSerializer serializer =
+                new InternalRowSerializer(types.toArray(new DataType[0]));
+        MemorySegmentPool pool1 =
+                new HeapMemorySegmentPool(MEMORY_SIZE, MemorySegmentPool.DEFAULT_PAGE_SIZE);
+        MemorySegmentPool pool2 =
+                new HeapMemorySegmentPool(MEMORY_SIZE, MemorySegmentPool.DEFAULT_PAGE_SIZE);
+        BinaryInMemorySortBuffer expectedBuffer =
+                BinaryInMemorySortBuffer.createBuffer(
+                        computer, serializer, comparator, pool1, new QuickSort());
+        BinaryInMemorySortBuffer buffer =
+                BinaryInMemorySortBuffer.createBuffer(
+                        computer, serializer, comparator, pool2, sorter);
+        for (int i = 0; i < size; i++) {
+            InternalRow row = rowGenerator.apply(i);
+            assertThat(expectedBuffer.write(row)).isTrue();
+            assertThat(buffer.write(row)).isTrue();
+        }
+
+        List<BinaryRow> expected = readAll(expectedBuffer.sortedIterator(), types.size());
+        List<BinaryRow> actual = readAll(buffer.sortedIterator(), types.size());
+        assertThat(actual).hasSize(size);
+        for (int i = 1; i < actual.size(); i++) {
+            assertThat(comparator.compare(actual.get(i - 1), actual.get(i))).isLessThanOrEqualTo(0);
+        }
+        assertThat(actual).isEqualTo(expected);
+
+        expectedBuffer.clear();
+        buffer.clear();
+    }
+
+    private static List<BinaryRow> readAll(MutableObjectIterator<BinaryRow> iterator, int arity)
+            throws Exception {
+        List<BinaryRow> rows = new ArrayList<>();
+        BinaryRow row = new BinaryRow(arity);
+        while ((row = iterator.next(row)) != null) {
+            rows.add(row.copy());
+        }
+        return rows;
+    }
+
+    private <T> T nullable(T value) {
+        return random.nextInt(10) == 0 ? null : value;
+    }
+
+    private String randomString() {
+        // share long prefixes to produce equal normalized keys
+        StringBuilder builder = new StringBuilder("prefix-");
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+
+    /** A {@link NormalizedKeyComputer} which sorts in descending order by inverting the keys. */
+    private static class InvertedKeyComputer implements NormalizedKeyComputer {
+
+        private final NormalizedKeyComputer computer;
+
+        private InvertedKeyComputer(NormalizedKeyComputer computer) {
+            this.computer = computer;
+        }
+
+        @Override
+        public void putKey(InternalRow record, MemorySegment target, int offset) {
+            computer.putKey(record, target, offset);
+        }
+
+        @Override
+        public int compareKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+            return computer.compareKey(segI, offsetI, segJ, offsetJ);
+        }
+
+        @Override
+        public void swapKey(MemorySegment segI, int offsetI, MemorySegment segJ, int offsetJ) {
+            computer.swapKey(segI, offsetI, segJ, offsetJ);
+        }
+
+        @Override
+        public int getNumKeyBytes() {
+            return computer.getNumKeyBytes();
+        }
+
+        @Override
+        public boolean isKeyFullyDetermines() {
+            return computer.isKeyFullyDetermines();
+        }
+
+        @Override
+        public boolean invertKey() {
+            return true;
+        }
+    }
+}
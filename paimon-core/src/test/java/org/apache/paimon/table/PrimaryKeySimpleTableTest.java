@@ -35,6 +35,8 @@ import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.manifest.FileKind;
 import org.apache.paimon.manifest.ManifestEntry;
 import org.apache.paimon.manifest.ManifestFileMeta;
+import org.apache.paimon.memory.AbstractMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.operation.AbstractFileStoreWrite;
 import org.apache.paimon.operation.FileStoreScan;
 import org.apache.paimon.options.MemorySize;
@@ -47,6 +49,7 @@ import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.predicate.SortValue;
 import org.apache.paimon.predicate.TopN;
 import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.reader.VectorizedRecordIterator;
 import org.apache.paimon.schema.Schema;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.SchemaUtils;
@@ -90,6 +93,7 @@ import org.apache.commons.math3.random.RandomDataGenerator;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -104,6 +108,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -111,6 +118,7 @@ import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -126,6 +134,7 @@ import static org.apache.paimon.CoreOptions.FILE_FORMAT;
 import static org.apache.paimon.CoreOptions.FILE_FORMAT_PARQUET;
 import static org.apache.paimon.CoreOptions.FILE_FORMAT_PER_LEVEL;
 import static org.apache.paimon.CoreOptions.LOOKUP_LOCAL_FILE_TYPE;
+import static org.apache.paimon.CoreOptions.LOOKUP_WRITE_FILE_ON_COMPACTION;
 import static org.apache.paimon.CoreOptions.MERGE_ENGINE;
 import static org.apache.paimon.CoreOptions.METADATA_STATS_MODE;
 import static org.apache.paimon.CoreOptions.METADATA_STATS_MODE_PER_LEVEL;
@@ -181,6 +190,132 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         assertThat(entries.size()).isEqualTo(100);
     }
 
+    @Test
+    public void testWriteBufferOffHeap() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set(CoreOptions.WRITE_BUFFER_OFF_HEAP, true);
+                            // a small buffer to flush the off-heap pages many times
+                            options.set(CoreOptions.WRITE_BUFFER_SIZE, MemorySize.parse("256 kb"));
+                            options.set(CoreOptions.PAGE_SIZE, MemorySize.parse("32 kb"));
+                            options.set(CoreOptions.WRITE_BUFFER_SPILLABLE, false);
+                        });
+
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 5000; j++) {
+                    write.write(rowData(1, j, (long) i * j));
+                }
+            }
+            commit.commit(write.prepareCommit());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int j = 0; j < 5000; j++) {
+            expected.add(j + "|" + 3L * j);
+        }
+        assertThat(
+                        getResult(
+                                table.newReadBuilder().newRead(),
+                                toSplits(table.newSnapshotReader().read().dataSplits()),
+                                r -> r.getInt(1) + "|" + r.getLong(2)))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testWriteBufferOffHeapSpillable() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set(CoreOptions.WRITE_BUFFER_OFF_HEAP, true);
+                            options.set(CoreOptions.WRITE_BUFFER_SPILLABLE, true);
+                            options.set(CoreOptions.PAGE_SIZE, MemorySize.parse("32 kb"));
+                        });
+        AbstractMemorySegmentPool pool =
+                MemorySegmentPool.create(
+                        MemorySize.parse("256 kb").getBytes(),
+                        (int) MemorySize.parse("32 kb").getBytes(),
+                        true);
+        java.nio.file.Path spillDir = Files.createDirectory(tempDir.resolve("spill"));
+
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            write.withIOManager(IOManager.create(spillDir.toString()));
+            write.withMemoryPool(pool);
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 5000; j++) {
+                    write.write(rowData(1, j, (long) i * j));
+                }
+            }
+
+            // the full off-heap buffer has been spilled to disk instead of being flushed
+            try (Stream<java.nio.file.Path> files = Files.walk(spillDir)) {
+                assertThat(files.filter(Files::isRegularFile).count()).isGreaterThan(0);
+            }
+            commit.commit(write.prepareCommit());
+        }
+
+        // all pages are returned by the closed writer and freed by the pool
+        assertThat(pool.freePages()).isEqualTo(8);
+        pool.close();
+        assertThat(pool.allocatedPages()).isEqualTo(0);
+
+        List<String> expected = new ArrayList<>();
+        for (int j = 0; j < 5000; j++) {
+            expected.add(j + "|" + 3L * j);
+        }
+        assertThat(
+                        getResult(
+                                table.newReadBuilder().newRead(),
+                                toSplits(table.newSnapshotReader().read().dataSplits()),
+                                r -> r.getInt(1) + "|" + r.getLong(2)))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void testWriteBufferAsyncFlush() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set(CoreOptions.WRITE_BUFFER_ASYNC_FLUSH, true);
+                            // a small buffer to flush in background many times
+                            options.set(CoreOptions.WRITE_BUFFER_SIZE, MemorySize.parse("256 kb"));
+                            options.set(CoreOptions.PAGE_SIZE, MemorySize.parse("32 kb"));
+                            options.set(CoreOptions.NUM_SORTED_RUNS_COMPACTION_TRIGGER, 100);
+                        });
+
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            write.withIOManager(IOManager.create(tempDir.toString()));
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 5000; j++) {
+                    write.write(rowData(1, j, (long) i * j));
+                }
+            }
+            commit.commit(write.prepareCommit());
+        }
+
+        List<DataSplit> splits = table.newSnapshotReader().read().dataSplits();
+        assertThat(splits.stream().mapToInt(split -> split.dataFiles().size()).sum())
+                .isGreaterThan(1);
+
+        List<String> expected = new ArrayList<>();
+        for (int j = 0; j < 5000; j++) {
+            expected.add(j + "|" + 3L * j);
+        }
+        assertThat(
+                        getResult(
+                                table.newReadBuilder().newRead(),
+                                toSplits(splits),
+                                r -> r.getInt(1) + "|" + r.getLong(2)))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
     @Test
     public void testPostponeBucket() throws Exception {
         FileStoreTable table =
@@ -263,10 +398,18 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         assertThat(selector.select(rowData(1, 5, 6L), 3)).isEqualTo(2);
     }
 
-    @Test
-    public void testAsyncReader() throws Exception {
+    @ParameterizedTest(name = "bounded = {0}")
+    @ValueSource(booleans = {false, true})
+    public void testAsyncReader(boolean bounded) throws Exception {
         FileStoreTable table = createFileStoreTable();
-        table = table.copy(singletonMap(CoreOptions.FILE_READER_ASYNC_THRESHOLD.key(), "1 b"));
+        Map<String, String> dynamicOptions = new HashMap<>();
+        dynamicOptions.put(CoreOptions.FILE_READER_ASYNC_THRESHOLD.key(), "1 b");
+        if (bounded) {
+            dynamicOptions.put(CoreOptions.FILE_READER_ASYNC_MAX_BATCHES.key(), "1");
+            dynamicOptions.put(CoreOptions.FILE_READER_ASYNC_THREAD_NUM.key(), "2");
+            dynamicOptions.put(CoreOptions.FILE_READER_ASYNC_PREFETCH_FILES.key(), "2");
+        }
+        table = table.copy(dynamicOptions);
 
         Map<Integer, GenericRow> rows = new HashMap<>();
         for (int i = 0; i < 20; i++) {
@@ -297,6 +440,157 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         assertThat(getResult(read, splits, toString)).containsExactly(expected);
     }
 
+    @ParameterizedTest(name = "{0}, {1}")
+    @CsvSource({
+        "orc,DEDUPLICATE",
+        "parquet,DEDUPLICATE",
+        "avro,DEDUPLICATE",
+        "orc,AGGREGATE",
+        "parquet,AGGREGATE"
+    })
+    public void testColumnarMergeRead(String format, MergeEngine mergeEngine) throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set(FILE_FORMAT, format);
+                            options.set(MERGE_ENGINE, mergeEngine);
+                            options.set(CoreOptions.WRITE_ONLY, true);
+                            if (mergeEngine == AGGREGATE) {
+                                options.set("fields.b.aggregate-function", "sum");
+                            }
+                        });
+        for (int i = 0; i < 5; i++) {
+            BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+            try (BatchTableWrite write = writeBuilder.newWrite();
+                    BatchTableCommit commit = writeBuilder.newCommit()) {
+                for (int j = 0; j < 3000; j++) {
+                    if (mergeEngine == DEDUPLICATE && i == 4 && j % 100 == 0) {
+                        write.write(rowDataWithKind(RowKind.DELETE, 1, j, 0L));
+                    } else if (j % 5 <= i) {
+                        write.write(rowData(1, j, (long) i * j));
+                    }
+                }
+                commit.commit(write.prepareCommit());
+            }
+        }
+
+        FileStoreTable columnarTable =
+                table.copy(
+                        Collections.singletonMap(
+                                CoreOptions.READ_COLUMNAR_MERGE_ENABLED.key(), "true"));
+        List<Split> splits = toSplits(table.newSnapshotReader().read().dataSplits());
+        assertThat(splits).hasSize(1);
+        assertThat(((DataSplit) splits.get(0)).rawConvertible()).isFalse();
+
+        RowType readType = ROW_TYPE.project("b", "a", "d");
+        Function<InternalRow, String> toString =
+                r ->
+                        r.getRowKind().shortString()
+                                + "|"
+                                + r.getLong(0)
+                                + "|"
+                                + r.getInt(1)
+                                + "|"
+                                + new String(r.getBinary(2));
+        assertThat(
+                        getResult(
+                                columnarTable.newReadBuilder().withReadType(readType).newRead(),
+                                splits,
+                                toString))
+                .hasSize(mergeEngine == DEDUPLICATE ? 2970 : 3000)
+                .containsExactlyElementsOf(
+                        getResult(
+                                table.newReadBuilder().withReadType(readType).newRead(),
+                                splits,
+                                toString));
+
+        // sections with more runs than the spill threshold are merged by the merge sorter
+        Map<String, String> spillOptions = new HashMap<>();
+        spillOptions.put(CoreOptions.READ_COLUMNAR_MERGE_ENABLED.key(), "true");
+        spillOptions.put(CoreOptions.SORT_SPILL_THRESHOLD.key(), "2");
+        assertThat(
+                        getResult(
+                                table.copy(spillOptions)
+                                        .newReadBuilder()
+                                        .withReadType(readType)
+                                        .newRead()
+                                        .withIOManager(IOManager.create(tempDir.toString())),
+                                splits,
+                                toString))
+                .containsExactlyElementsOf(
+                        getResult(
+                                table.newReadBuilder().withReadType(readType).newRead(),
+                                splits,
+                                toString));
+
+        if (!format.equals("avro")) {
+            // merged rows are gathered from the vectorized batches into full output batches
+            int batches = 0;
+            int vectorizedRows = 0;
+            try (RecordReader<InternalRow> reader =
+                    columnarTable
+                            .newReadBuilder()
+                            .withReadType(ROW_TYPE.project("b", "a"))
+                            .newRead()
+                            .createReader(splits.get(0))) {
+                RecordReader.RecordIterator<InternalRow> batch;
+                while ((batch = reader.readBatch()) != null) {
+                    batches++;
+                    assertThat(batch).isInstanceOf(VectorizedRecordIterator.class);
+                    int rows = 0;
+                    while (batch.next() != null) {
+                        rows++;
+                    }
+                    assertThat(((VectorizedRecordIterator) batch).batch().getNumRows())
+                            .isEqualTo(rows);
+                    vectorizedRows += rows;
+                    batch.releaseBatch();
+                }
+            }
+            assertThat(vectorizedRows).isEqualTo(mergeEngine == DEDUPLICATE ? 2970 : 3000);
+            assertThat(batches).isLessThan(vectorizedRows / 100);
+        }
+
+        // maps and multisets have no gathered child vectors, they are merged row by row
+        RowType nestedType = ROW_TYPE.project("b", "a", "e", "f");
+        Function<InternalRow, String> nestedToString =
+                r ->
+                        r.getRowKind().shortString()
+                                + "|"
+                                + r.getLong(0)
+                                + "|"
+                                + r.getInt(1)
+                                + "|"
+                                + r.getMap(2).size()
+                                + "|"
+                                + r.getMap(3).size();
+        try (RecordReader<InternalRow> reader =
+                columnarTable
+                        .newReadBuilder()
+                        .withReadType(nestedType)
+                        .newRead()
+                        .createReader(splits.get(0))) {
+            RecordReader.RecordIterator<InternalRow> batch;
+            while ((batch = reader.readBatch()) != null) {
+                assertThat(batch).isNotInstanceOf(VectorizedRecordIterator.class);
+                while (batch.next() != null) {
+                    // merged row by row
+                }
+                batch.releaseBatch();
+            }
+        }
+        assertThat(
+                        getResult(
+                                columnarTable.newReadBuilder().withReadType(nestedType).newRead(),
+                                splits,
+                                nestedToString))
+                .containsExactlyElementsOf(
+                        getResult(
+                                table.newReadBuilder().withReadType(nestedType).newRead(),
+                                splits,
+                                nestedToString));
+    }
+
     @Test
     public void testBatchWriteBuilder() throws Exception {
         FileStoreTable table = createFileStoreTable();
@@ -903,6 +1197,18 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         innerTestWithShard(table);
     }
 
+    @Test
+    public void testWithShardDeletionVectorsAndLookupPrefetch() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(BUCKET, 5);
+                            conf.set(DELETION_VECTORS_ENABLED, true);
+                            conf.set(CoreOptions.LOOKUP_PREFETCH_ENABLED, true);
+                        });
+        innerTestWithShard(table);
+    }
+
     @Test
     public void testDeletionVectorsWithFileIndexInFile() throws Exception {
         FileStoreTable table =
@@ -1847,6 +2153,51 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         commit.close();
     }
 
+    @Test
+    public void testAggMergeFuncWithWriteBufferPreMerge() throws Exception {
+        RowType rowType =
+                RowType.of(
+                        new DataType[] {
+                            DataTypes.INT(), DataTypes.INT(), DataTypes.INT(), DataTypes.INT()
+                        },
+                        new String[] {"pt", "a", "b", "c"});
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set("merge-engine", "aggregation");
+                            options.set("fields.b.aggregate-function", "sum");
+                            options.set("fields.c.aggregate-function", "max");
+                            options.set(CoreOptions.WRITE_BUFFER_PRE_MERGE, true);
+                            // the hash map can not hold all keys
+                            options.set(CoreOptions.WRITE_BUFFER_SIZE, MemorySize.parse("4 mb"));
+                            options.set(CoreOptions.PAGE_SIZE, MemorySize.parse("32 kb"));
+                            options.set(CoreOptions.WRITE_BUFFER_SPILLABLE, false);
+                        },
+                        rowType);
+
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 30000; j++) {
+                    write.write(GenericRow.of(1, j, 1, i));
+                }
+            }
+            commit.commit(write.prepareCommit());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int j = 0; j < 30000; j++) {
+            expected.add(String.format("+I[1, %d, 3, 2]", j));
+        }
+        assertThat(
+                        getResult(
+                                table.newRead(),
+                                toSplits(table.newSnapshotReader().read().dataSplits()),
+                                row -> internalRowToString(row, rowType)))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
     @Test
     public void testAggMergeFuncNotAllowRetract() throws Exception {
         RowType rowType =
@@ -2295,6 +2646,18 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         innerTestTableQuery(table);
     }
 
+    @Test
+    public void testTableQueryWithPrefetch() throws Exception {
+        // the compacted files of the first refresh are prefetched when the bucket is created
+        FileStoreTable table =
+                createFileStoreTable(
+                        options -> {
+                            options.set(CHANGELOG_PRODUCER, LOOKUP);
+                            options.set(CoreOptions.LOOKUP_PREFETCH_ENABLED, true);
+                        });
+        innerTestTableQuery(table);
+    }
+
     @Test
     public void testTableQueryForNormal() throws Exception {
         FileStoreTable table = createFileStoreTable();
@@ -2353,6 +2716,53 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         }
     }
 
+    @ParameterizedTest(name = "deletion-vectors = {0}")
+    @ValueSource(booleans = {true, false})
+    public void testLookupWriteFileOnCompaction(boolean dvEnabled) throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> {
+                            conf.set(CHANGELOG_PRODUCER, LOOKUP);
+                            conf.set(DELETION_VECTORS_ENABLED, dvEnabled);
+                            conf.set(LOOKUP_WRITE_FILE_ON_COMPACTION, true);
+                        });
+        IOManager ioManager = IOManager.create(tablePath.toString());
+        StreamTableWrite write = table.newWrite(commitUser).withIOManager(ioManager);
+        StreamTableCommit commit = table.newCommit(commitUser);
+        for (int i = 0; i < 100; i++) {
+            write.write(rowData(1, i, (long) i));
+        }
+        commit.commit(0, write.prepareCommit(true, 0));
+
+        // these lookups hit the lookup files written by the last compaction
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                write.write(rowDataWithKind(RowKind.DELETE, 1, i, (long) i));
+            } else if (i % 3 == 1) {
+                write.write(rowData(1, i, i * 10L));
+                expected.add(
+                        String.format(
+                                "1|%s|%s|binary|varbinary|mapKey:mapVal|multiset", i, i * 10));
+            } else {
+                expected.add(
+                        String.format("1|%s|%s|binary|varbinary|mapKey:mapVal|multiset", i, i));
+            }
+        }
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+        commit.close();
+
+        assertThat(
+                        getResult(
+                                table.newRead(),
+                                toSplits(table.newSnapshotReader().read().dataSplits()),
+                                binaryRow(1),
+                                0,
+                                BATCH_ROW_TO_STRING))
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
     @ParameterizedTest(name = "changelog-producer = {0}")
     @ValueSource(strings = {"none", "input"})
     public void testRollbackToTagWithChangelogDecoupled(String changelogProducer) throws Exception {
@@ -2474,6 +2884,58 @@ public class PrimaryKeySimpleTableTest extends SimpleTableTestBase {
         }
     }
 
+    @Test
+    public void testTableQueryConcurrently() throws Exception {
+        FileStoreTable table = createFileStoreTable();
+        IOManager ioManager = IOManager.create(tablePath.toString());
+        StreamTableWrite write = table.newWrite(commitUser).withIOManager(ioManager);
+        StreamTableCommit commit = table.newCommit(commitUser);
+
+        int numPartitions = 8;
+        int numKeys = 100;
+        for (int pt = 0; pt < numPartitions; pt++) {
+            for (int a = 0; a < numKeys; a++) {
+                write.write(rowData(pt, a, (long) pt * numKeys + a));
+            }
+        }
+        List<CommitMessage> commitMessages = write.prepareCommit(true, 0);
+        commit.commit(0, commitMessages);
+
+        LocalTableQuery query = table.newLocalTableQuery();
+        query.withIOManager(ioManager);
+        refreshTableService(query, commitMessages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(numPartitions);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < numPartitions; i++) {
+                int offset = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int j = 0; j < numPartitions * numKeys; j++) {
+                                        int pt = (offset + j) % numPartitions;
+                                        int a = j % numKeys;
+                                        InternalRow value = query.lookup(row(pt), 0, row(a));
+                                        assertThat(value).isNotNull();
+                                        assertThat(value.getLong(2))
+                                                .isEqualTo((long) pt * numKeys + a);
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        query.close();
+        write.close();
+        commit.close();
+    }
+
     private void innerTestTableQuery(FileStoreTable table) throws Exception {
         IOManager ioManager = IOManager.create(tablePath.toString());
         StreamTableWrite write = table.newWrite(commitUser).withIOManager(ioManager);
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.table.sink;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.catalog.PrimaryKeyTableTestBase;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.manifest.IndexManifestEntry;
+import org.apache.paimon.manifest.ManifestCommittable;
+import org.apache.paimon.manifest.ManifestEntry;
+import org.apache.paimon.manifest.SimpleFileEntry;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.table.FileStoreTable;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link GroupCommitCoordinator}. */
+public class GroupCommitCoordinatorTest extends PrimaryKeyTableTestBase {
+
+    @Override
+    protected Options tableOptions() {
+        Options options = new Options();
+        options.set(CoreOptions.BUCKET, 1);
+        options.set(CoreOptions.COMMIT_GROUP_MAX_DELAY, Duration.ofMillis(100));
+        return options;
+    }
+
+    @Test
+    public void testManyProducers() throws Exception {
+        int numProducers = 4;
+        int numCommits = 10;
+
+        // producers only write new files, compaction is left to a dedicated job
+        FileStoreTable writeTable = table.copy(singletonMap(CoreOptions.WRITE_ONLY.key(), "true"));
+        ExecutorService producers = Executors.newFixedThreadPool(numProducers);
+        List<GenericRow> expected = new ArrayList<>();
+        try (GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser)) {
+            List<Future<List<CompletableFuture<Void>>>> results = new ArrayList<>();
+            for (int p = 0; p < numProducers; p++) {
+                int pt = p;
+                for (int i = 0; i < numCommits; i++) {
+                    expected.add(GenericRow.of(pt, i, i));
+                }
+                results.add(
+                        producers.submit(
+                                () -> {
+                                    List<CompletableFuture<Void>> futures = new ArrayList<>();
+                                    for (int i = 0; i < numCommits; i++) {
+                                        futures.add(
+                                                coordinator.submit(
+                                                        "producer-" + pt,
+                                                        prepare(
+                                                                writeTable,
+                                                                i,
+                                                                GenericRow.of(pt, i, i))));
+                                    }
+                                    return futures;
+                                }));
+            }
+
+            for (Future<List<CompletableFuture<Void>>> result : results) {
+                for (CompletableFuture<Void> future : result.get()) {
+                    future.get();
+                }
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        assertThat(query()).containsExactlyInAnyOrderElementsOf(expected);
+        Snapshot latest = table.snapshotManager().latestSnapshot();
+        assertThat(latest.id()).isLessThan(numProducers * numCommits);
+        assertThat(latest.commitUser()).isEqualTo(commitUser);
+    }
+
+    @Test
+    public void testConflictInBatch() throws Exception {
+        writeCommit(GenericRow.of(1, 1, 1));
+        writeCommit(GenericRow.of(1, 2, 2));
+
+        // two producers compact the same files, they can not be committed together
+        ManifestCommittable compact1 = prepareCompact(1);
+        ManifestCommittable compact2 = prepareCompact(1);
+        ManifestCommittable append = prepare(table, 0, GenericRow.of(2, 1, 1));
+
+        List<CompletableFuture<Void>> futures;
+        try (GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser)) {
+            futures =
+                    Arrays.asList(
+                            coordinator.submit("compact-1", compact1),
+                            coordinator.submit("compact-2", compact2),
+                            coordinator.submit("append", append));
+        }
+
+        // the second compaction is committed alone and fails
+        futures.get(0).get();
+        assertThatThrownBy(() -> futures.get(1).get()).isInstanceOf(ExecutionException.class);
+        futures.get(2).get();
+        assertThat(table.snapshotManager().latestSnapshot().commitUser()).isEqualTo(commitUser);
+
+        assertThat(query())
+                .containsExactlyInAnyOrder(
+                        GenericRow.of(1, 1, 1), GenericRow.of(1, 2, 2), GenericRow.of(2, 1, 1));
+    }
+
+    @Test
+    public void testSubmitAfterClose() throws Exception {
+        GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser);
+        coordinator.close();
+        assertThatThrownBy(
+                        () ->
+                                coordinator
+                                        .submit(
+                                                "producer",
+                                                prepare(table, 0, GenericRow.of(1, 1, 1)))
+                                        .get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testSkipCommittedAfterFailover() throws Exception {
+        ManifestCommittable first = prepare(table, 0, GenericRow.of(1, 1, 1));
+        ManifestCommittable second = prepare(table, 0, GenericRow.of(2, 1, 1));
+        try (GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser)) {
+            coordinator.submit("producer-1", first).get();
+            coordinator.submit("producer-2", second).get();
+        }
+        long latestId = table.snapshotManager().latestSnapshotId();
+
+        // producers restore from their checkpoints and submit the same committables again
+        ManifestCommittable next = prepare(table, 1, GenericRow.of(1, 2, 2));
+        try (GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser)) {
+            coordinator.submit("producer-1", first).get();
+            coordinator.submit("producer-2", second).get();
+            assertThat(table.snapshotManager().latestSnapshotId()).isEqualTo(latestId);
+            coordinator.submit("producer-1", next).get();
+        }
+
+        assertThat(query())
+                .containsExactlyInAnyOrder(
+                        GenericRow.of(1, 1, 1), GenericRow.of(2, 1, 1), GenericRow.of(1, 2, 2));
+    }
+
+    @Test
+    public void testKeepRunningAfterUnexpectedFailure() throws Exception {
+        ManifestCommittable invalid = new ManifestCommittable(0);
+        invalid.addFileCommittable(
+                new CommitMessage() {
+                    @Override
+                    public BinaryRow partition() {
+                        return BinaryRow.EMPTY_ROW;
+                    }
+
+                    @Override
+                    public int bucket() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Integer totalBuckets() {
+                        return null;
+                    }
+                });
+        try (GroupCommitCoordinator coordinator = new GroupCommitCoordinator(table, commitUser)) {
+            assertThatThrownBy(() -> coordinator.submit("invalid", invalid).get())
+                    .isInstanceOf(ExecutionException.class);
+            coordinator.submit("producer", prepare(table, 0, GenericRow.of(1, 1, 1))).get();
+        }
+
+        assertThat(query()).containsExactly(GenericRow.of(1, 1, 1));
+    }
+
+    @Test
+    public void testFailureAfterSnapshotCommitted() throws Exception {
+        FileStoreTable callbackTable =
+                table.copy(
+                        singletonMap(
+                                CoreOptions.COMMIT_CALLBACKS.key(),
+                                FailOnceCallback.class.getName()));
+        FailOnceCallback.FAILED.set(false);
+        List<CompletableFuture<Void>> futures;
+        try (GroupCommitCoordinator coordinator =
+                new GroupCommitCoordinator(callbackTable, commitUser)) {
+            futures =
+                    Arrays.asList(
+                            coordinator.submit(
+                                    "producer-1", prepare(table, 0, GenericRow.of(1, 1, 1))),
+                            coordinator.submit(
+                                    "producer-2", prepare(table, 0, GenericRow.of(2, 1, 1))));
+            // the snapshot is committed, the producers must not retry their committables
+            for (CompletableFuture<Void> future : futures) {
+                future.get();
+            }
+            coordinator.submit("producer-1", prepare(table, 1, GenericRow.of(1, 2, 2))).get();
+        }
+
+        assertThat(FailOnceCallback.FAILED.get()).isTrue();
+        assertThat(query())
+                .containsExactlyInAnyOrder(
+                        GenericRow.of(1, 1, 1), GenericRow.of(2, 1, 1), GenericRow.of(1, 2, 2));
+    }
+
+    private static ManifestCommittable prepare(
+            FileStoreTable table, long identifier, GenericRow row) throws Exception {
+        try (BatchTableWrite write = table.newBatchWriteBuilder().newWrite()) {
+            write.write(row);
+            return toCommittable(identifier, write.prepareCommit());
+        }
+    }
+
+    private ManifestCommittable prepareCompact(int partition) throws Exception {
+        try (BatchTableWrite write = table.newBatchWriteBuilder().newWrite()) {
+            write.compact(BinaryRow.singleColumn(partition), 0, true);
+            return toCommittable(0, write.prepareCommit());
+        }
+    }
+
+    /** A {@link CommitCallback} failing the first commit after its snapshot is committed. */
+    public static class FailOnceCallback implements CommitCallback {
+
+        private static final AtomicBoolean FAILED = new AtomicBoolean(false);
+
+        @Override
+        public void call(
+                List<SimpleFileEntry> baseFiles,
+                List<ManifestEntry> deltaFiles,
+                List<IndexManifestEntry> indexFiles,
+                Snapshot snapshot) {
+            if (FAILED.compareAndSet(false, true)) {
+                throw new RuntimeException("Expected exception.");
+            }
+        }
+
+        @Override
+        public void retry(ManifestCommittable committable) {}
+
+        @Override
+        public void close() {}
+    }
+
+    private static ManifestCommittable toCommittable(
+            long identifier, List<CommitMessage> messages) {
+        ManifestCommittable committable = new ManifestCommittable(identifier);
+        messages.forEach(committable::addFileCommittable);
+        return committable;
+    }
+}
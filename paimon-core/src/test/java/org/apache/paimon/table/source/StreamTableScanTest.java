@@ -92,6 +92,33 @@ public class StreamTableScanTest extends ScannerTestBase {
         commit.close();
     }
 
+    @Test
+    public void testPlanWithSnapshotNotifier() throws Exception {
+        TableRead read = table.newRead();
+        StreamTableWrite write = table.newWrite(commitUser);
+        StreamTableCommit commit = table.newCommit(commitUser);
+
+        Map<String, String> options = new HashMap<>();
+        options.put(CoreOptions.CONTINUOUS_SNAPSHOT_NOTIFIER.key(), "filesystem");
+        options.put(CoreOptions.CONTINUOUS_SNAPSHOT_NOTIFIER_REFRESH_INTERVAL.key(), "1 h");
+        StreamTableScan scan = table.copy(options).newReadBuilder().newStreamScan();
+
+        write.write(rowData(1, 10, 100L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        assertThat(getResult(read, scan.plan().splits()))
+                .hasSameElementsAs(Collections.singletonList("+I 1|10|100"));
+        assertThat(scan.plan().splits()).isEmpty();
+
+        // the commit in this process is notified without waiting for the refresh interval
+        write.write(rowData(1, 20, 200L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        assertThat(getResult(read, scan.plan().splits()))
+                .hasSameElementsAs(Collections.singletonList("+I 1|20|200"));
+
+        write.close();
+        commit.close();
+    }
+
     @Test
     public void testPlan() throws Exception {
         TableRead read = table.newRead();
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.utils;
 
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.reader.FileRecordIterator;
 import org.apache.paimon.reader.RecordReader;
 
 import org.junit.jupiter.api.Test;
@@ -27,9 +29,15 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -154,4 +162,261 @@ public class AsyncRecordReaderTest {
             Thread.currentThread().setContextClassLoader(goodClassLoader);
         }
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        int maxBatches = 2;
+        AtomicInteger outstanding1 = new AtomicInteger(0);
+        AtomicInteger outstanding2 = new AtomicInteger(0);
+        AtomicInteger maxOutstanding = new AtomicInteger(0);
+        AtomicBoolean closed1 = new AtomicBoolean(false);
+        AtomicBoolean closed2 = new AtomicBoolean(false);
+
+        // a single thread is shared by both readers, a paused producer must not occupy it
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncRecordReader<Integer> reader1 =
+                    new AsyncRecordReader<>(
+                            () -> countingReader(10, outstanding1, maxOutstanding, closed1),
+                            executor,
+                            maxBatches);
+            AsyncRecordReader<Integer> reader2 =
+                    new AsyncRecordReader<>(
+                            () -> countingReader(10, outstanding2, maxOutstanding, closed2),
+                            executor,
+                            maxBatches);
+
+            List<Integer> results1 = new ArrayList<>();
+            List<Integer> results2 = new ArrayList<>();
+            boolean end1 = false;
+            boolean end2 = false;
+            while (!end1 || !end2) {
+                if (!end1) {
+                    end1 = !readOneBatch(reader1, results1);
+                }
+                if (!end2) {
+                    end2 = !readOneBatch(reader2, results2);
+                }
+            }
+
+            assertThat(results1).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+            assertThat(results2).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+            assertThat(maxOutstanding.get()).isLessThanOrEqualTo(maxBatches);
+            assertThat(reader1.queueDepth()).isEqualTo(0);
+
+            reader1.close();
+            reader2.close();
+            assertThat(closed1.get()).isTrue();
+            assertThat(closed2.get()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCloseWhenPaused() throws Exception {
+        AtomicInteger outstanding = new AtomicInteger(0);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncRecordReader<Integer> reader =
+                    new AsyncRecordReader<>(
+                            () -> countingReader(10, outstanding, new AtomicInteger(), closed),
+                            executor,
+                            1);
+            RecordReader.RecordIterator<Integer> batch = reader.readBatch();
+            assertThat(batch).isNotNull();
+            assertThat(batch.next()).isEqualTo(0);
+
+            // the producer is paused until the batch is released
+            Thread.sleep(100);
+            assertThat(reader.queueDepth()).isEqualTo(0);
+            assertThat(closed.get()).isFalse();
+
+            batch.releaseBatch();
+            reader.close();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(closed.get()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadWhenHoldingMaxBatches() throws Exception {
+        int maxBatches = 2;
+        AtomicInteger outstanding = new AtomicInteger(0);
+        AtomicBoolean closed = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncRecordReader<Integer> reader =
+                    new AsyncRecordReader<>(
+                            () -> countingReader(10, outstanding, new AtomicInteger(), closed),
+                            executor,
+                            maxBatches);
+            List<RecordReader.RecordIterator<Integer>> held = new ArrayList<>();
+            for (int i = 0; i < maxBatches; i++) {
+                held.add(reader.readBatch());
+            }
+
+            // the consumer holds all batches, the producer must not leave it waiting forever
+            RecordReader.RecordIterator<Integer> batch = reader.readBatch();
+            assertThat(batch).isNotNull();
+            assertThat(batch.next()).isEqualTo(maxBatches);
+            held.add(batch);
+            held.forEach(RecordReader.RecordIterator::releaseBatch);
+
+            List<Integer> results = new ArrayList<>();
+            while (readOneBatch(reader, results)) {}
+            assertThat(results).containsExactly(3, 4, 5, 6, 7, 8, 9);
+            assertThat(outstanding.get()).isEqualTo(0);
+            reader.close();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(closed.get()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testKeepFileRecordIterator() throws Exception {
+        Path path = new Path("/test-file");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int maxBatches : new int[] {1, Integer.MAX_VALUE}) {
+                Queue<Integer> batches = new LinkedList<>(Arrays.asList(0, 1));
+                RecordReader<Integer> fileReader =
+                        new RecordReader<Integer>() {
+                            @Nullable
+                            @Override
+                            public RecordIterator<Integer> readBatch() {
+                                Integer value = batches.poll();
+                                return value == null ? null : fileIterator(path, value);
+                            }
+
+                            @Override
+                            public void close() {}
+                        };
+                AsyncRecordReader<Integer> reader =
+                        new AsyncRecordReader<>(() -> fileReader, executor, maxBatches);
+
+                List<Long> positions = new ArrayList<>();
+                reader.forEachRemainingWithPosition(
+                        (position, value) -> {
+                            assertThat(position).isEqualTo((long) value);
+                            positions.add(position);
+                        });
+                assertThat(positions).containsExactly(0L, 1L);
+                reader.close();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailWhenProducerRejected() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        AsyncRecordReader<Integer> reader =
+                new AsyncRecordReader<>(
+                        () -> countingReader(10, new AtomicInteger(), new AtomicInteger(), closed),
+                        executor,
+                        1);
+        RecordReader.RecordIterator<Integer> batch = reader.readBatch();
+        assertThat(batch).isNotNull();
+
+        // the paused producer can not be resubmitted, the consumer must not hang
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        batch.releaseBatch();
+        assertThatThrownBy(reader::readBatch)
+                .hasRootCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(closed.get()).isTrue();
+        reader.close();
+    }
+
+    private static FileRecordIterator<Integer> fileIterator(Path path, int value) {
+        return new FileRecordIterator<Integer>() {
+
+            private boolean returned = false;
+
+            @Override
+            public long returnedPosition() {
+                return value;
+            }
+
+            @Override
+            public Path filePath() {
+                return path;
+            }
+
+            @Nullable
+            @Override
+            public Integer next() {
+                if (returned) {
+                    return null;
+                }
+                returned = true;
+                return value;
+            }
+
+            @Override
+            public void releaseBatch() {}
+        };
+    }
+
+    private static boolean readOneBatch(AsyncRecordReader<Integer> reader, List<Integer> results)
+            throws IOException {
+        RecordReader.RecordIterator<Integer> batch = reader.readBatch();
+        if (batch == null) {
+            return false;
+        }
+        Integer value;
+        while ((value = batch.next()) != null) {
+            results.add(value);
+        }
+        batch.releaseBatch();
+        return true;
+    }
+
+    private static RecordReader<Integer> countingReader(
+            int numBatches,
+            AtomicInteger outstanding,
+            AtomicInteger maxOutstanding,
+            AtomicBoolean closed) {
+        return new RecordReader<Integer>() {
+
+            private int next = 0;
+
+            @Nullable
+            @Override
+            public RecordIterator<Integer> readBatch() {
+                if (next >= numBatches) {
+                    return null;
+                }
+                maxOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+                Queue<Integer> values = new LinkedList<>(Collections.singletonList(next++));
+                return new RecordIterator<Integer>() {
+                    @Nullable
+                    @Override
+                    public Integer next() {
+                        return values.poll();
+                    }
+
+                    @Override
+                    public void releaseBatch() {
+                        outstanding.decrementAndGet();
+                    }
+                };
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
 }
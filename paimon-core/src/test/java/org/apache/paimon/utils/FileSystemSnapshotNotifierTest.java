@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link FileSystemSnapshotNotifier}. */
+public class FileSystemSnapshotNotifierTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testSharedLatestSnapshot() throws Exception {
+        LocalFileIO fileIO = LocalFileIO.create();
+        Path snapshotDir = new Path(tempDir.toString(), "snapshot");
+
+        FileSystemSnapshotNotifier notifier1 =
+                new FileSystemSnapshotNotifier(fileIO, snapshotDir, Long.MAX_VALUE);
+        FileSystemSnapshotNotifier notifier2 =
+                new FileSystemSnapshotNotifier(fileIO, snapshotDir, Long.MAX_VALUE);
+
+        // no hint, the latest snapshot is unknown
+        assertThat(notifier1.latestSnapshotId()).isNull();
+
+        // the hint is read once and shared
+        FileSystemSnapshotNotifier notifier3 =
+                new FileSystemSnapshotNotifier(fileIO, snapshotDir, 0);
+        HintFileUtils.commitLatestHint(fileIO, 3, snapshotDir);
+        assertThat(notifier3.latestSnapshotId()).isEqualTo(3L);
+        HintFileUtils.commitLatestHint(fileIO, 4, snapshotDir);
+        assertThat(notifier1.latestSnapshotId()).isEqualTo(3L);
+        assertThat(notifier2.latestSnapshotId()).isEqualTo(3L);
+
+        // commits in this process are notified immediately
+        FileSystemSnapshotNotifier.notifyCommitted(snapshotDir, 5);
+        assertThat(notifier1.latestSnapshotId()).isEqualTo(5L);
+        assertThat(notifier2.latestSnapshotId()).isEqualTo(5L);
+
+        // refresh from the hint
+        assertThat(notifier3.latestSnapshotId()).isEqualTo(4L);
+    }
+}
@@ -27,11 +27,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.apache.paimon.utils.NextSnapshotFetcher.RANGE_CHECK_INTERVAL;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -214,4 +217,57 @@ public class NextSnapshotFetcherTest {
         // No exception should be thrown on the 16th total call for the missing ID
         assertThat(fetcher.getNextSnapshot(missingSnapshotId)).isNull();
     }
+
+    @Test
+    public void testSkipProbingWithNotifier() {
+        // Arrange
+        long nextSnapshotId = 5;
+        AtomicLong notifiedId = new AtomicLong(4);
+        when(snapshotManager.snapshotExists(nextSnapshotId)).thenReturn(false, true);
+        when(snapshotManager.snapshot(nextSnapshotId)).thenReturn(mockSnapshot);
+        fetcher =
+                new NextSnapshotFetcher(snapshotManager, changelogManager, false, notifiedId::get);
+
+        // Act & Assert: the notifier knows the snapshot is not committed yet
+        for (int i = 0; i < RANGE_CHECK_INTERVAL - 1; i++) {
+            assertThat(fetcher.getNextSnapshot(nextSnapshotId)).isNull();
+        }
+        verify(snapshotManager, never()).snapshotExists(anyLong());
+
+        // the file system is still checked once in a while
+        assertThat(fetcher.getNextSnapshot(nextSnapshotId)).isNull();
+        verify(snapshotManager, times(1)).snapshotExists(nextSnapshotId);
+
+        // the notifier knows the snapshot is committed
+        notifiedId.set(5);
+        assertThat(fetcher.getNextSnapshot(nextSnapshotId)).isSameAs(mockSnapshot);
+    }
+
+    @Test
+    public void testStaleNotifier() {
+        // Arrange: the notifier is not advanced by the commits of snapshot 5 and 6
+        AtomicLong notifiedId = new AtomicLong(4);
+        when(snapshotManager.snapshotExists(5)).thenReturn(true);
+        when(snapshotManager.snapshot(5)).thenReturn(mockSnapshot);
+        when(snapshotManager.snapshotExists(6)).thenReturn(false);
+        fetcher =
+                new NextSnapshotFetcher(snapshotManager, changelogManager, false, notifiedId::get);
+
+        // Act & Assert: snapshot 5 is found by the fallback probe
+        for (int i = 0; i < RANGE_CHECK_INTERVAL - 1; i++) {
+            assertThat(fetcher.getNextSnapshot(5)).isNull();
+        }
+        assertThat(fetcher.getNextSnapshot(5)).isSameAs(mockSnapshot);
+
+        // the stale notifier is not trusted, snapshot 6 is probed every time
+        for (int i = 0; i < 3; i++) {
+            assertThat(fetcher.getNextSnapshot(6)).isNull();
+        }
+        verify(snapshotManager, times(3)).snapshotExists(6);
+
+        // the notifier is trusted again once it moves on
+        notifiedId.set(5);
+        assertThat(fetcher.getNextSnapshot(6)).isNull();
+        verify(snapshotManager, times(3)).snapshotExists(6);
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link SharedThreadPools}. */
+public class SharedThreadPoolsTest {
+
+    @Test
+    public void testGetThreadPool() {
+        String name = "SHARED-THREAD-POOLS-TEST";
+        ThreadPoolExecutor pool = SharedThreadPools.getThreadPool(name, 4);
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(4);
+        assertThat(SharedThreadPools.getThreadPool(name, 2)).isSameAs(pool);
+        assertThat(SharedThreadPools.getThreadPool(name, 4)).isSameAs(pool);
+
+        // a larger pool replaces the previous one
+        ThreadPoolExecutor larger = SharedThreadPools.getThreadPool(name, 8);
+        assertThat(larger).isNotSameAs(pool);
+        assertThat(larger.getMaximumPoolSize()).isEqualTo(8);
+        assertThat(SharedThreadPools.getThreadPool("SHARED-THREAD-POOLS-TEST-OTHER", 2))
+                .isNotSameAs(larger);
+    }
+
+    @Test
+    public void testGetExecutorService() {
+        String name = "SHARED-THREAD-POOLS-EXECUTOR-TEST";
+        ExecutorService executor = SharedThreadPools.getExecutorService(name, 4);
+        assertThat(executor).isSameAs(SharedThreadPools.getThreadPool(name, 4));
+
+        ExecutorService limited = SharedThreadPools.getExecutorService(name, 2);
+        assertThat(limited).isInstanceOf(SemaphoredDelegatingExecutor.class);
+        assertThat(((SemaphoredDelegatingExecutor) limited).getPermitCount()).isEqualTo(2);
+    }
+}
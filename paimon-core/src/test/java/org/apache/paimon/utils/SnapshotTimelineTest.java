@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.Snapshot;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.paimon.catalog.Identifier.DEFAULT_MAIN_BRANCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link SnapshotTimeline}. */
+public class SnapshotTimelineTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private FileIO fileIO;
+    private SnapshotManager snapshotManager;
+
+    @BeforeEach
+    public void before() {
+        fileIO = LocalFileIO.create();
+        snapshotManager =
+                new SnapshotManager(
+                        fileIO,
+                        new Path(tempDir.toString()),
+                        DEFAULT_MAIN_BRANCH,
+                        null,
+                        null,
+                        true);
+    }
+
+    @Test
+    public void testUpdateAndRead() throws IOException {
+        for (long i = 1; i <= 10; i++) {
+            commit(newSnapshot(i, i % 2 == 0 ? "user1" : "user2", i % 3 == 0 ? null : i * 10));
+        }
+
+        SnapshotTimeline timeline = readTimeline();
+        assertThat(snapshotIds(timeline)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        for (long i = 1; i <= 10; i++) {
+            assertThat(timeline.entry(i).matches(snapshotManager.snapshot(i))).isTrue();
+        }
+        assertThat(timeline.entry(11)).isNull();
+        assertThat(timeline.candidatesOfUser("user1", 3, 9)).containsExactly(8L, 6L, 4L);
+    }
+
+    @Test
+    public void testExpireAndRollback() throws IOException {
+        for (long i = 1; i <= 10; i++) {
+            commit(newSnapshot(i, "user", i * 10));
+        }
+
+        // expire snapshots 1 to 4
+        for (long i = 1; i <= 4; i++) {
+            fileIO.deleteQuietly(snapshotManager.snapshotPath(i));
+        }
+        snapshotManager.commitEarliestHint(5);
+        commit(newSnapshot(11, "user", 110L));
+        assertThat(snapshotIds(readTimeline())).containsExactly(5L, 6L, 7L, 8L, 9L, 10L, 11L);
+
+        // roll back to snapshot 8 and commit a different snapshot 9
+        for (long i = 9; i <= 11; i++) {
+            fileIO.deleteQuietly(snapshotManager.snapshotPath(i));
+        }
+        commit(newSnapshot(9, "other", 95L));
+        SnapshotTimeline timeline = readTimeline();
+        assertThat(snapshotIds(timeline)).containsExactly(5L, 6L, 7L, 8L, 9L);
+        assertThat(timeline.entry(9).matches(snapshotManager.snapshot(9))).isTrue();
+    }
+
+    @Test
+    public void testFillGap() throws IOException {
+        // snapshots committed without updating the timeline
+        for (long i = 1; i <= 5; i++) {
+            fileIO.tryToWriteAtomic(
+                    snapshotManager.snapshotPath(i), newSnapshot(i, "user", i * 10).toJson());
+        }
+        snapshotManager.commitEarliestHint(1);
+        commit(newSnapshot(6, "user", 60L));
+        assertThat(snapshotIds(readTimeline())).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    public void testLookupWithTimeline() throws IOException {
+        for (long i = 1; i <= 10; i++) {
+            commit(newSnapshot(i, i == 3 ? "user1" : "user2", i * 10));
+        }
+        assertThat(readTimeline()).isNotNull();
+
+        assertThat(snapshotManager.earlierOrEqualTimeMills(5500).id()).isEqualTo(5);
+        assertThat(snapshotManager.laterOrEqualTimeMills(5500).id()).isEqualTo(6);
+        assertThat(snapshotManager.earlierOrEqualWatermark(55).id()).isEqualTo(5);
+        assertThat(snapshotManager.laterOrEqualWatermark(55).id()).isEqualTo(6);
+        assertThat(snapshotManager.latestSnapshotOfUser("user1").get().id()).isEqualTo(3);
+        assertThat(snapshotManager.latestSnapshotOfUser("user3")).isEmpty();
+
+        // a timeline which does not match the snapshots is ignored
+        fileIO.deleteQuietly(snapshotManager.snapshotPath(5));
+        fileIO.tryToWriteAtomic(
+                snapshotManager.snapshotPath(5), newSnapshot(5, "user2", 56L).toJson());
+        assertThat(snapshotManager.earlierOrEqualWatermark(55).id()).isEqualTo(4);
+    }
+
+    @Test
+    public void testRollbackTruncates() throws IOException {
+        for (long i = 1; i <= 10; i++) {
+            commit(newSnapshot(i, "user1", i * 10));
+        }
+
+        // roll back to snapshot 5, snapshot 6 is committed again by another writer which does not
+        // maintain the timeline
+        SnapshotTimeline.truncate(fileIO, snapshotManager.snapshotDirectory(), 5);
+        for (long i = 6; i <= 10; i++) {
+            fileIO.deleteQuietly(snapshotManager.snapshotPath(i));
+        }
+        assertThat(snapshotIds(readTimeline())).containsExactly(1L, 2L, 3L, 4L, 5L);
+        fileIO.tryToWriteAtomic(
+                snapshotManager.snapshotPath(6), newSnapshot(6, "user2", 60L).toJson());
+        snapshotManager.commitLatestHint(6);
+
+        // the timeline does not know the latest snapshot and is not used
+        assertThat(snapshotManager.latestSnapshotOfUser("user2").get().id()).isEqualTo(6);
+        assertThat(snapshotManager.latestSnapshotOfUser("user1").get().id()).isEqualTo(5);
+    }
+
+    @Test
+    public void testSuffixTimeline() throws IOException {
+        // snapshots committed before the timeline is enabled
+        for (long i = 1; i <= 150; i++) {
+            fileIO.tryToWriteAtomic(
+                    snapshotManager.snapshotPath(i),
+                    newSnapshot(i, i == 3 ? "user1" : "user2", i * 10).toJson());
+        }
+        snapshotManager.commitEarliestHint(1);
+        for (long i = 151; i <= 155; i++) {
+            commit(newSnapshot(i, i == 153 ? "user3" : "user2", i * 10));
+        }
+        assertThat(snapshotIds(readTimeline())).containsExactly(151L, 152L, 153L, 154L, 155L);
+
+        assertThat(snapshotManager.earlierOrEqualTimeMills(5500).id()).isEqualTo(5);
+        assertThat(snapshotManager.laterOrEqualTimeMills(152500).id()).isEqualTo(153);
+        assertThat(snapshotManager.laterOrEqualWatermark(1525).id()).isEqualTo(153);
+        assertThat(snapshotManager.latestSnapshotOfUser("user3").get().id()).isEqualTo(153);
+        assertThat(snapshotManager.latestSnapshotOfUser("user1").get().id()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCorruptTimeline() throws IOException {
+        for (long i = 1; i <= 3; i++) {
+            commit(newSnapshot(i, "user", i * 10));
+        }
+        Path path = new Path(snapshotManager.snapshotDirectory(), SnapshotTimeline.TIMELINE);
+        fileIO.overwriteFileUtf8(path, "broken");
+        assertThat(readTimeline()).isNull();
+        assertThat(snapshotManager.earlierOrEqualTimeMills(2000).id()).isEqualTo(2);
+
+        // the next commit rebuilds the timeline
+        commit(newSnapshot(4, "user", 40L));
+        assertThat(snapshotIds(readTimeline())).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    private void commit(Snapshot snapshot) throws IOException {
+        fileIO.tryToWriteAtomic(snapshotManager.snapshotPath(snapshot.id()), snapshot.toJson());
+        snapshotManager.commitLatestHint(snapshot.id());
+        SnapshotTimeline.update(snapshotManager, snapshot);
+    }
+
+    private SnapshotTimeline readTimeline() {
+        return SnapshotTimeline.read(fileIO, snapshotManager.snapshotDirectory());
+    }
+
+    private static List<Long> snapshotIds(SnapshotTimeline timeline) {
+        return timeline.entries().stream()
+                .map(SnapshotTimeline.Entry::snapshotId)
+                .collect(Collectors.toList());
+    }
+
+    private static Snapshot newSnapshot(long id, String user, Long watermark) {
+        return new Snapshot(
+                id,
+                0L,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                user,
+                id,
+                Snapshot.CommitKind.APPEND,
+                id * 1000,
+                null,
+                null,
+                null,
+                null,
+                watermark,
+                null,
+                null,
+                null);
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.PositionOutputStream;
 import org.apache.paimon.fs.RemoteIterator;
 import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadableInputStream;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -45,10 +46,22 @@ public abstract class HadoopCompliantFileIO implements FileIO {
 
     protected transient volatile Map<String, FileSystem> fsMap;
 
+    protected boolean vectoredReadEnabled = false;
+    protected int vectoredReadMergeGap = 256 * 1024;
+    protected int vectoredReadMaxParallelRanges = 4;
+
     @Override
     public SeekableInputStream newInputStream(Path path) throws IOException {
         org.apache.hadoop.fs.Path hadoopPath = path(path);
-        return new HadoopSeekableInputStream(getFileSystem(hadoopPath).open(hadoopPath));
+        FileSystem fs = getFileSystem(hadoopPath);
+        SeekableInputStream in = new HadoopSeekableInputStream(fs.open(hadoopPath));
+        return vectoredReadEnabled
+                ? new VectoredReadableInputStream(
+                        in,
+                        () -> new HadoopSeekableInputStream(fs.open(hadoopPath)),
+                        vectoredReadMergeGap,
+                        vectoredReadMaxParallelRanges)
+                : in;
     }
 
     @Override
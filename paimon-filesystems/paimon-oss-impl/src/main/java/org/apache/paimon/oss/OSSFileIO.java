@@ -20,6 +20,8 @@ package org.apache.paimon.oss;
 
 import org.apache.paimon.catalog.CatalogContext;
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.options.ConfigOption;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.utils.IOUtils;
 
@@ -39,6 +41,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static org.apache.paimon.options.CatalogOptions.FILE_IO_ALLOW_CACHE;
+import static org.apache.paimon.options.ConfigOptions.key;
 
 /** OSS {@link FileIO}. */
 public class OSSFileIO extends HadoopCompliantFileIO {
@@ -47,6 +50,29 @@ public class OSSFileIO extends HadoopCompliantFileIO {
 
     private static final Logger LOG = LoggerFactory.getLogger(OSSFileIO.class);
 
+    private static final ConfigOption<Boolean> VECTORED_READ_ENABLED =
+            key("fs.oss.vectored-read.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read column chunks of Parquet and ORC files with "
+                                    + "coalesced, parallel range requests.");
+
+    private static final ConfigOption<MemorySize> VECTORED_READ_MERGE_GAP =
+            key("fs.oss.vectored-read.merge-gap")
+                    .memoryType()
+                    .defaultValue(MemorySize.ofKibiBytes(256))
+                    .withDescription(
+                            "Ranges of a vectored read closer than this gap are merged into "
+                                    + "one request.");
+
+    private static final ConfigOption<Integer> VECTORED_READ_MAX_PARALLEL_RANGES =
+            key("fs.oss.vectored-read.max-parallel-ranges")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The max number of range requests a vectored read issues in parallel.");
+
     /**
      * In order to simplify, we make paimon oss configuration keys same with hadoop oss module. So,
      * we add all configuration key with prefix `fs.oss` in paimon conf to hadoop conf.
@@ -86,6 +112,11 @@ public class OSSFileIO extends HadoopCompliantFileIO {
     @Override
     public void configure(CatalogContext context) {
         allowCache = context.options().get(FILE_IO_ALLOW_CACHE);
+
+        Options options = context.options();
+        this.vectoredReadEnabled = options.get(VECTORED_READ_ENABLED);
+        this.vectoredReadMergeGap = (int) options.get(VECTORED_READ_MERGE_GAP).getBytes();
+        this.vectoredReadMaxParallelRanges = options.get(VECTORED_READ_MAX_PARALLEL_RANGES);
         hadoopOptions = new Options();
         // read all configuration with prefix 'CONFIG_PREFIXES'
         for (String key : context.options().keySet()) {
@@ -24,14 +24,17 @@ import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.PositionOutputStream;
 import org.apache.paimon.fs.RemoteIterator;
 import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadableInputStream;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.util.functional.FutureIO;
 
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Hadoop {@link FileIO}.
@@ -42,12 +45,46 @@ public abstract class HadoopCompliantFileIO implements FileIO {
 
     private static final long serialVersionUID = 1L;
 
+    private static final String INPUT_FADVISE_KEY = "fs.s3a.experimental.input.fadvise";
+    private static final String INPUT_FADVISE_RANDOM = "random";
+
     protected transient volatile Map<String, FileSystem> fsMap;
 
+    protected boolean vectoredReadEnabled = false;
+    protected int vectoredReadMergeGap = 256 * 1024;
+    protected int vectoredReadMaxParallelRanges = 4;
+
     @Override
     public SeekableInputStream newInputStream(Path path) throws IOException {
         org.apache.hadoop.fs.Path hadoopPath = path(path);
-        return new HadoopSeekableInputStream(getFileSystem(hadoopPath).open(hadoopPath));
+        FileSystem fs = getFileSystem(hadoopPath);
+        SeekableInputStream in = new HadoopSeekableInputStream(fs.open(hadoopPath));
+        return vectoredReadEnabled
+                ? new VectoredReadableInputStream(
+                        in,
+                        rangeStreamFactory(fs, hadoopPath),
+                        vectoredReadMergeGap,
+                        vectoredReadMaxParallelRanges)
+                : in;
+    }
+
+    private static VectoredReadableInputStream.RangeStreamFactory rangeStreamFactory(
+            FileSystem fs, org.apache.hadoop.fs.Path path) {
+        AtomicReference<org.apache.hadoop.fs.FileStatus> status = new AtomicReference<>();
+        return () -> {
+            // the range streams of a file share one metadata request
+            org.apache.hadoop.fs.FileStatus fileStatus = status.get();
+            if (fileStatus == null) {
+                fileStatus = fs.getFileStatus(path);
+                status.set(fileStatus);
+            }
+            return new HadoopSeekableInputStream(
+                    FutureIO.awaitFuture(
+                            fs.openFile(path)
+                                    .withFileStatus(fileStatus)
+                                    .opt(INPUT_FADVISE_KEY, INPUT_FADVISE_RANDOM)
+                                    .build()));
+        };
     }
 
     @Override
@@ -20,6 +20,8 @@ package org.apache.paimon.s3;
 
 import org.apache.paimon.catalog.CatalogContext;
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.options.ConfigOption;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 
 import org.apache.hadoop.conf.Configuration;
@@ -35,6 +37,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static org.apache.paimon.options.ConfigOptions.key;
+
 /** S3 {@link FileIO}. */
 public class S3FileIO extends HadoopCompliantFileIO {
 
@@ -42,6 +46,29 @@ public class S3FileIO extends HadoopCompliantFileIO {
 
     private static final Logger LOG = LoggerFactory.getLogger(S3FileIO.class);
 
+    private static final ConfigOption<Boolean> VECTORED_READ_ENABLED =
+            key("s3.vectored-read.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to read column chunks of Parquet and ORC files with "
+                                    + "coalesced, parallel range requests.");
+
+    private static final ConfigOption<MemorySize> VECTORED_READ_MERGE_GAP =
+            key("s3.vectored-read.merge-gap")
+                    .memoryType()
+                    .defaultValue(MemorySize.ofKibiBytes(256))
+                    .withDescription(
+                            "Ranges of a vectored read closer than this gap are merged into "
+                                    + "one request.");
+
+    private static final ConfigOption<Integer> VECTORED_READ_MAX_PARALLEL_RANGES =
+            key("s3.vectored-read.max-parallel-ranges")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The max number of range requests a vectored read issues in parallel.");
+
     private static final String[] CONFIG_PREFIXES = {"s3.", "s3a.", "fs.s3a."};
 
     private static final String HADOOP_CONFIG_PREFIX = "fs.s3a.";
@@ -69,6 +96,11 @@ public class S3FileIO extends HadoopCompliantFileIO {
     @Override
     public void configure(CatalogContext context) {
         this.hadoopOptions = mirrorCertainHadoopConfig(loadHadoopConfigFromContext(context));
+
+        Options options = context.options();
+        this.vectoredReadEnabled = options.get(VECTORED_READ_ENABLED);
+        this.vectoredReadMergeGap = (int) options.get(VECTORED_READ_MERGE_GAP).getBytes();
+        this.vectoredReadMaxParallelRanges = options.get(VECTORED_READ_MAX_PARALLEL_RANGES);
     }
 
     // add additional config entries from the IO config to the Hadoop config
@@ -31,8 +31,8 @@ import org.apache.paimon.flink.sink.StoreSinkWriteImpl;
 import org.apache.paimon.flink.sink.StoreSinkWriteState;
 import org.apache.paimon.flink.sink.StoreSinkWriteStateImpl;
 import org.apache.paimon.flink.utils.RuntimeContextUtils;
-import org.apache.paimon.memory.HeapMemorySegmentPool;
 import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.table.BucketMode;
 import org.apache.paimon.table.FileStoreTable;
@@ -142,9 +142,10 @@ public class CdcRecordStoreMultiWriteOperator
                             memoryPool != null
                                     ? memoryPool
                                     // currently, the options of all tables are the same in CDC
-                                    : new HeapMemorySegmentPool(
+                                    : MemorySegmentPool.create(
                                             table.coreOptions().writeBufferSize(),
-                                            table.coreOptions().pageSize()));
+                                            table.coreOptions().pageSize(),
+                                            table.coreOptions().writeBufferOffHeap()));
         }
 
         StoreSinkWrite write =
@@ -245,6 +246,10 @@ public class CdcRecordStoreMultiWriteOperator
         for (StoreSinkWrite write : writes.values()) {
             write.close();
         }
+        if (memoryPoolFactory != null && memoryPool == null) {
+            // all writers are closed, release the pool created by ourselves
+            memoryPoolFactory.close();
+        }
         if (compactExecutor != null) {
             compactExecutor.shutdownNow();
         }
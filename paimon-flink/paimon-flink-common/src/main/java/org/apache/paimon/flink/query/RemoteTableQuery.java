@@ -64,14 +64,20 @@ public class RemoteTableQuery implements TableQuery {
     @Nullable
     @Override
     public InternalRow lookup(BinaryRow partition, int bucket, InternalRow key) throws IOException {
-        BinaryRow row;
+        return lookupBatch(partition, bucket, new InternalRow[] {key})[0];
+    }
+
+    @Override
+    public InternalRow[] lookupBatch(BinaryRow partition, int bucket, InternalRow[] keys)
+            throws IOException {
+        BinaryRow[] binaryKeys = new BinaryRow[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            binaryKeys[i] = keySerializer.toBinaryRow(keys[i]).copy();
+        }
+
+        BinaryRow[] rows;
         try {
-            row =
-                    client.getValues(
-                                    partition,
-                                    bucket,
-                                    new BinaryRow[] {keySerializer.toBinaryRow(key)})
-                            .get()[0];
+            rows = client.getValues(partition, bucket, binaryKeys).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new IOException(e);
@@ -79,15 +85,15 @@ public class RemoteTableQuery implements TableQuery {
             throw new IOException(e.getCause());
         }
 
-        if (projection == null) {
-            return row;
-        }
-
-        if (row == null) {
-            return null;
+        InternalRow[] values = new InternalRow[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            if (projection == null || rows[i] == null) {
+                values[i] = rows[i];
+            } else {
+                values[i] = ProjectedRow.from(projection).replaceRow(rows[i]);
+            }
         }
-
-        return ProjectedRow.from(projection).replaceRow(row);
+        return values;
     }
 
     @Override
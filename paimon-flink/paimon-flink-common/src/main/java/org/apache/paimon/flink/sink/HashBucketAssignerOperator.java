@@ -18,10 +18,14 @@
 
 package org.apache.paimon.flink.sink;
 
+import org.apache.paimon.disk.IOManager;
 import org.apache.paimon.flink.utils.RuntimeContextUtils;
 import org.apache.paimon.index.BucketAssigner;
 import org.apache.paimon.index.HashBucketAssigner;
 import org.apache.paimon.index.SimpleHashBucketAssigner;
+import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.memory.OffHeapMemorySegmentPool;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.schema.TableSchema;
 import org.apache.paimon.table.FileStoreTable;
 import org.apache.paimon.table.Table;
@@ -35,6 +39,8 @@ import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
+import javax.annotation.Nullable;
+
 /** Assign bucket for the input record, output record with bucket. */
 public class HashBucketAssignerOperator<T> extends AbstractStreamOperator<Tuple2<T, Integer>>
         implements OneInputStreamOperator<T, Tuple2<T, Integer>> {
@@ -50,6 +56,8 @@ public class HashBucketAssignerOperator<T> extends AbstractStreamOperator<Tuple2
 
     private transient BucketAssigner assigner;
     private transient PartitionKeyExtractor<T> extractor;
+    @Nullable private transient IOManager ioManager;
+    @Nullable private transient MemoryPoolFactory memoryPoolFactory;
 
     public HashBucketAssignerOperator(
             String commitUser,
@@ -79,19 +87,36 @@ public class HashBucketAssignerOperator<T> extends AbstractStreamOperator<Tuple2
         int taskId = RuntimeContextUtils.getIndexOfThisSubtask(getRuntimeContext());
         long targetRowNum = table.coreOptions().dynamicBucketTargetRowNum();
         Integer maxBucketsNum = table.coreOptions().dynamicBucketMaxBuckets();
-        this.assigner =
-                overwrite
-                        ? new SimpleHashBucketAssigner(
-                                numberTasks, taskId, targetRowNum, maxBucketsNum)
-                        : new HashBucketAssigner(
-                                table.snapshotManager(),
-                                commitUser,
-                                table.store().newIndexFileHandler(),
-                                numberTasks,
-                                MathUtils.min(numAssigners, numberTasks),
-                                taskId,
-                                targetRowNum,
-                                maxBucketsNum);
+        if (overwrite) {
+            this.assigner =
+                    new SimpleHashBucketAssigner(numberTasks, taskId, targetRowNum, maxBucketsNum);
+        } else {
+            MemorySize indexMemory = table.coreOptions().dynamicBucketIndexMemory();
+            if (indexMemory != null) {
+                this.memoryPoolFactory =
+                        new MemoryPoolFactory(
+                                new OffHeapMemorySegmentPool(
+                                        indexMemory.getBytes(), table.coreOptions().pageSize()));
+                this.ioManager =
+                        IOManager.create(
+                                getContainingTask()
+                                        .getEnvironment()
+                                        .getIOManager()
+                                        .getSpillingDirectoriesPaths());
+            }
+            this.assigner =
+                    new HashBucketAssigner(
+                            table.snapshotManager(),
+                            commitUser,
+                            table.store().newIndexFileHandler(),
+                            numberTasks,
+                            MathUtils.min(numAssigners, numberTasks),
+                            taskId,
+                            targetRowNum,
+                            maxBucketsNum,
+                            memoryPoolFactory,
+                            ioManager);
+        }
         this.extractor = extractorFunction.apply(table.schema());
     }
 
@@ -108,4 +133,19 @@ public class HashBucketAssignerOperator<T> extends AbstractStreamOperator<Tuple2
     public void prepareSnapshotPreBarrier(long checkpointId) {
         assigner.prepareCommit(checkpointId);
     }
+
+    @Override
+    public void close() throws Exception {
+        super.close();
+        if (assigner != null) {
+            assigner.close();
+        }
+        if (memoryPoolFactory != null) {
+            // the assigner has released its indexes, free the off-heap memory of the pool
+            memoryPoolFactory.close();
+        }
+        if (ioManager != null) {
+            ioManager.close();
+        }
+    }
 }
@@ -34,6 +34,7 @@ import org.apache.paimon.mergetree.localmerge.SortBufferLocalMerger;
 import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.TableSchema;
+import org.apache.paimon.sort.IndexedSorter;
 import org.apache.paimon.table.PrimaryKeyTableUtils;
 import org.apache.paimon.table.sink.RowKindGenerator;
 import org.apache.paimon.types.DataField;
@@ -154,6 +155,7 @@ public class LocalMergeOperator extends AbstractStreamOperator<InternalRow>
                             false,
                             MemorySize.MAX_VALUE,
                             options.localSortMaxNumFileHandles(),
+                            IndexedSorter.create(options),
                             options.spillCompressOptions(),
                             null);
             merger =
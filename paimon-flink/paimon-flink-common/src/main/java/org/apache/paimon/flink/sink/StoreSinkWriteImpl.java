@@ -24,7 +24,7 @@ import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.disk.IOManagerImpl;
 import org.apache.paimon.flink.metrics.FlinkMetricRegistry;
 import org.apache.paimon.io.DataFileMeta;
-import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.AbstractMemorySegmentPool;
 import org.apache.paimon.memory.MemoryPoolFactory;
 import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.operation.FileStoreWrite;
@@ -62,6 +62,9 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
     @Nullable private final MemorySegmentPool memoryPool;
     @Nullable private final MemoryPoolFactory memoryPoolFactory;
 
+    // the pool created for the current write if no pool is given, closed with the write
+    @Nullable private AbstractMemorySegmentPool ownedMemoryPool;
+
     protected TableWriteImpl<?> write;
 
     @Nullable private final MetricGroup metricGroup;
@@ -152,13 +155,15 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
 
         if (memoryPoolFactory != null) {
             return tableWrite.withMemoryPoolFactory(memoryPoolFactory);
+        } else if (memoryPool != null) {
+            return tableWrite.withMemoryPool(memoryPool);
         } else {
-            return tableWrite.withMemoryPool(
-                    memoryPool != null
-                            ? memoryPool
-                            : new HeapMemorySegmentPool(
-                                    table.coreOptions().writeBufferSize(),
-                                    table.coreOptions().pageSize()));
+            ownedMemoryPool =
+                    MemorySegmentPool.create(
+                            table.coreOptions().writeBufferSize(),
+                            table.coreOptions().pageSize(),
+                            table.coreOptions().writeBufferOffHeap());
+            return tableWrite.withMemoryPool(ownedMemoryPool);
         }
     }
 
@@ -240,6 +245,7 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
         if (write != null) {
             write.close();
         }
+        closeOwnedMemoryPool();
 
         paimonIOManager.close();
     }
@@ -252,10 +258,19 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
 
         List<? extends FileStoreWrite.State<?>> states = write.checkpoint();
         write.close();
+        closeOwnedMemoryPool();
         write = newTableWrite(newTable);
         write.restore((List) states);
     }
 
+    private void closeOwnedMemoryPool() {
+        // the writers have returned their pages when they are closed
+        if (ownedMemoryPool != null) {
+            ownedMemoryPool.close();
+            ownedMemoryPool = null;
+        }
+    }
+
     @VisibleForTesting
     public TableWriteImpl<?> getWrite() {
         return write;
@@ -146,7 +146,7 @@ public class TestChangelogDataReadWrite {
                         VALUE_TYPE,
                         FileFormatDiscover.of(options),
                         pathFactory,
-                        options.fileIndexReadEnabled(),
+                        options,
                         false);
         return new KeyValueTableRead(() -> read, () -> rawFileRead, null);
     }
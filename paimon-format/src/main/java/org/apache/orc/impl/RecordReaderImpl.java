@@ -1418,9 +1418,9 @@ public class RecordReaderImpl implements RecordReader {
             readCurrentStripeRowIndex();
         }
 
-        // In the absence of SArg all rows groups should be included
+        // In the absence of SArg all rows groups should be included, unless a selection is given
         if (sargApp == null) {
-            return null;
+            return pickRowGroupsBySelection();
         }
         return sargApp.pickRowGroups(
                 stripes.get(currentStripe),
@@ -1433,6 +1433,38 @@ public class RecordReaderImpl implements RecordReader {
                 selection);
     }
 
+    /**
+     * Pick the row groups which contain selected rows, this is used to skip row groups whose rows
+     * are all deleted by deletion vectors when there is no search argument.
+     */
+    private boolean[] pickRowGroupsBySelection() throws IOException {
+        if (selection == null || rowIndexStride <= 0) {
+            return SargApplier.READ_ALL_RGS;
+        }
+
+        long rowsInStripe = stripes.get(currentStripe).getNumberOfRows();
+        int groupsInStripe = (int) ((rowsInStripe + rowIndexStride - 1) / rowIndexStride);
+        boolean[] result = new boolean[groupsInStripe];
+        boolean hasSelected = false;
+        boolean hasSkipped = false;
+        for (int rowGroup = 0; rowGroup < groupsInStripe; ++rowGroup) {
+            long firstRow = rowBaseInStripe + rowIndexStride * rowGroup;
+            long lastRow = Math.min(firstRow + rowIndexStride, rowBaseInStripe + rowsInStripe);
+            result[rowGroup] = selection.intersects(firstRow, lastRow);
+            hasSelected = hasSelected || result[rowGroup];
+            hasSkipped = hasSkipped || !result[rowGroup];
+        }
+
+        if (!hasSkipped) {
+            return SargApplier.READ_ALL_RGS;
+        }
+        // the row index is needed to seek to the selected row groups
+        if (hasSelected && rowIndexColsToRead == null) {
+            readCurrentStripeRowIndex();
+        }
+        return result;
+    }
+
     private void clearStreams() {
         planner.clearStreams();
     }
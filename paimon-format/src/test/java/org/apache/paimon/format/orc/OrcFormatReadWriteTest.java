@@ -30,9 +30,12 @@ import org.apache.paimon.format.FormatWriter;
 import org.apache.paimon.format.OrcOptions;
 import org.apache.paimon.fs.PositionOutputStream;
 import org.apache.paimon.options.Options;
+import org.apache.paimon.reader.FileRecordIterator;
+import org.apache.paimon.reader.FileRecordReader;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.RoaringBitmap32;
 
 import org.junit.jupiter.api.Test;
 
@@ -214,4 +217,40 @@ public class OrcFormatReadWriteTest extends FormatReadWriteTest {
                         1024,
                         1024));
     }
+
+    @Test
+    public void testSelectionWithoutPredicate() throws IOException {
+        RowType rowType = DataTypes.ROW(DataTypes.INT());
+        PositionOutputStream out = fileIO.newOutputStream(file, false);
+        FormatWriter writer = newFormat.createWriterFactory(rowType).create(out, "zstd");
+        for (int i = 0; i < 30000; i++) {
+            writer.addElement(GenericRow.of(i));
+        }
+        writer.close();
+        out.close();
+
+        // only the second row group (with the default stride of 10000 rows) has selected rows
+        RoaringBitmap32 selection = RoaringBitmap32.bitmapOfRange(15000, 15010);
+        FileRecordReader<InternalRow> reader =
+                newFormat
+                        .createReaderFactory(rowType)
+                        .createReader(
+                                new FormatReaderContext(
+                                        fileIO, file, fileIO.getFileSize(file), selection));
+        List<Integer> values = new ArrayList<>();
+        FileRecordIterator<InternalRow> batch;
+        while ((batch = reader.readBatch()) != null) {
+            InternalRow row;
+            while ((row = batch.next()) != null) {
+                assertThat(batch.returnedPosition()).isEqualTo(row.getInt(0));
+                values.add(row.getInt(0));
+            }
+            batch.releaseBatch();
+        }
+        reader.close();
+
+        assertThat(values).hasSize(10000);
+        assertThat(values.get(0)).isEqualTo(10000);
+        assertThat(values.get(values.size() - 1)).isEqualTo(19999);
+    }
 }
@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -85,6 +86,24 @@ public abstract class AbstractServerHandler<REQ extends MessageBody, RESP extend
         this.stats = Preconditions.checkNotNull(stats);
     }
 
+    /**
+     * Returns the executor which should execute the given request. By default, all requests are
+     * executed by the shared query thread pool of the server.
+     */
+    protected Executor getQueryExecutor(REQ request) {
+        return queryExecutor;
+    }
+
+    /**
+     * Responds with a failure to a task of {@link #getQueryExecutor} which was accepted but can not
+     * be executed anymore, so that its request is not left without a response.
+     */
+    protected static void rejectTask(Runnable task, Throwable cause) {
+        if (task instanceof AsyncRequestTask) {
+            ((AsyncRequestTask<?, ?>) task).reject(cause);
+        }
+    }
+
     protected String getServerName() {
         return server.getServerName();
     }
@@ -123,7 +142,8 @@ public abstract class AbstractServerHandler<REQ extends MessageBody, RESP extend
                 // blocking (e.g. file I/O).
                 //
                 // A submission failure is not treated as fatal.
-                queryExecutor.submit(new AsyncRequestTask<>(this, ctx, requestId, request, stats));
+                getQueryExecutor(request)
+                        .execute(new AsyncRequestTask<>(this, ctx, requestId, request, stats));
 
             } else {
                 // ------------------------------------------------------------
@@ -332,6 +352,30 @@ public abstract class AbstractServerHandler<REQ extends MessageBody, RESP extend
                             });
         }
 
+        private void reject(Throwable cause) {
+            LOG.error("Rejected request with ID {}", requestId, cause);
+            if (!ctx.channel().isActive()) {
+                return;
+            }
+
+            try {
+                stats.reportFailedRequest();
+                final String errMsg =
+                        "Rejected request "
+                                + requestId
+                                + "."
+                                + System.lineSeparator()
+                                + " Caused by: "
+                                + ExceptionUtils.stringifyException(cause);
+                final ByteBuf err =
+                        MessageSerializer.serializeRequestFailure(
+                                ctx.alloc(), requestId, new RuntimeException(errMsg));
+                ctx.writeAndFlush(err);
+            } catch (IOException io) {
+                LOG.error("Failed to respond with the error after rejected request", io);
+            }
+        }
+
         @Override
         public String toString() {
             return "AsyncRequestTask{" + "requestId=" + requestId + ", request=" + request + '}';
@@ -355,7 +399,8 @@ public abstract class AbstractServerHandler<REQ extends MessageBody, RESP extend
                             "Request {} was successfully answered after {} ms.",
                             request,
                             durationMillis);
-                    stats.reportSuccessfulRequest(durationMillis);
+                    stats.reportSuccessfulRequestMicros(
+                            TimeUnit.MICROSECONDS.convert(durationNanos, TimeUnit.NANOSECONDS));
                 } else {
                     LOG.debug(
                             "Request {} failed after {} ms",
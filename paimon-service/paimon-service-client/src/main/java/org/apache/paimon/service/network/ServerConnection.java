@@ -442,8 +442,8 @@ final class ServerConnection<REQ extends MessageBody, RESP extends MessageBody>
         public void onRequestResult(long requestId, RESP response) {
             TimestampedCompletableFuture<RESP> pending = pendingRequests.remove(requestId);
             if (pending != null && !pending.isDone()) {
-                long durationMillis = (System.nanoTime() - pending.getTimestamp()) / 1_000_000L;
-                stats.reportSuccessfulRequest(durationMillis);
+                long durationMicros = (System.nanoTime() - pending.getTimestamp()) / 1_000L;
+                stats.reportSuccessfulRequestMicros(durationMicros);
                 pending.complete(response);
             }
         }
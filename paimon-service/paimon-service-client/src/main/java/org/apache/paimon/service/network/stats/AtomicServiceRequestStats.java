@@ -18,11 +18,17 @@
 
 package org.apache.paimon.service.network.stats;
 
+import org.apache.paimon.metrics.DescriptiveStatisticsHistogram;
+import org.apache.paimon.metrics.Histogram;
+import org.apache.paimon.metrics.HistogramStatistics;
+
 import java.util.concurrent.atomic.AtomicLong;
 
 /** Atomic {@link ServiceRequestStats} implementation. */
 public class AtomicServiceRequestStats implements ServiceRequestStats {
 
+    private static final int LATENCY_WINDOW_SIZE = 10_000;
+
     /** Number of active connections. */
     private final AtomicLong numConnections = new AtomicLong();
 
@@ -38,6 +44,10 @@ public class AtomicServiceRequestStats implements ServiceRequestStats {
     /** Total number of failed requests (<= reported requests). */
     private final AtomicLong numFailed = new AtomicLong();
 
+    /** Latency (in microseconds) of the most recent successful requests. */
+    private final Histogram latencyHistogram =
+            new DescriptiveStatisticsHistogram(LATENCY_WINDOW_SIZE);
+
     @Override
     public void reportActiveConnection() {
         numConnections.incrementAndGet();
@@ -57,6 +67,14 @@ public class AtomicServiceRequestStats implements ServiceRequestStats {
     public void reportSuccessfulRequest(long durationTotalMillis) {
         numSuccessful.incrementAndGet();
         successfulDuration.addAndGet(durationTotalMillis);
+        latencyHistogram.update(durationTotalMillis * 1_000L);
+    }
+
+    @Override
+    public void reportSuccessfulRequestMicros(long durationTotalMicros) {
+        numSuccessful.incrementAndGet();
+        successfulDuration.addAndGet(durationTotalMicros / 1_000L);
+        latencyHistogram.update(durationTotalMicros);
     }
 
     @Override
@@ -80,8 +98,14 @@ public class AtomicServiceRequestStats implements ServiceRequestStats {
         return numFailed.get();
     }
 
+    /** Returns the latency statistics (in microseconds) of the recent successful requests. */
+    public HistogramStatistics getLatencyStatistics() {
+        return latencyHistogram.getStatistics();
+    }
+
     @Override
     public String toString() {
+        HistogramStatistics latency = latencyHistogram.getStatistics();
         return "AtomicServiceRequestStats{"
                 + "numConnections="
                 + numConnections
@@ -91,6 +115,12 @@ public class AtomicServiceRequestStats implements ServiceRequestStats {
                 + numSuccessful
                 + ", numFailed="
                 + numFailed
+                + ", latencyP50Micros="
+                + latency.getQuantile(0.5)
+                + ", latencyP99Micros="
+                + latency.getQuantile(0.99)
+                + ", latencyP999Micros="
+                + latency.getQuantile(0.999)
                 + '}';
     }
 }
@@ -37,6 +37,16 @@ public interface ServiceRequestStats {
      */
     void reportSuccessfulRequest(long durationTotalMillis);
 
+    /**
+     * Reports a successfully handled request with a duration in microseconds. By default, it is
+     * reported to {@link #reportSuccessfulRequest} in milliseconds.
+     *
+     * @param durationTotalMicros Duration of the request (in microseconds).
+     */
+    default void reportSuccessfulRequestMicros(long durationTotalMicros) {
+        reportSuccessfulRequest(durationTotalMicros / 1_000L);
+    }
+
     /** Reports a failure during a request. */
     void reportFailedRequest();
 }
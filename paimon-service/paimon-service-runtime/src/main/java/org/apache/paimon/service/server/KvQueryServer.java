@@ -42,6 +42,7 @@ public class KvQueryServer extends NetworkServer<KvRequest, KvResponse> implemen
 
     private final int serverId;
     private final int numServers;
+    private final int numQueryThreads;
     private final TableQuery lookup;
     private final ServiceRequestStats stats;
 
@@ -62,6 +63,7 @@ public class KvQueryServer extends NetworkServer<KvRequest, KvResponse> implemen
                 numQueryThreads);
         this.serverId = serverId;
         this.numServers = numServers;
+        this.numQueryThreads = numQueryThreads;
         this.stats = Preconditions.checkNotNull(stats);
         this.lookup = Preconditions.checkNotNull(lookup);
     }
@@ -72,7 +74,8 @@ public class KvQueryServer extends NetworkServer<KvRequest, KvResponse> implemen
                 new MessageSerializer<>(
                         new KvRequest.KvRequestDeserializer(),
                         new KvResponse.KvResponseDeserializer());
-        return new KvServerHandler(this, serverId, numServers, lookup, serializer, stats);
+        return new KvServerHandler(
+                this, serverId, numServers, numQueryThreads, lookup, serializer, stats);
     }
 
     @Override
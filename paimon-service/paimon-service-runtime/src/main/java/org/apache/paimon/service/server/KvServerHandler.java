@@ -33,7 +33,15 @@ import org.apache.paimon.utils.Preconditions;
 
 import org.apache.paimon.shade.netty4.io.netty.channel.ChannelHandler;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.apache.paimon.table.sink.ChannelComputer.select;
 
@@ -44,19 +52,29 @@ import static org.apache.paimon.table.sink.ChannelComputer.select;
  * <p>The network threads receive the message, deserialize it and dispatch the query task. The
  * actual query is handled in a separate thread as it might otherwise block the network threads
  * (file I/O etc.).
+ *
+ * <p>Each (partition, bucket) is pinned to one of the bucket workers, which execute their requests
+ * one by one on the query thread pool of the server. So requests of the same bucket are queued and
+ * executed in order, while slow requests (for example the first lookup which builds a local lookup
+ * file) only hold back requests routed to the same worker. Responses are written as soon as they
+ * are ready and matched by request id on the client side, so they may be returned out of order.
  */
 @ChannelHandler.Sharable
 public class KvServerHandler extends AbstractServerHandler<KvRequest, KvResponse> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(KvServerHandler.class);
+
     private final int serverId;
     private final int numServers;
     private final TableQuery lookup;
-    private final InternalRowSerializer valueSerializer;
+    private final BucketWorker[] bucketWorkers;
+    private final InternalRowSerializer[] valueSerializers;
 
     /**
      * Create the handler used by the {@link KvQueryServer}.
      *
      * @param server the {@link KvQueryServer} using the handler.
+     * @param numBucketWorkers number of workers which execute the requests, keyed by bucket.
      * @param lookup to be queried.
      * @param serializer the {@link MessageSerializer} used to (de-) serialize the different
      *     messages.
@@ -66,14 +84,38 @@ public class KvServerHandler extends AbstractServerHandler<KvRequest, KvResponse
             final KvQueryServer server,
             final int serverId,
             final int numServers,
+            final int numBucketWorkers,
             final TableQuery lookup,
             final MessageSerializer<KvRequest, KvResponse> serializer,
             final ServiceRequestStats stats) {
         super(server, serializer, stats);
+        Preconditions.checkArgument(
+                numBucketWorkers >= 1, "Non-positive number of bucket workers.");
         this.serverId = serverId;
         this.numServers = numServers;
         this.lookup = Preconditions.checkNotNull(lookup);
-        this.valueSerializer = lookup.createValueSerializer();
+
+        this.bucketWorkers = new BucketWorker[numBucketWorkers];
+        this.valueSerializers = new InternalRowSerializer[numBucketWorkers];
+        for (int i = 0; i < numBucketWorkers; i++) {
+            bucketWorkers[i] = new BucketWorker();
+            // serializers reuse their output row, so every worker needs its own one
+            valueSerializers[i] = lookup.createValueSerializer();
+        }
+    }
+
+    @Override
+    protected Executor getQueryExecutor(KvRequest request) {
+        return bucketWorkers[workerIndex(request)];
+    }
+
+    /**
+     * Requests reaching this server all satisfy {@code select(partition, bucket, numServers) ==
+     * serverId}, so the worker is chosen from the higher digits to still spread them evenly.
+     */
+    private int workerIndex(KvRequest request) {
+        return select(request.partition(), request.bucket(), numServers * bucketWorkers.length)
+                / numServers;
     }
 
     @Override
@@ -89,13 +131,13 @@ public class KvServerHandler extends AbstractServerHandler<KvRequest, KvResponse
         }
 
         try {
-            BinaryRow[] keys = request.keys();
-            BinaryRow[] values = new BinaryRow[keys.length];
+            InternalRow[] rows =
+                    this.lookup.lookupBatch(request.partition(), request.bucket(), request.keys());
+            InternalRowSerializer valueSerializer = valueSerializers[workerIndex(request)];
+            BinaryRow[] values = new BinaryRow[rows.length];
             for (int i = 0; i < values.length; i++) {
-                InternalRow value =
-                        this.lookup.lookup(request.partition(), request.bucket(), keys[i]);
-                if (value != null) {
-                    values[i] = valueSerializer.toBinaryRow(value).copy();
+                if (rows[i] != null) {
+                    values[i] = valueSerializer.toBinaryRow(rows[i]).copy();
                 }
             }
             responseFuture.complete(new KvResponse(values));
@@ -115,4 +157,65 @@ public class KvServerHandler extends AbstractServerHandler<KvRequest, KvResponse
     public CompletableFuture<Void> shutdown() {
         return CompletableFuture.completedFuture(null);
     }
+
+    /**
+     * Executes its tasks one by one on the query thread pool, so a worker occupies at most one
+     * thread of the pool.
+     */
+    private class BucketWorker implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        // guarded by tasks
+        private boolean running;
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (tasks) {
+                tasks.add(task);
+                if (running) {
+                    return;
+                }
+                running = true;
+            }
+
+            try {
+                queryExecutor.execute(this::runTasks);
+            } catch (Throwable t) {
+                List<Runnable> dropped;
+                synchronized (tasks) {
+                    running = false;
+                    dropped = new ArrayList<>(tasks);
+                    tasks.clear();
+                }
+                // requests queued by other threads meanwhile are failed here, the current one is
+                // failed by the caller
+                for (Runnable queued : dropped) {
+                    if (queued != task) {
+                        rejectTask(queued, t);
+                    }
+                }
+                throw t;
+            }
+        }
+
+        private void runTasks() {
+            while (true) {
+                Runnable task;
+                synchronized (tasks) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        return;
+                    }
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOG.error("Error while executing request of {}.", getServerName(), t);
+                }
+            }
+        }
+    }
 }
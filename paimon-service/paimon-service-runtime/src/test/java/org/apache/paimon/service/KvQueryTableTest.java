@@ -25,7 +25,7 @@ import org.apache.paimon.disk.IOManager;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.query.QueryLocationImpl;
 import org.apache.paimon.service.client.KvQueryClient;
-import org.apache.paimon.service.network.stats.DisabledServiceRequestStats;
+import org.apache.paimon.service.network.stats.AtomicServiceRequestStats;
 import org.apache.paimon.service.server.KvQueryServer;
 import org.apache.paimon.table.query.LocalTableQuery;
 import org.apache.paimon.table.query.TableQuery;
@@ -42,6 +42,7 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.apache.paimon.io.DataFileTestUtils.row;
 import static org.apache.paimon.service.ServiceManager.PRIMARY_KEY_LOOKUP;
@@ -59,6 +60,8 @@ public class KvQueryTableTest extends PrimaryKeyTableTestBase {
 
     private KvQueryClient client;
 
+    private final AtomicServiceRequestStats serverStats = new AtomicServiceRequestStats();
+
     @Override
     protected Options tableOptions() {
         Options options = new Options();
@@ -100,9 +103,9 @@ public class KvQueryTableTest extends PrimaryKeyTableTestBase {
                             InetAddress.getLocalHost().getHostName(),
                             portList.iterator(),
                             1,
-                            1,
+                            4,
                             query,
-                            new DisabledServiceRequestStats());
+                            serverStats);
             server.start();
             return server;
         } catch (Throwable e) {
@@ -192,6 +195,31 @@ public class KvQueryTableTest extends PrimaryKeyTableTestBase {
                 });
     }
 
+    @Test
+    public void testPipelinedRequests() throws Exception {
+        for (int i = 1; i < 10; i++) {
+            write(i, 3, i);
+        }
+
+        // requests of different buckets are executed by different workers and answered
+        // in any order, the client matches the responses by request id
+        List<CompletableFuture<BinaryRow[]>> futures = new ArrayList<>();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 1; i < 10; i++) {
+                futures.add(client.getValues(row(i), 0, new BinaryRow[] {row(3), row(4)}));
+            }
+        }
+        for (int j = 0; j < futures.size(); j++) {
+            int partition = j % 9 + 1;
+            assertThat(futures.get(j).get()).containsExactly(row(partition, 3, partition), null);
+        }
+
+        assertThat(serverStats.getNumFailed()).isEqualTo(0);
+        assertThat(serverStats.getLatencyStatistics().size()).isGreaterThan(0);
+        assertThat(serverStats.getLatencyStatistics().getQuantile(0.999))
+                .isGreaterThanOrEqualTo(serverStats.getLatencyStatistics().getQuantile(0.5));
+    }
+
     private void innerTestServerRestart(Runnable restart) throws Throwable {
         // insert many records
         BinaryRow[] result;